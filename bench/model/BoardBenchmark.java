@@ -0,0 +1,148 @@
+package model;
+
+import static model.MyBoard.PROPERTY_GAME_OVER_STATE;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the movement methods and toString of the Board.
+ * <p>
+ * Each benchmark plays on a seeded Board and starts a new game whenever
+ * the previous one ends, so the measured operations stay representative.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class BoardBenchmark {
+
+    /**
+     * Seed for the board's random number generator.
+     */
+    private static final long SEED = 305L;
+
+    /**
+     * The board under test.
+     */
+    private Board myBoard;
+
+    /**
+     * Whether the current game has ended.
+     */
+    private boolean myGameOver;
+
+    /**
+     * Creates a seeded board and starts a game.
+     */
+    @Setup(Level.Iteration)
+    public void setUp() {
+        myBoard = Board.builder().seed(SEED).build();
+        myBoard.addPropertyChangeListener(PROPERTY_GAME_OVER_STATE,
+                theEvent -> myGameOver = (boolean) theEvent.getNewValue());
+        myBoard.newGame();
+    }
+
+    /**
+     * Moves the piece down one row, freezing it when it lands.
+     *
+     * @return the board, so the work is not eliminated.
+     */
+    @Benchmark
+    public Board down() {
+        restartIfOver();
+        myBoard.down();
+        return myBoard;
+    }
+
+    /**
+     * Moves the piece left and back right, so the piece never reaches a wall.
+     *
+     * @return the board, so the work is not eliminated.
+     */
+    @Benchmark
+    public Board leftRight() {
+        myBoard.left();
+        myBoard.right();
+        return myBoard;
+    }
+
+    /**
+     * Moves the piece left until it reaches the wall, where the move fails.
+     *
+     * @return the board, so the work is not eliminated.
+     */
+    @Benchmark
+    public Board left() {
+        myBoard.left();
+        return myBoard;
+    }
+
+    /**
+     * Moves the piece right until it reaches the wall, where the move fails.
+     *
+     * @return the board, so the work is not eliminated.
+     */
+    @Benchmark
+    public Board right() {
+        myBoard.right();
+        return myBoard;
+    }
+
+    /**
+     * Rotates the piece clockwise, checking wall kicks.
+     *
+     * @return the board, so the work is not eliminated.
+     */
+    @Benchmark
+    public Board rotateCW() {
+        myBoard.rotateCW();
+        return myBoard;
+    }
+
+    /**
+     * Drops the piece, freezes it and clears any complete rows.
+     *
+     * @return the board, so the work is not eliminated.
+     */
+    @Benchmark
+    public Board drop() {
+        restartIfOver();
+        myBoard.drop();
+        return myBoard;
+    }
+
+    /**
+     * Renders the board as text.
+     *
+     * @return the text of the board.
+     */
+    @Benchmark
+    public String boardToString() {
+        return myBoard.toString();
+    }
+
+    /**
+     * Starts a new game when the current one has ended.
+     */
+    private void restartIfOver() {
+        if (myGameOver) {
+            myBoard.newGame();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package model;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks Board.checkRows on boards with zero to four complete rows.
+ * <p>
+ * Every invocation first restores the prepared frozen blocks, because
+ * checkRows removes the rows it finds. The {@link #restoreOnly()} benchmark
+ * measures that restore on its own so it can be subtracted.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class CheckRowsBenchmark {
+
+    /**
+     * Number of partly filled rows stacked above the complete rows.
+     */
+    private static final int PARTIAL_ROWS = 6;
+
+    /**
+     * Number of complete rows on the prepared board.
+     */
+    @Param({"0", "1", "2", "3", "4"})
+    private int myCompleteRows;
+
+    /**
+     * The board under test.
+     */
+    private Board myBoard;
+
+    /**
+     * The prepared frozen blocks, restored before every call.
+     */
+    private BitBoard myTemplate;
+
+    /**
+     * Prepares a board with the requested number of complete rows,
+     * interleaved with partly filled rows.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        myBoard = Board.builder().build();
+        myTemplate = new BitBoard(myBoard.getWidth(), myBoard.getHeight());
+        for (int y = 0; y < myCompleteRows + PARTIAL_ROWS; y++) {
+            final boolean complete = y % 2 == 0 && y / 2 < myCompleteRows;
+            for (int x = 0; x < myTemplate.getWidth(); x++) {
+                if (complete || x != y % myTemplate.getWidth()) {
+                    myTemplate.setBlock(x, y, Block.T);
+                }
+            }
+        }
+    }
+
+    /**
+     * Restores the prepared board and removes its complete rows.
+     *
+     * @return the removed rows, so the work is not eliminated.
+     */
+    @Benchmark
+    public int[] checkRows() {
+        myBoard.getBitBoard().copyFrom(myTemplate);
+        return myBoard.checkRows();
+    }
+
+    /**
+     * Restores the prepared board without checking rows.
+     *
+     * @return the board, so the work is not eliminated.
+     */
+    @Benchmark
+    public Board restoreOnly() {
+        myBoard.getBitBoard().copyFrom(myTemplate);
+        return myBoard;
+    }
+}
@@ -0,0 +1,99 @@
+package model;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the ghost piece calculation of a BoardSnapshot for a piece at
+ * the top of a standard board with a few partly filled rows at the bottom.
+ * A snapshot only works its ghost out once, so every call builds a new one.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class GhostBenchmark {
+
+    /**
+     * Width of the board.
+     */
+    private static final int WIDTH = 10;
+
+    /**
+     * Height of the board.
+     */
+    private static final int HEIGHT = 20;
+
+    /**
+     * Number of partly filled rows at the bottom of the board.
+     */
+    private static final int FILLED_ROWS = 4;
+
+    /**
+     * The frozen rows.
+     */
+    private Block[][] myRows;
+
+    /**
+     * The occupancy mask of every row.
+     */
+    private int[] myMasks;
+
+    /**
+     * The height of every column.
+     */
+    private int[] myHeights;
+
+    /**
+     * The falling piece.
+     */
+    private PieceState myPiece;
+
+    /**
+     * Prepares the frozen blocks and the falling piece.
+     */
+    @Setup
+    public void setUp() {
+        final BitBoard board = new BitBoard(WIDTH, HEIGHT);
+        for (int y = 0; y < FILLED_ROWS; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                if (x != y) {
+                    board.setBlock(x, y, Block.Z);
+                }
+            }
+        }
+        myRows = board.toBlockRows().toArray(new Block[0][]);
+        myMasks = new int[HEIGHT];
+        for (int y = 0; y < HEIGHT; y++) {
+            myMasks[y] = board.getRowMask(y);
+        }
+        myHeights = board.getColumnHeights();
+        myPiece = new PieceState(new MovableTetrisPiece(TetrisPiece.T,
+                                                        new Point(3, HEIGHT - 1)));
+    }
+
+    /**
+     * Computes the landing row of the falling piece.
+     *
+     * @return the y coordinate of the ghost piece.
+     */
+    @Benchmark
+    public int getGhostY() {
+        return new BoardSnapshot(1, WIDTH, myRows, myMasks, myHeights, myPiece,
+                                 null, false).getGhostY();
+    }
+}
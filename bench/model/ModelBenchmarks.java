@@ -0,0 +1,42 @@
+package model;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs every benchmark with the GC profiler enabled, so each result also
+ * reports gc.alloc.rate.norm (bytes allocated per operation).
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+public final class ModelBenchmarks {
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private ModelBenchmarks() {
+        super();
+    }
+
+    /**
+     * Runs the benchmarks.
+     *
+     * @param theArgs optional regular expression selecting the benchmarks to run.
+     * @throws RunnerException if the benchmarks fail to run.
+     */
+    public static void main(final String[] theArgs) throws RunnerException {
+        String include = ".*Benchmark.*";
+        if (theArgs.length > 0) {
+            include = theArgs[0];
+        }
+        final Options options = new OptionsBuilder()
+                .include(include)
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,64 @@
+package model;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks MovableTetrisPiece.getBoardPoints for every piece and rotation.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class MovableTetrisPieceBenchmark {
+
+    /**
+     * The piece type under test.
+     */
+    @Param({"I", "J", "L", "O", "S", "T", "Z"})
+    private TetrisPiece myTetrisPiece;
+
+    /**
+     * The rotation under test.
+     */
+    @Param({"NONE", "QUARTER", "HALF", "THREEQUARTER"})
+    private Rotation myRotation;
+
+    /**
+     * The piece under test.
+     */
+    private MovableTetrisPiece myPiece;
+
+    /**
+     * Creates the piece in the middle of a standard board.
+     */
+    @Setup
+    public void setUp() {
+        myPiece = new MovableTetrisPiece(myTetrisPiece, new Point(3, 10), myRotation);
+    }
+
+    /**
+     * Computes the board points of the piece.
+     *
+     * @return the board points.
+     */
+    @Benchmark
+    public Point[] getBoardPoints() {
+        return myPiece.getBoardPoints();
+    }
+}
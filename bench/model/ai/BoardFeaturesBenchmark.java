@@ -0,0 +1,122 @@
+package model.ai;
+
+import java.util.concurrent.TimeUnit;
+import model.BitBoard;
+import model.Block;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the heuristic features, aggregate height, holes and
+ * bumpiness, measured by {@link BoardFeatures} on row masks against the
+ * same features measured cell by cell on Block rows.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class BoardFeaturesBenchmark {
+
+    /**
+     * Width of the board.
+     */
+    private static final int WIDTH = 10;
+
+    /**
+     * Height of the board.
+     */
+    private static final int HEIGHT = 20;
+
+    /**
+     * Number of partly filled rows.
+     */
+    @Param({"4", "12"})
+    private int myFilledRows;
+
+    /**
+     * The row masks of the frozen blocks.
+     */
+    private int[] myRows;
+
+    /**
+     * The same frozen blocks as Block rows.
+     */
+    private Block[][] myBlocks;
+
+    /**
+     * Prepares a ragged board with holes.
+     */
+    @Setup
+    public void setUp() {
+        final BitBoard board = new BitBoard(WIDTH, HEIGHT);
+        for (int y = 0; y < myFilledRows; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                // two gaps per row that move across the board, leaving holes
+                if (x != y % WIDTH && x != (y * 3 + 5) % WIDTH) {
+                    board.setBlock(x, y, Block.T);
+                }
+            }
+        }
+        myRows = new int[HEIGHT];
+        myBlocks = new Block[HEIGHT][];
+        for (int y = 0; y < HEIGHT; y++) {
+            myRows[y] = board.getRowMask(y);
+            myBlocks[y] = board.toBlockRow(y);
+        }
+    }
+
+    /**
+     * Measures the features with bit operations on the row masks.
+     *
+     * @return the sum of the features, so the work is not eliminated.
+     */
+    @Benchmark
+    public int rowMasks() {
+        return BoardFeatures.aggregateHeight(myRows) + BoardFeatures.holes(myRows)
+               + BoardFeatures.bumpiness(myRows, WIDTH);
+    }
+
+    /**
+     * Measures the features by visiting every cell of every column.
+     *
+     * @return the sum of the features, so the work is not eliminated.
+     */
+    @Benchmark
+    public int cells() {
+        int aggregate = 0;
+        int holes = 0;
+        int bumpiness = 0;
+        int previous = 0;
+        for (int x = 0; x < WIDTH; x++) {
+            int height = 0;
+            int filled = 0;
+            for (int y = 0; y < HEIGHT; y++) {
+                if (myBlocks[y][x] != null) {
+                    height = y + 1;
+                    filled++;
+                }
+            }
+            aggregate += height;
+            holes += height - filled;
+            if (x > 0) {
+                bumpiness += Math.abs(height - previous);
+            }
+            previous = height;
+        }
+        return aggregate + holes + bumpiness;
+    }
+}
@@ -0,0 +1,87 @@
+package model.ai;
+
+import java.util.concurrent.TimeUnit;
+import model.TetrisPiece;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the placement search for a T piece at its spawn position on an
+ * empty board and on a board with a ragged stack full of overhangs.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class PlacementEnumeratorBenchmark {
+
+    /**
+     * Width of the board.
+     */
+    private static final int WIDTH = 10;
+
+    /**
+     * Height of the board.
+     */
+    private static final int HEIGHT = 20;
+
+    /**
+     * Number of partly filled rows on the ragged board.
+     */
+    private static final int FILLED_ROWS = 8;
+
+    /**
+     * Whether the board has a ragged stack.
+     */
+    @Param({"false", "true"})
+    private boolean myRagged;
+
+    /**
+     * The row masks of the frozen blocks.
+     */
+    private int[] myRows;
+
+    /**
+     * The enumerator under test.
+     */
+    private PlacementEnumerator myEnumerator;
+
+    /**
+     * Prepares the board and the enumerator.
+     */
+    @Setup
+    public void setUp() {
+        myRows = new int[HEIGHT];
+        if (myRagged) {
+            for (int y = 0; y < FILLED_ROWS; y++) {
+                // two gaps per row that move across the board, leaving overhangs
+                myRows[y] = (1 << WIDTH) - 1 & ~(1 << y % WIDTH) & ~(1 << (y * 3 + 5) % WIDTH);
+            }
+        }
+        myEnumerator = new PlacementEnumerator(WIDTH, HEIGHT);
+    }
+
+    /**
+     * Finds every placement of a T piece.
+     *
+     * @return the number of placements, so the work is not eliminated.
+     */
+    @Benchmark
+    public int search() {
+        return myEnumerator.search(myRows, TetrisPiece.T);
+    }
+}
@@ -0,0 +1,117 @@
+package model.ai;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks probes and stores on one transposition table shared by every
+ * benchmark thread, with keys spread over twice the capacity of the table
+ * so that about half of the probes hit.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@Threads(Threads.MAX)
+public class TranspositionTableBenchmark {
+
+    /**
+     * Number of distinct keys, a power of two.
+     */
+    private static final int KEYS = 1 << 16;
+
+    /**
+     * Seed of the keys.
+     */
+    private static final long SEED = 305L;
+
+    /**
+     * Capacity of the table.
+     */
+    @Param({"1024", "32768"})
+    private int myCapacity;
+
+    /**
+     * The table under test.
+     */
+    private TranspositionTable myTable;
+
+    /**
+     * The keys.
+     */
+    private long[] myKeys;
+
+    /**
+     * Prepares the table and fills it.
+     */
+    @Setup
+    public void setUp() {
+        myTable = new TranspositionTable(myCapacity);
+        myKeys = new SplittableRandom(SEED).longs(KEYS).toArray();
+        for (int i = 0; i < KEYS; i += 2) {
+            myTable.store(myKeys[i], i, i, 0);
+        }
+    }
+
+    /**
+     * The position of a benchmark thread in the keys.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        /**
+         * Index of the next key.
+         */
+        private int myIndex;
+
+        /**
+         * Returns the next key index.
+         *
+         * @return the index.
+         */
+        int next() {
+            myIndex = myIndex + 1 & KEYS - 1;
+            return myIndex;
+        }
+    }
+
+    /**
+     * Looks up a key.
+     *
+     * @param theCursor the position of the thread.
+     * @return the entry, so the work is not eliminated.
+     */
+    @Benchmark
+    public long probe(final Cursor theCursor) {
+        return myTable.probe(myKeys[theCursor.next()], 0);
+    }
+
+    /**
+     * Stores an evaluation.
+     *
+     * @param theCursor the position of the thread.
+     * @return the entry, so the work is not eliminated.
+     */
+    @Benchmark
+    public long store(final Cursor theCursor) {
+        final int index = theCursor.next();
+        return myTable.store(myKeys[index], index, index, 0);
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * TCSS 305
+ *
+ * An implementation of the classic game "Tetris".
+ */
+
+package model;
+
+import java.util.SplittableRandom;
+
+/**
+ * Deals pieces from a shuffled bag holding one of each piece, and refills
+ * the bag when it is empty. Every piece is dealt once in each run of seven,
+ * so no piece is missing for more than twelve pieces in a row.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+public final class BagPieceGenerator implements PieceGenerator {
+
+    /**
+     * The random number generator, used by one thread only.
+     */
+    private final SplittableRandom myRandom;
+
+    /**
+     * The bag; the pieces from myIndex on have not been dealt yet.
+     */
+    private final TetrisPiece[] myBag;
+
+    /**
+     * The position of the next piece in the bag.
+     */
+    private int myIndex;
+
+    /**
+     * Creates a generator with an unpredictable seed.
+     */
+    public BagPieceGenerator() {
+        this(new SplittableRandom());
+    }
+
+    /**
+     * Creates a generator that deals the same pieces for the same seed.
+     *
+     * @param theSeed the seed.
+     */
+    public BagPieceGenerator(final long theSeed) {
+        this(new SplittableRandom(theSeed));
+    }
+
+    /**
+     * Creates a generator that owns a random number generator.
+     *
+     * @param theRandom the random number generator.
+     */
+    private BagPieceGenerator(final SplittableRandom theRandom) {
+        super();
+        myRandom = theRandom;
+        myBag = TetrisPiece.values();
+        myIndex = myBag.length;
+    }
+
+    @Override
+    public TetrisPiece next() {
+        if (myIndex == myBag.length) {
+            shuffle();
+            myIndex = 0;
+        }
+        return myBag[myIndex++];
+    }
+
+    @Override
+    public PieceGenerator split() {
+        return new BagPieceGenerator(myRandom.split());
+    }
+
+    /**
+     * Shuffles the bag with the Fisher-Yates algorithm.
+     */
+    private void shuffle() {
+        for (int i = myBag.length - 1; i > 0; i--) {
+            final int j = myRandom.nextInt(i + 1);
+            final TetrisPiece swap = myBag[i];
+            myBag[i] = myBag[j];
+            myBag[j] = swap;
+        }
+    }
+}
@@ -0,0 +1,326 @@
+/*
+ * TCSS 305
+ *
+ * An implementation of the classic game "Tetris".
+ */
+
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compact storage for the frozen blocks of a Tetris board.
+ * <p>
+ * Each row is kept as a packed int occupancy mask where bit {@code x} is set
+ * when column {@code x} holds a frozen block. A parallel byte array stores the
+ * Block ordinal of every cell so that colors can still be recovered.
+ * Collision tests, complete row tests and line clears are bit operations on
+ * the row masks.
+ * <p>
+ * Row 0 is the bottom of the board, matching the Board coordinate system.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+public final class BitBoard {
+
+    /**
+     * The largest supported board width (one bit per column in an int).
+     */
+    public static final int MAX_WIDTH = Integer.SIZE;
+
+    /**
+     * Cached copy of the Block values used to decode cell ordinals.
+     */
+    private static final Block[] BLOCKS = Block.values();
+
+    /**
+     * Width of the board in columns.
+     */
+    private final int myWidth;
+
+    /**
+     * Height of the board in rows.
+     */
+    private final int myHeight;
+
+    /**
+     * The occupancy mask of a completely filled row.
+     */
+    private final int myFullMask;
+
+    /**
+     * Occupancy mask for every row, indexed by y.
+     */
+    private final int[] myRows;
+
+    /**
+     * Block ordinal for every cell, indexed by y * width + x.
+     */
+    private final byte[] myCells;
+
+    /**
+     * Creates an empty bit board.
+     *
+     * @param theWidth the width of the board in columns.
+     * @param theHeight the height of the board in rows.
+     * @throws IllegalArgumentException if the width is not between 1 and MAX_WIDTH
+     *         or the height is not positive.
+     */
+    public BitBoard(final int theWidth, final int theHeight) {
+        super();
+        if (theWidth < 1 || theWidth > MAX_WIDTH) {
+            throw new IllegalArgumentException("Board width must be between 1 and "
+                    + MAX_WIDTH + ": " + theWidth);
+        }
+        if (theHeight < 1) {
+            throw new IllegalArgumentException("Board height must be positive: " + theHeight);
+        }
+        myWidth = theWidth;
+        myHeight = theHeight;
+        myFullMask = (int) ((1L << theWidth) - 1);
+        myRows = new int[theHeight];
+        myCells = new byte[theWidth * theHeight];
+    }
+
+    /**
+     * Creates a copy of another bit board.
+     *
+     * @param theOther the bit board to copy.
+     */
+    public BitBoard(final BitBoard theOther) {
+        super();
+        myWidth = theOther.myWidth;
+        myHeight = theOther.myHeight;
+        myFullMask = theOther.myFullMask;
+        myRows = theOther.myRows.clone();
+        myCells = theOther.myCells.clone();
+    }
+
+    /**
+     * Returns the width of the board.
+     *
+     * @return the width of the board in columns.
+     */
+    public int getWidth() {
+        return myWidth;
+    }
+
+    /**
+     * Returns the height of the board.
+     *
+     * @return the height of the board in rows.
+     */
+    public int getHeight() {
+        return myHeight;
+    }
+
+    /**
+     * Returns the occupancy mask of a completely filled row.
+     *
+     * @return the full row mask.
+     */
+    public int getFullMask() {
+        return myFullMask;
+    }
+
+    /**
+     * Returns the occupancy mask of a row. Rows outside the board are empty.
+     *
+     * @param theY the row index.
+     * @return the occupancy mask of the row.
+     */
+    public int getRowMask(final int theY) {
+        int mask = 0;
+        if (theY >= 0 && theY < myHeight) {
+            mask = myRows[theY];
+        }
+        return mask;
+    }
+
+    /**
+     * Returns the height of every column: one more than the row of its
+     * highest block, or 0 for an empty column.
+     *
+     * @return a new array with one height per column.
+     */
+    public int[] getColumnHeights() {
+        final int[] heights = new int[myWidth];
+        int covered = 0;
+        for (int y = myHeight - 1; y >= 0 && covered != myFullMask; y--) {
+            // the columns whose highest block is in this row
+            int tops = myRows[y] & ~covered;
+            while (tops != 0) {
+                heights[Integer.numberOfTrailingZeros(tops)] = y + 1;
+                tops &= tops - 1;
+            }
+            covered |= myRows[y];
+        }
+        return heights;
+    }
+
+    /**
+     * Tests whether a cell holds a frozen block. Cells outside the board are empty.
+     *
+     * @param theX the column.
+     * @param theY the row.
+     * @return true if the cell is occupied.
+     */
+    public boolean isOccupied(final int theX, final int theY) {
+        return theX >= 0 && theX < myWidth && (getRowMask(theY) & (1 << theX)) != 0;
+    }
+
+    /**
+     * Tests whether a cell lies on the board.
+     *
+     * @param theX the column.
+     * @param theY the row.
+     * @return true if the cell is on the board.
+     */
+    public boolean isOnBoard(final int theX, final int theY) {
+        return theX >= 0 && theX < myWidth && theY >= 0 && theY < myHeight;
+    }
+
+    /**
+     * Returns the block stored in a cell.
+     *
+     * @param theX the column.
+     * @param theY the row.
+     * @return the Block at the cell, or null if the cell is empty or off the board.
+     */
+    public Block getBlock(final int theX, final int theY) {
+        Block b = null;
+        if (isOccupied(theX, theY)) {
+            b = BLOCKS[myCells[theY * myWidth + theX]];
+        }
+        return b;
+    }
+
+    /**
+     * Stores a block in a cell. Storing null or Block.EMPTY clears the cell.
+     *
+     * @param theX the column.
+     * @param theY the row.
+     * @param theBlock the Block to store.
+     * @throws IndexOutOfBoundsException if the cell is not on the board.
+     */
+    public void setBlock(final int theX, final int theY, final Block theBlock) {
+        if (!isOnBoard(theX, theY)) {
+            throw new IndexOutOfBoundsException("(" + theX + ", " + theY + ")");
+        }
+        if (theBlock == null || theBlock == Block.EMPTY) {
+            myRows[theY] &= ~(1 << theX);
+            myCells[theY * myWidth + theX] = 0;
+        } else {
+            myRows[theY] |= 1 << theX;
+            myCells[theY * myWidth + theX] = (byte) theBlock.ordinal();
+        }
+    }
+
+    /**
+     * Tests whether a row is completely filled.
+     *
+     * @param theY the row index.
+     * @return true if every column of the row is occupied.
+     */
+    public boolean isRowComplete(final int theY) {
+        return getRowMask(theY) == myFullMask;
+    }
+
+    /**
+     * Returns a bit mask of the complete rows, bit y set when row y is complete.
+     * Only the lowest 64 rows are reported.
+     *
+     * @return the complete row bit mask.
+     */
+    public long getCompleteRows() {
+        long result = 0;
+        final int rows = Math.min(myHeight, Long.SIZE);
+        for (int y = 0; y < rows; y++) {
+            if (myRows[y] == myFullMask) {
+                result |= 1L << y;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Removes every complete row, shifting the rows above it down and
+     * filling the top with empty rows.
+     *
+     * @return the number of rows removed.
+     */
+    public int clearCompleteRows() {
+        int write = 0;
+        for (int read = 0; read < myHeight; read++) {
+            if (myRows[read] != myFullMask) {
+                if (write != read) {
+                    myRows[write] = myRows[read];
+                    System.arraycopy(myCells, read * myWidth,
+                                     myCells, write * myWidth, myWidth);
+                }
+                write++;
+            }
+        }
+        final int removed = myHeight - write;
+        if (removed > 0) {
+            Arrays.fill(myRows, write, myHeight, 0);
+            Arrays.fill(myCells, write * myWidth, myHeight * myWidth, (byte) 0);
+        }
+        return removed;
+    }
+
+    /**
+     * Removes every frozen block from the board.
+     */
+    public void clear() {
+        Arrays.fill(myRows, 0);
+        Arrays.fill(myCells, (byte) 0);
+    }
+
+    /**
+     * Copies the state of another bit board of the same size into this one.
+     *
+     * @param theOther the bit board to copy.
+     * @throws IllegalArgumentException if the boards are not the same size.
+     */
+    public void copyFrom(final BitBoard theOther) {
+        if (theOther.myWidth != myWidth || theOther.myHeight != myHeight) {
+            throw new IllegalArgumentException("Board sizes differ");
+        }
+        System.arraycopy(theOther.myRows, 0, myRows, 0, myHeight);
+        System.arraycopy(theOther.myCells, 0, myCells, 0, myCells.length);
+    }
+
+    /**
+     * Copies a single row into a new Block array.
+     *
+     * @param theY the row index.
+     * @return the blocks in the row, with null for empty cells.
+     */
+    public Block[] toBlockRow(final int theY) {
+        final Block[] row = new Block[myWidth];
+        int mask = myRows[theY];
+        while (mask != 0) {
+            final int x = Integer.numberOfTrailingZeros(mask);
+            row[x] = BLOCKS[myCells[theY * myWidth + x]];
+            mask &= mask - 1;
+        }
+        return row;
+    }
+
+    /**
+     * Copies the board into a list of Block arrays, bottom row first.
+     *
+     * @return a new list of rows, with null for empty cells.
+     */
+    public List<Block[]> toBlockRows() {
+        final List<Block[]> rows = new ArrayList<>(myHeight);
+        for (int y = 0; y < myHeight; y++) {
+            rows.add(toBlockRow(y));
+        }
+        return rows;
+    }
+}
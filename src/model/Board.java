@@ -7,10 +7,18 @@
 package model;
 
 import java.beans.PropertyChangeListener;
-import java.beans.PropertyChangeSupport;
 import java.util.ArrayList;
-import java.util.LinkedList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import model.event.EventBus;
+import model.event.PropertyChangeAdapter;
+import model.event.Subscription;
+import model.jfr.HardDropEvent;
+import model.jfr.LineClearEvent;
+import model.jfr.PieceLockEvent;
+import model.jfr.PieceSpawnEvent;
 import model.wallkicks.WallKick;
 
 
@@ -40,7 +48,8 @@ public final class Board implements MyBoard {
 
     // Class constants
     /**
-     * A singleton using the static factory method
+     * A singleton using the static factory method.
+     * Use {@link #builder()} to create independent boards.
      */
     private static final Board INSTANCE = new Board();
     
@@ -54,6 +63,16 @@ public final class Board implements MyBoard {
      */
     private static final int DEFAULT_HEIGHT = 20;
 
+    /**
+     * Smallest width or height that fits every TetrisPiece.
+     */
+    private static final int MIN_SIZE = PieceShape.SIZE;
+
+    /**
+     * Shared result of checkRows when no row is complete.
+     */
+    private static final int[] NO_ROWS = new int[0];
+
 
     // Instance fields
     
@@ -68,9 +87,9 @@ public final class Board implements MyBoard {
     private final int myHeight;
     
     /**
-     * The frozen blocks on the board.
+     * The frozen blocks on the board, stored as packed row masks.
      */
-    private final List<Block[]> myFrozenBlocks;
+    private final BitBoard myFrozenBlocks;
     
     /**
      * The game over state.
@@ -95,7 +114,23 @@ public final class Board implements MyBoard {
     /**
      * Piece that is currently movable.
      */
-    private MovableTetrisPiece myCurrentPiece;
+    private final PieceState myCurrentPiece;
+
+    /**
+     * Scratch piece used to test moves without allocating.
+     */
+    private final PieceState myTestPiece;
+
+    /**
+     * Immutable copy of the current piece handed to observers.
+     * Created on demand and discarded whenever the current piece changes.
+     */
+    private MovableTetrisPiece myCurrentPieceView;
+
+    /**
+     * Counts the moves, rotations and replacements of the current piece.
+     */
+    private long myPieceMoves;
 
     /**
      * A flag to indicate when moving a piece down is part of a drop operation.
@@ -105,9 +140,72 @@ public final class Board implements MyBoard {
     private boolean myDrop;
 
     /**
-     * Manager for Property Change Listeners.
+     * Delivers the MyBoard.PROPERTY_* events to subscribers and listeners.
+     */
+    private final EventBus myEvents;
+
+    /**
+     * Delivers events to PropertyChangeListeners, or null to deliver on the
+     * thread that operates the board.
+     */
+    private Executor myListenerExecutor;
+
+    /**
+     * Chooses the pieces for this board.
+     */
+    private PieceGenerator myGenerator;
+
+    /**
+     * Told about every operation as it starts, or null.
      */
-    private final PropertyChangeSupport myPcs;
+    private BoardOperation.Listener myOperationListener;
+
+    /**
+     * The latest snapshot, handed to readers on other threads.
+     */
+    private volatile BoardSnapshot mySnapshot;
+
+    /**
+     * Whether a snapshot is published at the end of every operation.
+     */
+    private boolean mySnapshotsEnabled;
+
+    /**
+     * The frozen rows shared by snapshots. A null entry is a row that changed
+     * since the latest snapshot and must be copied again.
+     */
+    private final Block[][] mySharedRows;
+
+    /**
+     * The empty row shared by every snapshot.
+     */
+    private final Block[] myEmptyRow;
+
+    /**
+     * The rows handed to the latest snapshot, or null if a row changed since.
+     */
+    private Block[][] mySnapshotRows;
+
+    /**
+     * The row masks handed to the latest snapshot.
+     */
+    private int[] mySnapshotMasks;
+
+    /**
+     * The height of every column of frozen blocks, kept up to date as pieces
+     * freeze and rows clear.
+     */
+    private final int[] myColumnHeights;
+
+    /**
+     * The column heights handed to the latest snapshot.
+     */
+    private int[] mySnapshotHeights;
+
+    /**
+     * Counts snapshots so that every snapshot has a higher version.
+     */
+    private long mySnapshotVersion;
     // Constructors
 
     /**
@@ -115,7 +213,7 @@ public final class Board implements MyBoard {
      * Creates a standard size tetris game board.
      */
     private Board() {
-        this(DEFAULT_WIDTH, DEFAULT_HEIGHT);
+        this(DEFAULT_WIDTH, DEFAULT_HEIGHT, new UniformPieceGenerator());
     }
 
     /**
@@ -123,16 +221,25 @@ public final class Board implements MyBoard {
      * 
      * @param theWidth Width of the Tetris game board.
      * @param theHeight Height of the Tetris game board.
+     * @param theGenerator Piece generator owned by this board.
      */
-    private Board(final int theWidth, final int theHeight) {
+    private Board(final int theWidth, final int theHeight,
+                  final PieceGenerator theGenerator) {
         super();
         myWidth = theWidth;
         myHeight = theHeight;
-        myFrozenBlocks = new LinkedList<>();
+        myGenerator = theGenerator;
+        myFrozenBlocks = new BitBoard(theWidth, theHeight);
         myNonRandomPieces = new ArrayList<>();
         mySequenceIndex = 0;
+        myCurrentPiece = new PieceState();
+        myTestPiece = new PieceState();
+        myEmptyRow = new Block[theWidth];
+        mySharedRows = new Block[theHeight][];
+        Arrays.fill(mySharedRows, myEmptyRow);
+        myColumnHeights = new int[theWidth];
 
-        myPcs = new PropertyChangeSupport(this);
+        myEvents = new EventBus();
         /*  myNextPiece and myCurrentPiece
          *  are initialized by the newGame() method.
          */
@@ -146,13 +253,26 @@ public final class Board implements MyBoard {
         return INSTANCE;
     }
 
+    /**
+     * Returns a Builder for creating a new, independent Board.
+     * Each Board created this way has its own frozen blocks, piece
+     * generator and listeners, so several games can run at once as long as
+     * each Board is used by one thread at a time.
+     *
+     * @return a new Builder with the default width, height and a new
+     *         UniformPieceGenerator.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
     /**
      * Adds a property change listener.
      * @param theListener The PropertyChangeListener to be added
      */
     @Override
     public void addPropertyChangeListener(final PropertyChangeListener theListener) {
-        myPcs.addPropertyChangeListener(theListener);
+        addListener(null, theListener);
     }
 
     /**
@@ -168,7 +288,9 @@ public final class Board implements MyBoard {
     @Override
     public void addPropertyChangeListener(final String thePropertyName,
                                           final PropertyChangeListener theListener) {
-        myPcs.addPropertyChangeListener(thePropertyName, theListener);
+        if (thePropertyName != null) {
+            addListener(thePropertyName, theListener);
+        }
     }
 
     /**
@@ -177,7 +299,7 @@ public final class Board implements MyBoard {
      */
     @Override
     public void removePropertyChangeListener(final PropertyChangeListener theListener) {
-        myPcs.removePropertyChangeListener(theListener);
+        removeListener(null, theListener);
     }
 
     /**
@@ -193,7 +315,68 @@ public final class Board implements MyBoard {
     @Override
     public void removePropertyChangeListener(final String thePropertyName,
                                              final PropertyChangeListener theListener) {
-        myPcs.removePropertyChangeListener(thePropertyName, theListener);
+        if (thePropertyName != null) {
+            removeListener(thePropertyName, theListener);
+        }
+    }
+
+    /**
+     * Sets the Executor that delivers events to PropertyChangeListeners added
+     * after this call. Listeners added earlier keep their delivery thread.
+     *
+     * @param theExecutor the Executor, or null to deliver on the thread that
+     *        operates the board.
+     */
+    @Override
+    public void setListenerExecutor(final Executor theExecutor) {
+        myListenerExecutor = theExecutor;
+    }
+
+    /**
+     * Turns snapshot publishing on or off. When on, a new snapshot is published
+     * at the end of every operation, and one is published right away.
+     * Must be called on the thread that operates the board.
+     *
+     * @param theEnabled true to publish snapshots.
+     */
+    @Override
+    public void setSnapshotsEnabled(final boolean theEnabled) {
+        mySnapshotsEnabled = theEnabled;
+        if (theEnabled) {
+            publishSnapshot();
+        }
+    }
+
+    /**
+     * Returns the snapshot published at the end of the latest operation.
+     * Safe to call from any thread.
+     *
+     * @return the latest snapshot, or null if snapshots were never enabled.
+     */
+    @Override
+    public BoardSnapshot getSnapshot() {
+        return mySnapshot;
+    }
+
+    /**
+     * Builds a snapshot of the current state without publishing it.
+     * Must be called on the thread that operates the board.
+     *
+     * @return a snapshot with the version of the latest published one.
+     */
+    @Override
+    public BoardSnapshot createSnapshot() {
+        return buildSnapshot();
+    }
+
+    /**
+     * Returns the event bus that delivers this board's MyBoard.PROPERTY_* events.
+     *
+     * @return the event bus of this board.
+     */
+    @Override
+    public EventBus getEventBus() {
+        return myEvents;
     }
     // public queries
     
@@ -216,6 +399,43 @@ public final class Board implements MyBoard {
     public int getHeight() {
         return myHeight;
     }
+
+    /**
+     * Get the number of times the current piece has moved, rotated or been
+     * replaced by the next piece.
+     *
+     * @return The piece move count, which only grows.
+     */
+    @Override
+    public long getPieceMoveCount() {
+        return myPieceMoves;
+    }
+
+    /**
+     * Tests whether the current piece rests on the floor or on a frozen block.
+     *
+     * @return true if moving the current piece down one row is not legal.
+     */
+    @Override
+    public boolean isPieceLanded() {
+        boolean landed = false;
+        if (myCurrentPiece.hasPiece()) {
+            myTestPiece.set(myCurrentPiece);
+            myTestPiece.translate(0, -1);
+            landed = !isPieceLegal(myTestPiece);
+        }
+        return landed;
+    }
+
+    /**
+     * Get a copy of the frozen blocks.
+     *
+     * @return A new copy of the frozen blocks, bottom row first.
+     */
+    @Override
+    public List<Block[]> getFrozenBlocks() {
+        return getBoard();
+    }
     
 
 
@@ -227,20 +447,46 @@ public final class Board implements MyBoard {
     @Override
     public void newGame() {
         //final boolean old = myGameOver; // PropertyChange
+        operationStarted(BoardOperation.NEW_GAME);
 
         mySequenceIndex = 0;
         myFrozenBlocks.clear();
-        for (int h = 0; h < myHeight; h++) {
-            myFrozenBlocks.add(new Block[myWidth]);
-        }
+        Arrays.fill(mySharedRows, myEmptyRow);
+        Arrays.fill(myColumnHeights, 0);
+        mySnapshotRows = null;
 
         myGameOver = false;
-        myCurrentPiece = nextMovablePiece(true);
+        nextMovablePiece(true);
         myDrop = false;
         
         // TODO Publish Update!
-        myPcs.firePropertyChange(MyBoard.PROPERTY_GAME_OVER_STATE,
+        fire(MyBoard.PROPERTY_GAME_OVER_STATE,
                 null, myGameOver);
+        endOperation();
+    }
+
+    /**
+     * Sets the generator that chooses the pieces after the next piece, unless
+     * a non random sequence is set. The generator is owned by the board from
+     * now on and must not be shared.
+     *
+     * @param theGenerator the piece generator.
+     * @throws NullPointerException if theGenerator is null.
+     */
+    @Override
+    public void setPieceGenerator(final PieceGenerator theGenerator) {
+        myGenerator = Objects.requireNonNull(theGenerator);
+    }
+
+    /**
+     * Sets the listener told about every operation as it starts.
+     * Must be called on the thread that operates the board.
+     *
+     * @param theListener the listener, or null for none.
+     */
+    @Override
+    public void setOperationListener(final BoardOperation.Listener theListener) {
+        myOperationListener = theListener;
     }
 
     /**
@@ -252,7 +498,8 @@ public final class Board implements MyBoard {
     public void setPieceSequence(final List<TetrisPiece> thePieces) {
         myNonRandomPieces = new ArrayList<>(thePieces);
         mySequenceIndex = 0;
-        myCurrentPiece = nextMovablePiece(true);
+        nextMovablePiece(true);
+        endOperation();
     }
     
     /**
@@ -271,7 +518,8 @@ public final class Board implements MyBoard {
          * However, more code could be added to this method
          * to implement additional functionality
          */
-        down();
+        operationStarted(BoardOperation.STEP);
+        moveDown();
     }
     
     /**
@@ -281,23 +529,38 @@ public final class Board implements MyBoard {
      */
     @Override
     public void down() {
-        // is this the correct way to store the current state of frozen blocks?
-        final List<Block[]> old = getBoard();
+        operationStarted(BoardOperation.DOWN);
+        moveDown();
+    }
 
+    /**
+     * Moves the piece down, or freezes it, clears full lines and brings in
+     * the next piece if it cannot move.
+     */
+    private void moveDown() {
         // presiauw0 - should attempt to move the piece down. If a move
         // couldn't happen, do the following, otherwise move as normal.
-        if (!move(myCurrentPiece.down())) {
+        myTestPiece.set(myCurrentPiece);
+        myTestPiece.translate(0, -1);
+        if (!move(myTestPiece)) {
             // the piece froze, so clear lines and update current piece
-            addPieceToBoardData(myFrozenBlocks, myCurrentPiece);
-            checkRows();
+            PieceLockEvent.emit(myCurrentPiece.getTetrisPiece(), myCurrentPiece.getRotation(),
+                                myCurrentPiece.getX(), myCurrentPiece.getY());
+            freezePiece(myCurrentPiece);
+            final int[] clearedRows = checkRows();
+            FrozenBlocksDelta delta = null;
+            if (myEvents.hasSubscribers(MyBoard.PROPERTY_FROZEN_PIECES_CHANGE)) {
+                delta = new FrozenBlocksDelta(myCurrentPiece, myFrozenBlocks, clearedRows);
+            }
             if (!myGameOver) {
-                myCurrentPiece = nextMovablePiece(false);
+                nextMovablePiece(false);
+            }
+            if (delta != null) {
+                fire(MyBoard.PROPERTY_FROZEN_PIECES_CHANGE,
+                        null, delta);
             }
-            // TODO Publish Update!
-            // double check whether to pass in myFroxenBlocks or myCurrentPiece
-            myPcs.firePropertyChange(MyBoard.PROPERTY_FROZEN_PIECES_CHANGE,
-                    old, myFrozenBlocks);
         }
+        endOperation();
     }
 
     /**
@@ -305,9 +568,13 @@ public final class Board implements MyBoard {
      */
     @Override
     public void left() {
-        if (myCurrentPiece != null) {
-            move(myCurrentPiece.left());
+        operationStarted(BoardOperation.LEFT);
+        if (myCurrentPiece.hasPiece()) {
+            myTestPiece.set(myCurrentPiece);
+            myTestPiece.translate(-1, 0);
+            move(myTestPiece);
         }
+        endOperation();
     }
 
     /**
@@ -315,9 +582,13 @@ public final class Board implements MyBoard {
      */
     @Override
     public void right() {
-        if (myCurrentPiece != null) {
-            move(myCurrentPiece.right());
+        operationStarted(BoardOperation.RIGHT);
+        if (myCurrentPiece.hasPiece()) {
+            myTestPiece.set(myCurrentPiece);
+            myTestPiece.translate(1, 0);
+            move(myTestPiece);
         }
+        endOperation();
     }
 
     /**
@@ -325,23 +596,13 @@ public final class Board implements MyBoard {
      */
     @Override
     public void rotateCW() {
-        if (myCurrentPiece != null) {
-            if (myCurrentPiece.getTetrisPiece() == TetrisPiece.O) {
-                move(myCurrentPiece.rotateCW());
-            } else {
-                final MovableTetrisPiece cwPiece = myCurrentPiece.rotateCW();
-                final Point[] offsets = WallKick.getWallKicks(cwPiece.getTetrisPiece(),
-                                                    myCurrentPiece.getRotation(),
-                                                    cwPiece.getRotation());
-                for (final Point p : offsets) {
-                    final Point offsetLocation = cwPiece.getPosition().transform(p);
-                    final MovableTetrisPiece temp = cwPiece.setPosition(offsetLocation);
-                    if (move(temp)) {
-                        break;
-                    }
-                }
-            }
+        operationStarted(BoardOperation.ROTATE_CW);
+        if (myCurrentPiece.hasPiece()) {
+            myTestPiece.set(myCurrentPiece);
+            myTestPiece.rotateCW();
+            rotate();
         }
+        endOperation();
     }
     
     /**
@@ -349,23 +610,13 @@ public final class Board implements MyBoard {
      */
     @Override
     public void rotateCCW() {
-        if (myCurrentPiece != null) {
-            if (myCurrentPiece.getTetrisPiece() == TetrisPiece.O) {
-                move(myCurrentPiece.rotateCCW());
-            } else {
-                final MovableTetrisPiece ccwPiece = myCurrentPiece.rotateCCW();
-                final Point[] offsets = WallKick.getWallKicks(ccwPiece.getTetrisPiece(),
-                                                    myCurrentPiece.getRotation(),
-                                                    ccwPiece.getRotation());
-                for (final Point p : offsets) {
-                    final Point offsetLocation = ccwPiece.getPosition().transform(p);
-                    final MovableTetrisPiece temp = ccwPiece.setPosition(offsetLocation);
-                    if (move(temp)) {
-                        break;
-                    }
-                }
-            }
+        operationStarted(BoardOperation.ROTATE_CCW);
+        if (myCurrentPiece.hasPiece()) {
+            myTestPiece.set(myCurrentPiece);
+            myTestPiece.rotateCCW();
+            rotate();
         }
+        endOperation();
     }
 
     /**
@@ -373,13 +624,24 @@ public final class Board implements MyBoard {
      */
     @Override
     public void drop() {
+        operationStarted(BoardOperation.DROP);
         if (!myGameOver) {
+            final HardDropEvent event = new HardDropEvent();
+            event.begin();
+            final TetrisPiece piece = myCurrentPiece.getTetrisPiece();
+            final int startY = myCurrentPiece.getY();
             myDrop = true;
-            while (isPieceLegal(myCurrentPiece.down())) {
-                down();  // move down as far as possible
+            myTestPiece.set(myCurrentPiece);
+            myTestPiece.translate(0, -1);
+            while (isPieceLegal(myTestPiece)) {
+                myCurrentPiece.set(myTestPiece);  // move down as far as possible
+                myTestPiece.translate(0, -1);
             }
+            final int distance = startY - myCurrentPiece.getY();
+            myCurrentPieceView = null;
             myDrop = false;
-            down();  // move down one more time to freeze in place
+            moveDown();  // move down one more time to freeze in place
+            event.finish(piece, distance);
         }
     }
     
@@ -388,21 +650,26 @@ public final class Board implements MyBoard {
     @SuppressWarnings("OverlyLongMethod")
     @Override
     public String toString() {
-        final List<Block[]> board = getBoard();
-        board.add(new Block[myWidth]);
-        board.add(new Block[myWidth]);
-        board.add(new Block[myWidth]);
-        board.add(new Block[myWidth]);
-        final String line = "-".repeat(this.myWidth);
-        if (myCurrentPiece != null) {
-            addPieceToBoardData(board, myCurrentPiece);
+        final int rows = myHeight + BoardData.HIDDEN_ROWS;
+        final int[] masks = new int[rows];
+        for (int y = 0; y < myHeight; y++) {
+            masks[y] = myFrozenBlocks.getRowMask(y);
         }
+        if (myCurrentPiece.hasPiece()) {
+            for (int i = 0; i < PieceState.BLOCKS; i++) {
+                final int x = myCurrentPiece.getBlockX(i);
+                final int y = myCurrentPiece.getBlockY(i);
+                if (x >= 0 && x < myWidth && y >= 0 && y < rows) {
+                    masks[y] |= 1 << x;
+                }
+            }
+        }
+        final String line = "-".repeat(this.myWidth);
         final StringBuilder sb = new StringBuilder();
-        for (int i = board.size() - 1; i >= 0; i--) {
-            final Block[] row = board.get(i);
+        for (int i = rows - 1; i >= 0; i--) {
             sb.append('|');
-            for (final Block c : row) {
-                if (c == null) {
+            for (int x = 0; x < myWidth; x++) {
+                if ((masks[i] & (1 << x)) == 0) {
                     sb.append(' ');
                 } else {
                     sb.append('*');
@@ -422,8 +689,171 @@ public final class Board implements MyBoard {
     }
 
     
+    /**
+     * Returns the live frozen blocks of this board.
+     * Package visible so that benchmarks can prepare board states directly.
+     *
+     * @return the frozen blocks.
+     */
+    BitBoard getBitBoard() {
+        return myFrozenBlocks;
+    }
+
     // private helper methods
 
+    /**
+     * Tells the operation listener, if any, that an operation starts.
+     *
+     * @param theOperation the operation.
+     */
+    private void operationStarted(final BoardOperation theOperation) {
+        if (myOperationListener != null) {
+            myOperationListener.operationStarted(theOperation);
+        }
+    }
+
+    /**
+     * Finishes a public operation: publishes a snapshot if enabled and
+     * delivers the events of the operation.
+     */
+    private void endOperation() {
+        if (mySnapshotsEnabled) {
+            publishSnapshot();
+        }
+        myEvents.flush();
+    }
+
+    /**
+     * Builds and publishes a snapshot of the current state.
+     */
+    private void publishSnapshot() {
+        mySnapshotVersion++;
+        mySnapshot = buildSnapshot();
+    }
+
+    /**
+     * Builds a snapshot of the current state with the current version. Only
+     * the rows that changed since the latest snapshot are copied; the others
+     * are shared.
+     *
+     * @return the snapshot.
+     */
+    private BoardSnapshot buildSnapshot() {
+        if (mySnapshotRows == null) {
+            final int[] masks = new int[myHeight];
+            for (int y = 0; y < myHeight; y++) {
+                masks[y] = myFrozenBlocks.getRowMask(y);
+                if (mySharedRows[y] == null) {
+                    mySharedRows[y] = myEmptyRow;
+                    if (masks[y] != 0) {
+                        mySharedRows[y] = myFrozenBlocks.toBlockRow(y);
+                    }
+                }
+            }
+            mySnapshotRows = mySharedRows.clone();
+            mySnapshotMasks = masks;
+            mySnapshotHeights = myColumnHeights.clone();
+        }
+        return new BoardSnapshot(mySnapshotVersion, myWidth, mySnapshotRows,
+                                 mySnapshotMasks, mySnapshotHeights, myCurrentPiece,
+                                 myNextPiece, myGameOver);
+    }
+
+    /**
+     * Removes cleared rows from the shared rows the same way the frozen blocks
+     * remove them, so the rows above keep being shared at their new index.
+     *
+     * @param theClearedRows the indices of the removed rows, in ascending order.
+     */
+    private void shiftSharedRows(final int[] theClearedRows) {
+        int write = 0;
+        int next = 0;
+        for (int read = 0; read < myHeight; read++) {
+            if (next < theClearedRows.length && theClearedRows[next] == read) {
+                next++;
+            } else {
+                mySharedRows[write] = mySharedRows[read];
+                write++;
+            }
+        }
+        Arrays.fill(mySharedRows, write, myHeight, myEmptyRow);
+        mySnapshotRows = null;
+    }
+
+    /**
+     * Lowers the column heights after rows were cleared. A column loses a row
+     * for every cleared row below its top, and a column whose highest block
+     * was cleared steps down past the empty cells to the next block.
+     *
+     * @param theClearedRows the indices of the removed rows, in ascending order.
+     */
+    private void lowerColumnHeights(final int[] theClearedRows) {
+        for (int x = 0; x < myWidth; x++) {
+            int height = myColumnHeights[x];
+            for (final int row : theClearedRows) {
+                if (row < myColumnHeights[x]) {
+                    height--;
+                }
+            }
+            while (height > 0 && !myFrozenBlocks.isOccupied(x, height - 1)) {
+                height--;
+            }
+            myColumnHeights[x] = height;
+        }
+    }
+
+    /**
+     * Publishes a property change on the event bus. As with PropertyChangeSupport,
+     * nothing is published when the old and new values are equal and not null.
+     * Subscribers receive the event when the current operation flushes the bus.
+     *
+     * @param thePropertyName the MyBoard.PROPERTY_* name.
+     * @param theOldValue the old value.
+     * @param theNewValue the new value.
+     */
+    private void fire(final String thePropertyName, final Object theOldValue,
+                      final Object theNewValue) {
+        if (theOldValue == null || !theOldValue.equals(theNewValue)) {
+            myEvents.publish(thePropertyName, theOldValue, theNewValue);
+        }
+    }
+
+    /**
+     * Subscribes a PropertyChangeListener to the event bus.
+     *
+     * @param thePropertyName the property to listen on, or null for every property.
+     * @param theListener the listener, ignored if null.
+     */
+    private void addListener(final String thePropertyName,
+                             final PropertyChangeListener theListener) {
+        if (theListener != null) {
+            myEvents.subscribe(thePropertyName, new PropertyChangeAdapter(this, theListener),
+                               myListenerExecutor);
+        }
+    }
+
+    /**
+     * Cancels one subscription of a PropertyChangeListener, if there is one.
+     *
+     * @param thePropertyName the property that was listened on, or null for every property.
+     * @param theListener the listener.
+     */
+    private void removeListener(final String thePropertyName,
+                                final PropertyChangeListener theListener) {
+        Subscription found = null;
+        for (final Subscription s : myEvents.getSubscriptions()) {
+            if (found == null
+                && Objects.equals(thePropertyName, s.getTopic())
+                && s.getHandler() instanceof PropertyChangeAdapter
+                && ((PropertyChangeAdapter) s.getHandler()).getListener() == theListener) {
+                found = s;
+            }
+        }
+        if (found != null) {
+            found.cancel();
+        }
+    }
+
     /**
      * Helper function to check if the current piece can be shifted to the
      * specified position.
@@ -431,21 +861,71 @@ public final class Board implements MyBoard {
      * @param theMovedPiece the position to attempt to shift the current piece
      * @return True if the move succeeded
      */
-    private boolean move(final MovableTetrisPiece theMovedPiece) {
+    private boolean move(final PieceState theMovedPiece) {
         boolean result = false;
-        final MovableTetrisPiece old = myCurrentPiece;
         if (isPieceLegal(theMovedPiece)) {
-            myCurrentPiece = theMovedPiece;
             result = true;
-            if (!myDrop) {
-                // TODO Publish Update!
-                myPcs.firePropertyChange(MyBoard.PROPERTY_CURRENT_PIECE_CHANGE,
-                        old, myCurrentPiece);
+            if (!myDrop
+                && myEvents.hasSubscribers(MyBoard.PROPERTY_CURRENT_PIECE_CHANGE)) {
+                final MovableTetrisPiece old = getCurrentPieceView();
+                setCurrentPiece(theMovedPiece);
+                fire(MyBoard.PROPERTY_CURRENT_PIECE_CHANGE,
+                        old, getCurrentPieceView());
+            } else {
+                setCurrentPiece(theMovedPiece);
             }
         }
         return result;
     }
 
+    /**
+     * Helper function to try a rotated test piece at each wall kick offset,
+     * keeping the first legal position.
+     */
+    private void rotate() {
+        if (myTestPiece.getTetrisPiece() == TetrisPiece.O) {
+            move(myTestPiece);
+        } else {
+            final Point[] offsets = WallKick.getWallKicks(myTestPiece.getTetrisPiece(),
+                                                myCurrentPiece.getRotation(),
+                                                myTestPiece.getRotation());
+            int lastX = 0;
+            int lastY = 0;
+            for (final Point p : offsets) {
+                myTestPiece.translate(p.x() - lastX, p.y() - lastY);
+                lastX = p.x();
+                lastY = p.y();
+                if (move(myTestPiece)) {
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Replaces the current piece with the values of another piece.
+     *
+     * @param thePiece the new current piece values.
+     */
+    private void setCurrentPiece(final PieceState thePiece) {
+        myCurrentPiece.set(thePiece);
+        myCurrentPieceView = null;
+        myPieceMoves++;
+    }
+
+    /**
+     * Returns an immutable copy of the current piece for observers,
+     * creating it only when it is first needed.
+     *
+     * @return the current piece, or null if there is none.
+     */
+    private MovableTetrisPiece getCurrentPieceView() {
+        if (myCurrentPieceView == null) {
+            myCurrentPieceView = myCurrentPiece.toMovablePiece();
+        }
+        return myCurrentPieceView;
+    }
+
     /**
      * Helper function to test if the piece is in a legal state.
      * <p>
@@ -453,20 +933,14 @@ public final class Board implements MyBoard {
      * - points of the piece exceed the bounds of the board
      * - points of the piece collide with frozen blocks on the board
      * 
-     * @param thePiece MovableTetrisPiece to test.
+     * @param thePiece PieceState to test.
      * @return Returns true if the piece is in a legal state; false otherwise
      */
-    private boolean isPieceLegal(final MovableTetrisPiece thePiece) {
-        boolean result = true;
-        
-        for (final Point p : thePiece.getBoardPoints()) {
-            if (p.x() < 0 || p.x() >= myWidth) {
-                result = false;
-            }
-            if (p.y() < 0) {
-                result = false;
-            }
-        }
+    private boolean isPieceLegal(final PieceState thePiece) {
+        final PieceShape shape = thePiece.getShape();
+        final boolean result = thePiece.getX() + shape.getMinX() >= 0
+                               && thePiece.getX() + shape.getMaxX() < myWidth
+                               && thePiece.getY() + shape.getMinY() >= 0;
         return result && !collision(thePiece);      
     }
 
@@ -488,33 +962,56 @@ public final class Board implements MyBoard {
     }
 
     /**
-     * Checks the board for complete rows.
+     * Freezes a Tetris piece into the frozen blocks.
+     * Ends the game if any block of the piece is off the board.
+     *
+     * @param thePiece Piece to freeze on the board.
      */
-    private void checkRows() {
-        final List<Integer> completeRows = new ArrayList<>();
-        for (final Block[] row : myFrozenBlocks) {
-            boolean complete = true;
-            for (final Block b : row) {
-                if (b == null) {
-                    complete = false;
-                    break;
-                }
+    private void freezePiece(final PieceState thePiece) {
+        final Block block = thePiece.getTetrisPiece().getBlock();
+        for (int i = 0; i < PieceState.BLOCKS; i++) {
+            final int x = thePiece.getBlockX(i);
+            final int y = thePiece.getBlockY(i);
+            if (myFrozenBlocks.isOnBoard(x, y)) {
+                myFrozenBlocks.setBlock(x, y, block);
+                myColumnHeights[x] = Math.max(myColumnHeights[x], y + 1);
+                mySharedRows[y] = null;
+                mySnapshotRows = null;
+            } else {
+                endGame();
             }
-            if (complete) {
-                //final List<Integer> old = new ArrayList<>();
-                completeRows.add(myFrozenBlocks.indexOf(row));
-                myPcs.firePropertyChange(MyBoard.PROPERTY_CLEAR_ROW,
-                        null, completeRows);
+        }
+    }
+
+    /**
+     * Checks the board for complete rows and removes them.
+     * Package visible so that benchmarks can measure it directly.
+     *
+     * @return the indices of the removed rows, in ascending order.
+     */
+    int[] checkRows() {
+        final LineClearEvent event = new LineClearEvent();
+        event.begin();
+        final List<Integer> completeRows = new ArrayList<>();
+        for (int y = 0; y < myHeight; y++) {
+            if (myFrozenBlocks.isRowComplete(y)) {
+                completeRows.add(y);
+                fire(MyBoard.PROPERTY_CLEAR_ROW,
+                        null, List.copyOf(completeRows));
             }
         }
-        // loop through list backwards removing items by index
+        int[] result = NO_ROWS;
         if (!completeRows.isEmpty()) {
-            for (int i = completeRows.size() - 1; i >= 0; i--) {
-                final Block[] row = myFrozenBlocks.get(completeRows.get(i));
-                myFrozenBlocks.remove(row);
-                myFrozenBlocks.add(new Block[myWidth]);
+            myFrozenBlocks.clearCompleteRows();
+            result = new int[completeRows.size()];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = completeRows.get(i);
             }
+            shiftSharedRows(result);
+            lowerColumnHeights(result);
         }
+        event.finish(result.length);
+        return result;
     }
     
     /**
@@ -523,11 +1020,7 @@ public final class Board implements MyBoard {
      * @return A new copy of the board.
      */
     private List<Block[]> getBoard() {
-        final List<Block[]> board = new ArrayList<>();
-        for (final Block[] row : myFrozenBlocks) {
-            board.add(row.clone());
-        }
-        return board;
+        return myFrozenBlocks.toBlockRows();
     }
 
     /**
@@ -556,52 +1049,46 @@ public final class Board implements MyBoard {
         if (isPointOnBoard(theBoard, thePoint)) { 
             final Block[] row = theBoard.get(thePoint.y());
             row[thePoint.x()] = theBlock;
-        } else if (!myGameOver) {
-            myGameOver = true;
-            myPcs.firePropertyChange(MyBoard.PROPERTY_GAME_OVER_STATE,
-                    null, true);
+        } else {
+            endGame();
         }
     }
 
     /**
-     * Returns the block at a specific board point.
-     * 
-     * @param thePoint the specific Point to check
-     * @return the Block type at point or null if no block exists.
+     * Ends the game and notifies observers, unless the game is already over.
      */
-    private Block getPoint(final Point thePoint) {
-        Block b = null;
-        if (isPointOnBoard(myFrozenBlocks, thePoint)) {
-            b = myFrozenBlocks.get(thePoint.y())[thePoint.x()];
+    private void endGame() {
+        if (!myGameOver) {
+            myGameOver = true;
+            fire(MyBoard.PROPERTY_GAME_OVER_STATE,
+                    null, true);
         }
-        return b;
     }
 
     /**
      * Helper function to determine of a movable block has collided with set
-     * blocks.
+     * blocks. The piece must lie on the board horizontally.
      * 
-     * @param theTest movable TetrisPiece to test for collision.
+     * @param theTest TetrisPiece to test for collision.
      * @return Returns true if any of the blocks has collided with a set board
      *         block.
      */
-    private boolean collision(final MovableTetrisPiece theTest) {
+    private boolean collision(final PieceState theTest) {
+        final PieceShape shape = theTest.getShape();
         boolean res = false;
-        for (final Point p : theTest.getBoardPoints()) {
-            if (getPoint(p) != null) {
-                res = true;
-            }
+        for (int row = shape.getMinY(); row <= shape.getMaxY() && !res; row++) {
+            res = (myFrozenBlocks.getRowMask(theTest.getY() + row)
+                   & shape.getRowMask(row, theTest.getX())) != 0;
         }
         return res;
     }
 
     /**
-     * Gets the next MovableTetrisPiece.
+     * Replaces the current piece with the next piece at the spawn position.
      * 
      * @param theRestart Restart the non random cycle.
-     * @return A new MovableTetrisPiece.
      */
-    private MovableTetrisPiece nextMovablePiece(final boolean theRestart) {
+    private void nextMovablePiece(final boolean theRestart) {
         
         if (myNextPiece == null || theRestart) {
             prepareNextMovablePiece();
@@ -615,9 +1102,11 @@ public final class Board implements MyBoard {
         }
         
         prepareNextMovablePiece();
-        return new MovableTetrisPiece(
-                       next,
-                       new Point((myWidth - myNextPiece.getWidth()) / 2, startY));
+        myCurrentPiece.set(next, Rotation.NONE,
+                           (myWidth - myNextPiece.getWidth()) / 2, startY);
+        myCurrentPieceView = null;
+        myPieceMoves++;
+        PieceSpawnEvent.emit(next, myCurrentPiece.getX(), startY);
     }
     
     /**
@@ -627,25 +1116,130 @@ public final class Board implements MyBoard {
         final TetrisPiece old = myNextPiece;
         final boolean share = myNextPiece != null;
         if (myNonRandomPieces == null || myNonRandomPieces.isEmpty()) {
-            myNextPiece = TetrisPiece.getRandomPiece();
+            myNextPiece = myGenerator.next();
         } else {
             mySequenceIndex %= myNonRandomPieces.size();
             myNextPiece = myNonRandomPieces.get(mySequenceIndex++);
         }
         if (share && !myGameOver) {
-            myPcs.firePropertyChange(MyBoard.PROPERTY_NEXT_PIECE_CHANGE, old, myNextPiece);
+            fire(MyBoard.PROPERTY_NEXT_PIECE_CHANGE, old, myNextPiece);
         }
     }    
 
     
     // Inner classes
 
+    /**
+     * Creates independent Board objects with a custom size and piece generator.
+     */
+    public static final class Builder {
+
+        /**
+         * Width of the board to build.
+         */
+        private int myWidth;
+
+        /**
+         * Height of the board to build.
+         */
+        private int myHeight;
+
+        /**
+         * Piece generator for the board to build, or null for a new one.
+         */
+        private PieceGenerator myGenerator;
+
+        /**
+         * Constructs a Builder with the default board size.
+         */
+        private Builder() {
+            super();
+            myWidth = DEFAULT_WIDTH;
+            myHeight = DEFAULT_HEIGHT;
+        }
+
+        /**
+         * Sets the width of the board.
+         *
+         * @param theWidth the width in columns.
+         * @return this Builder.
+         * @throws IllegalArgumentException if the width is too small or too large.
+         */
+        public Builder width(final int theWidth) {
+            if (theWidth < MIN_SIZE || theWidth > BitBoard.MAX_WIDTH) {
+                throw new IllegalArgumentException("Board width must be between "
+                        + MIN_SIZE + " and " + BitBoard.MAX_WIDTH + ": " + theWidth);
+            }
+            myWidth = theWidth;
+            return this;
+        }
+
+        /**
+         * Sets the height of the board.
+         *
+         * @param theHeight the height in rows.
+         * @return this Builder.
+         * @throws IllegalArgumentException if the height is too small.
+         */
+        public Builder height(final int theHeight) {
+            if (theHeight < MIN_SIZE) {
+                throw new IllegalArgumentException("Board height must be at least "
+                        + MIN_SIZE + ": " + theHeight);
+            }
+            myHeight = theHeight;
+            return this;
+        }
+
+        /**
+         * Sets the generator that chooses pieces.
+         * The generator is owned by the board and must not be shared.
+         *
+         * @param theGenerator the piece generator.
+         * @return this Builder.
+         * @throws NullPointerException if theGenerator is null.
+         */
+        public Builder generator(final PieceGenerator theGenerator) {
+            myGenerator = Objects.requireNonNull(theGenerator);
+            return this;
+        }
+
+        /**
+         * Chooses pieces uniformly from a seed, so that boards built with the
+         * same seed deal the same pieces.
+         *
+         * @param theSeed the seed.
+         * @return this Builder.
+         */
+        public Builder seed(final long theSeed) {
+            myGenerator = new UniformPieceGenerator(theSeed);
+            return this;
+        }
+
+        /**
+         * Creates a new Board from the values of this Builder.
+         *
+         * @return a new Board.
+         */
+        public Board build() {
+            PieceGenerator generator = myGenerator;
+            if (generator == null) {
+                generator = new UniformPieceGenerator();
+            }
+            return new Board(myWidth, myHeight, generator);
+        }
+    }
+
     /**
      * A class to describe the board data to registered Observers.
      * The board data includes the current piece and the frozen blocks.
      */
     protected final class BoardData {
-        
+
+        /**
+         * Number of empty rows above the visible board where pieces spawn.
+         */
+        private static final int HIDDEN_ROWS = 4;
+
         /**
          * The board data to pass to observers.
          */
@@ -657,12 +1251,11 @@ public final class Board implements MyBoard {
         private BoardData() {
             super();
             myBoardData = getBoard();
-            myBoardData.add(new Block[myWidth]);
-            myBoardData.add(new Block[myWidth]);
-            myBoardData.add(new Block[myWidth]);
-            myBoardData.add(new Block[myWidth]);
-            if (myCurrentPiece != null) {
-                addPieceToBoardData(myBoardData, myCurrentPiece);
+            for (int i = 0; i < HIDDEN_ROWS; i++) {
+                myBoardData.add(new Block[myWidth]);
+            }
+            if (myCurrentPiece.hasPiece()) {
+                addPieceToBoardData(myBoardData, getCurrentPieceView());
             }
         }
 
@@ -0,0 +1,78 @@
+/*
+ * TCSS 305
+ *
+ * An implementation of the classic game "Tetris".
+ */
+
+package model;
+
+/**
+ * The operations that change the state of a game on a MyBoard.
+ * Replaying the same operations on a board with the same piece generator
+ * reproduces the same game.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+public enum BoardOperation {
+
+    /** A gravity step, see {@link MyBoard#step()}. */
+    STEP,
+
+    /** A soft drop, see {@link MyBoard#down()}. */
+    DOWN,
+
+    /** See {@link MyBoard#left()}. */
+    LEFT,
+
+    /** See {@link MyBoard#right()}. */
+    RIGHT,
+
+    /** See {@link MyBoard#rotateCW()}. */
+    ROTATE_CW,
+
+    /** See {@link MyBoard#rotateCCW()}. */
+    ROTATE_CCW,
+
+    /** A hard drop, see {@link MyBoard#drop()}. */
+    DROP,
+
+    /** See {@link MyBoard#newGame()}. */
+    NEW_GAME;
+
+    /**
+     * Performs this operation on a board.
+     *
+     * @param theBoard the board.
+     */
+    public void apply(final MyBoard theBoard) {
+        switch (this) {
+            case STEP -> theBoard.step();
+            case DOWN -> theBoard.down();
+            case LEFT -> theBoard.left();
+            case RIGHT -> theBoard.right();
+            case ROTATE_CW -> theBoard.rotateCW();
+            case ROTATE_CCW -> theBoard.rotateCCW();
+            case DROP -> theBoard.drop();
+            case NEW_GAME -> theBoard.newGame();
+            default -> {
+            } // every operation is handled above
+        }
+    }
+
+    /**
+     * Is told about every operation on a board as it starts, on the thread
+     * that operates the board.
+     */
+    @FunctionalInterface
+    public interface Listener {
+
+        /**
+         * Called before an operation changes the board. A listener may change
+         * the piece generator of the board when a new game starts.
+         *
+         * @param theOperation the operation.
+         */
+        void operationStarted(BoardOperation theOperation);
+    }
+}
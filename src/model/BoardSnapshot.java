@@ -0,0 +1,344 @@
+/*
+ * TCSS 305
+ *
+ * An implementation of the classic game "Tetris".
+ */
+
+package model;
+
+import model.jfr.GhostCalculationEvent;
+
+/**
+ * An immutable picture of a Board at the end of one operation.
+ * <p>
+ * Snapshots are built on the thread that changes the Board and handed over
+ * through a single volatile field, so a renderer on any other thread can read
+ * a complete, consistent frame without locking.
+ * <p>
+ * The frozen blocks are structurally shared: each row is an array that is
+ * never changed once published, and a snapshot only gets new arrays for the
+ * rows that changed since the one before it. When rows are cleared, the rows
+ * above them are shared at their new index. Two snapshots that hold the same
+ * array for a row therefore have the same blocks in it, which lets a renderer
+ * find the rows it must redraw with one comparison per row.
+ * <p>
+ * The landing row of the falling piece, its ghost, is only worked out the
+ * first time a renderer asks for it, so nothing is spent on it while no
+ * view shows the ghost.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+public final class BoardSnapshot {
+
+    /**
+     * Marks a ghost row that has not been worked out yet.
+     */
+    private static final int UNKNOWN_GHOST = Integer.MIN_VALUE;
+
+    /**
+     * The version of this snapshot; higher versions are newer.
+     */
+    private final long myVersion;
+
+    /**
+     * The frozen blocks, bottom row first. Neither the array nor the rows
+     * are changed after the snapshot is built.
+     */
+    private final Block[][] myRows;
+
+    /**
+     * The occupancy mask of every row.
+     */
+    private final int[] myMasks;
+
+    /**
+     * The height of every column of frozen blocks.
+     */
+    private final int[] myHeights;
+
+    /**
+     * The width of the board.
+     */
+    private final int myWidth;
+
+    /**
+     * The falling piece, or null.
+     */
+    private final TetrisPiece myPiece;
+
+    /**
+     * The Rotation of the falling piece.
+     */
+    private final Rotation myRotation;
+
+    /**
+     * The x coordinate of the falling piece.
+     */
+    private final int myPieceX;
+
+    /**
+     * The y coordinate of the falling piece.
+     */
+    private final int myPieceY;
+
+    /**
+     * The y coordinate where the falling piece would land, or UNKNOWN_GHOST
+     * until getGhostY() first works it out. Every thread that races to set
+     * it stores the same value, and int writes are atomic, so it needs no
+     * synchronization.
+     */
+    private int myGhostY;
+
+    /**
+     * The next piece, or null.
+     */
+    private final TetrisPiece myNextPiece;
+
+    /**
+     * Whether the game is over.
+     */
+    private final boolean myGameOver;
+
+    /**
+     * Builds a snapshot.
+     *
+     * @param theVersion the version of the snapshot.
+     * @param theWidth the width of the board.
+     * @param theRows the frozen rows, bottom row first, that nobody will change.
+     * @param theMasks the occupancy mask of every row, that nobody will change.
+     * @param theHeights the height of every column, that nobody will change.
+     * @param thePiece the falling piece.
+     * @param theNextPiece the next piece, or null.
+     * @param theGameOver whether the game is over.
+     */
+    BoardSnapshot(final long theVersion, final int theWidth, final Block[][] theRows,
+                  final int[] theMasks, final int[] theHeights, final PieceState thePiece,
+                  final TetrisPiece theNextPiece, final boolean theGameOver) {
+        super();
+        myVersion = theVersion;
+        myWidth = theWidth;
+        myRows = theRows;
+        myMasks = theMasks;
+        myHeights = theHeights;
+        myPiece = thePiece.getTetrisPiece();
+        myRotation = thePiece.getRotation();
+        myPieceX = thePiece.getX();
+        myPieceY = thePiece.getY();
+        myNextPiece = theNextPiece;
+        myGameOver = theGameOver;
+        myGhostY = UNKNOWN_GHOST;
+    }
+
+    /**
+     * Returns the version of this snapshot. Every snapshot a Board publishes
+     * has a higher version than the one before.
+     *
+     * @return the version.
+     */
+    public long getVersion() {
+        return myVersion;
+    }
+
+    /**
+     * Returns the width of the board.
+     *
+     * @return the width in columns.
+     */
+    public int getWidth() {
+        return myWidth;
+    }
+
+    /**
+     * Returns the height of the board.
+     *
+     * @return the height in rows.
+     */
+    public int getHeight() {
+        return myRows.length;
+    }
+
+    /**
+     * Returns the frozen block in a cell.
+     *
+     * @param theX the column.
+     * @param theY the row, 0 at the bottom.
+     * @return the Block, or null if the cell is empty or off the board.
+     */
+    public Block getBlock(final int theX, final int theY) {
+        Block block = null;
+        if (theX >= 0 && theX < myWidth && theY >= 0 && theY < myRows.length) {
+            block = myRows[theY][theX];
+        }
+        return block;
+    }
+
+    /**
+     * Returns the occupancy mask of a row of frozen blocks.
+     *
+     * @param theY the row, 0 at the bottom.
+     * @return the mask, bit x set when column x is occupied; 0 for rows off the board.
+     */
+    public int getRowMask(final int theY) {
+        int mask = 0;
+        if (theY >= 0 && theY < myMasks.length) {
+            mask = myMasks[theY];
+        }
+        return mask;
+    }
+
+    /**
+     * Tests whether this snapshot shares a row of frozen blocks with another
+     * snapshot of the same board. A shared row holds the same blocks in both.
+     *
+     * @param theOther the other snapshot.
+     * @param theY the row, 0 at the bottom.
+     * @return true if the row is shared, false if it may differ.
+     */
+    public boolean sharesRow(final BoardSnapshot theOther, final int theY) {
+        return myRows[theY] == theOther.myRows[theY];
+    }
+
+    /**
+     * Tests whether this snapshot shares every row of frozen blocks with
+     * another snapshot of the same board.
+     *
+     * @param theOther the other snapshot.
+     * @return true if the frozen blocks are the same, false if they may differ.
+     */
+    public boolean sharesFrozenBlocks(final BoardSnapshot theOther) {
+        return myRows == theOther.myRows;
+    }
+
+    /**
+     * Returns the falling piece.
+     *
+     * @return the TetrisPiece, or null if there is none.
+     */
+    public TetrisPiece getPiece() {
+        return myPiece;
+    }
+
+    /**
+     * Returns the footprint of the falling piece.
+     *
+     * @return the PieceShape, or null if there is no falling piece.
+     */
+    public PieceShape getPieceShape() {
+        PieceShape shape = null;
+        if (myPiece != null) {
+            shape = myPiece.getShape(myRotation);
+        }
+        return shape;
+    }
+
+    /**
+     * Returns the Rotation of the falling piece.
+     *
+     * @return the Rotation.
+     */
+    public Rotation getPieceRotation() {
+        return myRotation;
+    }
+
+    /**
+     * Returns the x coordinate of the falling piece.
+     *
+     * @return the x coordinate of the piece origin.
+     */
+    public int getPieceX() {
+        return myPieceX;
+    }
+
+    /**
+     * Returns the y coordinate of the falling piece.
+     *
+     * @return the y coordinate of the piece origin.
+     */
+    public int getPieceY() {
+        return myPieceY;
+    }
+
+    /**
+     * Returns the y coordinate where the falling piece would land if dropped.
+     *
+     * @return the y coordinate of the ghost piece origin.
+     */
+    public int getGhostY() {
+        int ghostY = myGhostY;
+        if (ghostY == UNKNOWN_GHOST) {
+            ghostY = findGhostY();
+            myGhostY = ghostY;
+        }
+        return ghostY;
+    }
+
+    /**
+     * Returns the next piece.
+     *
+     * @return the next TetrisPiece, or null.
+     */
+    public TetrisPiece getNextPiece() {
+        return myNextPiece;
+    }
+
+    /**
+     * Returns whether the game is over.
+     *
+     * @return true if the game is over.
+     */
+    public boolean isGameOver() {
+        return myGameOver;
+    }
+
+    /**
+     * Finds the row the falling piece lands on. While the piece is above the
+     * highest block of every column it covers, it lands where the bottom of
+     * one of its columns meets that column's height, which takes one
+     * comparison per column. A piece slid under an overhang instead steps
+     * down one row at a time against the row masks.
+     *
+     * @return the y coordinate of the ghost piece origin.
+     */
+    private int findGhostY() {
+        int ghostY = myPieceY;
+        final PieceShape shape = getPieceShape();
+        if (shape != null) {
+            final GhostCalculationEvent event = new GhostCalculationEvent();
+            event.begin();
+            ghostY = -shape.getMinY();
+            boolean aboveSurface = true;
+            for (int col = shape.getMinX(); col <= shape.getMaxX(); col++) {
+                final int bottom = shape.getColumnBottom(col);
+                if (bottom != PieceShape.NO_BLOCK) {
+                    final int height = myHeights[myPieceX + col];
+                    ghostY = Math.max(ghostY, height - bottom);
+                    aboveSurface &= myPieceY + bottom >= height;
+                }
+            }
+            if (!aboveSurface) {
+                ghostY = myPieceY;
+                while (ghostY - 1 + shape.getMinY() >= 0 && !collides(shape, ghostY - 1)) {
+                    ghostY--;
+                }
+            }
+            event.finish(myPieceY - ghostY);
+        }
+        return ghostY;
+    }
+
+    /**
+     * Tests whether the falling piece would overlap a frozen block at a row.
+     *
+     * @param theShape the footprint of the piece.
+     * @param theY the y coordinate to test.
+     * @return true if the piece overlaps a frozen block.
+     */
+    private boolean collides(final PieceShape theShape, final int theY) {
+        boolean result = false;
+        for (int row = theShape.getMinY(); row <= theShape.getMaxY() && !result; row++) {
+            result = (getRowMask(theY + row) & theShape.getRowMask(row, myPieceX)) != 0;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * TCSS 305
+ *
+ * An implementation of the classic game "Tetris".
+ */
+
+package model;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Describes one change to the frozen blocks of a Board: the cells filled when a
+ * piece locked and the rows removed because they were complete.
+ * <p>
+ * Coordinates are given as they were before any row was removed. When rows are
+ * removed every row above them moves down by the number of removed rows below
+ * it (see {@link #getShift(int)}), and empty rows are added at the top.
+ * A FrozenBlocksDelta is immutable, so it may be handed to other threads.
+ * Listeners that need the whole board can call {@link MyBoard#getFrozenBlocks()}.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+public final class FrozenBlocksDelta {
+
+    /**
+     * The Block stored in every filled cell.
+     */
+    private final Block myBlock;
+
+    /**
+     * The x coordinate of every filled cell.
+     */
+    private final int[] myCellX;
+
+    /**
+     * The y coordinate of every filled cell.
+     */
+    private final int[] myCellY;
+
+    /**
+     * The indices of the removed rows, in ascending order.
+     */
+    private final int[] myClearedRows;
+
+    /**
+     * Creates a delta for a piece that locked on a board.
+     * Blocks of the piece that lie off the board are not part of the delta.
+     *
+     * @param thePiece the piece that locked.
+     * @param theBoard the frozen blocks the piece locked into.
+     * @param theClearedRows the indices of the removed rows, in ascending order.
+     */
+    FrozenBlocksDelta(final PieceState thePiece, final BitBoard theBoard,
+                      final int[] theClearedRows) {
+        super();
+        myBlock = thePiece.getTetrisPiece().getBlock();
+        final int[] cellX = new int[PieceState.BLOCKS];
+        final int[] cellY = new int[PieceState.BLOCKS];
+        int count = 0;
+        for (int i = 0; i < PieceState.BLOCKS; i++) {
+            final int x = thePiece.getBlockX(i);
+            final int y = thePiece.getBlockY(i);
+            if (theBoard.isOnBoard(x, y)) {
+                cellX[count] = x;
+                cellY[count] = y;
+                count++;
+            }
+        }
+        myCellX = Arrays.copyOf(cellX, count);
+        myCellY = Arrays.copyOf(cellY, count);
+        myClearedRows = theClearedRows.clone();
+    }
+
+    /**
+     * Returns the Block stored in every filled cell.
+     *
+     * @return the Block of the locked piece.
+     */
+    public Block getBlock() {
+        return myBlock;
+    }
+
+    /**
+     * Returns the number of filled cells.
+     *
+     * @return the number of filled cells.
+     */
+    public int getCellCount() {
+        return myCellX.length;
+    }
+
+    /**
+     * Returns the x coordinate of a filled cell.
+     *
+     * @param theIndex the cell index, 0 to getCellCount() - 1.
+     * @return the x coordinate.
+     */
+    public int getCellX(final int theIndex) {
+        return myCellX[theIndex];
+    }
+
+    /**
+     * Returns the y coordinate of a filled cell, before rows were removed.
+     *
+     * @param theIndex the cell index, 0 to getCellCount() - 1.
+     * @return the y coordinate.
+     */
+    public int getCellY(final int theIndex) {
+        return myCellY[theIndex];
+    }
+
+    /**
+     * Returns the number of removed rows.
+     *
+     * @return the number of removed rows.
+     */
+    public int getClearedRowCount() {
+        return myClearedRows.length;
+    }
+
+    /**
+     * Returns the index of a removed row, before rows were removed.
+     *
+     * @param theIndex the index into the removed rows, 0 to getClearedRowCount() - 1.
+     * @return the row index, in ascending order.
+     */
+    public int getClearedRow(final int theIndex) {
+        return myClearedRows[theIndex];
+    }
+
+    /**
+     * Returns how many rows a row moved down because rows below it were removed.
+     *
+     * @param theY the row index before rows were removed.
+     * @return the number of removed rows below the row.
+     */
+    public int getShift(final int theY) {
+        int shift = 0;
+        while (shift < myClearedRows.length && myClearedRows[shift] < theY) {
+            shift++;
+        }
+        return shift;
+    }
+
+    /**
+     * Applies this change to a copy of the frozen blocks, bottom row first,
+     * as returned by {@link MyBoard#getFrozenBlocks()}.
+     *
+     * @param theRows the rows to update in place.
+     */
+    public void applyTo(final List<Block[]> theRows) {
+        for (int i = 0; i < myCellX.length; i++) {
+            theRows.get(myCellY[i])[myCellX[i]] = myBlock;
+        }
+        if (myClearedRows.length > 0) {
+            final int width = theRows.getFirst().length;
+            for (int i = myClearedRows.length - 1; i >= 0; i--) {
+                theRows.remove(myClearedRows[i]);
+            }
+            for (int i = 0; i < myClearedRows.length; i++) {
+                theRows.add(new Block[width]);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append(myBlock);
+        for (int i = 0; i < myCellX.length; i++) {
+            sb.append(" (").append(myCellX[i]).append(", ").append(myCellY[i]).append(')');
+        }
+        sb.append(" cleared ").append(Arrays.toString(myClearedRows));
+        return sb.toString();
+    }
+}
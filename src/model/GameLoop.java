@@ -0,0 +1,373 @@
+/*
+ * TCSS 305
+ *
+ * An implementation of the classic game "Tetris".
+ */
+
+package model;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import model.event.BoardEvent;
+import model.event.Subscription;
+
+/**
+ * Runs a game on a thread of its own with a fixed timestep.
+ * <p>
+ * Time is measured with System.nanoTime() and consumed in ticks of exactly
+ * {@link #TICK_NANOS}, so gravity does not depend on how often the thread
+ * happens to wake up or on how busy any other thread is. The number of ticks
+ * between gravity steps comes from a table indexed by level. A piece that has
+ * landed is not frozen by gravity until it has rested for
+ * {@link #LOCK_DELAY_TICKS}; moving or rotating it restarts the lock delay up
+ * to {@link #MAX_LOCK_RESETS} times per piece.
+ * <p>
+ * Every operation on the board runs on the loop thread. Other threads hand
+ * operations to the loop with {@link #execute(Runnable)}; they run in order
+ * before the next tick. Listeners on other threads should therefore be added
+ * to the board with a listener Executor. Key presses and releases go to the
+ * loop's {@link InputController}, which applies them with delayed auto shift
+ * and auto repeat; the loop wakes up whenever input arrives or a repeat is due.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+public final class GameLoop implements Executor {
+
+    /**
+     * Number of ticks per second.
+     */
+    public static final int TICKS_PER_SECOND = 60;
+
+    /**
+     * Length of one tick in nanoseconds.
+     */
+    public static final long TICK_NANOS = TimeUnit.SECONDS.toNanos(1) / TICKS_PER_SECOND;
+
+    /**
+     * Ticks a landed piece rests before gravity freezes it.
+     */
+    public static final int LOCK_DELAY_TICKS = 30;
+
+    /**
+     * Number of times moving a landed piece restarts its lock delay.
+     */
+    public static final int MAX_LOCK_RESETS = 15;
+
+    /**
+     * Ticks between gravity steps, indexed by level - 1. Levels past the end
+     * of the table use the last entry.
+     */
+    private static final int[] GRAVITY_TICKS =
+        {30, 27, 24, 21, 18, 15, 12, 10, 8, 6, 5, 4, 3, 2, 1};
+
+    /**
+     * The most ticks run to catch up after the thread was held up, so a long
+     * stall does not drop the piece several rows at once.
+     */
+    private static final int MAX_CATCH_UP_TICKS = 5;
+
+    /**
+     * The board operated by this loop.
+     */
+    private final MyBoard myBoard;
+
+    /**
+     * Operations waiting to run on the loop thread.
+     */
+    private final Queue<Runnable> myCommands;
+
+    /**
+     * Player input applied on the loop thread.
+     */
+    private final InputController myInput;
+
+    /**
+     * Subscriptions that track locked pieces and game state.
+     */
+    private final Subscription[] mySubscriptions;
+
+    /**
+     * The level that selects the gravity.
+     */
+    private volatile int myLevel;
+
+    /**
+     * Whether gravity is paused.
+     */
+    private volatile boolean myPaused;
+
+    /**
+     * Whether the loop thread should keep running.
+     */
+    private volatile boolean myRunning;
+
+    /**
+     * The loop thread, or null before it is started.
+     */
+    private volatile Thread myThread;
+
+    /**
+     * Whether the board has a game in progress. Only used on the loop thread.
+     */
+    private boolean myGameInProgress;
+
+    /**
+     * Ticks since the last gravity step. Only used on the loop thread.
+     */
+    private int myGravityTicks;
+
+    /**
+     * Ticks the current piece has rested. Only used on the loop thread.
+     */
+    private int myLockTicks;
+
+    /**
+     * Lock delay restarts used by the current piece. Only used on the loop thread.
+     */
+    private int myLockResets;
+
+    /**
+     * Creates a stopped game loop at level 1. The game starts when a new game
+     * is started on the board through this loop.
+     *
+     * @param theBoard the board to operate.
+     */
+    public GameLoop(final MyBoard theBoard) {
+        super();
+        myBoard = theBoard;
+        myCommands = new ConcurrentLinkedQueue<>();
+        myInput = new InputController(this::wakeUp);
+        myLevel = 1;
+        // delivered on the loop thread, which is the thread that flushes the bus
+        mySubscriptions = new Subscription[] {
+            theBoard.getEventBus().subscribe(MyBoard.PROPERTY_FROZEN_PIECES_CHANGE,
+                                             e -> resetPieceTimers()),
+            theBoard.getEventBus().subscribe(MyBoard.PROPERTY_GAME_OVER_STATE,
+                                             this::gameStateChanged),
+        };
+    }
+
+    /**
+     * Returns the number of ticks between gravity steps at a level.
+     *
+     * @param theLevel the level, 1 or higher.
+     * @return the ticks per row of gravity.
+     */
+    public static int getGravityTicks(final int theLevel) {
+        final int index = Math.min(Math.max(theLevel, 1), GRAVITY_TICKS.length) - 1;
+        return GRAVITY_TICKS[index];
+    }
+
+    /**
+     * Starts the loop thread. A loop can only be started once.
+     *
+     * @throws IllegalStateException if the loop was started before.
+     */
+    public synchronized void start() {
+        if (myThread != null) {
+            throw new IllegalStateException("The game loop was already started");
+        }
+        myRunning = true;
+        myThread = new Thread(this::run, "Tetris game loop");
+        myThread.setDaemon(true);
+        myThread.start();
+    }
+
+    /**
+     * Stops the loop thread, waits for it to finish and stops listening to
+     * the board. Operations that have not run yet are discarded.
+     */
+    public synchronized void stop() {
+        if (myThread != null && myRunning) {
+            myRunning = false;
+            LockSupport.unpark(myThread);
+            try {
+                myThread.join();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            myCommands.clear();
+            for (final Subscription s : mySubscriptions) {
+                s.cancel();
+            }
+        }
+    }
+
+    /**
+     * Pauses or resumes gravity. Operations passed to execute() still run
+     * while paused.
+     *
+     * @param thePaused true to pause.
+     */
+    public void setPaused(final boolean thePaused) {
+        myPaused = thePaused;
+    }
+
+    /**
+     * Returns whether gravity is paused.
+     *
+     * @return true if paused.
+     */
+    public boolean isPaused() {
+        return myPaused;
+    }
+
+    /**
+     * Sets the level that selects the gravity.
+     *
+     * @param theLevel the level, 1 or higher.
+     */
+    public void setLevel(final int theLevel) {
+        myLevel = theLevel;
+    }
+
+    /**
+     * Returns the level that selects the gravity.
+     *
+     * @return the level.
+     */
+    public int getLevel() {
+        return myLevel;
+    }
+
+    /**
+     * Returns the controller that takes key presses and releases for this loop.
+     *
+     * @return the InputController.
+     */
+    public InputController getInput() {
+        return myInput;
+    }
+
+    /**
+     * Runs an operation on the loop thread before the next tick.
+     *
+     * @param theCommand the operation, usually a method of the board.
+     */
+    @Override
+    public void execute(final Runnable theCommand) {
+        myCommands.add(theCommand);
+        wakeUp();
+    }
+
+    /**
+     * Wakes the loop thread up if it is sleeping.
+     */
+    private void wakeUp() {
+        final Thread thread = myThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * The body of the loop thread. Runs waiting operations and input, then
+     * every whole tick that has elapsed, then sleeps until the next tick or
+     * key repeat is due or an operation or input arrives.
+     */
+    private void run() {
+        long previous = System.nanoTime();
+        long accumulated = 0;
+        while (myRunning) {
+            runCommands();
+            final long now = System.nanoTime();
+            runInput(now);
+            accumulated = Math.min(accumulated + now - previous,
+                                   MAX_CATCH_UP_TICKS * TICK_NANOS);
+            previous = now;
+            while (accumulated >= TICK_NANOS) {
+                tick();
+                accumulated -= TICK_NANOS;
+            }
+            LockSupport.parkNanos(this, Math.min(TICK_NANOS - accumulated,
+                                                 myInput.nanosUntilRepeat(now)));
+        }
+    }
+
+    /**
+     * Runs every waiting operation. Operations that moved or rotated a landed
+     * piece restart its lock delay; operations that left it where it was do not.
+     */
+    private void runCommands() {
+        final long moves = myBoard.getPieceMoveCount();
+        Runnable command = myCommands.poll();
+        while (command != null) {
+            command.run();
+            command = myCommands.poll();
+        }
+        if (myBoard.getPieceMoveCount() != moves) {
+            restartLockDelay();
+        }
+    }
+
+    /**
+     * Applies player input. Presses are buffered while no game is in
+     * progress and dropped while paused.
+     *
+     * @param theNow the current System.nanoTime().
+     */
+    private void runInput(final long theNow) {
+        if (!myGameInProgress) {
+            myInput.bufferPresses(theNow);
+        } else if (myPaused) {
+            myInput.discardPresses(theNow);
+        } else if (myInput.update(myBoard, theNow)) {
+            restartLockDelay();
+        }
+    }
+
+    /**
+     * Restarts the lock delay of a landed piece that was moved, up to
+     * MAX_LOCK_RESETS times per piece.
+     */
+    private void restartLockDelay() {
+        if (myLockTicks > 0 && myLockResets < MAX_LOCK_RESETS) {
+            myLockTicks = 0;
+            myLockResets++;
+        }
+    }
+
+    /**
+     * Advances gravity and the lock delay by one tick.
+     */
+    private void tick() {
+        if (myGameInProgress && !myPaused) {
+            if (myBoard.isPieceLanded()) {
+                myLockTicks++;
+                if (myLockTicks >= LOCK_DELAY_TICKS) {
+                    myBoard.step();
+                }
+            } else {
+                myLockTicks = 0;
+                myGravityTicks++;
+                if (myGravityTicks >= getGravityTicks(myLevel)) {
+                    myGravityTicks = 0;
+                    myBoard.step();
+                }
+            }
+        }
+    }
+
+    /**
+     * Starts the timers over for a new piece.
+     */
+    private void resetPieceTimers() {
+        myGravityTicks = 0;
+        myLockTicks = 0;
+        myLockResets = 0;
+    }
+
+    /**
+     * Tracks whether a game is in progress.
+     *
+     * @param theEvent the PROPERTY_GAME_OVER_STATE event.
+     */
+    private void gameStateChanged(final BoardEvent theEvent) {
+        myGameInProgress = !(Boolean) theEvent.getNewValue();
+        resetPieceTimers();
+    }
+}
@@ -0,0 +1,561 @@
+/*
+ * TCSS 305
+ *
+ * An implementation of the classic game "Tetris".
+ */
+
+package model;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Turns timestamped key presses and releases into board operations, with
+ * delayed auto shift (DAS) and auto repeat rate (ARR) for held keys.
+ * <p>
+ * Any thread may report presses and releases; they are stamped with
+ * System.nanoTime() where they happen and queued. The game loop applies them
+ * on its own thread. A held direction moves the piece once when pressed, waits
+ * the DAS, then moves again every ARR, all measured from the timestamps, so the
+ * speed does not depend on the operating system's key repeat or on when the
+ * loop happens to wake. A held soft drop moves down at the soft drop rate.
+ * Presses of a key that is already held, such as the operating system's key
+ * repeat, are ignored.
+ * <p>
+ * Nothing pressed is lost: presses are queued until the loop can apply them.
+ * Presses made while no game is in progress are kept for
+ * {@link #BUFFER_NANOS} so that a key pressed just before a game starts still
+ * reaches its first piece. A held direction keeps its DAS charge when a piece
+ * locks, so the next piece moves as soon as it spawns.
+ * <p>
+ * Repeats that fall due while the loop is held up are made up when it
+ * catches up, but only those due in the last {@link #MAX_CATCH_UP_NANOS};
+ * older ones are skipped. While gravity is paused the repeat timers of held
+ * keys start over, so nothing that fell due during a pause is made up.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+public final class InputController {
+
+    /**
+     * Default delay before a held direction starts repeating.
+     */
+    public static final long DEFAULT_DAS_NANOS = TimeUnit.MILLISECONDS.toNanos(133);
+
+    /**
+     * Default time between repeated moves of a held direction.
+     */
+    public static final long DEFAULT_ARR_NANOS = TimeUnit.MILLISECONDS.toNanos(33);
+
+    /**
+     * Default time between moves of a held soft drop.
+     */
+    public static final long DEFAULT_SOFT_DROP_NANOS = TimeUnit.MILLISECONDS.toNanos(33);
+
+    /**
+     * How long a press made while no game is in progress is kept.
+     */
+    public static final long BUFFER_NANOS = TimeUnit.MILLISECONDS.toNanos(200);
+
+    /**
+     * How late a repeat may be and still be made up.
+     */
+    public static final long MAX_CATCH_UP_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    /**
+     * Returned by nanosUntilRepeat when no key repeats.
+     */
+    public static final long NO_REPEAT = Long.MAX_VALUE;
+
+    /**
+     * Marks a shift that has not been blocked; piece move counts are never negative.
+     */
+    private static final long NOT_BLOCKED = -1;
+
+    /**
+     * Presses and releases waiting for the loop thread.
+     */
+    private final Queue<InputEvent> myEvents;
+
+    /**
+     * Wakes the loop thread up when input arrives.
+     */
+    private final Runnable myWakeUp;
+
+    /**
+     * The time each held action was pressed. Only used on the loop thread.
+     */
+    private final Map<Action, Long> myHeld;
+
+    /**
+     * Told about every press applied to the board, or null.
+     */
+    private volatile InputListener myInputListener;
+
+    /**
+     * Delay before a held direction repeats.
+     */
+    private volatile long myDasNanos;
+
+    /**
+     * Time between repeats of a held direction; 0 moves to the wall at once.
+     */
+    private volatile long myArrNanos;
+
+    /**
+     * Time between moves of a held soft drop.
+     */
+    private volatile long mySoftDropNanos;
+
+    /**
+     * The direction being shifted, or null. Only used on the loop thread.
+     */
+    private Action myShift;
+
+    /**
+     * When the current shift started charging. Only used on the loop thread.
+     */
+    private long myShiftStart;
+
+    /**
+     * Repeated moves made by the current shift. Only used on the loop thread.
+     */
+    private long myShiftRepeats;
+
+    /**
+     * The board's piece move count when the current shift last hit a wall
+     * or a block, or NOT_BLOCKED. Only used on the loop thread.
+     */
+    private long myShiftBlocked;
+
+    /**
+     * Soft drop moves made since the soft drop was pressed. Only used on the loop thread.
+     */
+    private long myDropRepeats;
+
+    /**
+     * The input actions a player can hold.
+     */
+    public enum Action {
+
+        /** Move the current piece left. */
+        LEFT,
+
+        /** Move the current piece right. */
+        RIGHT,
+
+        /** Move the current piece down, repeating while held. */
+        SOFT_DROP,
+
+        /** Drop the current piece until it freezes. */
+        HARD_DROP,
+
+        /** Rotate the current piece clockwise. */
+        ROTATE_CW,
+
+        /** Rotate the current piece counter clockwise. */
+        ROTATE_CCW;
+
+        /**
+         * Sends this action to a board once.
+         *
+         * @param theBoard the board to send the action to.
+         */
+        public void apply(final MyBoard theBoard) {
+            switch (this) {
+                case LEFT -> theBoard.left();
+                case RIGHT -> theBoard.right();
+                case SOFT_DROP -> theBoard.down();
+                case HARD_DROP -> theBoard.drop();
+                case ROTATE_CW -> theBoard.rotateCW();
+                case ROTATE_CCW -> theBoard.rotateCCW();
+                default -> {
+                } // every action is handled above
+            }
+        }
+    }
+
+    /**
+     * Is told about presses as the game loop applies them, for instance to
+     * measure input latency.
+     */
+    @FunctionalInterface
+    public interface InputListener {
+
+        /**
+         * Called on the game loop thread right after a press was applied.
+         *
+         * @param theAction the action pressed.
+         * @param thePressNanos the System.nanoTime() of the key event.
+         * @param theAppliedNanos the System.nanoTime() after the board changed.
+         */
+        void inputApplied(Action theAction, long thePressNanos, long theAppliedNanos);
+    }
+
+    /**
+     * A press or release as reported.
+     *
+     * @param action the action of the key.
+     * @param pressed true for a press, false for a release.
+     * @param nanos the System.nanoTime() of the key event.
+     */
+    private record InputEvent(Action action, boolean pressed, long nanos) { }
+
+    /**
+     * Creates an input controller with the default DAS, ARR and soft drop rate.
+     * Every GameLoop creates its own; get it with GameLoop.getInput().
+     *
+     * @param theWakeUp wakes the loop thread up when input arrives.
+     */
+    InputController(final Runnable theWakeUp) {
+        super();
+        myEvents = new ConcurrentLinkedQueue<>();
+        myWakeUp = theWakeUp;
+        myHeld = new EnumMap<>(Action.class);
+        myDasNanos = DEFAULT_DAS_NANOS;
+        myArrNanos = DEFAULT_ARR_NANOS;
+        mySoftDropNanos = DEFAULT_SOFT_DROP_NANOS;
+    }
+
+    /**
+     * Sets the delay before a held direction starts repeating.
+     *
+     * @param theNanos the delay in nanoseconds, 0 or more.
+     * @throws IllegalArgumentException if the delay is negative.
+     */
+    public void setDelayedAutoShift(final long theNanos) {
+        myDasNanos = requireNotNegative(theNanos);
+    }
+
+    /**
+     * Returns the delay before a held direction starts repeating.
+     *
+     * @return the delay in nanoseconds.
+     */
+    public long getDelayedAutoShift() {
+        return myDasNanos;
+    }
+
+    /**
+     * Sets the time between repeated moves of a held direction.
+     *
+     * @param theNanos the time in nanoseconds; 0 moves the piece to the wall at once.
+     * @throws IllegalArgumentException if the time is negative.
+     */
+    public void setAutoRepeatRate(final long theNanos) {
+        myArrNanos = requireNotNegative(theNanos);
+    }
+
+    /**
+     * Returns the time between repeated moves of a held direction.
+     *
+     * @return the time in nanoseconds.
+     */
+    public long getAutoRepeatRate() {
+        return myArrNanos;
+    }
+
+    /**
+     * Sets the time between moves of a held soft drop.
+     *
+     * @param theNanos the time in nanoseconds, more than 0.
+     * @throws IllegalArgumentException if the time is not positive.
+     */
+    public void setSoftDropRate(final long theNanos) {
+        if (theNanos <= 0) {
+            throw new IllegalArgumentException("Soft drop rate must be positive: " + theNanos);
+        }
+        mySoftDropNanos = theNanos;
+    }
+
+    /**
+     * Returns the time between moves of a held soft drop.
+     *
+     * @return the time in nanoseconds.
+     */
+    public long getSoftDropRate() {
+        return mySoftDropNanos;
+    }
+
+    /**
+     * Sets the listener told about every press applied to the board.
+     *
+     * @param theListener the listener, or null for none.
+     */
+    public void setInputListener(final InputListener theListener) {
+        myInputListener = theListener;
+    }
+
+    /**
+     * Reports a key press. Safe to call from any thread.
+     *
+     * @param theAction the action of the key.
+     * @param theNanos the System.nanoTime() when the key was pressed.
+     */
+    public void press(final Action theAction, final long theNanos) {
+        myEvents.add(new InputEvent(theAction, true, theNanos));
+        myWakeUp.run();
+    }
+
+    /**
+     * Reports a key release. Safe to call from any thread.
+     *
+     * @param theAction the action of the key.
+     * @param theNanos the System.nanoTime() when the key was released.
+     */
+    public void release(final Action theAction, final long theNanos) {
+        myEvents.add(new InputEvent(theAction, false, theNanos));
+        myWakeUp.run();
+    }
+
+    /**
+     * Applies waiting presses and every repeat that is due to a board.
+     * Called on the loop thread while a game is in progress.
+     *
+     * @param theBoard the board.
+     * @param theNow the current System.nanoTime().
+     * @return true if the falling piece moved, rotated or was replaced.
+     */
+    boolean update(final MyBoard theBoard, final long theNow) {
+        final long moves = theBoard.getPieceMoveCount();
+        InputEvent event = myEvents.poll();
+        while (event != null) {
+            if (event.pressed()) {
+                pressed(theBoard, event.action(), event.nanos());
+            } else {
+                released(event.action(), event.nanos());
+            }
+            event = myEvents.poll();
+        }
+        repeatShift(theBoard, theNow);
+        repeatSoftDrop(theBoard, theNow);
+        return theBoard.getPieceMoveCount() != moves;
+    }
+
+    /**
+     * Handles input while gravity is paused: releases are recorded and presses
+     * are dropped, so keys pressed during a pause do nothing when it ends.
+     * Keys still held start repeating over again as of now, as if they had
+     * just been pressed, without moving the piece.
+     *
+     * @param theNow the current System.nanoTime().
+     */
+    void discardPresses(final long theNow) {
+        InputEvent event = myEvents.poll();
+        while (event != null) {
+            if (!event.pressed()) {
+                released(event.action(), event.nanos());
+            }
+            event = myEvents.poll();
+        }
+        if (myShift != null) {
+            myShiftStart = theNow;
+            myShiftRepeats = 0;
+            myShiftBlocked = NOT_BLOCKED;
+        }
+        if (myHeld.containsKey(Action.SOFT_DROP)) {
+            myHeld.put(Action.SOFT_DROP, theNow);
+            myDropRepeats = 1;
+        }
+    }
+
+    /**
+     * Handles input while no game is in progress: releases are recorded and
+     * presses are kept for BUFFER_NANOS, to be applied when a game starts.
+     *
+     * @param theNow the current System.nanoTime().
+     */
+    void bufferPresses(final long theNow) {
+        final int count = myEvents.size();
+        for (int i = 0; i < count; i++) {
+            final InputEvent event = myEvents.poll();
+            if (!event.pressed()) {
+                released(event.action(), event.nanos());
+            } else if (theNow - event.nanos() < BUFFER_NANOS) {
+                myEvents.add(event);
+            }
+        }
+    }
+
+    /**
+     * Returns how long until the next repeat of a held key is due, so the
+     * loop can wake up for it.
+     *
+     * @param theNow the current System.nanoTime().
+     * @return the nanoseconds until the next repeat, or NO_REPEAT.
+     */
+    long nanosUntilRepeat(final long theNow) {
+        long next = NO_REPEAT;
+        if (myShift != null) {
+            final long due = myShiftStart + myDasNanos + myShiftRepeats * myArrNanos;
+            // with ARR 0 a charged shift only needs the loop's next tick
+            if (myArrNanos > 0 || due > theNow) {
+                next = Math.max(0, due - theNow);
+            }
+        }
+        final Long dropStart = myHeld.get(Action.SOFT_DROP);
+        if (dropStart != null) {
+            final long due = dropStart + myDropRepeats * mySoftDropNanos;
+            next = Math.min(next, Math.max(0, due - theNow));
+        }
+        return next;
+    }
+
+    /**
+     * Handles a press.
+     *
+     * @param theBoard the board.
+     * @param theAction the action pressed.
+     * @param theNanos when it was pressed.
+     */
+    private void pressed(final MyBoard theBoard, final Action theAction,
+                         final long theNanos) {
+        // a press of a key that is already held is the operating system's key repeat
+        if (!myHeld.containsKey(theAction)) {
+            myHeld.put(theAction, theNanos);
+            theAction.apply(theBoard);
+            final InputListener listener = myInputListener;
+            if (listener != null) {
+                listener.inputApplied(theAction, theNanos, System.nanoTime());
+            }
+            if (theAction == Action.LEFT || theAction == Action.RIGHT) {
+                myShift = theAction;
+                myShiftStart = theNanos;
+                myShiftRepeats = 0;
+                myShiftBlocked = NOT_BLOCKED;
+            } else if (theAction == Action.SOFT_DROP) {
+                myDropRepeats = 1;
+            }
+        }
+    }
+
+    /**
+     * Handles a release. Releasing the direction being shifted hands the shift
+     * to the other direction if it is still held; it charges its DAS again.
+     *
+     * @param theAction the action released.
+     * @param theNanos when it was released.
+     */
+    private void released(final Action theAction, final long theNanos) {
+        myHeld.remove(theAction);
+        if (theAction == myShift) {
+            myShift = null;
+            final Action other = opposite(theAction);
+            if (myHeld.containsKey(other)) {
+                myShift = other;
+                myShiftStart = theNanos;
+                myShiftRepeats = 0;
+                myShiftBlocked = NOT_BLOCKED;
+            }
+        }
+    }
+
+    /**
+     * Sends the repeats of the held direction that are due, at most the
+     * width of the board at a time. Once a repeat does not move the piece,
+     * the rest are counted but not sent until the piece moves some other
+     * way, for instance by gravity, a rotation or a new piece, so a shift
+     * held against a wall sends nothing.
+     *
+     * @param theBoard the board.
+     * @param theNow the current System.nanoTime().
+     */
+    private void repeatShift(final MyBoard theBoard, final long theNow) {
+        if (myShift != null) {
+            final long charged = theNow - myShiftStart - myDasNanos;
+            if (charged >= 0) {
+                long due = myShiftRepeats + theBoard.getWidth();
+                if (myArrNanos > 0) {
+                    final long elapsed = charged / myArrNanos + 1;
+                    final long missed = missedRepeats(myShiftRepeats, elapsed, myArrNanos);
+                    myShiftStart += missed * myArrNanos;
+                    due = Math.min(due, elapsed - missed);
+                }
+                while (myShiftRepeats < due) {
+                    final long moves = theBoard.getPieceMoveCount();
+                    if (moves != myShiftBlocked) {
+                        myShift.apply(theBoard);
+                        if (theBoard.getPieceMoveCount() == moves) {
+                            myShiftBlocked = moves;
+                        }
+                    }
+                    myShiftRepeats++;
+                }
+                if (myArrNanos == 0) {
+                    // stay against the wall without counting up forever
+                    myShiftRepeats = 0;
+                    myShiftStart = theNow - myDasNanos;
+                }
+            }
+        }
+    }
+
+    /**
+     * Sends the soft drop moves that are due, at most the height of the
+     * board at a time.
+     *
+     * @param theBoard the board.
+     * @param theNow the current System.nanoTime().
+     */
+    private void repeatSoftDrop(final MyBoard theBoard, final long theNow) {
+        final Long dropStart = myHeld.get(Action.SOFT_DROP);
+        if (dropStart != null) {
+            final long elapsed = (theNow - dropStart) / mySoftDropNanos + 1;
+            final long missed = missedRepeats(myDropRepeats, elapsed, mySoftDropNanos);
+            if (missed > 0) {
+                myHeld.put(Action.SOFT_DROP, dropStart + missed * mySoftDropNanos);
+            }
+            final long due = Math.min(elapsed - missed, myDropRepeats + theBoard.getHeight());
+            while (myDropRepeats < due) {
+                Action.SOFT_DROP.apply(theBoard);
+                myDropRepeats++;
+            }
+        }
+    }
+
+    /**
+     * Counts the repeats that are too late to be made up.
+     *
+     * @param theSent the repeats sent so far.
+     * @param theElapsed the repeats due by now.
+     * @param theRate the time between repeats, more than 0.
+     * @return the number of the oldest waiting repeats that are more than
+     *         MAX_CATCH_UP_NANOS late, 0 if there are none.
+     */
+    private static long missedRepeats(final long theSent, final long theElapsed,
+                                      final long theRate) {
+        return Math.max(0, theElapsed - theSent - (MAX_CATCH_UP_NANOS / theRate + 1));
+    }
+
+    /**
+     * Returns the other horizontal direction.
+     *
+     * @param theAction LEFT or RIGHT.
+     * @return RIGHT for LEFT, otherwise LEFT.
+     */
+    private static Action opposite(final Action theAction) {
+        Action result = Action.LEFT;
+        if (theAction == Action.LEFT) {
+            result = Action.RIGHT;
+        }
+        return result;
+    }
+
+    /**
+     * Checks that a duration is not negative.
+     *
+     * @param theNanos the duration.
+     * @return the duration.
+     * @throws IllegalArgumentException if the duration is negative.
+     */
+    private static long requireNotNegative(final long theNanos) {
+        if (theNanos < 0) {
+            throw new IllegalArgumentException("Duration must not be negative: " + theNanos);
+        }
+        return theNanos;
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * TCSS 305
+ *
+ * An implementation of the classic game "Tetris".
+ */
+
+package model;
+
+import java.util.Arrays;
+
+/**
+ * A fixed size histogram of latencies in nanoseconds.
+ * <p>
+ * Values are counted in log-linear buckets: every power of two is split
+ * into 16 equal buckets, so recorded values keep about two significant
+ * digits of precision. Recording never allocates. A histogram is not
+ * thread safe; give each thread its own and {@link #add(LatencyHistogram) add}
+ * them together afterwards.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+public final class LatencyHistogram {
+
+    /**
+     * Number of bits used for the buckets inside one power of two.
+     */
+    private static final int SUB_BUCKET_BITS = 4;
+
+    /**
+     * Number of buckets inside one power of two.
+     */
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * Total number of buckets, enough for any non negative long.
+     */
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    /**
+     * Number of nanoseconds in a microsecond.
+     */
+    private static final double NANOS_PER_MICRO = 1_000.0;
+
+    /**
+     * The count for every bucket.
+     */
+    private final long[] myCounts;
+
+    /**
+     * Number of recorded values.
+     */
+    private long myCount;
+
+    /**
+     * Sum of the recorded values.
+     */
+    private long mySum;
+
+    /**
+     * The largest recorded value.
+     */
+    private long myMax;
+
+    /**
+     * Constructs an empty histogram.
+     */
+    public LatencyHistogram() {
+        super();
+        myCounts = new long[BUCKETS];
+    }
+
+    /**
+     * Records one latency. Negative values are recorded as zero.
+     *
+     * @param theNanos the latency in nanoseconds.
+     */
+    public void record(final long theNanos) {
+        final long value = Math.max(0, theNanos);
+        myCounts[bucketOf(value)]++;
+        myCount++;
+        mySum += value;
+        myMax = Math.max(myMax, value);
+    }
+
+    /**
+     * Adds every value recorded in another histogram to this one.
+     *
+     * @param theOther the histogram to add.
+     */
+    public void add(final LatencyHistogram theOther) {
+        for (int i = 0; i < BUCKETS; i++) {
+            myCounts[i] += theOther.myCounts[i];
+        }
+        myCount += theOther.myCount;
+        mySum += theOther.mySum;
+        myMax = Math.max(myMax, theOther.myMax);
+    }
+
+    /**
+     * Removes every recorded value.
+     */
+    public void reset() {
+        Arrays.fill(myCounts, 0);
+        myCount = 0;
+        mySum = 0;
+        myMax = 0;
+    }
+
+    /**
+     * Returns the number of recorded values.
+     *
+     * @return the number of recorded values.
+     */
+    public long getCount() {
+        return myCount;
+    }
+
+    /**
+     * Returns the largest recorded value.
+     *
+     * @return the largest value in nanoseconds.
+     */
+    public long getMax() {
+        return myMax;
+    }
+
+    /**
+     * Returns the mean of the recorded values.
+     *
+     * @return the mean in nanoseconds, or 0 if nothing was recorded.
+     */
+    public double getMean() {
+        double mean = 0;
+        if (myCount > 0) {
+            mean = (double) mySum / myCount;
+        }
+        return mean;
+    }
+
+    /**
+     * Returns an estimate of a percentile of the recorded values.
+     * The estimate is the lower bound of the bucket holding the percentile.
+     *
+     * @param thePercentile the percentile, between 0 and 100.
+     * @return the percentile in nanoseconds, or 0 if nothing was recorded.
+     */
+    public long getPercentile(final double thePercentile) {
+        final long target = (long) Math.ceil(myCount * thePercentile / 100.0);
+        long seen = 0;
+        long result = 0;
+        for (int i = 0; i < BUCKETS && myCount > 0; i++) {
+            seen += myCounts[i];
+            if (seen >= Math.max(1, target)) {
+                result = Math.min(valueOf(i), myMax);
+                break;
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("n=%d mean=%.2fus p50=%.2fus p90=%.2fus p99=%.2fus max=%.2fus",
+                myCount, getMean() / NANOS_PER_MICRO,
+                getPercentile(50) / NANOS_PER_MICRO,
+                getPercentile(90) / NANOS_PER_MICRO,
+                getPercentile(99) / NANOS_PER_MICRO,
+                myMax / NANOS_PER_MICRO);
+    }
+
+    /**
+     * Returns the bucket that counts a value.
+     *
+     * @param theValue a non negative value.
+     * @return the bucket index.
+     */
+    private static int bucketOf(final long theValue) {
+        final int bucket;
+        if (theValue < SUB_BUCKETS) {
+            bucket = (int) theValue;
+        } else {
+            final int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(theValue)
+                              - SUB_BUCKET_BITS;
+            bucket = (shift + 1) * SUB_BUCKETS
+                     + (int) ((theValue >>> shift) & (SUB_BUCKETS - 1));
+        }
+        return bucket;
+    }
+
+    /**
+     * Returns the smallest value counted by a bucket.
+     *
+     * @param theBucket the bucket index.
+     * @return the lower bound of the bucket.
+     */
+    private static long valueOf(final int theBucket) {
+        final long value;
+        if (theBucket < SUB_BUCKETS) {
+            value = theBucket;
+        } else {
+            final int shift = theBucket / SUB_BUCKETS - 1;
+            value = (long) (SUB_BUCKETS + theBucket % SUB_BUCKETS) << shift;
+        }
+        return value;
+    }
+}
@@ -221,40 +221,24 @@ public final class MovableTetrisPiece implements MyMovableTetrisPiece {
 
     /**
      * Get the block points of the TetrisPiece transformed by x and y.
+     * The rotated coordinates come from the precomputed PieceShape table.
      * 
      * @param thePoint the point to transform the points around.
      * @return array of TetrisPiece block points.
      */
     private Point[] getPoints(final Point thePoint) {
+        final PieceShape shape = myTetrisPiece.getShape(myRotation);
+        int offsetX = 0;
+        int offsetY = 0;
+        if (thePoint != null) {
+            offsetX = thePoint.x();
+            offsetY = thePoint.y();
+        }
 
-        final Point[] blocks = myTetrisPiece.getPoints();
-        
+        final Point[] blocks = new Point[shape.getBlockCount()];
         for (int i = 0; i < blocks.length; i++) {
-            final Point block = blocks[i];
-            if (myTetrisPiece != TetrisPiece.O) {
-                switch (myRotation) {
-                    case QUARTER:
-                        blocks[i] = new Point(block.y(),
-                                              myTetrisPiece.getWidth() - block.x() - 1);
-                        
-                        break;
-                    case HALF:
-                        blocks[i] = new Point(myTetrisPiece.getWidth() - block.x() - 1,
-                                              myTetrisPiece.getWidth() - block.y() - 1);
-                        
-                        break;
-                    case THREEQUARTER:                 
-                        blocks[i] = new Point(myTetrisPiece.getWidth() - block.y() - 1,
-                                              block.x());
-                        
-                        
-                        break;
-                    default:
-                }
-            }
-            if (thePoint != null) {
-                blocks[i] = blocks[i].transform(thePoint);
-            }
+            blocks[i] = new Point(shape.getBlockX(i) + offsetX,
+                                  shape.getBlockY(i) + offsetY);
         }
 
         return blocks;
@@ -2,6 +2,8 @@ package model;
 
 import java.beans.PropertyChangeListener;
 import java.util.List;
+import java.util.concurrent.Executor;
+import model.event.EventBus;
 
 /**
  * Represents the operations supported by a Tetris game board.
@@ -30,8 +32,9 @@ public interface MyBoard {
     /**
      * A property for when the collection of frozen pieces change.
      * This includes when a piece is added or when rows are cleared.
-     * It returns a collection (List&lt;Block[]&gt;) that contains the blocks that make
-     * up all the currently frozen pieces or fragments thereof.
+     * The new value is a FrozenBlocksDelta describing the cells that were filled
+     * and the rows that were removed; the old value is null. Listeners that keep
+     * a copy from getFrozenBlocks() can update it with FrozenBlocksDelta.applyTo.
      */
     String PROPERTY_FROZEN_PIECES_CHANGE = "FROZEN PIECES CHANGE";
 
@@ -108,6 +111,50 @@ public interface MyBoard {
     void removePropertyChangeListener(String thePropertyName,
                                       PropertyChangeListener theListener);
 
+    /**
+     * Sets the Executor that delivers events to PropertyChangeListeners added
+     * after this call, for example SwingUtilities::invokeLater when the board
+     * is operated on a thread other than the event dispatch thread.
+     *
+     * @param theExecutor the Executor, or null to deliver on the thread that
+     *        operates the board
+     */
+    void setListenerExecutor(Executor theExecutor);
+
+    /**
+     * Turns publishing of board snapshots on or off. Must be called on the
+     * thread that operates the board.
+     *
+     * @param theEnabled true to publish a snapshot at the end of every operation
+     */
+    void setSnapshotsEnabled(boolean theEnabled);
+
+    /**
+     * Returns an immutable snapshot of the board as of the end of the latest
+     * operation. Safe to call from any thread.
+     *
+     * @return the latest snapshot, or null if snapshots have never been enabled
+     */
+    BoardSnapshot getSnapshot();
+
+    /**
+     * Builds an immutable snapshot of the current state without publishing it,
+     * whether or not snapshots are enabled. The snapshot has the version of the
+     * latest published one. Must be called on the thread that operates the board.
+     *
+     * @return a snapshot of the current state
+     */
+    BoardSnapshot createSnapshot();
+
+    /**
+     * Returns the event bus that delivers the PROPERTY_* events of this board.
+     * Subscribing to the bus directly avoids a PropertyChangeEvent per event,
+     * receives events in batches and can deliver them through an Executor.
+     *
+     * @return the event bus of this board
+     */
+    EventBus getEventBus();
+
     /**
      * Returns the width of the board.
      *
@@ -122,6 +169,32 @@ public interface MyBoard {
      */
     int getHeight();
 
+    /**
+     * Returns how many times the current piece has moved, rotated or been
+     * replaced by the next piece. An operation that leaves the count
+     * unchanged did not move the piece, for instance a shift into a wall.
+     * Call on the thread that operates the board.
+     *
+     * @return the count, which only grows
+     */
+    long getPieceMoveCount();
+
+    /**
+     * Returns whether the current piece rests on the floor or on a frozen block,
+     * so that the next step would freeze it.
+     *
+     * @return true if the current piece cannot move down
+     */
+    boolean isPieceLanded();
+
+    /**
+     * Returns a copy of the frozen blocks, bottom row first.
+     * Empty cells are null.
+     *
+     * @return a new List of rows that the caller may modify.
+     */
+    List<Block[]> getFrozenBlocks();
+
     /**
      * Resets the board for a new game.
      * This method must be called before the first game
@@ -129,6 +202,24 @@ public interface MyBoard {
      */
     void newGame();
 
+    /**
+     * Sets the generator that chooses the pieces after the next piece, unless
+     * a non random sequence is set. The generator is owned by the board from
+     * now on and must not be shared.
+     *
+     * @param theGenerator the piece generator.
+     * @throws NullPointerException if theGenerator is null.
+     */
+    void setPieceGenerator(PieceGenerator theGenerator);
+
+    /**
+     * Sets the listener told about every operation as it starts, for instance
+     * to record a replay. Must be called on the thread that operates the board.
+     *
+     * @param theListener the listener, or null for none.
+     */
+    void setOperationListener(BoardOperation.Listener theListener);
+
     /**
      * Sets a non random sequence of pieces to loop through.
      *
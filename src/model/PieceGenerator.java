@@ -0,0 +1,38 @@
+/*
+ * TCSS 305
+ *
+ * An implementation of the classic game "Tetris".
+ */
+
+package model;
+
+/**
+ * Chooses the pieces a Board deals.
+ * <p>
+ * A generator belongs to one Board and is only called by the thread that
+ * operates that Board, so implementations need no locking. A generator
+ * created from a seed deals the same pieces every time, which makes games
+ * reproducible. Use {@link #split()} to give parallel games their own
+ * generators without sharing any state between threads.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+public interface PieceGenerator {
+
+    /**
+     * Returns the next piece to deal.
+     *
+     * @return the next TetrisPiece.
+     */
+    TetrisPiece next();
+
+    /**
+     * Returns a new generator of the same kind whose pieces are independent
+     * of this one's. Splitting a seeded generator gives the same new
+     * generator every time.
+     *
+     * @return a new PieceGenerator.
+     */
+    PieceGenerator split();
+}
@@ -0,0 +1,237 @@
+/*
+ * TCSS 305
+ *
+ * An implementation of the classic game "Tetris".
+ */
+
+package model;
+
+import java.util.Arrays;
+
+/**
+ * The precomputed footprint of one TetrisPiece in one Rotation.
+ * <p>
+ * A PieceShape holds the block coordinates, the occupied bounds, a bit mask
+ * for every row and the lowest and highest block of every column, all in the
+ * piece's local 4 by 4 grid. Shapes are built once when the TetrisPiece enum
+ * is initialized and are immutable, so they are shared without copying.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+public final class PieceShape {
+
+    /**
+     * The side length of the local grid of a TetrisPiece.
+     */
+    public static final int SIZE = 4;
+
+    /**
+     * Column profile value for a column that holds no block.
+     */
+    public static final int NO_BLOCK = -1;
+
+    /**
+     * Local x coordinate of each block.
+     */
+    private final int[] myBlockX;
+
+    /**
+     * Local y coordinate of each block.
+     */
+    private final int[] myBlockY;
+
+    /**
+     * Bit mask of each local row, bit x set when column x holds a block.
+     */
+    private final int[] myRowMasks;
+
+    /**
+     * Lowest local y of each column, or NO_BLOCK.
+     */
+    private final int[] myColumnBottom;
+
+    /**
+     * Highest local y of each column, or NO_BLOCK.
+     */
+    private final int[] myColumnTop;
+
+    /**
+     * Smallest local x of any block.
+     */
+    private final int myMinX;
+
+    /**
+     * Largest local x of any block.
+     */
+    private final int myMaxX;
+
+    /**
+     * Smallest local y of any block.
+     */
+    private final int myMinY;
+
+    /**
+     * Largest local y of any block.
+     */
+    private final int myMaxY;
+
+    /**
+     * Builds the shape from an array of {x, y} block coordinates.
+     *
+     * @param thePoints the local block coordinates.
+     */
+    PieceShape(final int[][] thePoints) {
+        super();
+        myBlockX = new int[thePoints.length];
+        myBlockY = new int[thePoints.length];
+        myRowMasks = new int[SIZE];
+        myColumnBottom = new int[SIZE];
+        myColumnTop = new int[SIZE];
+        Arrays.fill(myColumnBottom, NO_BLOCK);
+        Arrays.fill(myColumnTop, NO_BLOCK);
+
+        int minX = SIZE;
+        int maxX = -1;
+        int minY = SIZE;
+        int maxY = -1;
+        for (int i = 0; i < thePoints.length; i++) {
+            final int x = thePoints[i][0];
+            final int y = thePoints[i][1];
+            myBlockX[i] = x;
+            myBlockY[i] = y;
+            myRowMasks[y] |= 1 << x;
+            if (myColumnBottom[x] == NO_BLOCK || y < myColumnBottom[x]) {
+                myColumnBottom[x] = y;
+            }
+            myColumnTop[x] = Math.max(myColumnTop[x], y);
+            minX = Math.min(minX, x);
+            maxX = Math.max(maxX, x);
+            minY = Math.min(minY, y);
+            maxY = Math.max(maxY, y);
+        }
+        myMinX = minX;
+        myMaxX = maxX;
+        myMinY = minY;
+        myMaxY = maxY;
+    }
+
+    /**
+     * Returns the number of blocks in the shape.
+     *
+     * @return the number of blocks.
+     */
+    public int getBlockCount() {
+        return myBlockX.length;
+    }
+
+    /**
+     * Returns the local x coordinate of a block.
+     *
+     * @param theIndex the block index.
+     * @return the local x coordinate.
+     */
+    public int getBlockX(final int theIndex) {
+        return myBlockX[theIndex];
+    }
+
+    /**
+     * Returns the local y coordinate of a block.
+     *
+     * @param theIndex the block index.
+     * @return the local y coordinate.
+     */
+    public int getBlockY(final int theIndex) {
+        return myBlockY[theIndex];
+    }
+
+    /**
+     * Returns the bit mask of a local row. Rows outside the local grid are empty.
+     *
+     * @param theY the local row.
+     * @return the row mask, bit x set when local column x holds a block.
+     */
+    public int getRowMask(final int theY) {
+        int mask = 0;
+        if (theY >= 0 && theY < SIZE) {
+            mask = myRowMasks[theY];
+        }
+        return mask;
+    }
+
+    /**
+     * Returns the bit mask of a local row shifted to board columns,
+     * for a piece whose origin is at board column theX.
+     * The piece must lie on the board horizontally.
+     *
+     * @param theY the local row.
+     * @param theX the board x coordinate of the piece origin.
+     * @return the row mask in board columns.
+     */
+    public int getRowMask(final int theY, final int theX) {
+        final int mask = getRowMask(theY);
+        final int result;
+        if (theX >= 0) {
+            result = mask << theX;
+        } else {
+            result = mask >>> -theX;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the lowest local y of a column.
+     *
+     * @param theX the local column.
+     * @return the lowest block in the column, or NO_BLOCK.
+     */
+    public int getColumnBottom(final int theX) {
+        return myColumnBottom[theX];
+    }
+
+    /**
+     * Returns the highest local y of a column.
+     *
+     * @param theX the local column.
+     * @return the highest block in the column, or NO_BLOCK.
+     */
+    public int getColumnTop(final int theX) {
+        return myColumnTop[theX];
+    }
+
+    /**
+     * Returns the smallest local x of any block.
+     *
+     * @return the smallest local x.
+     */
+    public int getMinX() {
+        return myMinX;
+    }
+
+    /**
+     * Returns the largest local x of any block.
+     *
+     * @return the largest local x.
+     */
+    public int getMaxX() {
+        return myMaxX;
+    }
+
+    /**
+     * Returns the smallest local y of any block.
+     *
+     * @return the smallest local y.
+     */
+    public int getMinY() {
+        return myMinY;
+    }
+
+    /**
+     * Returns the largest local y of any block.
+     *
+     * @return the largest local y.
+     */
+    public int getMaxY() {
+        return myMaxY;
+    }
+}
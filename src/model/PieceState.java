@@ -0,0 +1,234 @@
+/*
+ * TCSS 305
+ *
+ * An implementation of the classic game "Tetris".
+ */
+
+package model;
+
+/**
+ * A mutable TetrisPiece with a position and a rotation, stored as primitives.
+ * <p>
+ * Unlike {@link MovableTetrisPiece}, a PieceState is changed in place by its
+ * movement methods, so the Board and headless clients can test and apply
+ * moves without allocating. Use {@link #toMovablePiece()} to obtain an
+ * immutable copy for observers.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+public final class PieceState {
+
+    /**
+     * The number of blocks in a TetrisPiece.
+     */
+    public static final int BLOCKS = 4;
+
+    /**
+     * Cached copy of the Rotation values.
+     */
+    private static final Rotation[] ROTATIONS = Rotation.values();
+
+    /**
+     * The TetrisPiece, or null when no piece has been set.
+     */
+    private TetrisPiece myTetrisPiece;
+
+    /**
+     * The ordinal of the current Rotation.
+     */
+    private int myRotation;
+
+    /**
+     * The board x coordinate of the piece origin.
+     */
+    private int myX;
+
+    /**
+     * The board y coordinate of the piece origin.
+     */
+    private int myY;
+
+    /**
+     * Constructs an empty PieceState with no TetrisPiece.
+     */
+    public PieceState() {
+        super();
+    }
+
+    /**
+     * Constructs a PieceState with the same values as a movable TetrisPiece.
+     *
+     * @param thePiece the movable TetrisPiece to copy.
+     */
+    public PieceState(final MyMovableTetrisPiece thePiece) {
+        super();
+        set(thePiece.getTetrisPiece(), thePiece.getRotation(),
+            thePiece.getPosition().x(), thePiece.getPosition().y());
+    }
+
+    /**
+     * Sets every value of this PieceState.
+     *
+     * @param thePiece the TetrisPiece.
+     * @param theRotation the Rotation.
+     * @param theX the board x coordinate.
+     * @param theY the board y coordinate.
+     */
+    public void set(final TetrisPiece thePiece, final Rotation theRotation,
+                    final int theX, final int theY) {
+        myTetrisPiece = thePiece;
+        myRotation = theRotation.ordinal();
+        myX = theX;
+        myY = theY;
+    }
+
+    /**
+     * Copies every value of another PieceState into this one.
+     *
+     * @param theOther the PieceState to copy.
+     */
+    public void set(final PieceState theOther) {
+        myTetrisPiece = theOther.myTetrisPiece;
+        myRotation = theOther.myRotation;
+        myX = theOther.myX;
+        myY = theOther.myY;
+    }
+
+    /**
+     * Removes the TetrisPiece from this PieceState.
+     */
+    public void clear() {
+        myTetrisPiece = null;
+        myRotation = 0;
+        myX = 0;
+        myY = 0;
+    }
+
+    /**
+     * Tests whether a TetrisPiece has been set.
+     *
+     * @return true if this PieceState holds a TetrisPiece.
+     */
+    public boolean hasPiece() {
+        return myTetrisPiece != null;
+    }
+
+    /**
+     * Get the TetrisPiece type of this PieceState.
+     *
+     * @return the TetrisPiece, or null if none has been set.
+     */
+    public TetrisPiece getTetrisPiece() {
+        return myTetrisPiece;
+    }
+
+    /**
+     * Get the current Rotation.
+     *
+     * @return the current Rotation.
+     */
+    public Rotation getRotation() {
+        return ROTATIONS[myRotation];
+    }
+
+    /**
+     * Get the ordinal of the current Rotation.
+     *
+     * @return the current Rotation ordinal.
+     */
+    public int getRotationIndex() {
+        return myRotation;
+    }
+
+    /**
+     * Get the board x coordinate of the piece origin.
+     *
+     * @return the x coordinate.
+     */
+    public int getX() {
+        return myX;
+    }
+
+    /**
+     * Get the board y coordinate of the piece origin.
+     *
+     * @return the y coordinate.
+     */
+    public int getY() {
+        return myY;
+    }
+
+    /**
+     * Get the board x coordinate of one block of the piece.
+     *
+     * @param theIndex the block index, 0 to BLOCKS - 1.
+     * @return the board x coordinate of the block.
+     */
+    public int getBlockX(final int theIndex) {
+        return myX + getShape().getBlockX(theIndex);
+    }
+
+    /**
+     * Get the board y coordinate of one block of the piece.
+     *
+     * @param theIndex the block index, 0 to BLOCKS - 1.
+     * @return the board y coordinate of the block.
+     */
+    public int getBlockY(final int theIndex) {
+        return myY + getShape().getBlockY(theIndex);
+    }
+
+    /**
+     * Get the precomputed footprint of the piece in its current rotation.
+     *
+     * @return the footprint of the piece.
+     */
+    public PieceShape getShape() {
+        return myTetrisPiece.getShape(myRotation);
+    }
+
+    /**
+     * Moves the piece by the specified offsets.
+     *
+     * @param theX the x offset.
+     * @param theY the y offset.
+     */
+    public void translate(final int theX, final int theY) {
+        myX += theX;
+        myY += theY;
+    }
+
+    /**
+     * Rotates the piece clockwise in place.
+     */
+    public void rotateCW() {
+        myRotation = (myRotation + 1) % ROTATIONS.length;
+    }
+
+    /**
+     * Rotates the piece counter clockwise in place.
+     */
+    public void rotateCCW() {
+        myRotation = (myRotation - 1 + ROTATIONS.length) % ROTATIONS.length;
+    }
+
+    /**
+     * Creates an immutable movable TetrisPiece with the values of this PieceState.
+     *
+     * @return a new MovableTetrisPiece, or null if no piece has been set.
+     */
+    public MovableTetrisPiece toMovablePiece() {
+        MovableTetrisPiece result = null;
+        if (myTetrisPiece != null) {
+            result = new MovableTetrisPiece(myTetrisPiece, new Point(myX, myY),
+                                            ROTATIONS[myRotation]);
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return myTetrisPiece + " " + ROTATIONS[myRotation] + " (" + myX + ", " + myY + ")";
+    }
+}
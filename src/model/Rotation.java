@@ -6,7 +6,7 @@
 
 package model;
 
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Enumeration of Rotation types.
@@ -37,9 +37,9 @@ public enum Rotation {
     THREEQUARTER;
 
     /**
-     * A Random object used for generating random rotations.
+     * Cached copy of the Rotation values.
      */
-    private static final Random GENERATOR = new Random();
+    private static final Rotation[] VALUES = values();
 
     /**
      * Create a new Rotation from this one rotated clockwise.
@@ -47,7 +47,7 @@ public enum Rotation {
      * @return new Rotation object that is rotated 90 degrees clockwise.
      */
     public Rotation clockwise() {
-        return values()[(this.ordinal() + 1) % values().length];
+        return VALUES[(this.ordinal() + 1) % VALUES.length];
     }
 
     /**
@@ -56,16 +56,17 @@ public enum Rotation {
      * @return new Rotation object that is rotated 90 degrees clockwise.
      */
     public Rotation counterClockwise() {
-        return values()[(this.ordinal() - 1 + values().length) % values().length];
+        return VALUES[(this.ordinal() - 1 + VALUES.length) % VALUES.length];
     }
 
     /**
-     * Creates a new Rotation with a random angle.
+     * Creates a new Rotation with a random angle, from the random number
+     * generator of the calling thread so threads never contend for it.
      * 
      * @return new random Rotation.
      */
     public static Rotation random() {
-        return values()[GENERATOR.nextInt(values().length)];
+        return VALUES[ThreadLocalRandom.current().nextInt(VALUES.length)];
     }
 
 }
@@ -7,6 +7,7 @@
 package model;
 
 import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Enumeration of the TetrisPiece types.
@@ -93,9 +94,9 @@ public enum TetrisPiece {
     // Other class constants
 
     /**
-     * A Random Object.
+     * Cached copy of the TetrisPiece values.
      */
-    private static final Random RANDOM = new Random();
+    private static final TetrisPiece[] VALUES = values();
 
     
     // instance fields
@@ -119,6 +120,11 @@ public enum TetrisPiece {
      */
     private final int[][][] myPointsByRotation;
 
+    /**
+     * The precomputed footprint for each rotation, indexed by Rotation ordinal.
+     */
+    private final PieceShape[] myShapes;
+
     /**
      * Block type of the TetrisPiece.
      */
@@ -138,6 +144,10 @@ public enum TetrisPiece {
                 final int[][][] thePointsByRotation, 
                 final Point... thePoints) {
         myPointsByRotation = thePointsByRotation.clone();
+        myShapes = new PieceShape[thePointsByRotation.length];
+        for (int i = 0; i < myShapes.length; i++) {
+            myShapes[i] = new PieceShape(thePointsByRotation[i]);
+        }
         myWidth = theWidth;
         myHeight = theHeight;
         myBlock = theBlock;
@@ -190,11 +200,43 @@ public enum TetrisPiece {
     }
 
     /**
-     * Get a random TetrisPiece.
+     * Returns the precomputed footprint of the TetrisPiece for a Rotation.
+     * The returned shape is immutable and shared; it is not copied.
+     *
+     * @param theRotation the Rotation of the footprint.
+     * @return the footprint for the Rotation.
+     */
+    public PieceShape getShape(final Rotation theRotation) {
+        return myShapes[theRotation.ordinal()];
+    }
+
+    /**
+     * Returns the precomputed footprint of the TetrisPiece for a Rotation ordinal.
+     *
+     * @param theRotation the Rotation ordinal.
+     * @return the footprint for the Rotation.
+     */
+    PieceShape getShape(final int theRotation) {
+        return myShapes[theRotation];
+    }
+
+    /**
+     * Get a random TetrisPiece from the random number generator of the
+     * calling thread, so threads never contend for it.
      * 
      * @return a random TetrisPiece.
      */
     public static TetrisPiece getRandomPiece() {
-        return values()[RANDOM.nextInt(values().length)];
+        return VALUES[ThreadLocalRandom.current().nextInt(VALUES.length)];
+    }
+
+    /**
+     * Get a random TetrisPiece using the specified random number generator.
+     * 
+     * @param theRandom the random number generator to use.
+     * @return a random TetrisPiece.
+     */
+    public static TetrisPiece getRandomPiece(final Random theRandom) {
+        return VALUES[theRandom.nextInt(VALUES.length)];
     }
 }
@@ -0,0 +1,65 @@
+/*
+ * TCSS 305
+ *
+ * An implementation of the classic game "Tetris".
+ */
+
+package model;
+
+import java.util.SplittableRandom;
+
+/**
+ * Deals every piece with the same probability, independent of the pieces
+ * dealt before, from a SplittableRandom owned by the generator.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+public final class UniformPieceGenerator implements PieceGenerator {
+
+    /**
+     * Cached copy of the TetrisPiece values.
+     */
+    private static final TetrisPiece[] PIECES = TetrisPiece.values();
+
+    /**
+     * The random number generator, used by one thread only.
+     */
+    private final SplittableRandom myRandom;
+
+    /**
+     * Creates a generator with an unpredictable seed.
+     */
+    public UniformPieceGenerator() {
+        this(new SplittableRandom());
+    }
+
+    /**
+     * Creates a generator that deals the same pieces for the same seed.
+     *
+     * @param theSeed the seed.
+     */
+    public UniformPieceGenerator(final long theSeed) {
+        this(new SplittableRandom(theSeed));
+    }
+
+    /**
+     * Creates a generator that owns a random number generator.
+     *
+     * @param theRandom the random number generator.
+     */
+    private UniformPieceGenerator(final SplittableRandom theRandom) {
+        super();
+        myRandom = theRandom;
+    }
+
+    @Override
+    public TetrisPiece next() {
+        return PIECES[myRandom.nextInt(PIECES.length)];
+    }
+
+    @Override
+    public PieceGenerator split() {
+        return new UniformPieceGenerator(myRandom.split());
+    }
+}
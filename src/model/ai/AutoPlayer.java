@@ -0,0 +1,240 @@
+/*
+ * TCSS 305
+ *
+ * An implementation of the classic game "Tetris".
+ */
+
+package model.ai;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import model.BoardSnapshot;
+import model.MyBoard;
+import model.event.Subscription;
+
+/**
+ * Plays a game on a MyBoard with a {@link BeamSearch}.
+ * <p>
+ * Whenever a new piece comes in, after a piece froze or a new game began,
+ * the player takes a snapshot of the board and searches it in the pool of
+ * the search, so the thread that operates the board is never held up. The
+ * chosen path is then handed to the board executor and sent to the board as
+ * ordinary moves, rotations and a drop. A path that arrives after its piece
+ * has locked is thrown away; one that arrives after gravity moved the piece
+ * is searched again first.
+ * <p>
+ * The board must publish snapshots; starting the player turns them on.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+public final class AutoPlayer {
+
+    /**
+     * The board to play on.
+     */
+    private final MyBoard myBoard;
+
+    /**
+     * Runs operations on the thread that operates the board.
+     */
+    private final Executor myBoardExecutor;
+
+    /**
+     * Chooses the placements.
+     */
+    private final BeamSearch mySearch;
+
+    /**
+     * Counts the pieces planned for; a path is only played while its piece
+     * is still the latest.
+     */
+    private final AtomicLong myGeneration;
+
+    /**
+     * Whether the player is playing.
+     */
+    private volatile boolean myRunning;
+
+    /**
+     * Shortest time from a new piece until its path is played.
+     */
+    private volatile long myPieceDelayNanos;
+
+    /**
+     * The subscription to frozen pieces, or null when stopped.
+     */
+    private Subscription myFrozenSubscription;
+
+    /**
+     * The subscription to new games, or null when stopped.
+     */
+    private Subscription myGameSubscription;
+
+    /**
+     * Creates a stopped player.
+     *
+     * @param theBoard the board to play on.
+     * @param theBoardExecutor runs operations on the thread that operates the
+     *        board, for example a GameLoop, or a direct executor for a board
+     *        operated by the calling thread.
+     * @param theSearch chooses the placements; must be for the size of the board.
+     */
+    public AutoPlayer(final MyBoard theBoard, final Executor theBoardExecutor,
+                      final BeamSearch theSearch) {
+        super();
+        myBoard = theBoard;
+        myBoardExecutor = theBoardExecutor;
+        mySearch = theSearch;
+        myGeneration = new AtomicLong();
+    }
+
+    /**
+     * Starts playing, beginning with the piece that is falling now.
+     */
+    public synchronized void start() {
+        if (!myRunning) {
+            myRunning = true;
+            // delivered synchronously on the thread that operates the board;
+            // the next piece change is not used, as it is not fired when the
+            // next piece happens to equal the one before it
+            myFrozenSubscription = myBoard.getEventBus().subscribe(
+                    MyBoard.PROPERTY_FROZEN_PIECES_CHANGE, e -> plan());
+            myGameSubscription = myBoard.getEventBus().subscribe(
+                    MyBoard.PROPERTY_GAME_OVER_STATE, e -> plan());
+            myBoardExecutor.execute(() -> {
+                myBoard.setSnapshotsEnabled(true);
+                plan();
+            });
+        }
+    }
+
+    /**
+     * Stops playing. A path that is being searched is not played.
+     */
+    public synchronized void stop() {
+        if (myRunning) {
+            myRunning = false;
+            myGeneration.incrementAndGet();
+            myFrozenSubscription.cancel();
+            myFrozenSubscription = null;
+            myGameSubscription.cancel();
+            myGameSubscription = null;
+        }
+    }
+
+    /**
+     * Returns whether the player is playing.
+     *
+     * @return true if started and not stopped.
+     */
+    public boolean isRunning() {
+        return myRunning;
+    }
+
+    /**
+     * Searches the falling piece again, for example after the board executor
+     * skipped a path while the game was paused.
+     */
+    public void replan() {
+        myBoardExecutor.execute(this::plan);
+    }
+
+    /**
+     * Sets the shortest time from a new piece until its path is played, so
+     * that people can follow the game. The default of 0 plays every piece as
+     * soon as it has been searched.
+     *
+     * @param theNanos the delay in nanoseconds.
+     * @throws IllegalArgumentException if theNanos is negative.
+     */
+    public void setPieceDelay(final long theNanos) {
+        if (theNanos < 0) {
+            throw new IllegalArgumentException("Delay must not be negative: " + theNanos);
+        }
+        myPieceDelayNanos = theNanos;
+    }
+
+    /**
+     * Returns the shortest time from a new piece until its path is played.
+     *
+     * @return the delay in nanoseconds.
+     */
+    public long getPieceDelay() {
+        return myPieceDelayNanos;
+    }
+
+    /**
+     * Starts a search for a piece that just came in. Called on the thread
+     * that operates the board.
+     */
+    private void plan() {
+        plan(System.nanoTime());
+    }
+
+    /**
+     * Starts a search for the falling piece on the search pool. Any search
+     * started before is stale from now on, and its path is discarded.
+     * Called on the thread that operates the board.
+     *
+     * @param theStart when the piece came in, from System.nanoTime().
+     */
+    private void plan(final long theStart) {
+        final long generation = myGeneration.incrementAndGet();
+        final BoardSnapshot snapshot = myBoard.getSnapshot();
+        if (myRunning && snapshot != null && !snapshot.isGameOver()
+            && snapshot.getPiece() != null) {
+            mySearch.getPool().execute(() -> choose(snapshot, generation, theStart));
+        }
+    }
+
+    /**
+     * Searches a snapshot and hands the chosen path to the board executor
+     * once the piece delay has passed.
+     *
+     * @param theSnapshot the board when the piece came in.
+     * @param theGeneration the generation of the piece.
+     * @param theStart when the piece came in, from System.nanoTime().
+     */
+    private void choose(final BoardSnapshot theSnapshot, final long theGeneration,
+                        final long theStart) {
+        final Placement placement = mySearch.search(theSnapshot);
+        if (placement != null) {
+            final long wait = myPieceDelayNanos - (System.nanoTime() - theStart);
+            Executor executor = myBoardExecutor;
+            if (wait > 0) {
+                executor = CompletableFuture.delayedExecutor(wait, TimeUnit.NANOSECONDS,
+                                                             myBoardExecutor);
+            }
+            executor.execute(() -> play(theSnapshot, placement, theGeneration, theStart));
+        }
+    }
+
+    /**
+     * Sends a path to the board if its piece is still falling. If gravity
+     * has moved the piece since the snapshot was taken, the path is dropped
+     * and the board is searched again on the search pool from where the
+     * piece is now, so the board thread never waits for a search. Called on
+     * the thread that operates the board.
+     *
+     * @param theSnapshot the board the path was found on.
+     * @param thePlacement the placement.
+     * @param theGeneration the generation of its piece.
+     * @param theStart when the piece came in, from System.nanoTime().
+     */
+    private void play(final BoardSnapshot theSnapshot, final Placement thePlacement,
+                      final long theGeneration, final long theStart) {
+        if (myRunning && theGeneration == myGeneration.get()) {
+            final BoardSnapshot now = myBoard.getSnapshot();
+            if (now.getPieceY() != theSnapshot.getPieceY()
+                || now.getPieceX() != theSnapshot.getPieceX()
+                || now.getPieceRotation() != theSnapshot.getPieceRotation()) {
+                plan(theStart);
+            } else {
+                thePlacement.apply(myBoard);
+            }
+        }
+    }
+}
@@ -0,0 +1,596 @@
+/*
+ * TCSS 305
+ *
+ * An implementation of the classic game "Tetris".
+ */
+
+package model.ai;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import model.BitBoard;
+import model.BoardSnapshot;
+import model.Rotation;
+import model.TetrisPiece;
+
+/**
+ * Chooses where to place a piece by searching the placements of the falling
+ * piece and the pieces in the preview.
+ * <p>
+ * The search keeps a beam of the best boards found so far. Every ply places
+ * the next known piece in every possible way on every board of the beam,
+ * scores the results with a {@link BoardEvaluator} and keeps the best
+ * {@link Builder#beamWidth(int)} of them. The boards of a ply are expanded
+ * in parallel by fork/join tasks, each with a {@link PlacementEnumerator} of
+ * its own thread. The placement of the falling piece that leads to the best
+ * board of the last ply is chosen. Placements that end the game are never
+ * searched. Boards of a ply that are the same, because two branches
+ * reached them in different orders, are kept only once.
+ * <p>
+ * With a {@link TranspositionTable}, the search caches the score of every
+ * board it evaluates and the placement it chooses for every board it is
+ * asked about, under their Zobrist hashes, so boards seen before in another
+ * branch, search or thread are not evaluated or searched again.
+ * <p>
+ * A search is run in the ForkJoinPool of the calling thread if it has one,
+ * so searches called from parallel games share their pool, and in the pool
+ * of the Builder otherwise. A BeamSearch is immutable and may be shared by
+ * any number of threads.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+public final class BeamSearch {
+
+    /**
+     * Default number of boards kept after every ply.
+     */
+    public static final int DEFAULT_BEAM_WIDTH = 16;
+
+    /**
+     * Default number of pieces placed by a search.
+     */
+    public static final int DEFAULT_DEPTH = 2;
+
+    /**
+     * Orders boards from the best score to the worst.
+     */
+    private static final Comparator<Node> BEST_FIRST =
+            Comparator.comparingDouble(Node::score).reversed().thenComparingLong(Node::key);
+
+    /**
+     * The width of the board.
+     */
+    private final int myWidth;
+
+    /**
+     * The height of the board.
+     */
+    private final int myHeight;
+
+    /**
+     * Number of boards kept after every ply.
+     */
+    private final int myBeamWidth;
+
+    /**
+     * Number of pieces placed by a search.
+     */
+    private final int myDepth;
+
+    /**
+     * Scores the boards.
+     */
+    private final BoardEvaluator myEvaluator;
+
+    /**
+     * Runs the searches of callers outside any ForkJoinPool.
+     */
+    private final ForkJoinPool myPool;
+
+    /**
+     * Caches scores and choices, or null.
+     */
+    private final TranspositionTable myTable;
+
+    /**
+     * Hashes the boards.
+     */
+    private final ZobristHash myHash;
+
+    /**
+     * The placement enumerator of every thread.
+     */
+    private final ThreadLocal<PlacementEnumerator> myEnumerators;
+
+    /**
+     * Constructs a search from the values of a Builder.
+     *
+     * @param theBuilder the Builder to copy.
+     */
+    private BeamSearch(final Builder theBuilder) {
+        super();
+        myWidth = theBuilder.myWidth;
+        myHeight = theBuilder.myHeight;
+        myBeamWidth = theBuilder.myBeamWidth;
+        myDepth = theBuilder.myDepth;
+        myEvaluator = theBuilder.myEvaluator;
+        myPool = theBuilder.myPool;
+        myTable = theBuilder.myTable;
+        myHash = new ZobristHash(myWidth, myHeight);
+        myEnumerators = ThreadLocal.withInitial(() -> new PlacementEnumerator(myWidth,
+                                                                              myHeight));
+    }
+
+    /**
+     * Returns a Builder for searches on boards of one size.
+     *
+     * @param theWidth the width of the board.
+     * @param theHeight the height of the board.
+     * @return a new Builder with the default values.
+     */
+    public static Builder builder(final int theWidth, final int theHeight) {
+        return new Builder(theWidth, theHeight);
+    }
+
+    /**
+     * Returns the number of boards kept after every ply.
+     *
+     * @return the beam width.
+     */
+    public int getBeamWidth() {
+        return myBeamWidth;
+    }
+
+    /**
+     * Returns the number of pieces placed by a search.
+     *
+     * @return the depth.
+     */
+    public int getDepth() {
+        return myDepth;
+    }
+
+    /**
+     * Returns the pool that runs the searches of callers outside any ForkJoinPool.
+     *
+     * @return the pool.
+     */
+    public ForkJoinPool getPool() {
+        return myPool;
+    }
+
+    /**
+     * Returns the table that caches scores and choices.
+     *
+     * @return the table, or null if the search has none.
+     */
+    public TranspositionTable getTable() {
+        return myTable;
+    }
+
+    /**
+     * Chooses a placement for the falling piece of a snapshot, looking ahead
+     * to the next piece.
+     *
+     * @param theSnapshot the board.
+     * @return the chosen placement, or null if there is no falling piece or
+     *         it cannot move at all.
+     * @throws IllegalArgumentException if the snapshot is of a board of another size.
+     */
+    public Placement search(final BoardSnapshot theSnapshot) {
+        if (theSnapshot.getWidth() != myWidth || theSnapshot.getHeight() != myHeight) {
+            throw new IllegalArgumentException("Board sizes differ");
+        }
+        Placement result = null;
+        if (theSnapshot.getPiece() != null) {
+            final int[] rows = BoardFeatures.rowMasks(theSnapshot);
+            List<TetrisPiece> preview = List.of();
+            if (theSnapshot.getNextPiece() != null) {
+                preview = List.of(theSnapshot.getNextPiece());
+            }
+            result = search(rows, theSnapshot.getPiece(), theSnapshot.getPieceRotation(),
+                            theSnapshot.getPieceX(), theSnapshot.getPieceY(), preview);
+        }
+        return result;
+    }
+
+    /**
+     * Chooses a placement for a piece. The search places at most the falling
+     * piece and every piece of the preview, each new piece at its spawn position.
+     *
+     * @param theRows the row masks of the frozen blocks, bottom row first;
+     *        not changed.
+     * @param thePiece the falling piece.
+     * @param theRotation the Rotation of the falling piece.
+     * @param theX the board x coordinate of the falling piece.
+     * @param theY the board y coordinate of the falling piece.
+     * @param thePreview the pieces that come after it, in order.
+     * @return the chosen placement; the first placement found if every one
+     *         ends the game; null if the piece cannot move at all.
+     */
+    public Placement search(final int[] theRows, final TetrisPiece thePiece,
+                            final Rotation theRotation, final int theX, final int theY,
+                            final List<TetrisPiece> thePreview) {
+        final PlacementEnumerator enumerator = myEnumerators.get();
+        final int count = enumerator.search(theRows, thePiece, theRotation, theX, theY);
+        Placement result = null;
+        if (count > 0) {
+            // the enumerator of this thread is reused by the tasks below
+            final List<Placement> first = enumerator.getPlacements();
+            final int plies = Math.min(myDepth, thePreview.size() + 1);
+            long key = 0;
+            long entry = TranspositionTable.MISS;
+            if (myTable != null) {
+                key = myHash.withPosition(myHash.hash(theRows), thePiece, theRotation,
+                                          theX, theY);
+                for (int ply = 1; ply < plies; ply++) {
+                    key = myHash.withPreview(key, ply - 1, thePreview.get(ply - 1));
+                }
+                entry = myTable.probe(key, plies);
+            }
+            int chosen;
+            if (entry != TranspositionTable.MISS
+                && TranspositionTable.getPayload(entry) < count) {
+                chosen = TranspositionTable.getPayload(entry);
+            } else {
+                chosen = choose(enumerator, theRows, thePreview, plies, key);
+            }
+            result = first.get(chosen);
+        }
+        return result;
+    }
+
+    /**
+     * Runs the beam search for the placements of the last search of an
+     * enumerator, and stores the choice in the table if there is one.
+     *
+     * @param theEnumerator the enumerator that searched the falling piece.
+     * @param theRows the row masks of the frozen blocks.
+     * @param thePreview the pieces that come after the falling piece.
+     * @param thePlies the number of pieces to place.
+     * @param theKey the key of the search in the table.
+     * @return the index of the chosen placement; 0 if every placement ends the game.
+     */
+    private int choose(final PlacementEnumerator theEnumerator, final int[] theRows,
+                       final List<TetrisPiece> thePreview, final int thePlies,
+                       final long theKey) {
+        List<Node> beam = expand(theEnumerator, new Node(theRows, 0, 0, 0, 0), true);
+        for (int ply = 1; ply < thePlies && !beam.isEmpty(); ply++) {
+            final List<Node> next = expand(beam, thePreview.get(ply - 1));
+            if (next.isEmpty()) {
+                break;
+            }
+            beam = next;
+        }
+        int result = 0;
+        double score = Double.NEGATIVE_INFINITY;
+        if (!beam.isEmpty()) {
+            result = beam.get(0).first();
+            score = beam.get(0).score();
+        }
+        if (myTable != null) {
+            myTable.store(theKey, score, result, thePlies);
+        }
+        return result;
+    }
+
+    /**
+     * Places a piece on every board of the beam in parallel.
+     *
+     * @param theBeam the boards to expand.
+     * @param thePiece the piece to place.
+     * @return the best boards found, best first.
+     */
+    private List<Node> expand(final List<Node> theBeam, final TetrisPiece thePiece) {
+        final ExpandTask task = new ExpandTask(theBeam, thePiece, 0, theBeam.size());
+        final List<Node> result;
+        if (ForkJoinTask.inForkJoinPool()) {
+            result = task.invoke();
+        } else {
+            result = myPool.invoke(task);
+        }
+        return result;
+    }
+
+    /**
+     * Scores every placement of the last search of an enumerator on the
+     * board it was searched on.
+     *
+     * @param theEnumerator the enumerator that searched the board.
+     * @param theParent the board.
+     * @param theRoot true if the placements are those of the falling piece,
+     *        which then become the first placements of the new boards.
+     * @return the best new boards, best first.
+     */
+    private List<Node> expand(final PlacementEnumerator theEnumerator, final Node theParent,
+                              final boolean theRoot) {
+        final List<Node> children = new ArrayList<>(theEnumerator.getCount());
+        for (int i = 0; i < theEnumerator.getCount(); i++) {
+            if (!theEnumerator.endsGame(i)) {
+                final int[] rows = theParent.rows().clone();
+                final int lines = theParent.lines() + theEnumerator.lock(i, rows);
+                final long key = myHash.withLines(myHash.hash(rows), lines);
+                int first = theParent.first();
+                if (theRoot) {
+                    first = i;
+                }
+                children.add(new Node(rows, lines, key, score(key, rows, lines), first));
+            }
+        }
+        return best(children);
+    }
+
+    /**
+     * Scores a board, through the table if there is one.
+     *
+     * @param theKey the hash of the board and its lines.
+     * @param theRows the row masks of the frozen blocks.
+     * @param theLines the lines cleared on the way to the board.
+     * @return the score; rounded to a float if there is a table, so that a
+     *         cached score and a new one always compare the same way.
+     */
+    private double score(final long theKey, final int[] theRows, final int theLines) {
+        final double result;
+        if (myTable == null) {
+            result = myEvaluator.evaluate(theRows, myWidth, theLines);
+        } else {
+            long entry = myTable.probe(theKey, 0);
+            if (entry == TranspositionTable.MISS) {
+                entry = myTable.store(theKey, myEvaluator.evaluate(theRows, myWidth, theLines),
+                                      0, 0);
+            }
+            result = TranspositionTable.getScore(entry);
+        }
+        return result;
+    }
+
+    /**
+     * Keeps the best boards of a list, each board once.
+     *
+     * @param theNodes the boards; sorted in place.
+     * @return at most beam width boards, best first.
+     */
+    private List<Node> best(final List<Node> theNodes) {
+        theNodes.sort(BEST_FIRST);
+        final List<Node> result = new ArrayList<>(Math.min(theNodes.size(), myBeamWidth));
+        long previous = 0;
+        for (int i = 0; i < theNodes.size() && result.size() < myBeamWidth; i++) {
+            final Node node = theNodes.get(i);
+            // equal boards have equal scores, so the sort puts them side by side
+            if (result.isEmpty() || node.key() != previous) {
+                result.add(node);
+                previous = node.key();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * A board reached by a search.
+     *
+     * @param rows The row masks of the frozen blocks
+     * @param lines The lines cleared on the way to the board
+     * @param key The Zobrist hash of the board and its lines
+     * @param score The score of the board
+     * @param first The index of the placement of the falling piece that leads to it
+     */
+    private record Node(int[] rows, int lines, long key, double score, int first) { }
+
+    /**
+     * Expands a range of the boards of a beam, splitting the range so that
+     * idle threads can steal work.
+     */
+    private final class ExpandTask extends RecursiveTask<List<Node>> {
+
+        /**
+         * Serialization version.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The boards of the beam.
+         */
+        private final transient List<Node> myBeam;
+
+        /**
+         * The piece to place.
+         */
+        private final TetrisPiece myPiece;
+
+        /**
+         * The first board in the range.
+         */
+        private final int myFirst;
+
+        /**
+         * One past the last board in the range.
+         */
+        private final int myEnd;
+
+        /**
+         * Constructs a task for a range of boards.
+         *
+         * @param theBeam the boards of the beam.
+         * @param thePiece the piece to place.
+         * @param theFirst the first board.
+         * @param theEnd one past the last board.
+         */
+        ExpandTask(final List<Node> theBeam, final TetrisPiece thePiece,
+                   final int theFirst, final int theEnd) {
+            super();
+            myBeam = theBeam;
+            myPiece = thePiece;
+            myFirst = theFirst;
+            myEnd = theEnd;
+        }
+
+        @Override
+        protected List<Node> compute() {
+            final List<Node> result;
+            if (myEnd - myFirst <= 1) {
+                final PlacementEnumerator enumerator = myEnumerators.get();
+                final Node parent = myBeam.get(myFirst);
+                enumerator.search(parent.rows(), myPiece);
+                result = expand(enumerator, parent, false);
+            } else {
+                final int middle = (myFirst + myEnd) >>> 1;
+                final ExpandTask left = new ExpandTask(myBeam, myPiece, myFirst, middle);
+                left.fork();
+                final List<Node> right =
+                        new ExpandTask(myBeam, myPiece, middle, myEnd).compute();
+                right.addAll(left.join());
+                result = best(right);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Configures a BeamSearch.
+     */
+    public static final class Builder {
+
+        /**
+         * The width of the board.
+         */
+        private final int myWidth;
+
+        /**
+         * The height of the board.
+         */
+        private final int myHeight;
+
+        /**
+         * Number of boards kept after every ply.
+         */
+        private int myBeamWidth;
+
+        /**
+         * Number of pieces placed by a search.
+         */
+        private int myDepth;
+
+        /**
+         * Scores the boards.
+         */
+        private BoardEvaluator myEvaluator;
+
+        /**
+         * Runs the searches of callers outside any ForkJoinPool.
+         */
+        private ForkJoinPool myPool;
+
+        /**
+         * Caches scores and choices, or null.
+         */
+        private TranspositionTable myTable;
+
+        /**
+         * Constructs a Builder with the default values.
+         *
+         * @param theWidth the width of the board.
+         * @param theHeight the height of the board.
+         */
+        private Builder(final int theWidth, final int theHeight) {
+            super();
+            myWidth = theWidth;
+            myHeight = theHeight;
+            myBeamWidth = DEFAULT_BEAM_WIDTH;
+            myDepth = DEFAULT_DEPTH;
+            myEvaluator = new HeuristicEvaluator();
+            myPool = ForkJoinPool.commonPool();
+        }
+
+        /**
+         * Sets the number of boards kept after every ply.
+         *
+         * @param theBeamWidth the beam width.
+         * @return this Builder.
+         * @throws IllegalArgumentException if theBeamWidth is not positive.
+         */
+        public Builder beamWidth(final int theBeamWidth) {
+            if (theBeamWidth < 1) {
+                throw new IllegalArgumentException("Beam width must be positive: "
+                                                   + theBeamWidth);
+            }
+            myBeamWidth = theBeamWidth;
+            return this;
+        }
+
+        /**
+         * Sets the number of pieces placed by a search: the falling piece and
+         * then as many preview pieces as are known.
+         *
+         * @param theDepth the depth.
+         * @return this Builder.
+         * @throws IllegalArgumentException if theDepth is not positive.
+         */
+        public Builder depth(final int theDepth) {
+            if (theDepth < 1) {
+                throw new IllegalArgumentException("Depth must be positive: " + theDepth);
+            }
+            myDepth = theDepth;
+            return this;
+        }
+
+        /**
+         * Sets the evaluator that scores the boards.
+         *
+         * @param theEvaluator the evaluator.
+         * @return this Builder.
+         * @throws NullPointerException if theEvaluator is null.
+         */
+        public Builder evaluator(final BoardEvaluator theEvaluator) {
+            myEvaluator = Objects.requireNonNull(theEvaluator);
+            return this;
+        }
+
+        /**
+         * Sets the pool that runs the searches of callers outside any
+         * ForkJoinPool. The default is the common pool.
+         *
+         * @param thePool the pool.
+         * @return this Builder.
+         * @throws NullPointerException if thePool is null.
+         */
+        public Builder pool(final ForkJoinPool thePool) {
+            myPool = Objects.requireNonNull(thePool);
+            return this;
+        }
+
+        /**
+         * Sets a table that caches the scores of boards and the choices of
+         * searches across branches, searches and threads. A table must only
+         * be shared by searches for one board size with the same evaluator
+         * and beam width, whose scores and choices are the same. There is no
+         * table by default.
+         *
+         * @param theTable the table, or null for none.
+         * @return this Builder.
+         */
+        public Builder table(final TranspositionTable theTable) {
+            myTable = theTable;
+            return this;
+        }
+
+        /**
+         * Creates a BeamSearch from the values of this Builder.
+         *
+         * @return a new BeamSearch.
+         * @throws IllegalArgumentException if the board size is not supported.
+         */
+        public BeamSearch build() {
+            if (myWidth < 1 || myWidth > BitBoard.MAX_WIDTH || myHeight < 1) {
+                throw new IllegalArgumentException("Unsupported board size: " + myWidth
+                                                   + " x " + myHeight);
+            }
+            return new BeamSearch(this);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+/*
+ * TCSS 305
+ *
+ * An implementation of the classic game "Tetris".
+ */
+
+package model.ai;
+
+/**
+ * Scores a board that a search has reached. Evaluators are called from many
+ * threads at once, so implementations must be thread safe.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+@FunctionalInterface
+public interface BoardEvaluator {
+
+    /**
+     * Scores a board; higher scores are better.
+     *
+     * @param theRows the row masks of the frozen blocks, bottom row first;
+     *        must not be changed.
+     * @param theWidth the width of the board.
+     * @param theLinesCleared the lines cleared on the way to this board.
+     * @return the score.
+     */
+    double evaluate(int[] theRows, int theWidth, int theLinesCleared);
+}
@@ -0,0 +1,245 @@
+/*
+ * TCSS 305
+ *
+ * An implementation of the classic game "Tetris".
+ */
+
+package model.ai;
+
+import model.BoardSnapshot;
+
+/**
+ * Measures the features that board evaluators are built from, straight
+ * from the packed row masks of the frozen blocks.
+ * <p>
+ * Every feature is a single pass over the rows that works on whole rows at
+ * a time with bit operations and {@link Integer#bitCount(int)}, which the
+ * JIT turns into one popcount instruction, instead of a loop over the cells.
+ * Most features walk down from the top of the stack while keeping the mask
+ * of the columns that have a block at or above the current row, so column
+ * heights never have to be found one column at a time:
+ * <ul>
+ * <li>the aggregate height is the sum over the rows of that mask's bit count,
+ * <li>holes are its bits that are empty in the current row,
+ * <li>the bumpiness counts, row by row, the neighbouring columns where only
+ * one of the two reaches that high.
+ * </ul>
+ * <p>
+ * Row masks hold bit x for column x and start with the bottom row, as in
+ * {@link model.BitBoard}; rows missing at the top count as empty. The
+ * methods allocate nothing and are safe to call from any thread.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+public final class BoardFeatures {
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private BoardFeatures() {
+        throw new IllegalStateException();
+    }
+
+    /**
+     * Reads the row masks of the frozen blocks of a snapshot.
+     *
+     * @param theSnapshot the snapshot.
+     * @return a new array with one mask per row, bottom row first.
+     */
+    public static int[] rowMasks(final BoardSnapshot theSnapshot) {
+        final int[] result = new int[theSnapshot.getHeight()];
+        for (int y = 0; y < result.length; y++) {
+            result[y] = theSnapshot.getRowMask(y);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the mask of every column of a board.
+     *
+     * @param theWidth the width of the board, between 1 and 32.
+     * @return the mask with the low theWidth bits set.
+     */
+    public static int fullMask(final int theWidth) {
+        return -1 >>> Integer.SIZE - theWidth;
+    }
+
+    /**
+     * Returns the height of the stack: one more than the highest row with a block.
+     *
+     * @param theRows the row masks.
+     * @return the height; 0 for an empty board.
+     */
+    public static int maxHeight(final int[] theRows) {
+        int result = theRows.length;
+        while (result > 0 && theRows[result - 1] == 0) {
+            result--;
+        }
+        return result;
+    }
+
+    /**
+     * Stores the height of every column: one more than its highest block.
+     *
+     * @param theRows the row masks.
+     * @param theWidth the width of the board.
+     * @param theHeights receives the heights; at least theWidth long.
+     * @return the height of the stack.
+     */
+    public static int columnHeights(final int[] theRows, final int theWidth,
+                                    final int[] theHeights) {
+        final int top = maxHeight(theRows);
+        int covered = 0;
+        for (int x = 0; x < theWidth; x++) {
+            theHeights[x] = 0;
+        }
+        for (int y = top - 1; y >= 0; y--) {
+            // the columns whose highest block is in this row
+            int tops = theRows[y] & ~covered;
+            while (tops != 0) {
+                theHeights[Integer.numberOfTrailingZeros(tops)] = y + 1;
+                tops &= tops - 1;
+            }
+            covered |= theRows[y];
+        }
+        return top;
+    }
+
+    /**
+     * Returns the sum of the heights of the columns.
+     *
+     * @param theRows the row masks.
+     * @return the aggregate height.
+     */
+    public static int aggregateHeight(final int[] theRows) {
+        int result = 0;
+        int covered = 0;
+        for (int y = maxHeight(theRows) - 1; y >= 0; y--) {
+            covered |= theRows[y];
+            result += Integer.bitCount(covered);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of holes: empty cells with a block somewhere above
+     * them in the same column.
+     *
+     * @param theRows the row masks.
+     * @return the holes.
+     */
+    public static int holes(final int[] theRows) {
+        int result = 0;
+        int covered = 0;
+        for (int y = maxHeight(theRows) - 1; y >= 0; y--) {
+            result += Integer.bitCount(covered & ~theRows[y]);
+            covered |= theRows[y];
+        }
+        return result;
+    }
+
+    /**
+     * Returns the bumpiness: the sum of the differences in height of
+     * neighbouring columns.
+     *
+     * @param theRows the row masks.
+     * @param theWidth the width of the board.
+     * @return the bumpiness.
+     */
+    public static int bumpiness(final int[] theRows, final int theWidth) {
+        // bit x stands for the pair of columns x and x + 1
+        final int pairs = fullMask(theWidth) >>> 1;
+        int result = 0;
+        int covered = 0;
+        for (int y = maxHeight(theRows) - 1; y >= 0; y--) {
+            covered |= theRows[y];
+            result += Integer.bitCount((covered ^ covered >>> 1) & pairs);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of well cells: empty cells with nothing above them
+     * whose left and right neighbours are blocks or walls.
+     *
+     * @param theRows the row masks.
+     * @param theWidth the width of the board.
+     * @return the well cells.
+     */
+    public static int wells(final int[] theRows, final int theWidth) {
+        final int full = fullMask(theWidth);
+        final int rightWall = 1 << theWidth - 1;
+        int result = 0;
+        int covered = 0;
+        for (int y = maxHeight(theRows) - 1; y >= 0; y--) {
+            final int row = theRows[y];
+            covered |= row;
+            final int leftFilled = row << 1 | 1;
+            final int rightFilled = row >>> 1 | rightWall;
+            result += Integer.bitCount(~covered & leftFilled & rightFilled & full);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the row transitions: the number of times a row changes from
+     * a block to an empty cell or back, counting the walls as blocks, over
+     * the rows up to the height of the stack.
+     *
+     * @param theRows the row masks.
+     * @param theWidth the width of the board.
+     * @return the row transitions.
+     */
+    public static int rowTransitions(final int[] theRows, final int theWidth) {
+        // the row between two wall bits, one on each side, in a long so
+        // that a full 32 column row still fits
+        final long walls = 1L | 1L << theWidth + 1;
+        final long pairs = (1L << theWidth + 1) - 1;
+        int result = 0;
+        for (int y = maxHeight(theRows) - 1; y >= 0; y--) {
+            final long walled = Integer.toUnsignedLong(theRows[y]) << 1 | walls;
+            result += Long.bitCount((walled ^ walled >>> 1) & pairs);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the column transitions: the number of times a column changes
+     * from a block to an empty cell or back going up, counting the floor as
+     * blocks.
+     *
+     * @param theRows the row masks.
+     * @param theWidth the width of the board.
+     * @return the column transitions.
+     */
+    public static int columnTransitions(final int[] theRows, final int theWidth) {
+        final int top = maxHeight(theRows);
+        int result = 0;
+        int below = fullMask(theWidth);
+        for (int y = 0; y < top; y++) {
+            result += Integer.bitCount(theRows[y] ^ below);
+            below = theRows[y];
+        }
+        // the blocks of the highest row meet the empty row above it
+        return result + Integer.bitCount(below);
+    }
+
+    /**
+     * Returns the number of complete rows.
+     *
+     * @param theRows the row masks.
+     * @param theWidth the width of the board.
+     * @return the complete rows.
+     */
+    public static int completedLines(final int[] theRows, final int theWidth) {
+        final int full = fullMask(theWidth);
+        int result = 0;
+        for (int y = maxHeight(theRows) - 1; y >= 0; y--) {
+            if (theRows[y] == full) {
+                result++;
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * TCSS 305
+ *
+ * An implementation of the classic game "Tetris".
+ */
+
+package model.ai;
+
+/**
+ * The board features a {@link LinearEvaluator} weighs, each measured by
+ * {@link BoardFeatures}.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+public enum Feature {
+
+    /** The sum of the heights of the columns. */
+    AGGREGATE_HEIGHT,
+
+    /** The height of the highest column. */
+    MAX_HEIGHT,
+
+    /** Empty cells with a block above them. */
+    HOLES,
+
+    /** The sum of the height differences of neighbouring columns. */
+    BUMPINESS,
+
+    /** Empty cells open from above between two blocks or walls. */
+    WELLS,
+
+    /** Changes between blocks and empty cells along the rows. */
+    ROW_TRANSITIONS,
+
+    /** Changes between blocks and empty cells up the columns. */
+    COLUMN_TRANSITIONS,
+
+    /** The lines cleared on the way to the board. */
+    LINES_CLEARED;
+
+    /**
+     * Measures this feature on a board.
+     *
+     * @param theRows the row masks of the frozen blocks, bottom row first.
+     * @param theWidth the width of the board.
+     * @param theLinesCleared the lines cleared on the way to the board.
+     * @return the value of the feature.
+     */
+    public int measure(final int[] theRows, final int theWidth, final int theLinesCleared) {
+        return switch (this) {
+            case AGGREGATE_HEIGHT -> BoardFeatures.aggregateHeight(theRows);
+            case MAX_HEIGHT -> BoardFeatures.maxHeight(theRows);
+            case HOLES -> BoardFeatures.holes(theRows);
+            case BUMPINESS -> BoardFeatures.bumpiness(theRows, theWidth);
+            case WELLS -> BoardFeatures.wells(theRows, theWidth);
+            case ROW_TRANSITIONS -> BoardFeatures.rowTransitions(theRows, theWidth);
+            case COLUMN_TRANSITIONS -> BoardFeatures.columnTransitions(theRows, theWidth);
+            case LINES_CLEARED -> theLinesCleared;
+        };
+    }
+}
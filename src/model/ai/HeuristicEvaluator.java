@@ -0,0 +1,94 @@
+/*
+ * TCSS 305
+ *
+ * An implementation of the classic game "Tetris".
+ */
+
+package model.ai;
+
+/**
+ * Scores a board with a weighted sum of four features: the aggregate
+ * height of the columns, the lines cleared, the holes under the column
+ * tops and the bumpiness, the sum of the height differences of neighbouring
+ * columns. The features are measured by {@link BoardFeatures} on the row
+ * masks.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+public final class HeuristicEvaluator implements BoardEvaluator {
+
+    /**
+     * Default weight of the aggregate height.
+     */
+    public static final double DEFAULT_HEIGHT_WEIGHT = -0.510066;
+
+    /**
+     * Default weight of the lines cleared.
+     */
+    public static final double DEFAULT_LINES_WEIGHT = 0.760666;
+
+    /**
+     * Default weight of the holes.
+     */
+    public static final double DEFAULT_HOLES_WEIGHT = -0.35663;
+
+    /**
+     * Default weight of the bumpiness.
+     */
+    public static final double DEFAULT_BUMPINESS_WEIGHT = -0.184483;
+
+    /**
+     * Weight of the aggregate height.
+     */
+    private final double myHeightWeight;
+
+    /**
+     * Weight of the lines cleared.
+     */
+    private final double myLinesWeight;
+
+    /**
+     * Weight of the holes.
+     */
+    private final double myHolesWeight;
+
+    /**
+     * Weight of the bumpiness.
+     */
+    private final double myBumpinessWeight;
+
+    /**
+     * Creates an evaluator with the default weights.
+     */
+    public HeuristicEvaluator() {
+        this(DEFAULT_HEIGHT_WEIGHT, DEFAULT_LINES_WEIGHT, DEFAULT_HOLES_WEIGHT,
+             DEFAULT_BUMPINESS_WEIGHT);
+    }
+
+    /**
+     * Creates an evaluator with the given weights.
+     *
+     * @param theHeight weight of the aggregate height.
+     * @param theLines weight of the lines cleared.
+     * @param theHoles weight of the holes.
+     * @param theBumpiness weight of the bumpiness.
+     */
+    public HeuristicEvaluator(final double theHeight, final double theLines,
+                              final double theHoles, final double theBumpiness) {
+        super();
+        myHeightWeight = theHeight;
+        myLinesWeight = theLines;
+        myHolesWeight = theHoles;
+        myBumpinessWeight = theBumpiness;
+    }
+
+    @Override
+    public double evaluate(final int[] theRows, final int theWidth,
+                           final int theLinesCleared) {
+        return myHeightWeight * BoardFeatures.aggregateHeight(theRows)
+               + myLinesWeight * theLinesCleared
+               + myHolesWeight * BoardFeatures.holes(theRows)
+               + myBumpinessWeight * BoardFeatures.bumpiness(theRows, theWidth);
+    }
+}
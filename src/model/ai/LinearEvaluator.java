@@ -0,0 +1,102 @@
+/*
+ * TCSS 305
+ *
+ * An implementation of the classic game "Tetris".
+ */
+
+package model.ai;
+
+/**
+ * Scores a board with a weighted sum of every {@link Feature}. Features
+ * with a weight of 0 are not measured. The weights are fixed when the
+ * evaluator is created, so an evaluator may be shared by any number of
+ * threads.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+public final class LinearEvaluator implements BoardEvaluator {
+
+    /**
+     * The features, in the order of the weights.
+     */
+    private static final Feature[] FEATURES = Feature.values();
+
+    /**
+     * The weight of every feature, by ordinal.
+     */
+    private final double[] myWeights;
+
+    /**
+     * Creates an evaluator.
+     *
+     * @param theWeights the weight of every feature, by ordinal; copied.
+     * @throws IllegalArgumentException if there is not one weight per feature.
+     */
+    public LinearEvaluator(final double... theWeights) {
+        super();
+        if (theWeights.length != FEATURES.length) {
+            throw new IllegalArgumentException("Expected " + FEATURES.length
+                                               + " weights: " + theWeights.length);
+        }
+        myWeights = theWeights.clone();
+    }
+
+    /**
+     * Creates an evaluator with the weights of a default HeuristicEvaluator.
+     *
+     * @return the evaluator.
+     */
+    public static LinearEvaluator withHeuristicWeights() {
+        final double[] weights = new double[FEATURES.length];
+        weights[Feature.AGGREGATE_HEIGHT.ordinal()] = HeuristicEvaluator.DEFAULT_HEIGHT_WEIGHT;
+        weights[Feature.LINES_CLEARED.ordinal()] = HeuristicEvaluator.DEFAULT_LINES_WEIGHT;
+        weights[Feature.HOLES.ordinal()] = HeuristicEvaluator.DEFAULT_HOLES_WEIGHT;
+        weights[Feature.BUMPINESS.ordinal()] = HeuristicEvaluator.DEFAULT_BUMPINESS_WEIGHT;
+        return new LinearEvaluator(weights);
+    }
+
+    /**
+     * Returns the weights.
+     *
+     * @return a copy of the weight of every feature, by ordinal.
+     */
+    public double[] getWeights() {
+        return myWeights.clone();
+    }
+
+    /**
+     * Returns the weight of a feature.
+     *
+     * @param theFeature the feature.
+     * @return its weight.
+     */
+    public double getWeight(final Feature theFeature) {
+        return myWeights[theFeature.ordinal()];
+    }
+
+    @Override
+    public double evaluate(final int[] theRows, final int theWidth,
+                           final int theLinesCleared) {
+        double result = 0;
+        for (int i = 0; i < FEATURES.length; i++) {
+            if (myWeights[i] != 0) {
+                result += myWeights[i] * FEATURES[i].measure(theRows, theWidth,
+                                                             theLinesCleared);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder result = new StringBuilder();
+        for (final Feature feature : FEATURES) {
+            if (result.length() > 0) {
+                result.append(", ");
+            }
+            result.append(feature).append('=').append(myWeights[feature.ordinal()]);
+        }
+        return result.toString();
+    }
+}
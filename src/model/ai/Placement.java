@@ -0,0 +1,51 @@
+/*
+ * TCSS 305
+ *
+ * An implementation of the classic game "Tetris".
+ */
+
+package model.ai;
+
+import java.util.List;
+import model.BoardOperation;
+import model.MyBoard;
+import model.Rotation;
+import model.TetrisPiece;
+
+/**
+ * A final resting place of a piece together with the inputs that take the
+ * piece there from where it started and lock it.
+ *
+ * @param piece The TetrisPiece that is placed
+ * @param rotation The Rotation it rests in
+ * @param x The board x coordinate of the piece origin
+ * @param y The board y coordinate of the piece origin
+ * @param path The operations that move the piece there and lock it, ending
+ *             with {@link BoardOperation#DROP}
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+public record Placement(TetrisPiece piece, Rotation rotation, int x, int y,
+                        List<BoardOperation> path) {
+
+    /**
+     * Copies the path so that the placement cannot be changed.
+     */
+    public Placement {
+        path = List.copyOf(path);
+    }
+
+    /**
+     * Sends every operation of the path to a board. The board must hold the
+     * piece at the position the path was found from, and no gravity step may
+     * happen in between.
+     *
+     * @param theBoard the board to send the path to.
+     */
+    public void apply(final MyBoard theBoard) {
+        for (final BoardOperation operation : path) {
+            operation.apply(theBoard);
+        }
+    }
+}
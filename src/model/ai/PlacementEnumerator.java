@@ -0,0 +1,818 @@
+/*
+ * TCSS 305
+ *
+ * An implementation of the classic game "Tetris".
+ */
+
+package model.ai;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import model.BitBoard;
+import model.BoardOperation;
+import model.BoardSnapshot;
+import model.PieceShape;
+import model.Point;
+import model.Rotation;
+import model.TetrisPiece;
+import model.wallkicks.WallKick;
+
+/**
+ * Finds every place a piece can come to rest on a board, and the inputs
+ * that take it there.
+ * <p>
+ * The search is a breadth first search over the (rotation, x, y) positions
+ * of the piece, starting where the piece is now and following the same
+ * moves the Board allows: left, right, down and both rotations with their
+ * wall kicks. It first finds every position reached by shifts and rotations
+ * alone and drops the piece from each, so plain drops get the shortest
+ * paths, and then goes on with every move, which finds tucks under
+ * overhangs and kicked spins. A position where the piece cannot move down
+ * is a placement. Placements that cover the same cells in different
+ * rotations, as the I, S and Z pieces do, are reported once, with the path
+ * found first.
+ * <p>
+ * Positions are stored as ints in a queue and a visited bit set that are
+ * allocated once per enumerator, so a search allocates nothing but the
+ * objects the caller asks for afterwards. An enumerator is not thread safe;
+ * give every thread its own.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+public final class PlacementEnumerator {
+
+    /**
+     * How far a piece origin may lie left of or below the board; a block of
+     * the local grid is at most this far from the origin.
+     */
+    private static final int MARGIN = PieceShape.SIZE - 1;
+
+    /**
+     * Rows above the board a piece origin may reach, enough for the spawn
+     * position plus the largest upward kick.
+     */
+    private static final int HEADROOM = 2 * PieceShape.SIZE;
+
+    /**
+     * Cached copy of the Rotation values.
+     */
+    private static final Rotation[] ROTATIONS = Rotation.values();
+
+    /**
+     * Cached copy of the TetrisPiece values.
+     */
+    private static final TetrisPiece[] PIECES = TetrisPiece.values();
+
+    /**
+     * The moves tried from every position, in the order they are tried.
+     */
+    private static final BoardOperation[] MOVES = {
+        BoardOperation.LEFT, BoardOperation.RIGHT, BoardOperation.DOWN,
+        BoardOperation.ROTATE_CW, BoardOperation.ROTATE_CCW,
+    };
+
+    /**
+     * Index of DOWN in MOVES.
+     */
+    private static final int DOWN_MOVE = 2;
+
+    /**
+     * Index of the clockwise kicks in the kick tables.
+     */
+    private static final int CLOCKWISE = 0;
+
+    /**
+     * Index of the counter clockwise kicks in the kick tables.
+     */
+    private static final int COUNTER_CLOCKWISE = 1;
+
+    /**
+     * Marks a position without a parent in the parent table.
+     */
+    private static final int NO_PARENT = -1;
+
+    /**
+     * Kick x offsets by piece, starting rotation and direction.
+     */
+    private static final int[][][][] KICK_X = new int[PIECES.length][ROTATIONS.length][2][];
+
+    /**
+     * Kick y offsets by piece, starting rotation and direction.
+     */
+    private static final int[][][][] KICK_Y = new int[PIECES.length][ROTATIONS.length][2][];
+
+    /**
+     * The lowest rotation with the same footprint, by piece and rotation.
+     */
+    private static final int[][] CANONICAL = new int[PIECES.length][ROTATIONS.length];
+
+    /**
+     * Origin x offset from a rotation to its canonical rotation, by piece and rotation.
+     */
+    private static final int[][] CANONICAL_X = new int[PIECES.length][ROTATIONS.length];
+
+    /**
+     * Origin y offset from a rotation to its canonical rotation, by piece and rotation.
+     */
+    private static final int[][] CANONICAL_Y = new int[PIECES.length][ROTATIONS.length];
+
+    static {
+        for (final TetrisPiece piece : PIECES) {
+            for (final Rotation rotation : ROTATIONS) {
+                initKicks(piece, rotation, rotation.clockwise(), CLOCKWISE);
+                initKicks(piece, rotation, rotation.counterClockwise(), COUNTER_CLOCKWISE);
+                initCanonical(piece, rotation);
+            }
+        }
+    }
+
+    /**
+     * The width of the board.
+     */
+    private final int myWidth;
+
+    /**
+     * The height of the board.
+     */
+    private final int myHeight;
+
+    /**
+     * Number of origin columns in the position space.
+     */
+    private final int myColumns;
+
+    /**
+     * Number of origin rows in the position space.
+     */
+    private final int myRows;
+
+    /**
+     * Positions visited by the current search, one bit each.
+     */
+    private final long[] myVisited;
+
+    /**
+     * Canonical positions already reported as placements, one bit each.
+     */
+    private final long[] myLanded;
+
+    /**
+     * Positions in the order they were reached.
+     */
+    private final int[] myQueue;
+
+    /**
+     * The position every position was first reached from.
+     */
+    private final int[] myParent;
+
+    /**
+     * The index into MOVES of the move every position was first reached by.
+     */
+    private final byte[] myMove;
+
+    /**
+     * The positions of the placements of the current search.
+     */
+    private final int[] myPlacements;
+
+    /**
+     * Row masks of the board read from a snapshot.
+     */
+    private final int[] mySnapshotRows;
+
+    /**
+     * Legal origin columns of the current search, one bit each, by rotation
+     * and origin row.
+     */
+    private final long[] myLegal;
+
+    /**
+     * The piece being searched.
+     */
+    private TetrisPiece myPiece;
+
+    /**
+     * The number of placements of the current search.
+     */
+    private int myCount;
+
+    /**
+     * Creates an enumerator for boards of one size.
+     *
+     * @param theWidth the width of the board.
+     * @param theHeight the height of the board.
+     * @throws IllegalArgumentException if the width is not between 1 and
+     *         BitBoard.MAX_WIDTH or the height is not positive.
+     */
+    public PlacementEnumerator(final int theWidth, final int theHeight) {
+        super();
+        if (theWidth < 1 || theWidth > BitBoard.MAX_WIDTH) {
+            throw new IllegalArgumentException("Board width must be between 1 and "
+                    + BitBoard.MAX_WIDTH + ": " + theWidth);
+        }
+        if (theHeight < 1) {
+            throw new IllegalArgumentException("Board height must be positive: " + theHeight);
+        }
+        myWidth = theWidth;
+        myHeight = theHeight;
+        myColumns = theWidth + MARGIN;
+        myRows = MARGIN + theHeight + HEADROOM;
+        final int positions = ROTATIONS.length * myRows * myColumns;
+        myVisited = new long[(positions + Long.SIZE - 1) / Long.SIZE];
+        myLanded = new long[myVisited.length];
+        myQueue = new int[positions];
+        myParent = new int[positions];
+        myMove = new byte[positions];
+        myPlacements = new int[positions];
+        mySnapshotRows = new int[theHeight];
+        myLegal = new long[ROTATIONS.length * myRows];
+    }
+
+    /**
+     * Returns the board x coordinate a new piece starts at.
+     *
+     * @param theWidth the width of the board.
+     * @param thePiece the piece.
+     * @return the x coordinate of the piece origin.
+     */
+    public static int spawnX(final int theWidth, final TetrisPiece thePiece) {
+        return (theWidth - thePiece.getWidth()) / 2;
+    }
+
+    /**
+     * Returns the board y coordinate a new piece starts at.
+     *
+     * @param theHeight the height of the board.
+     * @param thePiece the piece.
+     * @return the y coordinate of the piece origin.
+     */
+    public static int spawnY(final int theHeight, final TetrisPiece thePiece) {
+        int y = theHeight - 1;
+        if (thePiece == TetrisPiece.I) {
+            y--;
+        }
+        return y;
+    }
+
+    /**
+     * Finds every placement of the falling piece of a snapshot.
+     *
+     * @param theSnapshot the board to search.
+     * @return the placements, plain drops first; empty if there is no falling piece.
+     * @throws IllegalArgumentException if the snapshot is of a board of another size.
+     */
+    public List<Placement> enumerate(final BoardSnapshot theSnapshot) {
+        if (theSnapshot.getWidth() != myWidth || theSnapshot.getHeight() != myHeight) {
+            throw new IllegalArgumentException("Board sizes differ");
+        }
+        List<Placement> result = List.of();
+        if (theSnapshot.getPiece() != null) {
+            for (int y = 0; y < myHeight; y++) {
+                mySnapshotRows[y] = theSnapshot.getRowMask(y);
+            }
+            search(mySnapshotRows, theSnapshot.getPiece(), theSnapshot.getPieceRotation(),
+                   theSnapshot.getPieceX(), theSnapshot.getPieceY());
+            result = getPlacements();
+        }
+        return result;
+    }
+
+    /**
+     * Finds every placement of a piece that has just spawned.
+     *
+     * @param theFrozen the row masks of the frozen blocks, bottom row first;
+     *        read but not changed, and only until the next search.
+     * @param thePiece the piece.
+     * @return the number of placements found.
+     */
+    public int search(final int[] theFrozen, final TetrisPiece thePiece) {
+        return search(theFrozen, thePiece, Rotation.NONE, spawnX(myWidth, thePiece),
+                      spawnY(myHeight, thePiece));
+    }
+
+    /**
+     * Finds every placement of a piece that starts at a given position.
+     * Use the accessors to read the placements found.
+     *
+     * @param theFrozen the row masks of the frozen blocks, bottom row first;
+     *        read but not changed, and only until the next search.
+     * @param thePiece the piece.
+     * @param theRotation the Rotation the piece starts in.
+     * @param theX the board x coordinate the piece starts at.
+     * @param theY the board y coordinate the piece starts at.
+     * @return the number of placements found; 0 if the start is not legal.
+     */
+    public int search(final int[] theFrozen, final TetrisPiece thePiece,
+                      final Rotation theRotation, final int theX, final int theY) {
+        myPiece = thePiece;
+        buildLegalMap(theFrozen);
+        myCount = 0;
+        Arrays.fill(myVisited, 0L);
+        Arrays.fill(myLanded, 0L);
+        final int rotation = theRotation.ordinal();
+        if (isLegal(rotation, theX, theY)) {
+            final int start = index(rotation, theX, theY);
+            mark(myVisited, start);
+            myParent[start] = NO_PARENT;
+            myQueue[0] = start;
+            int tail = 1;
+            // first every position reached with the fewest shifts and rotations
+            for (int head = 0; head < tail; head++) {
+                tail = expand(myQueue[head], tail, false);
+            }
+            // then a hard drop from each of them, so plain drops get plain paths
+            final int shifted = tail;
+            for (int head = 0; head < shifted; head++) {
+                tail = drop(myQueue[head], tail);
+            }
+            // then every move from every position, for tucks and spins
+            for (int head = 0; head < tail; head++) {
+                tail = expand(myQueue[head], tail, true);
+            }
+        }
+        return myCount;
+    }
+
+    /**
+     * Returns the number of placements of the last search.
+     *
+     * @return the number of placements.
+     */
+    public int getCount() {
+        return myCount;
+    }
+
+    /**
+     * Returns the Rotation of a placement of the last search.
+     *
+     * @param theIndex the placement, 0 to getCount() - 1.
+     * @return the Rotation.
+     */
+    public Rotation getRotation(final int theIndex) {
+        return ROTATIONS[rotationOf(myPlacements[theIndex])];
+    }
+
+    /**
+     * Returns the board x coordinate of a placement of the last search.
+     *
+     * @param theIndex the placement, 0 to getCount() - 1.
+     * @return the x coordinate of the piece origin.
+     */
+    public int getX(final int theIndex) {
+        return xOf(myPlacements[theIndex]);
+    }
+
+    /**
+     * Returns the board y coordinate of a placement of the last search.
+     *
+     * @param theIndex the placement, 0 to getCount() - 1.
+     * @return the y coordinate of the piece origin.
+     */
+    public int getY(final int theIndex) {
+        return yOf(myPlacements[theIndex]);
+    }
+
+    /**
+     * Tests whether a placement of the last search leaves a block above the
+     * board, which ends the game.
+     *
+     * @param theIndex the placement, 0 to getCount() - 1.
+     * @return true if locking the piece there ends the game.
+     */
+    public boolean endsGame(final int theIndex) {
+        final int position = myPlacements[theIndex];
+        return yOf(position) + shape(rotationOf(position)).getMaxY() >= myHeight;
+    }
+
+    /**
+     * Locks the piece of a placement of the last search into row masks and
+     * removes the rows it completes, as the Board would. Blocks above the
+     * board are dropped.
+     *
+     * @param theIndex the placement, 0 to getCount() - 1.
+     * @param theRows the row masks to change, bottom row first.
+     * @return the number of rows removed.
+     */
+    public int lock(final int theIndex, final int[] theRows) {
+        final int position = myPlacements[theIndex];
+        final PieceShape shape = shape(rotationOf(position));
+        final int x = xOf(position);
+        final int y = yOf(position);
+        for (int row = shape.getMinY(); row <= shape.getMaxY(); row++) {
+            if (y + row < theRows.length) {
+                theRows[y + row] |= shape.getRowMask(row, x);
+            }
+        }
+        final int full = (int) ((1L << myWidth) - 1);
+        int write = 0;
+        for (int read = 0; read < theRows.length; read++) {
+            if (theRows[read] != full) {
+                theRows[write++] = theRows[read];
+            }
+        }
+        final int removed = theRows.length - write;
+        Arrays.fill(theRows, write, theRows.length, 0);
+        return removed;
+    }
+
+    /**
+     * Returns the operations that take the piece from its start to a
+     * placement of the last search and lock it there. Moves straight down
+     * at the end of the path are replaced by a single drop.
+     *
+     * @param theIndex the placement, 0 to getCount() - 1.
+     * @return the operations, ending with DROP.
+     */
+    public List<BoardOperation> getPath(final int theIndex) {
+        int position = myPlacements[theIndex];
+        while (myParent[position] != NO_PARENT && myMove[position] == DOWN_MOVE) {
+            position = myParent[position];
+        }
+        final List<BoardOperation> path = new ArrayList<>();
+        path.add(BoardOperation.DROP);
+        while (myParent[position] != NO_PARENT) {
+            final int parent = myParent[position];
+            int repeat = 1;
+            if (myMove[position] == DOWN_MOVE) {
+                // a drop edge falls several rows at once
+                repeat = yOf(parent) - yOf(position);
+            }
+            for (int i = 0; i < repeat; i++) {
+                path.add(MOVES[myMove[position]]);
+            }
+            position = parent;
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    /**
+     * Returns a placement of the last search.
+     *
+     * @param theIndex the placement, 0 to getCount() - 1.
+     * @return the placement with its path.
+     */
+    public Placement getPlacement(final int theIndex) {
+        return new Placement(myPiece, getRotation(theIndex), getX(theIndex), getY(theIndex),
+                             getPath(theIndex));
+    }
+
+    /**
+     * Returns every placement of the last search.
+     *
+     * @return the placements, plain drops first.
+     */
+    public List<Placement> getPlacements() {
+        final List<Placement> result = new ArrayList<>(myCount);
+        for (int i = 0; i < myCount; i++) {
+            result.add(getPlacement(i));
+        }
+        return result;
+    }
+
+    /**
+     * Queues every new position one move away from a position.
+     *
+     * @param thePosition the position to expand.
+     * @param theTail the end of the queue.
+     * @param theDown true to move down as well and to record the position as
+     *        a placement if the piece cannot move down from it.
+     * @return the new end of the queue.
+     */
+    private int expand(final int thePosition, final int theTail, final boolean theDown) {
+        final int rotation = rotationOf(thePosition);
+        final int x = xOf(thePosition);
+        final int y = yOf(thePosition);
+        int tail = theTail;
+        for (int move = 0; move < MOVES.length; move++) {
+            if (theDown || move != DOWN_MOVE) {
+                tail = enqueue(target(MOVES[move], rotation, x, y), thePosition, move, tail);
+            }
+        }
+        if (theDown && !isLegal(rotation, x, y - 1)) {
+            land(thePosition);
+        }
+        return tail;
+    }
+
+    /**
+     * Queues the position a piece falls to from a position and records it as
+     * a placement. The position is reached by a single edge in the parent table.
+     *
+     * @param thePosition the position to drop from.
+     * @param theTail the end of the queue.
+     * @return the new end of the queue.
+     */
+    private int drop(final int thePosition, final int theTail) {
+        final int rotation = rotationOf(thePosition);
+        final int x = xOf(thePosition);
+        int y = yOf(thePosition);
+        while (isLegal(rotation, x, y - 1)) {
+            y--;
+        }
+        final int landing = index(rotation, x, y);
+        final int tail = enqueue(landing, thePosition, DOWN_MOVE, theTail);
+        land(landing);
+        return tail;
+    }
+
+    /**
+     * Queues a position if it is legal and has not been visited.
+     *
+     * @param thePosition the position, or NO_PARENT.
+     * @param theParent the position it is reached from.
+     * @param theMove the index into MOVES of the move that reaches it.
+     * @param theTail the end of the queue.
+     * @return the new end of the queue.
+     */
+    private int enqueue(final int thePosition, final int theParent, final int theMove,
+                        final int theTail) {
+        int tail = theTail;
+        if (thePosition != NO_PARENT && !isMarked(myVisited, thePosition)) {
+            mark(myVisited, thePosition);
+            myParent[thePosition] = theParent;
+            myMove[thePosition] = (byte) theMove;
+            myQueue[tail++] = thePosition;
+        }
+        return tail;
+    }
+
+    /**
+     * Records a resting position as a placement unless a placement with the
+     * same footprint was recorded before.
+     *
+     * @param thePosition the position.
+     */
+    private void land(final int thePosition) {
+        final int piece = myPiece.ordinal();
+        final int rotation = rotationOf(thePosition);
+        final int canonical = index(CANONICAL[piece][rotation],
+                                    xOf(thePosition) + CANONICAL_X[piece][rotation],
+                                    yOf(thePosition) + CANONICAL_Y[piece][rotation]);
+        if (!isMarked(myLanded, canonical)) {
+            mark(myLanded, canonical);
+            myPlacements[myCount++] = thePosition;
+        }
+    }
+
+    /**
+     * Returns the position a move leads to, trying the wall kicks of a rotation
+     * in order as the Board does.
+     *
+     * @param theMove the move.
+     * @param theRotation the rotation ordinal.
+     * @param theX the board x coordinate.
+     * @param theY the board y coordinate.
+     * @return the position, or NO_PARENT if the move is not legal.
+     */
+    private int target(final BoardOperation theMove, final int theRotation,
+                       final int theX, final int theY) {
+        int result = NO_PARENT;
+        switch (theMove) {
+            case LEFT -> result = legalIndex(theRotation, theX - 1, theY);
+            case RIGHT -> result = legalIndex(theRotation, theX + 1, theY);
+            case DOWN -> result = legalIndex(theRotation, theX, theY - 1);
+            case ROTATE_CW -> result = kick(theRotation, CLOCKWISE, theX, theY);
+            case ROTATE_CCW -> result = kick(theRotation, COUNTER_CLOCKWISE, theX, theY);
+            default -> {
+            } // no other moves are searched
+        }
+        return result;
+    }
+
+    /**
+     * Returns the first legal wall kick of a rotation.
+     *
+     * @param theRotation the rotation ordinal before rotating.
+     * @param theDirection CLOCKWISE or COUNTER_CLOCKWISE.
+     * @param theX the board x coordinate.
+     * @param theY the board y coordinate.
+     * @return the position, or NO_PARENT if every kick is blocked.
+     */
+    private int kick(final int theRotation, final int theDirection,
+                     final int theX, final int theY) {
+        final int piece = myPiece.ordinal();
+        final int[] kickX = KICK_X[piece][theRotation][theDirection];
+        final int[] kickY = KICK_Y[piece][theRotation][theDirection];
+        int to = theRotation + 1;
+        if (theDirection == COUNTER_CLOCKWISE) {
+            to = theRotation - 1 + ROTATIONS.length;
+        }
+        to %= ROTATIONS.length;
+        int result = NO_PARENT;
+        for (int k = 0; k < kickX.length && result == NO_PARENT; k++) {
+            result = legalIndex(to, theX + kickX[k], theY + kickY[k]);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the index of a position if the piece may be there.
+     *
+     * @param theRotation the rotation ordinal.
+     * @param theX the board x coordinate.
+     * @param theY the board y coordinate.
+     * @return the position, or NO_PARENT if it is not legal.
+     */
+    private int legalIndex(final int theRotation, final int theX, final int theY) {
+        int result = NO_PARENT;
+        if (isLegal(theRotation, theX, theY)) {
+            result = index(theRotation, theX, theY);
+        }
+        return result;
+    }
+
+    /**
+     * Tests whether the piece may be at a position, using the legal position
+     * map of the current search.
+     *
+     * @param theRotation the rotation ordinal.
+     * @param theX the board x coordinate.
+     * @param theY the board y coordinate.
+     * @return true if the position is legal.
+     */
+    private boolean isLegal(final int theRotation, final int theX, final int theY) {
+        final int column = theX + MARGIN;
+        final int row = theY + MARGIN;
+        return column >= 0 && column < myColumns && row >= 0 && row < myRows
+               && (myLegal[theRotation * myRows + row] & 1L << column) != 0;
+    }
+
+    /**
+     * Builds the legal position map for the piece being searched: for every
+     * rotation and origin row, the origin columns where the piece is inside
+     * the walls and the floor and clear of the frozen blocks. A frozen row
+     * shifted right by the local column of a block gives the origins where
+     * that block would overlap it.
+     *
+     * @param theFrozen the row masks of the frozen blocks, bottom row first.
+     */
+    private void buildLegalMap(final int[] theFrozen) {
+        for (int rotation = 0; rotation < ROTATIONS.length; rotation++) {
+            final PieceShape shape = shape(rotation);
+            final long walls = (1L << myWidth - shape.getMaxX() + MARGIN)
+                               - (1L << MARGIN - shape.getMinX());
+            for (int row = 0; row < myRows; row++) {
+                final int y = row - MARGIN;
+                long legal = 0;
+                if (y + shape.getMinY() >= 0) {
+                    legal = walls;
+                    for (int local = shape.getMinY(); local <= shape.getMaxY(); local++) {
+                        long frozen = 0;
+                        if (y + local < myHeight) {
+                            frozen = (long) theFrozen[y + local] << MARGIN;
+                        }
+                        int mask = shape.getRowMask(local);
+                        while (mask != 0) {
+                            legal &= ~(frozen >>> Integer.numberOfTrailingZeros(mask));
+                            mask &= mask - 1;
+                        }
+                    }
+                }
+                myLegal[rotation * myRows + row] = legal;
+            }
+        }
+    }
+
+    /**
+     * Returns the footprint of the piece being searched.
+     *
+     * @param theRotation the rotation ordinal.
+     * @return the footprint.
+     */
+    private PieceShape shape(final int theRotation) {
+        return myPiece.getShape(ROTATIONS[theRotation]);
+    }
+
+    /**
+     * Returns the index of a position.
+     *
+     * @param theRotation the rotation ordinal.
+     * @param theX the board x coordinate, at least -MARGIN.
+     * @param theY the board y coordinate, at least -MARGIN.
+     * @return the index.
+     */
+    private int index(final int theRotation, final int theX, final int theY) {
+        return (theRotation * myRows + theY + MARGIN) * myColumns + theX + MARGIN;
+    }
+
+    /**
+     * Returns the rotation ordinal of a position.
+     *
+     * @param thePosition the index of the position.
+     * @return the rotation ordinal.
+     */
+    private int rotationOf(final int thePosition) {
+        return thePosition / myColumns / myRows;
+    }
+
+    /**
+     * Returns the board x coordinate of a position.
+     *
+     * @param thePosition the index of the position.
+     * @return the x coordinate.
+     */
+    private int xOf(final int thePosition) {
+        return thePosition % myColumns - MARGIN;
+    }
+
+    /**
+     * Returns the board y coordinate of a position.
+     *
+     * @param thePosition the index of the position.
+     * @return the y coordinate.
+     */
+    private int yOf(final int thePosition) {
+        return thePosition / myColumns % myRows - MARGIN;
+    }
+
+    /**
+     * Sets the bit of a position.
+     *
+     * @param theBits the bit set.
+     * @param thePosition the position.
+     */
+    private static void mark(final long[] theBits, final int thePosition) {
+        theBits[thePosition / Long.SIZE] |= 1L << thePosition;
+    }
+
+    /**
+     * Tests the bit of a position.
+     *
+     * @param theBits the bit set.
+     * @param thePosition the position.
+     * @return true if the bit is set.
+     */
+    private static boolean isMarked(final long[] theBits, final int thePosition) {
+        return (theBits[thePosition / Long.SIZE] & 1L << thePosition) != 0;
+    }
+
+    /**
+     * Copies the wall kicks of one rotation into the kick tables. The O piece
+     * rotates in place, as it does on the Board.
+     *
+     * @param thePiece the piece.
+     * @param theFrom the Rotation before rotating.
+     * @param theTo the Rotation after rotating.
+     * @param theDirection CLOCKWISE or COUNTER_CLOCKWISE.
+     */
+    private static void initKicks(final TetrisPiece thePiece, final Rotation theFrom,
+                                  final Rotation theTo, final int theDirection) {
+        Point[] kicks = {new Point(0, 0)};
+        if (thePiece != TetrisPiece.O) {
+            kicks = WallKick.getWallKicks(thePiece, theFrom, theTo);
+        }
+        final int[] kickX = new int[kicks.length];
+        final int[] kickY = new int[kicks.length];
+        for (int k = 0; k < kicks.length; k++) {
+            kickX[k] = kicks[k].x();
+            kickY[k] = kicks[k].y();
+        }
+        KICK_X[thePiece.ordinal()][theFrom.ordinal()][theDirection] = kickX;
+        KICK_Y[thePiece.ordinal()][theFrom.ordinal()][theDirection] = kickY;
+    }
+
+    /**
+     * Finds the lowest rotation of a piece with the same footprint as
+     * another, and the origin offset between the two.
+     *
+     * @param thePiece the piece.
+     * @param theRotation the Rotation.
+     */
+    private static void initCanonical(final TetrisPiece thePiece, final Rotation theRotation) {
+        final PieceShape shape = thePiece.getShape(theRotation);
+        int canonical = 0;
+        while (!sameFootprint(shape, thePiece.getShape(ROTATIONS[canonical]))) {
+            canonical++;
+        }
+        final PieceShape target = thePiece.getShape(ROTATIONS[canonical]);
+        CANONICAL[thePiece.ordinal()][theRotation.ordinal()] = canonical;
+        CANONICAL_X[thePiece.ordinal()][theRotation.ordinal()] =
+                shape.getMinX() - target.getMinX();
+        CANONICAL_Y[thePiece.ordinal()][theRotation.ordinal()] =
+                shape.getMinY() - target.getMinY();
+    }
+
+    /**
+     * Tests whether two shapes cover the same cells once both are moved to
+     * the corner of the local grid.
+     *
+     * @param theFirst a shape.
+     * @param theSecond another shape.
+     * @return true if the footprints are the same.
+     */
+    private static boolean sameFootprint(final PieceShape theFirst,
+                                         final PieceShape theSecond) {
+        boolean result = true;
+        for (int row = 0; row < PieceShape.SIZE && result; row++) {
+            final int first = theFirst.getRowMask(theFirst.getMinY() + row);
+            final int second = theSecond.getRowMask(theSecond.getMinY() + row);
+            result = first >>> theFirst.getMinX() == second >>> theSecond.getMinX();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,341 @@
+/*
+ * TCSS 305
+ *
+ * An implementation of the classic game "Tetris".
+ */
+
+package model.ai;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A fixed size cache of search results keyed by 64 bit hashes, shared by
+ * every thread of a search without locks.
+ * <p>
+ * An entry is a score, a 24 bit payload such as the index of a placement,
+ * and the depth of the search that produced the score, 0 for a board that
+ * was only evaluated. Entries are packed into one long, and the table is a
+ * single AtomicLongArray holding two longs per slot: the key exclusive or
+ * the entry, then the entry. A reader that races a writer sees a key that
+ * does not match and reports a miss, so slots are never locked and a torn
+ * slot is never returned. The table never grows: a key hashes to a bucket
+ * of {@value #BUCKET_SIZE} neighbouring slots, and when the bucket is full
+ * the shallowest entry is replaced, so the results of deep searches outlive
+ * plain evaluations. An entry for a key that is already in the bucket
+ * replaces it unless it is shallower.
+ * <p>
+ * The table counts its probes, hits and stores with LongAdders, so the
+ * counters do not become a point of contention either.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+public final class TranspositionTable {
+
+    /**
+     * The entry returned by a probe that misses.
+     */
+    public static final long MISS = 0L;
+
+    /**
+     * The deepest depth an entry can record.
+     */
+    public static final int MAX_DEPTH = 0xFE;
+
+    /**
+     * The largest payload an entry can hold.
+     */
+    public static final int MAX_PAYLOAD = 0xFFFFFF;
+
+    /**
+     * Number of neighbouring slots a key may be stored in.
+     */
+    public static final int BUCKET_SIZE = 4;
+
+    /**
+     * The largest capacity; two longs per entry must fit one array.
+     */
+    public static final int MAX_CAPACITY = 1 << 29;
+
+    /**
+     * Bytes used by one slot.
+     */
+    public static final int SLOT_BYTES = 2 * Long.BYTES;
+
+    /**
+     * Bytes in a megabyte.
+     */
+    private static final long BYTES_PER_MEGABYTE = 1L << 20;
+
+    /**
+     * Converts fractions to percentages.
+     */
+    private static final double PERCENT = 100.0;
+
+    /**
+     * Bits of an entry below the payload, which hold the depth.
+     */
+    private static final int DEPTH_BITS = 8;
+
+    /**
+     * Mask of the depth of an entry.
+     */
+    private static final int DEPTH_MASK = (1 << DEPTH_BITS) - 1;
+
+    /**
+     * Bits of an entry below the score.
+     */
+    private static final int SCORE_SHIFT = Integer.SIZE;
+
+    /**
+     * The two longs of every slot.
+     */
+    private final AtomicLongArray mySlots;
+
+    /**
+     * Number of slots minus one; the number of slots is a power of two.
+     */
+    private final int myMask;
+
+    /**
+     * Number of probes.
+     */
+    private final LongAdder myProbes;
+
+    /**
+     * Number of probes that hit.
+     */
+    private final LongAdder myHits;
+
+    /**
+     * Number of stores.
+     */
+    private final LongAdder myStores;
+
+    /**
+     * Creates an empty table.
+     *
+     * @param theCapacity the least number of entries; rounded up to a power of two.
+     * @throws IllegalArgumentException if theCapacity is not positive or too large.
+     */
+    public TranspositionTable(final int theCapacity) {
+        super();
+        if (theCapacity < 1 || theCapacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Unsupported capacity: " + theCapacity);
+        }
+        final int slots = Math.max(BUCKET_SIZE, Integer.highestOneBit(theCapacity * 2 - 1));
+        mySlots = new AtomicLongArray(2 * slots);
+        myMask = slots - 1;
+        myProbes = new LongAdder();
+        myHits = new LongAdder();
+        myStores = new LongAdder();
+    }
+
+    /**
+     * Creates an empty table that uses about a number of megabytes.
+     *
+     * @param theMegabytes the size in megabytes.
+     * @return the table; its capacity is the largest power of two that fits.
+     * @throws IllegalArgumentException if theMegabytes is not positive or too large.
+     */
+    public static TranspositionTable ofMegabytes(final int theMegabytes) {
+        final long capacity = theMegabytes * BYTES_PER_MEGABYTE / SLOT_BYTES;
+        if (theMegabytes < 1 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Unsupported size: " + theMegabytes);
+        }
+        return new TranspositionTable(Integer.highestOneBit((int) capacity));
+    }
+
+    /**
+     * Returns the score of an entry.
+     *
+     * @param theEntry the entry, not MISS.
+     * @return the score, rounded to a float when it was stored.
+     */
+    public static double getScore(final long theEntry) {
+        return Float.intBitsToFloat((int) (theEntry >>> SCORE_SHIFT));
+    }
+
+    /**
+     * Returns the payload of an entry.
+     *
+     * @param theEntry the entry, not MISS.
+     * @return the payload.
+     */
+    public static int getPayload(final long theEntry) {
+        return (int) theEntry >>> DEPTH_BITS;
+    }
+
+    /**
+     * Returns the depth of an entry.
+     *
+     * @param theEntry the entry, not MISS.
+     * @return the depth.
+     */
+    public static int getDepth(final long theEntry) {
+        return ((int) theEntry & DEPTH_MASK) - 1;
+    }
+
+    /**
+     * Looks up a key.
+     *
+     * @param theKey the key.
+     * @param theDepth the least depth the caller can use.
+     * @return the entry of the key if it is at least that deep, otherwise MISS.
+     */
+    public long probe(final long theKey, final int theDepth) {
+        myProbes.increment();
+        long result = MISS;
+        final int home = (int) theKey & myMask;
+        for (int i = 0; i < BUCKET_SIZE && result == MISS; i++) {
+            final int slot = 2 * (home + i & myMask);
+            final long entry = mySlots.get(slot + 1);
+            if (entry != MISS && (mySlots.get(slot) ^ entry) == theKey
+                && getDepth(entry) >= theDepth) {
+                result = entry;
+            }
+        }
+        if (result != MISS) {
+            myHits.increment();
+        }
+        return result;
+    }
+
+    /**
+     * Stores a result.
+     *
+     * @param theKey the key.
+     * @param theScore the score; stored as a float.
+     * @param thePayload the payload, between 0 and MAX_PAYLOAD.
+     * @param theDepth the depth, between 0 and MAX_DEPTH.
+     * @return the entry stored, which is also the entry a later probe returns.
+     * @throws IllegalArgumentException if the payload or depth is out of range.
+     */
+    public long store(final long theKey, final double theScore, final int thePayload,
+                      final int theDepth) {
+        if (thePayload < 0 || thePayload > MAX_PAYLOAD || theDepth < 0
+            || theDepth > MAX_DEPTH) {
+            throw new IllegalArgumentException("Payload or depth out of range: "
+                                               + thePayload + ", " + theDepth);
+        }
+        final long entry = (long) Float.floatToRawIntBits((float) theScore) << SCORE_SHIFT
+                           | (long) thePayload << DEPTH_BITS | theDepth + 1;
+        final int home = (int) theKey & myMask;
+        int victim = -1;
+        int shallowest = Integer.MAX_VALUE;
+        boolean done = false;
+        for (int i = 0; i < BUCKET_SIZE && !done; i++) {
+            final int slot = 2 * (home + i & myMask);
+            final long old = mySlots.get(slot + 1);
+            if (old == MISS) {
+                victim = slot;
+                done = true;
+            } else if ((mySlots.get(slot) ^ old) == theKey) {
+                // the same key: keep a deeper result
+                if (getDepth(old) <= theDepth) {
+                    victim = slot;
+                } else {
+                    victim = -1;
+                }
+                done = true;
+            } else if (getDepth(old) < shallowest) {
+                shallowest = getDepth(old);
+                victim = slot;
+            }
+        }
+        if (victim >= 0) {
+            mySlots.set(victim + 1, entry);
+            mySlots.set(victim, theKey ^ entry);
+            myStores.increment();
+        }
+        return entry;
+    }
+
+    /**
+     * Empties the table and resets its counters.
+     * Must not be called while the table is being used.
+     */
+    public void clear() {
+        for (int i = 0; i < mySlots.length(); i++) {
+            mySlots.set(i, 0L);
+        }
+        myProbes.reset();
+        myHits.reset();
+        myStores.reset();
+    }
+
+    /**
+     * Returns the number of entries the table can hold.
+     *
+     * @return the capacity.
+     */
+    public int getCapacity() {
+        return myMask + 1;
+    }
+
+    /**
+     * Returns the number of probes so far.
+     *
+     * @return the probes.
+     */
+    public long getProbes() {
+        return myProbes.sum();
+    }
+
+    /**
+     * Returns the number of probes that hit so far.
+     *
+     * @return the hits.
+     */
+    public long getHits() {
+        return myHits.sum();
+    }
+
+    /**
+     * Returns the number of entries stored so far.
+     *
+     * @return the stores.
+     */
+    public long getStores() {
+        return myStores.sum();
+    }
+
+    /**
+     * Returns the fraction of probes that hit.
+     *
+     * @return the hit rate between 0 and 1; 0 before the first probe.
+     */
+    public double getHitRate() {
+        final long probes = getProbes();
+        double result = 0;
+        if (probes > 0) {
+            result = (double) getHits() / probes;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the fraction of the slots in use. Scans the whole table, so
+     * this is meant for reports rather than for the search itself.
+     *
+     * @return the occupancy between 0 and 1.
+     */
+    public double getOccupancy() {
+        int used = 0;
+        for (int slot = 1; slot < mySlots.length(); slot += 2) {
+            if (mySlots.get(slot) != MISS) {
+                used++;
+            }
+        }
+        return (double) used / getCapacity();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("capacity=%d probes=%d hits=%d hit rate=%.1f%% "
+                             + "stores=%d occupancy=%.1f%%",
+                getCapacity(), getProbes(), getHits(), getHitRate() * PERCENT,
+                getStores(), getOccupancy() * PERCENT);
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * TCSS 305
+ *
+ * An implementation of the classic game "Tetris".
+ */
+
+package model.ai;
+
+import model.Rotation;
+import model.TetrisPiece;
+
+/**
+ * Zobrist hashes of the boards and positions reached by a search.
+ * <p>
+ * Every cell of the board has a random 64 bit key, and the hash of the
+ * frozen blocks is the exclusive or of the keys of the filled cells, so
+ * equal boards always have equal hashes and different boards almost never
+ * do. The lines cleared, the falling piece and the pieces of the preview
+ * are mixed in with keys of their own. The keys are made from a fixed seed,
+ * so hashes are the same in every run and on every thread; a ZobristHash is
+ * immutable and may be shared.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+public final class ZobristHash {
+
+    /**
+     * Seed of the keys.
+     */
+    private static final long SEED = 0x2545F4914F6CDD1DL;
+
+    /**
+     * Spacing of the key indices, the fractional part of the golden ratio.
+     */
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    /**
+     * First multiplier of the 64 bit MurmurHash3 finalizer.
+     */
+    private static final long MIX_MULTIPLIER_1 = 0xFF51AFD7ED558CCDL;
+
+    /**
+     * Second multiplier of the 64 bit MurmurHash3 finalizer.
+     */
+    private static final long MIX_MULTIPLIER_2 = 0xC4CEB9FE1A85EC53L;
+
+    /**
+     * Shift of the 64 bit MurmurHash3 finalizer.
+     */
+    private static final int MIX_SHIFT = 33;
+
+    /**
+     * Kind of the keys of the cells.
+     */
+    private static final int CELL_KEYS = 1;
+
+    /**
+     * Kind of the keys of the lines cleared.
+     */
+    private static final int LINE_KEYS = 2;
+
+    /**
+     * Kind of the keys of the pieces of the preview.
+     */
+    private static final int PIECE_KEYS = 3;
+
+    /**
+     * Kind of the keys of the falling piece.
+     */
+    private static final int POSITION_KEYS = 4;
+
+    /**
+     * Number of distinct board coordinates in a position key; board
+     * coordinates stay far below this.
+     */
+    private static final int COORDINATES = 1 << 12;
+
+    /**
+     * Number of kinds of pieces.
+     */
+    private static final int PIECES = TetrisPiece.values().length;
+
+    /**
+     * Number of rotations.
+     */
+    private static final int ROTATIONS = Rotation.values().length;
+
+    /**
+     * The width of the board.
+     */
+    private final int myWidth;
+
+    /**
+     * The height of the board.
+     */
+    private final int myHeight;
+
+    /**
+     * The key of every cell, row by row, bottom row first.
+     */
+    private final long[] myCellKeys;
+
+    /**
+     * Creates the keys for a board size.
+     *
+     * @param theWidth the width of the board.
+     * @param theHeight the height of the board.
+     */
+    public ZobristHash(final int theWidth, final int theHeight) {
+        super();
+        myWidth = theWidth;
+        myHeight = theHeight;
+        myCellKeys = new long[theWidth * theHeight];
+        for (int i = 0; i < myCellKeys.length; i++) {
+            myCellKeys[i] = key(CELL_KEYS, i);
+        }
+    }
+
+    /**
+     * Hashes the frozen blocks of a board.
+     *
+     * @param theRows the row masks of the frozen blocks, bottom row first;
+     *        rows above the height of the board are ignored.
+     * @return the hash; 0 for an empty board.
+     */
+    public long hash(final int[] theRows) {
+        long result = 0;
+        final int rows = Math.min(theRows.length, myHeight);
+        for (int y = 0; y < rows; y++) {
+            int mask = theRows[y];
+            final int base = y * myWidth;
+            while (mask != 0) {
+                result ^= myCellKeys[base + Integer.numberOfTrailingZeros(mask)];
+                mask &= mask - 1;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Mixes the number of lines cleared into a hash.
+     *
+     * @param theHash the hash.
+     * @param theLines the lines cleared.
+     * @return the new hash.
+     */
+    public long withLines(final long theHash, final int theLines) {
+        return theHash ^ key(LINE_KEYS, theLines);
+    }
+
+    /**
+     * Mixes the falling piece and where it is into a hash.
+     *
+     * @param theHash the hash.
+     * @param thePiece the falling piece.
+     * @param theRotation its Rotation.
+     * @param theX its board x coordinate.
+     * @param theY its board y coordinate.
+     * @return the new hash.
+     */
+    public long withPosition(final long theHash, final TetrisPiece thePiece,
+                             final Rotation theRotation, final int theX, final int theY) {
+        final long shape = thePiece.ordinal() * ROTATIONS + theRotation.ordinal();
+        final long where = Math.floorMod(theX, COORDINATES) * COORDINATES
+                           + Math.floorMod(theY, COORDINATES);
+        return theHash ^ key(POSITION_KEYS, shape * COORDINATES * COORDINATES + where);
+    }
+
+    /**
+     * Mixes a piece of the preview into a hash.
+     *
+     * @param theHash the hash.
+     * @param theIndex the place of the piece in the preview, from 0.
+     * @param thePiece the piece.
+     * @return the new hash.
+     */
+    public long withPreview(final long theHash, final int theIndex,
+                            final TetrisPiece thePiece) {
+        return theHash ^ key(PIECE_KEYS, (long) theIndex * PIECES + thePiece.ordinal());
+    }
+
+    /**
+     * Makes a key.
+     *
+     * @param theKind the kind of key.
+     * @param theIndex the index of the key within its kind.
+     * @return the key.
+     */
+    private static long key(final int theKind, final long theIndex) {
+        long result = SEED + ((long) theKind << Integer.SIZE ^ theIndex) * GOLDEN_GAMMA;
+        result = (result ^ result >>> MIX_SHIFT) * MIX_MULTIPLIER_1;
+        result = (result ^ result >>> MIX_SHIFT) * MIX_MULTIPLIER_2;
+        return result ^ result >>> MIX_SHIFT;
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * TCSS 305
+ *
+ * An implementation of the classic game "Tetris".
+ */
+
+package model.event;
+
+/**
+ * One slot of the EventBus ring buffer.
+ * <p>
+ * The topic is one of the MyBoard.PROPERTY_* names and the old and new values
+ * are the same values a PropertyChangeEvent for that property would carry.
+ * Slots are reused once every subscriber has seen them, so a handler must not
+ * keep a BoardEvent after its callback returns; it may keep the values, which
+ * the Board only publishes as immutable objects.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+public final class BoardEvent {
+
+    /**
+     * The sequence number of the event.
+     */
+    private long mySequence;
+
+    /**
+     * The topic of the event.
+     */
+    private String myTopic;
+
+    /**
+     * The old value of the property, or null.
+     */
+    private Object myOldValue;
+
+    /**
+     * The new value of the property, or null.
+     */
+    private Object myNewValue;
+
+    /**
+     * Creates an empty slot.
+     */
+    BoardEvent() {
+        super();
+        mySequence = -1;
+    }
+
+    /**
+     * Fills this slot with a new event.
+     *
+     * @param theSequence the sequence number.
+     * @param theTopic the topic.
+     * @param theOldValue the old value.
+     * @param theNewValue the new value.
+     */
+    void set(final long theSequence, final String theTopic,
+             final Object theOldValue, final Object theNewValue) {
+        mySequence = theSequence;
+        myTopic = theTopic;
+        myOldValue = theOldValue;
+        myNewValue = theNewValue;
+    }
+
+    /**
+     * Returns a copy of this event that is not part of any ring.
+     *
+     * @return a new BoardEvent with the same values.
+     */
+    BoardEvent copy() {
+        final BoardEvent copy = new BoardEvent();
+        copy.set(mySequence, myTopic, myOldValue, myNewValue);
+        return copy;
+    }
+
+    /**
+     * Returns the sequence number of the event. Sequence numbers start at 0
+     * and increase by one for every event published on the bus.
+     *
+     * @return the sequence number.
+     */
+    public long getSequence() {
+        return mySequence;
+    }
+
+    /**
+     * Returns the topic of the event.
+     *
+     * @return the topic, one of the MyBoard.PROPERTY_* names.
+     */
+    public String getTopic() {
+        return myTopic;
+    }
+
+    /**
+     * Returns the old value of the property.
+     *
+     * @return the old value, or null.
+     */
+    public Object getOldValue() {
+        return myOldValue;
+    }
+
+    /**
+     * Returns the new value of the property.
+     *
+     * @return the new value, or null.
+     */
+    public Object getNewValue() {
+        return myNewValue;
+    }
+
+    @Override
+    public String toString() {
+        return mySequence + " " + myTopic + ": " + myOldValue + " -> " + myNewValue;
+    }
+}
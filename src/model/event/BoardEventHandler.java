@@ -0,0 +1,35 @@
+/*
+ * TCSS 305
+ *
+ * An implementation of the classic game "Tetris".
+ */
+
+package model.event;
+
+/**
+ * Receives events from an EventBus.
+ * <p>
+ * Events arrive in batches: onEvent is called for every available event the
+ * subscription accepts, in publication order, then onEndOfBatch is called once.
+ * Expensive work such as repainting is best done in onEndOfBatch.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+@FunctionalInterface
+public interface BoardEventHandler {
+
+    /**
+     * Handles one event. The event is only valid until this method returns.
+     *
+     * @param theEvent the event.
+     */
+    void onEvent(BoardEvent theEvent);
+
+    /**
+     * Called after the last event of a batch has been handled.
+     */
+    default void onEndOfBatch() {
+        // nothing by default
+    }
+}
@@ -0,0 +1,279 @@
+/*
+ * TCSS 305
+ *
+ * An implementation of the classic game "Tetris".
+ */
+
+package model.event;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A single producer event bus backed by a ring buffer of reusable BoardEvents.
+ * <p>
+ * The producer (the thread that mutates the Board) publishes events into the
+ * ring without allocating, then calls {@link #flush()} once per operation.
+ * Flushing delivers every waiting event to synchronous subscriptions as one
+ * batch on the producer thread. For each asynchronous subscription it copies
+ * the waiting events that subscription accepts into a queue of its own and
+ * hands a drain task to its Executor, which delivers the copies. Asynchronous
+ * subscribers therefore never run on the producer thread, and the producer
+ * never waits for them: a subscriber on the Swing event dispatch thread that
+ * falls behind, or that is blocked waiting for the producer, only makes its
+ * own queue longer. Only events for asynchronous subscriptions are copied.
+ * <p>
+ * A slot is only reused after every subscription has finished with it, which
+ * for an asynchronous subscription is as soon as a flush has copied it.
+ * Events published from inside a synchronous handler are delivered to that
+ * handler after it returns, as part of the same batch, so a synchronous
+ * handler must not publish more events than the capacity of the ring.
+ * <p>
+ * Only one thread may publish and flush. Subscribing and cancelling are safe
+ * from any thread.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+public final class EventBus {
+
+    /**
+     * The default number of slots in the ring.
+     */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    /**
+     * The subscriptions of a bus with no subscribers.
+     */
+    private static final Subscription[] NO_SUBSCRIPTIONS = new Subscription[0];
+
+    /**
+     * How long the producer parks while a synchronous handler that publishes
+     * more than a ring of events is still running.
+     */
+    private static final long WAIT_NANOS = 50_000;
+
+    /**
+     * The reusable event slots.
+     */
+    private final BoardEvent[] myRing;
+
+    /**
+     * Mask that maps a sequence number to a slot index.
+     */
+    private final int myMask;
+
+    /**
+     * The sequence number of the last published event.
+     */
+    private final AtomicLong myCursor;
+
+    /**
+     * The sequence number of the next event. Only used by the producer.
+     */
+    private long myNextSequence;
+
+    /**
+     * The lowest subscriber sequence last seen by the producer.
+     */
+    private long myCachedGate;
+
+    /**
+     * The current subscriptions, replaced as a whole when they change.
+     */
+    private volatile Subscription[] mySubscriptions;
+
+    /**
+     * Creates an event bus with the default capacity.
+     */
+    public EventBus() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an event bus.
+     *
+     * @param theCapacity the number of slots in the ring, a power of two.
+     * @throws IllegalArgumentException if the capacity is not a positive power of two.
+     */
+    public EventBus(final int theCapacity) {
+        super();
+        if (theCapacity < 1 || Integer.bitCount(theCapacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: "
+                    + theCapacity);
+        }
+        myRing = new BoardEvent[theCapacity];
+        for (int i = 0; i < theCapacity; i++) {
+            myRing[i] = new BoardEvent();
+        }
+        myMask = theCapacity - 1;
+        myCursor = new AtomicLong(-1);
+        myCachedGate = -1;
+        mySubscriptions = NO_SUBSCRIPTIONS;
+    }
+
+    /**
+     * Subscribes a handler that is delivered on the flushing thread.
+     *
+     * @param theTopic the topic to receive, or null for every topic.
+     * @param theHandler the handler.
+     * @return the new Subscription.
+     */
+    public Subscription subscribe(final String theTopic, final BoardEventHandler theHandler) {
+        return subscribe(theTopic, theHandler, null);
+    }
+
+    /**
+     * Subscribes a handler. Only events published after this call are delivered.
+     *
+     * @param theTopic the topic to receive, or null for every topic.
+     * @param theHandler the handler.
+     * @param theExecutor the Executor that delivers batches, for example
+     *        SwingUtilities::invokeLater, or null to deliver on the flushing thread.
+     * @return the new Subscription.
+     * @throws NullPointerException if the handler is null.
+     */
+    public synchronized Subscription subscribe(final String theTopic,
+                                               final BoardEventHandler theHandler,
+                                               final Executor theExecutor) {
+        Objects.requireNonNull(theHandler, "theHandler");
+        final Subscription subscription =
+                new Subscription(this, theTopic, theHandler, theExecutor, myCursor.get());
+        final Subscription[] old = mySubscriptions;
+        final Subscription[] updated = Arrays.copyOf(old, old.length + 1);
+        updated[old.length] = subscription;
+        mySubscriptions = updated;
+        return subscription;
+    }
+
+    /**
+     * Returns the current subscriptions, in the order they were added.
+     *
+     * @return an unmodifiable List of subscriptions.
+     */
+    public List<Subscription> getSubscriptions() {
+        return List.of(mySubscriptions);
+    }
+
+    /**
+     * Tests whether any subscription accepts a topic. The producer can use this
+     * to skip building values that nobody will receive.
+     *
+     * @param theTopic the topic.
+     * @return true if an event with the topic would be delivered.
+     */
+    public boolean hasSubscribers(final String theTopic) {
+        boolean result = false;
+        for (final Subscription s : mySubscriptions) {
+            result |= s.accepts(theTopic);
+        }
+        return result;
+    }
+
+    /**
+     * Publishes an event. It is delivered by the next call to flush().
+     *
+     * @param theTopic the topic.
+     * @param theOldValue the old value, or null.
+     * @param theNewValue the new value, or null.
+     */
+    public void publish(final String theTopic, final Object theOldValue,
+                        final Object theNewValue) {
+        final long sequence = myNextSequence;
+        final long wrapPoint = sequence - myRing.length;
+        if (wrapPoint > myCachedGate) {
+            myCachedGate = awaitGate(wrapPoint);
+        }
+        myRing[(int) sequence & myMask].set(sequence, theTopic, theOldValue, theNewValue);
+        myNextSequence = sequence + 1;
+        myCursor.set(sequence);
+    }
+
+    /**
+     * Delivers waiting events to synchronous subscriptions and schedules
+     * delivery to asynchronous ones.
+     */
+    public void flush() {
+        for (final Subscription s : mySubscriptions) {
+            s.signal();
+        }
+    }
+
+    /**
+     * Removes a subscription.
+     *
+     * @param theSubscription the subscription to remove.
+     */
+    synchronized void remove(final Subscription theSubscription) {
+        final Subscription[] old = mySubscriptions;
+        int index = -1;
+        for (int i = 0; i < old.length && index < 0; i++) {
+            if (old[i] == theSubscription) {
+                index = i;
+            }
+        }
+        if (index >= 0) {
+            final Subscription[] updated = new Subscription[old.length - 1];
+            System.arraycopy(old, 0, updated, 0, index);
+            System.arraycopy(old, index + 1, updated, index, updated.length - index);
+            mySubscriptions = updated;
+        }
+    }
+
+    /**
+     * Returns the sequence number of the last published event.
+     *
+     * @return the cursor, or -1 before the first event.
+     */
+    long getCursor() {
+        return myCursor.get();
+    }
+
+    /**
+     * Returns the slot holding an event.
+     *
+     * @param theSequence the sequence number of the event.
+     * @return the slot.
+     */
+    BoardEvent get(final long theSequence) {
+        return myRing[(int) theSequence & myMask];
+    }
+
+    /**
+     * Waits until every subscription is done with the slot that is about to be reused.
+     *
+     * @param theWrapPoint the sequence number of the event last stored in that slot.
+     * @return the lowest subscriber sequence.
+     */
+    private long awaitGate(final long theWrapPoint) {
+        long gate = minimumSequence();
+        while (theWrapPoint > gate) {
+            // synchronous subscribers catch up on this thread, and asynchronous
+            // ones are handed copies
+            flush();
+            gate = minimumSequence();
+            if (theWrapPoint > gate) {
+                LockSupport.parkNanos(WAIT_NANOS);
+                gate = minimumSequence();
+            }
+        }
+        return gate;
+    }
+
+    /**
+     * Returns the lowest sequence number any subscription is done with.
+     *
+     * @return the lowest subscriber sequence, or the cursor if there are no subscribers.
+     */
+    private long minimumSequence() {
+        long minimum = myCursor.get();
+        for (final Subscription s : mySubscriptions) {
+            minimum = Math.min(minimum, s.getSequence());
+        }
+        return minimum;
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * TCSS 305
+ *
+ * An implementation of the classic game "Tetris".
+ */
+
+package model.event;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+
+/**
+ * Delivers bus events to a PropertyChangeListener, so existing listeners keep
+ * working with the event bus. The topic becomes the property name.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+public final class PropertyChangeAdapter implements BoardEventHandler {
+
+    /**
+     * The source object reported in every PropertyChangeEvent.
+     */
+    private final Object mySource;
+
+    /**
+     * The listener to deliver to.
+     */
+    private final PropertyChangeListener myListener;
+
+    /**
+     * Creates an adapter.
+     *
+     * @param theSource the source object reported in every PropertyChangeEvent.
+     * @param theListener the listener to deliver to.
+     */
+    public PropertyChangeAdapter(final Object theSource,
+                                 final PropertyChangeListener theListener) {
+        super();
+        mySource = theSource;
+        myListener = theListener;
+    }
+
+    /**
+     * Returns the listener this adapter delivers to.
+     *
+     * @return the listener.
+     */
+    public PropertyChangeListener getListener() {
+        return myListener;
+    }
+
+    @Override
+    public void onEvent(final BoardEvent theEvent) {
+        myListener.propertyChange(new PropertyChangeEvent(mySource, theEvent.getTopic(),
+                theEvent.getOldValue(), theEvent.getNewValue()));
+    }
+}
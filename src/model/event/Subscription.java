@@ -0,0 +1,279 @@
+/*
+ * TCSS 305
+ *
+ * An implementation of the classic game "Tetris".
+ */
+
+package model.event;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A handler registered with an EventBus, together with how far it has read.
+ * <p>
+ * A synchronous subscription is delivered on the thread that flushes the bus.
+ * An asynchronous subscription is handed copies of the events it accepts on
+ * the flushing thread, so it never holds ring slots, and hands a drain task to
+ * its Executor, which then delivers every copy available at that time as one
+ * batch. At most one drain of a subscription runs at a time, so events always
+ * arrive in order.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+public final class Subscription {
+
+    /**
+     * The bus this subscription reads from.
+     */
+    private final EventBus myBus;
+
+    /**
+     * The accepted topic, or null for every topic.
+     */
+    private final String myTopic;
+
+    /**
+     * The handler to deliver to.
+     */
+    private final BoardEventHandler myHandler;
+
+    /**
+     * The Executor that runs drains, or null to drain on the flushing thread.
+     */
+    private final Executor myExecutor;
+
+    /**
+     * The copies waiting for an asynchronous subscription, or null for a
+     * synchronous one.
+     */
+    private final Queue<BoardEvent> myHandoff;
+
+    /**
+     * The sequence number of the last event this subscription is done with.
+     */
+    private final AtomicLong mySequence;
+
+    /**
+     * Set while a drain is scheduled or running.
+     */
+    private final AtomicBoolean myDraining;
+
+    /**
+     * The drain task handed to the Executor, created once.
+     */
+    private final Runnable myDrainTask;
+
+    /**
+     * Set once the subscription has been cancelled.
+     */
+    private volatile boolean myCancelled;
+
+    /**
+     * Creates a subscription that starts after the given sequence number.
+     *
+     * @param theBus the bus to read from.
+     * @param theTopic the accepted topic, or null for every topic.
+     * @param theHandler the handler to deliver to.
+     * @param theExecutor the Executor that runs drains, or null.
+     * @param theSequence the last sequence number published before subscribing.
+     */
+    Subscription(final EventBus theBus, final String theTopic,
+                 final BoardEventHandler theHandler, final Executor theExecutor,
+                 final long theSequence) {
+        super();
+        myBus = theBus;
+        myTopic = theTopic;
+        myHandler = theHandler;
+        myExecutor = theExecutor;
+        Queue<BoardEvent> handoff = null;
+        if (theExecutor != null) {
+            handoff = new ConcurrentLinkedQueue<>();
+        }
+        myHandoff = handoff;
+        mySequence = new AtomicLong(theSequence);
+        myDraining = new AtomicBoolean();
+        myDrainTask = this::drain;
+    }
+
+    /**
+     * Returns the accepted topic.
+     *
+     * @return the topic, or null if every topic is accepted.
+     */
+    public String getTopic() {
+        return myTopic;
+    }
+
+    /**
+     * Returns the handler of this subscription.
+     *
+     * @return the handler.
+     */
+    public BoardEventHandler getHandler() {
+        return myHandler;
+    }
+
+    /**
+     * Tests whether events are delivered through an Executor.
+     *
+     * @return true if delivery is asynchronous.
+     */
+    public boolean isAsynchronous() {
+        return myExecutor != null;
+    }
+
+    /**
+     * Stops delivery to this subscription and removes it from the bus.
+     * A batch that is already being delivered stops after the current event.
+     */
+    public void cancel() {
+        myCancelled = true;
+        myBus.remove(this);
+    }
+
+    /**
+     * Tests whether this subscription accepts a topic.
+     *
+     * @param theTopic the topic.
+     * @return true if events with the topic are delivered.
+     */
+    boolean accepts(final String theTopic) {
+        return myTopic == null || myTopic.equals(theTopic);
+    }
+
+    /**
+     * Returns the sequence number of the last event this subscription is done with.
+     *
+     * @return the sequence number.
+     */
+    long getSequence() {
+        return mySequence.get();
+    }
+
+    /**
+     * Starts a drain if events are waiting and no drain is already running.
+     * An asynchronous subscription first takes copies of the new events.
+     */
+    void signal() {
+        if (myHandoff != null) {
+            handOff();
+        }
+        if (hasWork() && myDraining.compareAndSet(false, true)) {
+            if (myExecutor == null) {
+                drain();
+            } else {
+                myExecutor.execute(myDrainTask);
+            }
+        }
+    }
+
+    /**
+     * Tests whether events are waiting for this subscription.
+     *
+     * @return true if copies are waiting or the bus has published past this
+     *         subscription.
+     */
+    private boolean hasWork() {
+        boolean work = false;
+        if (!myCancelled) {
+            if (myHandoff == null) {
+                work = mySequence.get() < myBus.getCursor();
+            } else {
+                work = !myHandoff.isEmpty();
+            }
+        }
+        return work;
+    }
+
+    /**
+     * Copies the events published since the last hand off that this
+     * subscription accepts, and releases their slots. Called on the flushing
+     * thread.
+     */
+    private void handOff() {
+        long sequence = mySequence.get();
+        final long cursor = myBus.getCursor();
+        while (sequence < cursor) {
+            sequence++;
+            final BoardEvent event = myBus.get(sequence);
+            if (!myCancelled && accepts(event.getTopic())) {
+                myHandoff.add(event.copy());
+            }
+        }
+        mySequence.set(sequence);
+    }
+
+    /**
+     * Delivers batches until no events are waiting.
+     * The caller must have set myDraining.
+     */
+    private void drain() {
+        boolean again = true;
+        while (again) {
+            try {
+                deliverBatch();
+            } finally {
+                myDraining.set(false);
+            }
+            // an event published after the last cursor read finds myDraining set
+            // and does not signal, so look again before giving up
+            again = hasWork() && myDraining.compareAndSet(false, true);
+        }
+    }
+
+    /**
+     * Delivers every event waiting so far as one batch.
+     */
+    private void deliverBatch() {
+        if (myHandoff == null) {
+            deliverRing();
+        } else {
+            deliverHandoff();
+        }
+    }
+
+    /**
+     * Delivers the copies handed to an asynchronous subscription.
+     */
+    private void deliverHandoff() {
+        boolean delivered = false;
+        // this is the only thread that takes copies, so none disappears
+        // between the test and the poll
+        while (!myCancelled && !myHandoff.isEmpty()) {
+            delivered = true;
+            myHandler.onEvent(myHandoff.poll());
+        }
+        if (delivered) {
+            myHandler.onEndOfBatch();
+        }
+    }
+
+    /**
+     * Delivers every event published so far, straight from the ring.
+     */
+    private void deliverRing() {
+        long sequence = mySequence.get();
+        boolean delivered = false;
+        while (!myCancelled && sequence < myBus.getCursor()) {
+            sequence++;
+            final BoardEvent event = myBus.get(sequence);
+            try {
+                if (accepts(event.getTopic())) {
+                    delivered = true;
+                    myHandler.onEvent(event);
+                }
+            } finally {
+                // releases the slot, so the event must not be used after this
+                mySequence.set(sequence);
+            }
+        }
+        if (delivered) {
+            myHandler.onEndOfBatch();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * TCSS 305
+ *
+ * An implementation of the classic game "Tetris".
+ */
+
+package model.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for finding where the falling piece would land.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+@Name("tetris.GhostCalculation")
+@Label("Ghost Calculation")
+@Category({"Tetris", "Engine"})
+@Description("The landing position of the falling piece was computed")
+@StackTrace(false)
+public final class GhostCalculationEvent extends Event {
+
+    /**
+     * The number of rows between the piece and its ghost.
+     */
+    @Name("distance")
+    @Label("Distance")
+    private int myDistance;
+
+    /**
+     * Ends the event and records it if it is enabled.
+     *
+     * @param theDistance the number of rows between the piece and its ghost.
+     */
+    public void finish(final int theDistance) {
+        end();
+        if (shouldCommit()) {
+            myDistance = theDistance;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * TCSS 305
+ *
+ * An implementation of the classic game "Tetris".
+ */
+
+package model.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import model.TetrisPiece;
+
+/**
+ * Flight Recorder event for a hard drop. The duration covers dropping,
+ * freezing the piece, clearing rows and spawning the next piece.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+@Name("tetris.HardDrop")
+@Label("Hard Drop")
+@Category({"Tetris", "Engine"})
+@Description("A piece was dropped until it froze")
+@StackTrace(false)
+public final class HardDropEvent extends Event {
+
+    /**
+     * The piece that was dropped.
+     */
+    @Name("piece")
+    @Label("Piece")
+    private String myPiece;
+
+    /**
+     * The number of rows the piece fell.
+     */
+    @Name("distance")
+    @Label("Distance")
+    private int myDistance;
+
+    /**
+     * Ends the event and records it if it is enabled.
+     *
+     * @param thePiece the piece that was dropped, or null if there was none.
+     * @param theDistance the number of rows it fell.
+     */
+    public void finish(final TetrisPiece thePiece, final int theDistance) {
+        end();
+        if (shouldCommit()) {
+            if (thePiece != null) {
+                myPiece = thePiece.name();
+            }
+            myDistance = theDistance;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * TCSS 305
+ *
+ * An implementation of the classic game "Tetris".
+ */
+
+package model.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for clearing complete rows. The duration covers
+ * finding and removing the rows.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+@Name("tetris.LineClear")
+@Label("Line Clear")
+@Category({"Tetris", "Engine"})
+@Description("Complete rows were removed from the board")
+@StackTrace(false)
+public final class LineClearEvent extends Event {
+
+    /**
+     * The number of rows removed.
+     */
+    @Name("rows")
+    @Label("Rows")
+    private int myRows;
+
+    /**
+     * Ends the event and records it if any row was removed.
+     *
+     * @param theRows the number of rows removed.
+     */
+    public void finish(final int theRows) {
+        if (theRows > 0) {
+            end();
+            if (shouldCommit()) {
+                myRows = theRows;
+                commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * TCSS 305
+ *
+ * An implementation of the classic game "Tetris".
+ */
+
+package model.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import model.Rotation;
+import model.TetrisPiece;
+
+/**
+ * Flight Recorder event for a piece freezing into the board.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+@Name("tetris.PieceLock")
+@Label("Piece Lock")
+@Category({"Tetris", "Engine"})
+@Description("A piece froze into the board")
+@StackTrace(false)
+public final class PieceLockEvent extends Event {
+
+    /**
+     * The piece that locked.
+     */
+    @Name("piece")
+    @Label("Piece")
+    private String myPiece;
+
+    /**
+     * The rotation of the piece.
+     */
+    @Name("rotation")
+    @Label("Rotation")
+    private String myRotation;
+
+    /**
+     * The x coordinate of the piece.
+     */
+    @Name("x")
+    @Label("X")
+    private int myX;
+
+    /**
+     * The y coordinate of the piece.
+     */
+    @Name("y")
+    @Label("Y")
+    private int myY;
+
+    /**
+     * Records a lock if the event is enabled.
+     *
+     * @param thePiece the piece that locked.
+     * @param theRotation the rotation of the piece.
+     * @param theX the x coordinate of the piece.
+     * @param theY the y coordinate of the piece.
+     */
+    public static void emit(final TetrisPiece thePiece, final Rotation theRotation,
+                            final int theX, final int theY) {
+        final PieceLockEvent event = new PieceLockEvent();
+        if (event.shouldCommit()) {
+            event.myPiece = thePiece.name();
+            event.myRotation = theRotation.name();
+            event.myX = theX;
+            event.myY = theY;
+            event.commit();
+        }
+    }
+}
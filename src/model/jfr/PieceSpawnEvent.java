@@ -0,0 +1,67 @@
+/*
+ * TCSS 305
+ *
+ * An implementation of the classic game "Tetris".
+ */
+
+package model.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import model.TetrisPiece;
+
+/**
+ * Flight Recorder event for a new piece entering the board.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+@Name("tetris.PieceSpawn")
+@Label("Piece Spawn")
+@Category({"Tetris", "Engine"})
+@Description("A new piece entered the board")
+@StackTrace(false)
+public final class PieceSpawnEvent extends Event {
+
+    /**
+     * The piece that spawned.
+     */
+    @Name("piece")
+    @Label("Piece")
+    private String myPiece;
+
+    /**
+     * The x coordinate of the piece.
+     */
+    @Name("x")
+    @Label("X")
+    private int myX;
+
+    /**
+     * The y coordinate of the piece.
+     */
+    @Name("y")
+    @Label("Y")
+    private int myY;
+
+    /**
+     * Records a spawn if the event is enabled.
+     *
+     * @param thePiece the piece that spawned.
+     * @param theX the x coordinate of the piece.
+     * @param theY the y coordinate of the piece.
+     */
+    public static void emit(final TetrisPiece thePiece, final int theX, final int theY) {
+        final PieceSpawnEvent event = new PieceSpawnEvent();
+        if (event.shouldCommit()) {
+            event.myPiece = thePiece.name();
+            event.myX = theX;
+            event.myY = theY;
+            event.commit();
+        }
+    }
+}
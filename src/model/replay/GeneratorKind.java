@@ -0,0 +1,40 @@
+/*
+ * TCSS 305
+ *
+ * An implementation of the classic game "Tetris".
+ */
+
+package model.replay;
+
+import model.BagPieceGenerator;
+import model.PieceGenerator;
+import model.UniformPieceGenerator;
+
+/**
+ * The kinds of piece generator a replay can be recorded with.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+public enum GeneratorKind {
+
+    /** A {@link UniformPieceGenerator}. */
+    UNIFORM,
+
+    /** A {@link BagPieceGenerator}. */
+    BAG;
+
+    /**
+     * Creates a generator of this kind.
+     *
+     * @param theSeed the seed of the generator.
+     * @return a new PieceGenerator.
+     */
+    public PieceGenerator create(final long theSeed) {
+        PieceGenerator generator = new UniformPieceGenerator(theSeed);
+        if (this == BAG) {
+            generator = new BagPieceGenerator(theSeed);
+        }
+        return generator;
+    }
+}
@@ -0,0 +1,453 @@
+/*
+ * TCSS 305
+ *
+ * An implementation of the classic game "Tetris".
+ */
+
+package model.replay;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import model.BitBoard;
+import model.Board;
+import model.BoardOperation;
+import model.BoardSnapshot;
+import model.MyBoard;
+import model.PieceShape;
+import model.Rotation;
+import model.TetrisPiece;
+
+/**
+ * A recorded game: the board size, the kind and seed of the piece generator
+ * and every operation with the time it happened. Replaying the operations on
+ * a new board reproduces the game exactly, at any speed.
+ * <p>
+ * Operations are stored compactly: each one is a single unsigned varint
+ * holding the microseconds since the previous operation, shifted left by
+ * {@link #OPERATION_BITS}, plus the ordinal of its {@link BoardOperation}.
+ * Most operations take one or two bytes. A file holds, in order: the magic
+ * number, the format version, the width, the height, the generator kind, the
+ * 8 byte seed, the operation count, the length of the operations, the
+ * operations and the 8 byte {@link #stateHash(BoardSnapshot) state hash} of
+ * the final board. The hash lets a replay check that the engine still plays
+ * the game the same way; changing how it is computed changes the format
+ * version.
+ * <p>
+ * Every size and count read from a file is checked before it is used, so a
+ * damaged file is reported with an IOException instead of making the reader
+ * allocate whatever a broken length asks for.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+public final class Replay {
+
+    /**
+     * Bits of an encoded operation that hold the operation.
+     */
+    public static final int OPERATION_BITS = 3;
+
+    /**
+     * The height of the tallest board a replay can hold.
+     */
+    public static final int MAX_HEIGHT = 1 << 10;
+
+    /**
+     * The first four bytes of a replay file, "TRPL".
+     */
+    private static final int MAGIC = 0x5452504C;
+
+    /**
+     * The version of the file format.
+     */
+    private static final int FORMAT_VERSION = 2;
+
+    /**
+     * The message of the exception thrown for a damaged file.
+     */
+    private static final String CORRUPT = "Corrupt replay file";
+
+    /**
+     * The odd constant the state hash multiplies by, 2^64 divided by the
+     * golden ratio.
+     */
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    /**
+     * The bits the state hash rotates by after each value.
+     */
+    private static final int HASH_ROTATION = 31;
+
+    /**
+     * Microseconds in a millisecond.
+     */
+    private static final long MICROS_PER_MILLI = 1_000;
+
+    /**
+     * The width of the board.
+     */
+    private final int myWidth;
+
+    /**
+     * The height of the board.
+     */
+    private final int myHeight;
+
+    /**
+     * The kind of piece generator.
+     */
+    private final GeneratorKind myGeneratorKind;
+
+    /**
+     * The seed of the piece generator.
+     */
+    private final long mySeed;
+
+    /**
+     * The encoded operations. Never changed.
+     */
+    private final byte[] myOperations;
+
+    /**
+     * The number of operations.
+     */
+    private final int myOperationCount;
+
+    /**
+     * The time of the last operation in microseconds.
+     */
+    private final long myDurationMicros;
+
+    /**
+     * The hash of the board after the last operation.
+     */
+    private final long myFinalHash;
+
+    /**
+     * Creates a replay.
+     *
+     * @param theWidth the width of the board.
+     * @param theHeight the height of the board.
+     * @param theKind the kind of piece generator.
+     * @param theSeed the seed of the piece generator.
+     * @param theOperations the encoded operations, that nobody will change.
+     * @param theCount the number of operations.
+     * @param theDurationMicros the time of the last operation.
+     * @param theFinalHash the hash of the board after the last operation.
+     */
+    Replay(final int theWidth, final int theHeight, final GeneratorKind theKind,
+           final long theSeed, final byte[] theOperations, final int theCount,
+           final long theDurationMicros, final long theFinalHash) {
+        super();
+        myWidth = theWidth;
+        myHeight = theHeight;
+        myGeneratorKind = theKind;
+        mySeed = theSeed;
+        myOperations = theOperations;
+        myOperationCount = theCount;
+        myDurationMicros = theDurationMicros;
+        myFinalHash = theFinalHash;
+    }
+
+    /**
+     * Reads a replay written by {@link #write(OutputStream)}.
+     *
+     * @param theIn the stream to read; it is read to the end but not closed.
+     * @return the replay.
+     * @throws IOException if the stream cannot be read or is not a replay.
+     */
+    public static Replay read(final InputStream theIn) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.wrap(theIn.readAllBytes());
+        try {
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not a replay file");
+            }
+            final int version = (int) readVarInt(buffer);
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported replay version: " + version);
+            }
+            final int width = readInt(buffer, PieceShape.SIZE, BitBoard.MAX_WIDTH);
+            final int height = readInt(buffer, PieceShape.SIZE, MAX_HEIGHT);
+            final int kind = (int) readVarInt(buffer);
+            if (kind < 0 || kind >= GeneratorKind.values().length) {
+                throw new IOException("Unknown piece generator: " + kind);
+            }
+            final long seed = buffer.getLong();
+            final int count = readInt(buffer, 0, Integer.MAX_VALUE);
+            final byte[] operations = new byte[readInt(buffer, 0, buffer.remaining())];
+            // every operation takes at least one byte
+            if (count > operations.length) {
+                throw new IOException(CORRUPT);
+            }
+            buffer.get(operations);
+            final long hash = buffer.getLong();
+            return new Replay(width, height, GeneratorKind.values()[kind], seed, operations,
+                              count, lastTime(operations, count), hash);
+        } catch (final BufferUnderflowException | IllegalArgumentException
+                       | IndexOutOfBoundsException e) {
+            throw new IOException(CORRUPT, e);
+        }
+    }
+
+    /**
+     * Writes this replay.
+     *
+     * @param theOut the stream to write to; it is not closed.
+     * @throws IOException if the stream cannot be written.
+     */
+    public void write(final OutputStream theOut) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final ByteBuffer fixed = ByteBuffer.allocate(Long.BYTES);
+        bytes.write(fixed.putInt(0, MAGIC).array(), 0, Integer.BYTES);
+        VarInts.write(bytes, FORMAT_VERSION);
+        VarInts.write(bytes, myWidth);
+        VarInts.write(bytes, myHeight);
+        VarInts.write(bytes, myGeneratorKind.ordinal());
+        bytes.write(fixed.putLong(0, mySeed).array(), 0, Long.BYTES);
+        VarInts.write(bytes, myOperationCount);
+        VarInts.write(bytes, myOperations.length);
+        bytes.write(myOperations, 0, myOperations.length);
+        bytes.write(fixed.putLong(0, myFinalHash).array(), 0, Long.BYTES);
+        bytes.writeTo(theOut);
+    }
+
+    /**
+     * Returns the 64 bit hash of the state of a board that a replay stores
+     * for its final board: the size, the row masks of the frozen blocks, the
+     * falling piece with its rotation and position, the next piece and
+     * whether the game is over. The values are mixed in that order, each by
+     * XOR, a multiplication by a fixed odd constant and a rotation.
+     *
+     * @param theSnapshot a snapshot of the board.
+     * @return the hash.
+     */
+    public static long stateHash(final BoardSnapshot theSnapshot) {
+        long hash = mix(0, theSnapshot.getWidth());
+        hash = mix(hash, theSnapshot.getHeight());
+        for (int y = 0; y < theSnapshot.getHeight(); y++) {
+            hash = mix(hash, theSnapshot.getRowMask(y));
+        }
+        hash = mix(hash, pieceCode(theSnapshot.getPiece()));
+        final Rotation rotation = theSnapshot.getPieceRotation();
+        int rotationCode = 0;
+        if (rotation != null) {
+            rotationCode = rotation.ordinal() + 1;
+        }
+        hash = mix(hash, rotationCode);
+        hash = mix(hash, theSnapshot.getPieceX());
+        hash = mix(hash, theSnapshot.getPieceY());
+        hash = mix(hash, pieceCode(theSnapshot.getNextPiece()));
+        int gameOver = 0;
+        if (theSnapshot.isGameOver()) {
+            gameOver = 1;
+        }
+        return mix(hash, gameOver);
+    }
+
+    /**
+     * Returns the state hash of the current state of a board. Leaves the
+     * snapshot setting of the board as it was, but must be called on the
+     * thread that operates it.
+     *
+     * @param theBoard the board.
+     * @return the hash.
+     */
+    public static long stateHash(final MyBoard theBoard) {
+        return stateHash(theBoard.createSnapshot());
+    }
+
+    /**
+     * Returns the width of the board.
+     *
+     * @return the width in columns.
+     */
+    public int getWidth() {
+        return myWidth;
+    }
+
+    /**
+     * Returns the height of the board.
+     *
+     * @return the height in rows.
+     */
+    public int getHeight() {
+        return myHeight;
+    }
+
+    /**
+     * Returns the kind of piece generator the game was played with.
+     *
+     * @return the GeneratorKind.
+     */
+    public GeneratorKind getGeneratorKind() {
+        return myGeneratorKind;
+    }
+
+    /**
+     * Returns the seed of the piece generator the game was played with.
+     *
+     * @return the seed.
+     */
+    public long getSeed() {
+        return mySeed;
+    }
+
+    /**
+     * Returns the number of operations after the new game.
+     *
+     * @return the number of operations.
+     */
+    public int getOperationCount() {
+        return myOperationCount;
+    }
+
+    /**
+     * Returns the time of the last operation, from the start of the game.
+     *
+     * @return the time in milliseconds.
+     */
+    public long getDurationMillis() {
+        return myDurationMicros / MICROS_PER_MILLI;
+    }
+
+    /**
+     * Returns a reader for the operations of this replay.
+     *
+     * @return a new ReplayReader positioned before the first operation.
+     */
+    public ReplayReader reader() {
+        return new ReplayReader(myOperations, myOperationCount);
+    }
+
+    /**
+     * Creates a board in the state at the start of the game: the right size,
+     * the right piece generator and a new game started.
+     *
+     * @return a new board.
+     */
+    public MyBoard newBoard() {
+        final MyBoard board = Board.builder().width(myWidth).height(myHeight)
+                .generator(myGeneratorKind.create(mySeed)).build();
+        board.newGame();
+        return board;
+    }
+
+    /**
+     * Reconstructs the board after a number of operations, as fast as possible.
+     *
+     * @param theOperations the number of operations to replay.
+     * @return a new board in that state.
+     */
+    public MyBoard reconstruct(final int theOperations) {
+        final MyBoard board = newBoard();
+        final ReplayReader reader = reader();
+        while (reader.getIndex() < theOperations && reader.next()) {
+            reader.getOperation().apply(board);
+        }
+        return board;
+    }
+
+    /**
+     * Reconstructs the board as it was at a time in the game, as fast as possible.
+     *
+     * @param theMillis the time from the start of the game in milliseconds.
+     * @return a new board in that state.
+     */
+    public MyBoard reconstructAt(final long theMillis) {
+        final MyBoard board = newBoard();
+        final ReplayReader reader = reader();
+        final long micros = theMillis * MICROS_PER_MILLI;
+        boolean more = reader.next();
+        while (more && reader.getTimeMicros() <= micros) {
+            reader.getOperation().apply(board);
+            more = reader.next();
+        }
+        return board;
+    }
+
+    /**
+     * Replays the whole game and checks that it ends in the recorded state.
+     *
+     * @return true if the engine reproduced the game.
+     */
+    public boolean verify() {
+        return stateHash(reconstruct(myOperationCount)) == myFinalHash;
+    }
+
+    /**
+     * Returns the time of the last operation by decoding them all.
+     *
+     * @param theOperations the encoded operations.
+     * @param theCount the number of operations.
+     * @return the time in microseconds.
+     * @throws IllegalArgumentException if the operations are malformed.
+     */
+    private static long lastTime(final byte[] theOperations, final int theCount) {
+        final ReplayReader reader = new ReplayReader(theOperations, theCount);
+        boolean more = true;
+        while (more) {
+            more = reader.next();
+        }
+        return reader.getTimeMicros();
+    }
+
+    /**
+     * Mixes one value into the state hash.
+     *
+     * @param theHash the hash so far.
+     * @param theValue the value.
+     * @return the new hash.
+     */
+    private static long mix(final long theHash, final long theValue) {
+        return Long.rotateLeft((theHash ^ theValue) * HASH_MULTIPLIER, HASH_ROTATION);
+    }
+
+    /**
+     * Returns the value a piece adds to the state hash.
+     *
+     * @param thePiece the piece, or null.
+     * @return 0 for null, otherwise one more than its ordinal.
+     */
+    private static int pieceCode(final TetrisPiece thePiece) {
+        int code = 0;
+        if (thePiece != null) {
+            code = thePiece.ordinal() + 1;
+        }
+        return code;
+    }
+
+    /**
+     * Reads an unsigned varint that must lie in a range.
+     *
+     * @param theBuffer the buffer, positioned at the varint.
+     * @param theMin the smallest valid value.
+     * @param theMax the largest valid value.
+     * @return the value.
+     * @throws IOException if the value is out of range.
+     */
+    private static int readInt(final ByteBuffer theBuffer, final int theMin,
+                               final int theMax) throws IOException {
+        final long value = readVarInt(theBuffer);
+        if (value < theMin || value > theMax) {
+            throw new IOException(CORRUPT);
+        }
+        return (int) value;
+    }
+
+    /**
+     * Reads an unsigned varint from a buffer.
+     *
+     * @param theBuffer the buffer, positioned at the varint.
+     * @return the value.
+     */
+    private static long readVarInt(final ByteBuffer theBuffer) {
+        final int[] position = {theBuffer.position()};
+        final long value = VarInts.read(theBuffer.array(), position);
+        theBuffer.position(position[0]);
+        return value;
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * TCSS 305
+ *
+ * An implementation of the classic game "Tetris".
+ */
+
+package model.replay;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.LockSupport;
+import model.BoardOperation;
+import model.MyBoard;
+
+/**
+ * Plays a replay on a board in real time. A thread of its own waits for the
+ * recorded time of each operation and hands it to the Executor that operates
+ * the board, such as a GameLoop whose gravity is paused.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+public final class ReplayPlayer {
+
+    /**
+     * Nanoseconds in a microsecond.
+     */
+    private static final long NANOS_PER_MICRO = 1_000;
+
+    /**
+     * The replay to play.
+     */
+    private final Replay myReplay;
+
+    /**
+     * The board to play it on.
+     */
+    private final MyBoard myBoard;
+
+    /**
+     * Runs operations on the thread that operates the board.
+     */
+    private final Executor myExecutor;
+
+    /**
+     * Whether the player thread should keep playing.
+     */
+    private volatile boolean myRunning;
+
+    /**
+     * The player thread, or null before it is started.
+     */
+    private Thread myThread;
+
+    /**
+     * Creates a player.
+     *
+     * @param theReplay the replay to play.
+     * @param theBoard the board to play it on.
+     * @param theExecutor runs operations on the thread that operates the board.
+     * @throws IllegalArgumentException if the board is not the size of the replay.
+     */
+    public ReplayPlayer(final Replay theReplay, final MyBoard theBoard,
+                        final Executor theExecutor) {
+        super();
+        if (theBoard.getWidth() != theReplay.getWidth()
+            || theBoard.getHeight() != theReplay.getHeight()) {
+            throw new IllegalArgumentException("The replay was recorded on a "
+                    + theReplay.getWidth() + "x" + theReplay.getHeight() + " board");
+        }
+        myReplay = theReplay;
+        myBoard = theBoard;
+        myExecutor = theExecutor;
+    }
+
+    /**
+     * Starts a new game on the board with the piece generator of the replay
+     * and plays the operations at their recorded times. A player can only be
+     * started once.
+     *
+     * @param theOnFinished handed to the Executor after the last operation,
+     *        unless the player was stopped, so it runs after that operation.
+     * @throws IllegalStateException if the player was started before.
+     */
+    public synchronized void start(final Runnable theOnFinished) {
+        if (myThread != null) {
+            throw new IllegalStateException("The replay player was already started");
+        }
+        myRunning = true;
+        myThread = new Thread(() -> play(theOnFinished), "Tetris replay");
+        myThread.setDaemon(true);
+        myThread.start();
+    }
+
+    /**
+     * Stops playing and waits for the player thread to finish. Operations
+     * already handed to the Executor still run.
+     */
+    public synchronized void stop() {
+        if (myThread != null && myRunning) {
+            myRunning = false;
+            LockSupport.unpark(myThread);
+            try {
+                myThread.join();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * The body of the player thread.
+     *
+     * @param theOnFinished run after the last operation unless stopped.
+     */
+    private void play(final Runnable theOnFinished) {
+        myExecutor.execute(() -> {
+            myBoard.setPieceGenerator(myReplay.getGeneratorKind().create(myReplay.getSeed()));
+            myBoard.newGame();
+        });
+        final long start = System.nanoTime();
+        final ReplayReader reader = myReplay.reader();
+        while (myRunning && reader.next()) {
+            final long due = start + reader.getTimeMicros() * NANOS_PER_MICRO;
+            long remaining = due - System.nanoTime();
+            while (myRunning && remaining > 0) {
+                LockSupport.parkNanos(this, remaining);
+                remaining = due - System.nanoTime();
+            }
+            final BoardOperation operation = reader.getOperation();
+            if (myRunning) {
+                myExecutor.execute(() -> operation.apply(myBoard));
+            }
+        }
+        if (myRunning) {
+            myRunning = false;
+            myExecutor.execute(theOnFinished);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * TCSS 305
+ *
+ * An implementation of the classic game "Tetris".
+ */
+
+package model.replay;
+
+import model.BoardOperation;
+
+/**
+ * Decodes the operations of a replay one at a time.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+public final class ReplayReader {
+
+    /**
+     * Mask of the operation bits of an encoded operation.
+     */
+    private static final int OPERATION_MASK = (1 << Replay.OPERATION_BITS) - 1;
+
+    /**
+     * Cached copy of the BoardOperation values.
+     */
+    private static final BoardOperation[] OPERATIONS = BoardOperation.values();
+
+    /**
+     * The encoded operations.
+     */
+    private final byte[] myBytes;
+
+    /**
+     * The number of operations.
+     */
+    private final int myCount;
+
+    /**
+     * The position of the next encoded operation.
+     */
+    private final int[] myPosition;
+
+    /**
+     * The number of operations read.
+     */
+    private int myIndex;
+
+    /**
+     * The current operation, or null before the first.
+     */
+    private BoardOperation myOperation;
+
+    /**
+     * The time of the current operation in microseconds.
+     */
+    private long myTimeMicros;
+
+    /**
+     * Creates a reader.
+     *
+     * @param theBytes the encoded operations.
+     * @param theCount the number of operations.
+     */
+    ReplayReader(final byte[] theBytes, final int theCount) {
+        super();
+        myBytes = theBytes;
+        myCount = theCount;
+        myPosition = new int[1];
+    }
+
+    /**
+     * Moves to the next operation.
+     *
+     * @return true if there was one, false at the end of the replay.
+     * @throws IllegalArgumentException if the operations are malformed.
+     */
+    public boolean next() {
+        boolean result = false;
+        if (myIndex < myCount) {
+            final long encoded = VarInts.read(myBytes, myPosition);
+            final int code = (int) (encoded & OPERATION_MASK);
+            if (code >= OPERATIONS.length || OPERATIONS[code] == BoardOperation.NEW_GAME) {
+                throw new IllegalArgumentException("Unknown operation: " + code);
+            }
+            myOperation = OPERATIONS[code];
+            myTimeMicros += encoded >>> Replay.OPERATION_BITS;
+            myIndex++;
+            result = true;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the current operation.
+     *
+     * @return the BoardOperation, or null before the first call to next().
+     */
+    public BoardOperation getOperation() {
+        return myOperation;
+    }
+
+    /**
+     * Returns the time of the current operation from the start of the game.
+     *
+     * @return the time in microseconds.
+     */
+    public long getTimeMicros() {
+        return myTimeMicros;
+    }
+
+    /**
+     * Returns the number of operations read so far.
+     *
+     * @return the number of operations.
+     */
+    public int getIndex() {
+        return myIndex;
+    }
+}
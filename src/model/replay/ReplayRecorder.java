@@ -0,0 +1,219 @@
+/*
+ * TCSS 305
+ *
+ * An implementation of the classic game "Tetris".
+ */
+
+package model.replay;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import model.BoardOperation;
+import model.MyBoard;
+import model.event.BoardEvent;
+import model.event.Subscription;
+
+/**
+ * Records every game played on a board as a {@link Replay}.
+ * <p>
+ * When a new game starts, the recorder gives the board a new piece generator
+ * with a fresh seed, so that the seed and the operations are all a replay
+ * needs. Every operation is then recorded with its time. A recording ends
+ * when the game is over, when the next game starts or when the recorder is
+ * stopped, and is handed to a consumer on the thread that operates the board.
+ * <p>
+ * Start and stop the recorder on the thread that operates the board, or
+ * before any other thread uses it.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+public final class ReplayRecorder implements BoardOperation.Listener {
+
+    /**
+     * Nanoseconds in a microsecond.
+     */
+    private static final long NANOS_PER_MICRO = 1_000;
+
+    /**
+     * The board being recorded.
+     */
+    private final MyBoard myBoard;
+
+    /**
+     * The kind of piece generator given to each game.
+     */
+    private final GeneratorKind myKind;
+
+    /**
+     * Supplies the seed of each game.
+     */
+    private final LongSupplier mySeeds;
+
+    /**
+     * Is handed each finished replay.
+     */
+    private final Consumer<Replay> myConsumer;
+
+    /**
+     * Whether operations are recorded.
+     */
+    private volatile boolean myEnabled;
+
+    /**
+     * The subscription that ends a recording at game over, or null.
+     */
+    private Subscription mySubscription;
+
+    /**
+     * The operations of the current game, or null if none is recorded.
+     */
+    private ByteArrayOutputStream myOperations;
+
+    /**
+     * The seed of the current game.
+     */
+    private long mySeed;
+
+    /**
+     * The System.nanoTime() when the current game started.
+     */
+    private long myStartNanos;
+
+    /**
+     * The time of the latest operation in microseconds.
+     */
+    private long myLastMicros;
+
+    /**
+     * The number of operations of the current game.
+     */
+    private int myCount;
+
+    /**
+     * Creates a recorder that gives each game a random seed.
+     *
+     * @param theBoard the board to record.
+     * @param theKind the kind of piece generator for each game.
+     * @param theConsumer is handed each finished replay.
+     * @throws IllegalArgumentException if the board is taller than Replay.MAX_HEIGHT.
+     */
+    public ReplayRecorder(final MyBoard theBoard, final GeneratorKind theKind,
+                          final Consumer<Replay> theConsumer) {
+        this(theBoard, theKind, () -> ThreadLocalRandom.current().nextLong(), theConsumer);
+    }
+
+    /**
+     * Creates a recorder.
+     *
+     * @param theBoard the board to record.
+     * @param theKind the kind of piece generator for each game.
+     * @param theSeeds supplies the seed of each game.
+     * @param theConsumer is handed each finished replay.
+     * @throws IllegalArgumentException if the board is taller than Replay.MAX_HEIGHT.
+     */
+    public ReplayRecorder(final MyBoard theBoard, final GeneratorKind theKind,
+                          final LongSupplier theSeeds, final Consumer<Replay> theConsumer) {
+        super();
+        if (theBoard.getHeight() > Replay.MAX_HEIGHT) {
+            throw new IllegalArgumentException("A replay holds boards up to "
+                                               + Replay.MAX_HEIGHT + " rows tall: "
+                                               + theBoard.getHeight());
+        }
+        myBoard = theBoard;
+        myKind = Objects.requireNonNull(theKind);
+        mySeeds = Objects.requireNonNull(theSeeds);
+        myConsumer = Objects.requireNonNull(theConsumer);
+        myEnabled = true;
+    }
+
+    /**
+     * Starts listening to the board. Games started from now on are recorded.
+     */
+    public void start() {
+        if (mySubscription == null) {
+            myBoard.setOperationListener(this);
+            mySubscription = myBoard.getEventBus().subscribe(MyBoard.PROPERTY_GAME_OVER_STATE,
+                                                             this::gameStateChanged);
+        }
+    }
+
+    /**
+     * Finishes the current recording and stops listening to the board.
+     */
+    public void stop() {
+        if (mySubscription != null) {
+            finish();
+            myBoard.setOperationListener(null);
+            mySubscription.cancel();
+            mySubscription = null;
+        }
+    }
+
+    /**
+     * Turns recording on or off, for instance while a replay is played on the
+     * board. A game in progress when recording is turned off is not recorded,
+     * and games started while it is off keep the generator of the board.
+     * Safe to call from any thread.
+     *
+     * @param theEnabled true to record.
+     */
+    public void setEnabled(final boolean theEnabled) {
+        myEnabled = theEnabled;
+    }
+
+    @Override
+    public void operationStarted(final BoardOperation theOperation) {
+        if (!myEnabled) {
+            myOperations = null;
+        } else if (theOperation == BoardOperation.NEW_GAME) {
+            finish();
+            begin();
+        } else if (myOperations != null) {
+            final long micros = (System.nanoTime() - myStartNanos) / NANOS_PER_MICRO;
+            VarInts.write(myOperations, (micros - myLastMicros) << Replay.OPERATION_BITS
+                                        | theOperation.ordinal());
+            myLastMicros = micros;
+            myCount++;
+        }
+    }
+
+    /**
+     * Starts recording a new game with a new seed.
+     */
+    private void begin() {
+        mySeed = mySeeds.getAsLong();
+        myBoard.setPieceGenerator(myKind.create(mySeed));
+        myOperations = new ByteArrayOutputStream();
+        myStartNanos = System.nanoTime();
+        myLastMicros = 0;
+        myCount = 0;
+    }
+
+    /**
+     * Hands the current recording, if any, to the consumer.
+     */
+    private void finish() {
+        if (myOperations != null) {
+            final Replay replay = new Replay(myBoard.getWidth(), myBoard.getHeight(), myKind,
+                                             mySeed, myOperations.toByteArray(), myCount,
+                                             myLastMicros, Replay.stateHash(myBoard));
+            myOperations = null;
+            myConsumer.accept(replay);
+        }
+    }
+
+    /**
+     * Ends the recording when the game is over.
+     *
+     * @param theEvent the PROPERTY_GAME_OVER_STATE event.
+     */
+    private void gameStateChanged(final BoardEvent theEvent) {
+        if ((Boolean) theEvent.getNewValue()) {
+            finish();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * TCSS 305
+ *
+ * An implementation of the classic game "Tetris".
+ */
+
+package model.replay;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * Encodes and decodes unsigned variable length integers: seven bits per
+ * byte, least significant group first, with the high bit set on every byte
+ * but the last.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+final class VarInts {
+
+    /**
+     * The bits of a value held by one byte.
+     */
+    private static final int PAYLOAD_BITS = 7;
+
+    /**
+     * Mask of the value bits of a byte.
+     */
+    private static final int PAYLOAD_MASK = 0x7F;
+
+    /**
+     * The bit that marks that more bytes follow.
+     */
+    private static final int CONTINUE_BIT = 0x80;
+
+    /**
+     * Most bytes of an encoded long.
+     */
+    private static final int MAX_BYTES = 10;
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private VarInts() {
+        throw new IllegalStateException();
+    }
+
+    /**
+     * Writes a value.
+     *
+     * @param theOut the stream to write to.
+     * @param theValue the value, treated as unsigned.
+     */
+    static void write(final ByteArrayOutputStream theOut, final long theValue) {
+        long value = theValue;
+        while ((value & ~PAYLOAD_MASK) != 0) {
+            theOut.write((int) (value & PAYLOAD_MASK) | CONTINUE_BIT);
+            value >>>= PAYLOAD_BITS;
+        }
+        theOut.write((int) value);
+    }
+
+    /**
+     * Reads a value.
+     *
+     * @param theBytes the encoded bytes.
+     * @param thePosition the position of the value; on return, element 0
+     *        holds the position after it.
+     * @return the value.
+     * @throws IllegalArgumentException if the value is cut off or too long.
+     */
+    static long read(final byte[] theBytes, final int[] thePosition) {
+        long value = 0;
+        int position = thePosition[0];
+        int shift = 0;
+        int count = 0;
+        boolean more = true;
+        while (more) {
+            if (position >= theBytes.length || count == MAX_BYTES) {
+                throw new IllegalArgumentException("Malformed varint at " + thePosition[0]);
+            }
+            final int b = theBytes[position++];
+            value |= (long) (b & PAYLOAD_MASK) << shift;
+            shift += PAYLOAD_BITS;
+            count++;
+            more = (b & CONTINUE_BIT) != 0;
+        }
+        thePosition[0] = position;
+        return value;
+    }
+}
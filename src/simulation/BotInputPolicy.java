@@ -0,0 +1,73 @@
+package simulation;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import model.BoardOperation;
+import model.BoardSnapshot;
+import model.MyBoard;
+import model.ai.BeamSearch;
+import model.ai.Placement;
+
+/**
+ * An input policy that plays like a bot: it searches every new piece with a
+ * {@link BeamSearch} and then sends the moves of the chosen path one per turn.
+ * When the frozen blocks change before the path is finished, because gravity
+ * locked the piece early, it searches again.
+ * <p>
+ * The policy turns on the snapshots of the board it plays, on the thread
+ * that plays it.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+public final class BotInputPolicy implements InputPolicy {
+
+    /**
+     * Chooses the placements; may be shared with other games.
+     */
+    private final BeamSearch mySearch;
+
+    /**
+     * The moves of the current path that have not been sent.
+     */
+    private final Queue<Move> myPath;
+
+    /**
+     * The board the current path was found on, or null.
+     */
+    private BoardSnapshot myPlanned;
+
+    /**
+     * Constructs a bot policy.
+     *
+     * @param theSearch chooses the placements; must be for the size of the board.
+     */
+    public BotInputPolicy(final BeamSearch theSearch) {
+        super();
+        mySearch = theSearch;
+        myPath = new ArrayDeque<>();
+    }
+
+    @Override
+    public Move nextMove(final MyBoard theBoard) {
+        if (theBoard.getSnapshot() == null) {
+            theBoard.setSnapshotsEnabled(true);
+        }
+        final BoardSnapshot snapshot = theBoard.getSnapshot();
+        if (myPath.isEmpty() || !snapshot.sharesFrozenBlocks(myPlanned)) {
+            myPath.clear();
+            myPlanned = snapshot;
+            final Placement placement = mySearch.search(snapshot);
+            if (placement != null) {
+                for (final BoardOperation operation : placement.path()) {
+                    myPath.add(Move.valueOf(operation.name()));
+                }
+            }
+        }
+        Move result = Move.DROP;
+        if (!myPath.isEmpty()) {
+            result = myPath.remove();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,210 @@
+package simulation;
+
+import model.LatencyHistogram;
+
+/**
+ * Totals collected while playing headless games.
+ * <p>
+ * A GameStats object is filled in by one thread; the simulator gives every
+ * task its own and {@link #add(GameStats) adds} them together when the tasks
+ * are joined, so collecting statistics never contends between threads.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+public final class GameStats {
+
+    /**
+     * Number of nanoseconds in a second.
+     */
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    /**
+     * Latency of every input sent to a board.
+     */
+    private final LatencyHistogram myMoveLatency;
+
+    /**
+     * Number of games played.
+     */
+    private long myGames;
+
+    /**
+     * Number of pieces frozen.
+     */
+    private long myPieces;
+
+    /**
+     * Number of lines cleared.
+     */
+    private long myLines;
+
+    /**
+     * Wall clock time of the run in nanoseconds, set once the run completes.
+     */
+    private long myElapsedNanos;
+
+    /**
+     * Constructs empty statistics.
+     */
+    public GameStats() {
+        super();
+        myMoveLatency = new LatencyHistogram();
+    }
+
+    /**
+     * Counts one finished game.
+     */
+    public void addGame() {
+        myGames++;
+    }
+
+    /**
+     * Counts one frozen piece.
+     */
+    public void addPiece() {
+        myPieces++;
+    }
+
+    /**
+     * Counts one cleared line.
+     */
+    public void addLine() {
+        myLines++;
+    }
+
+    /**
+     * Records the latency of one input.
+     *
+     * @param theNanos the time the board took to handle the input.
+     */
+    public void addMove(final long theNanos) {
+        myMoveLatency.record(theNanos);
+    }
+
+    /**
+     * Adds the totals of other statistics to these.
+     *
+     * @param theOther the statistics to add.
+     */
+    public void add(final GameStats theOther) {
+        myGames += theOther.myGames;
+        myPieces += theOther.myPieces;
+        myLines += theOther.myLines;
+        myMoveLatency.add(theOther.myMoveLatency);
+    }
+
+    /**
+     * Sets the wall clock time of the run.
+     *
+     * @param theNanos the elapsed time in nanoseconds.
+     */
+    public void setElapsedNanos(final long theNanos) {
+        myElapsedNanos = theNanos;
+    }
+
+    /**
+     * Returns the number of games played.
+     *
+     * @return the number of games.
+     */
+    public long getGames() {
+        return myGames;
+    }
+
+    /**
+     * Returns the number of pieces frozen.
+     *
+     * @return the number of pieces.
+     */
+    public long getPieces() {
+        return myPieces;
+    }
+
+    /**
+     * Returns the number of lines cleared.
+     *
+     * @return the number of lines.
+     */
+    public long getLines() {
+        return myLines;
+    }
+
+    /**
+     * Returns the number of inputs sent to the boards.
+     *
+     * @return the number of inputs.
+     */
+    public long getMoves() {
+        return myMoveLatency.getCount();
+    }
+
+    /**
+     * Returns the latency histogram of the inputs.
+     *
+     * @return the input latency histogram.
+     */
+    public LatencyHistogram getMoveLatency() {
+        return myMoveLatency;
+    }
+
+    /**
+     * Returns the wall clock time of the run.
+     *
+     * @return the elapsed time in nanoseconds.
+     */
+    public long getElapsedNanos() {
+        return myElapsedNanos;
+    }
+
+    /**
+     * Returns the number of pieces frozen per second of wall clock time.
+     *
+     * @return pieces per second, or 0 if no time was recorded.
+     */
+    public double getPiecesPerSecond() {
+        return perSecond(myPieces);
+    }
+
+    /**
+     * Returns the number of lines cleared per second of wall clock time.
+     *
+     * @return lines per second, or 0 if no time was recorded.
+     */
+    public double getLinesPerSecond() {
+        return perSecond(myLines);
+    }
+
+    /**
+     * Returns the number of games played per second of wall clock time.
+     *
+     * @return games per second, or 0 if no time was recorded.
+     */
+    public double getGamesPerSecond() {
+        return perSecond(myGames);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("games=%d pieces=%d lines=%d moves=%d time=%.3fs%n"
+                             + "games/sec=%.1f pieces/sec=%.1f lines/sec=%.1f%n"
+                             + "move latency: %s",
+                myGames, myPieces, myLines, getMoves(), myElapsedNanos / NANOS_PER_SECOND,
+                getGamesPerSecond(), getPiecesPerSecond(), getLinesPerSecond(),
+                myMoveLatency);
+    }
+
+    /**
+     * Divides a total by the elapsed time.
+     *
+     * @param theTotal the total to divide.
+     * @return the total per second.
+     */
+    private double perSecond(final long theTotal) {
+        double result = 0;
+        if (myElapsedNanos > 0) {
+            result = theTotal * NANOS_PER_SECOND / myElapsedNanos;
+        }
+        return result;
+    }
+}
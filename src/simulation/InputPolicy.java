@@ -0,0 +1,22 @@
+package simulation;
+
+import model.MyBoard;
+
+/**
+ * Chooses the inputs for a headless game. A policy is used by one game
+ * at a time, so implementations may keep state between moves.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+@FunctionalInterface
+public interface InputPolicy {
+
+    /**
+     * Chooses the next input for a board.
+     *
+     * @param theBoard the board being played.
+     * @return the next input to send to the board.
+     */
+    Move nextMove(MyBoard theBoard);
+}
@@ -0,0 +1,51 @@
+package simulation;
+
+import model.MyBoard;
+
+/**
+ * The single inputs a headless player can send to a board.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+public enum Move {
+
+    /** No input this turn. */
+    NONE,
+
+    /** Move the current piece left. */
+    LEFT,
+
+    /** Move the current piece right. */
+    RIGHT,
+
+    /** Move the current piece down one row. */
+    DOWN,
+
+    /** Rotate the current piece clockwise. */
+    ROTATE_CW,
+
+    /** Rotate the current piece counter clockwise. */
+    ROTATE_CCW,
+
+    /** Drop the current piece until it freezes. */
+    DROP;
+
+    /**
+     * Sends this input to a board.
+     *
+     * @param theBoard the board to send the input to.
+     */
+    public void apply(final MyBoard theBoard) {
+        switch (this) {
+            case LEFT -> theBoard.left();
+            case RIGHT -> theBoard.right();
+            case DOWN -> theBoard.down();
+            case ROTATE_CW -> theBoard.rotateCW();
+            case ROTATE_CCW -> theBoard.rotateCCW();
+            case DROP -> theBoard.drop();
+            default -> {
+            } // No action for NONE
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package simulation;
+
+import java.util.SplittableRandom;
+import model.MyBoard;
+
+/**
+ * An input policy that chooses random moves from a seeded generator,
+ * dropping the piece now and then so that games make progress.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+public final class RandomInputPolicy implements InputPolicy {
+
+    /**
+     * The moves a random player chooses from. DROP is listed once
+     * so that a piece gets a handful of moves before it falls.
+     */
+    private static final Move[] MOVES = {
+        Move.LEFT, Move.RIGHT, Move.DOWN, Move.ROTATE_CW, Move.ROTATE_CCW,
+        Move.LEFT, Move.RIGHT, Move.DROP,
+    };
+
+    /**
+     * The random number generator for this policy.
+     */
+    private final SplittableRandom myRandom;
+
+    /**
+     * Constructs a random input policy.
+     *
+     * @param theSeed the seed for the random number generator.
+     */
+    public RandomInputPolicy(final long theSeed) {
+        super();
+        myRandom = new SplittableRandom(theSeed);
+    }
+
+    @Override
+    public Move nextMove(final MyBoard theBoard) {
+        return MOVES[myRandom.nextInt(MOVES.length)];
+    }
+}
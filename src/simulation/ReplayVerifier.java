@@ -0,0 +1,122 @@
+package simulation;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import model.replay.Replay;
+
+/**
+ * Replays every recorded game in a directory as fast as possible and checks
+ * that each one still ends in the recorded state, to catch engine changes
+ * that alter how games play out.
+ * <p>
+ * Replays are checked in parallel; each one builds its own board.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+public final class ReplayVerifier {
+
+    /**
+     * Logger object for reporting results.
+     */
+    public static final Logger LOGGER = Logger.getLogger(ReplayVerifier.class.getName());
+
+    /**
+     * File name extension of replay files.
+     */
+    private static final String EXTENSION = ".trpl";
+
+    /**
+     * Nanoseconds in a millisecond.
+     */
+    private static final long NANOS_PER_MILLI = 1_000_000;
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private ReplayVerifier() {
+        throw new IllegalStateException();
+    }
+
+    /**
+     * Checks every replay file in a directory.
+     *
+     * @param theDirectory the directory.
+     * @param theParallelism the number of threads.
+     * @return the number of replays that failed or could not be read.
+     * @throws IOException if the directory cannot be listed.
+     */
+    public static int verify(final Path theDirectory, final int theParallelism)
+            throws IOException {
+        final List<Path> files;
+        try (Stream<Path> list = Files.list(theDirectory)) {
+            files = list.filter(p -> p.toString().endsWith(EXTENSION)).sorted().toList();
+        }
+        final AtomicInteger failures = new AtomicInteger();
+        final AtomicInteger operations = new AtomicInteger();
+        final long start = System.nanoTime();
+        final ForkJoinPool pool = new ForkJoinPool(theParallelism);
+        try {
+            pool.submit(() -> files.parallelStream().forEach(file -> {
+                if (!verifyFile(file, operations)) {
+                    failures.incrementAndGet();
+                }
+            })).join();
+        } finally {
+            pool.shutdown();
+        }
+        final long millis = (System.nanoTime() - start) / NANOS_PER_MILLI;
+        LOGGER.info("Verified " + files.size() + " replays, " + operations.get()
+                    + " operations, in " + millis + " ms: " + failures.get() + " failed");
+        return failures.get();
+    }
+
+    /**
+     * Checks one replay file.
+     *
+     * @param theFile the file.
+     * @param theOperations counts the operations replayed.
+     * @return true if the replay reproduced its recorded final state.
+     */
+    private static boolean verifyFile(final Path theFile, final AtomicInteger theOperations) {
+        boolean result = false;
+        try (InputStream in = Files.newInputStream(theFile)) {
+            final Replay replay = Replay.read(in);
+            result = replay.verify();
+            theOperations.addAndGet(replay.getOperationCount());
+            if (!result) {
+                LOGGER.warning("Replay does not match: " + theFile);
+            }
+        } catch (final IOException e) {
+            LOGGER.warning("Unable to read replay " + theFile + ": " + e);
+        }
+        return result;
+    }
+
+    /**
+     * Checks the replays in a directory from the command line.
+     *
+     * @param theArgs the directory, then an optional number of threads.
+     * @throws IOException if the directory cannot be listed.
+     */
+    public static void main(final String[] theArgs) throws IOException {
+        if (theArgs.length == 0) {
+            LOGGER.severe("Usage: ReplayVerifier directory [threads]");
+        } else {
+            int parallelism = Runtime.getRuntime().availableProcessors();
+            if (theArgs.length > 1) {
+                parallelism = Integer.parseInt(theArgs[1]);
+            }
+            if (verify(Path.of(theArgs[0]), parallelism) > 0) {
+                System.exit(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,521 @@
+package simulation;
+
+import static model.MyBoard.PROPERTY_CLEAR_ROW;
+import static model.MyBoard.PROPERTY_FROZEN_PIECES_CHANGE;
+import static model.MyBoard.PROPERTY_GAME_OVER_STATE;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntFunction;
+import java.util.logging.Logger;
+import model.Board;
+import model.MyBoard;
+import model.ai.BeamSearch;
+import model.ai.TranspositionTable;
+import model.event.BoardEvent;
+import model.event.BoardEventHandler;
+import model.event.EventBus;
+import model.replay.GeneratorKind;
+import model.replay.Replay;
+import model.replay.ReplayRecorder;
+
+/**
+ * Plays many Tetris games without a user interface and measures how fast
+ * the engine runs.
+ * <p>
+ * Each game gets its own {@link Board} and {@link InputPolicy}. Games are
+ * spread across a work stealing {@link ForkJoinPool}; every task collects
+ * its own {@link GameStats}, which are added together as the tasks are joined.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+public final class Simulator {
+
+    /**
+     * Logger object for reporting results.
+     */
+    public static final Logger LOGGER = Logger.getLogger(Simulator.class.getName());
+
+    /**
+     * Default number of games to play.
+     */
+    private static final int DEFAULT_GAMES = 1_000;
+
+    /**
+     * Default limit on the inputs sent to a single game.
+     */
+    private static final int DEFAULT_MAX_MOVES = 20_000;
+
+    /**
+     * Default number of inputs between gravity steps.
+     */
+    private static final int DEFAULT_GRAVITY_INTERVAL = 4;
+
+    /**
+     * Default seed for the boards and the default input policy.
+     */
+    private static final long DEFAULT_SEED = 305L;
+
+    /**
+     * System property that makes the command line simulator play with the bot.
+     */
+    private static final String BOT_PROPERTY = "simulator.bot";
+
+    /**
+     * System property with the size in megabytes of the transposition table
+     * shared by the bots; by default they have none.
+     */
+    private static final String BOT_TABLE_PROPERTY = "simulator.bot.table";
+
+    /**
+     * Number of games to play.
+     */
+    private final int myGames;
+
+    /**
+     * Limit on the inputs sent to a single game.
+     */
+    private final int myMaxMoves;
+
+    /**
+     * Number of inputs between gravity steps.
+     */
+    private final int myGravityInterval;
+
+    /**
+     * Number of threads used to play games.
+     */
+    private final int myParallelism;
+
+    /**
+     * Seed for the boards.
+     */
+    private final long mySeed;
+
+    /**
+     * Creates the input policy for a game from the game number.
+     */
+    private final IntFunction<InputPolicy> myPolicies;
+
+    /**
+     * Directory that a replay of every game is saved to, or null.
+     */
+    private final Path myReplayDirectory;
+
+    /**
+     * Constructs a simulator from the values of a Builder. Without a policy,
+     * each game uses a RandomInputPolicy seeded from the game number.
+     *
+     * @param theBuilder the Builder to copy.
+     */
+    private Simulator(final Builder theBuilder) {
+        super();
+        myGames = theBuilder.myGames;
+        myMaxMoves = theBuilder.myMaxMoves;
+        myGravityInterval = theBuilder.myGravityInterval;
+        myParallelism = theBuilder.myParallelism;
+        mySeed = theBuilder.mySeed;
+        if (theBuilder.myPolicies == null) {
+            final long seed = theBuilder.mySeed;
+            myPolicies = theGame -> new RandomInputPolicy(seed + theGame);
+        } else {
+            myPolicies = theBuilder.myPolicies;
+        }
+        myReplayDirectory = theBuilder.myReplayDirectory;
+    }
+
+    /**
+     * Returns a Builder for configuring a simulator.
+     *
+     * @return a new Builder with the default values.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Plays every game and returns the combined statistics.
+     *
+     * @return the statistics of all games.
+     */
+    public GameStats run() {
+        final ForkJoinPool pool = new ForkJoinPool(myParallelism);
+        try {
+            final long start = System.nanoTime();
+            final GameStats stats = pool.invoke(new GameTask(0, myGames));
+            stats.setElapsedNanos(System.nanoTime() - start);
+            return stats;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Plays a single game, adding its totals to the statistics.
+     *
+     * @param theGame the game number.
+     * @param theStats the statistics to add to.
+     */
+    private void playGame(final int theGame, final GameStats theStats) {
+        final MyBoard board = Board.builder().seed(mySeed + theGame).build();
+        final InputPolicy policy = myPolicies.apply(theGame);
+        final GameListener listener = new GameListener(theStats);
+        final EventBus events = board.getEventBus();
+        events.subscribe(PROPERTY_FROZEN_PIECES_CHANGE, listener);
+        events.subscribe(PROPERTY_CLEAR_ROW, listener);
+        events.subscribe(PROPERTY_GAME_OVER_STATE, listener);
+        ReplayRecorder recorder = null;
+        if (myReplayDirectory != null) {
+            // the recorder seeds the game the same way the builder did
+            recorder = new ReplayRecorder(board, GeneratorKind.UNIFORM, () -> mySeed + theGame,
+                    replay -> saveReplay(theGame, replay));
+            recorder.start();
+        }
+        board.newGame();
+
+        for (int moves = 1; moves <= myMaxMoves && !listener.isGameOver(); moves++) {
+            final Move move = policy.nextMove(board);
+            long start = System.nanoTime();
+            move.apply(board);
+            theStats.addMove(System.nanoTime() - start);
+            if (moves % myGravityInterval == 0 && !listener.isGameOver()) {
+                start = System.nanoTime();
+                board.step();
+                theStats.addMove(System.nanoTime() - start);
+            }
+        }
+        if (recorder != null) {
+            recorder.stop();
+        }
+        theStats.addGame();
+    }
+
+    /**
+     * Writes the replay of a game to the replay directory.
+     *
+     * @param theGame the game number.
+     * @param theReplay the replay.
+     */
+    private void saveReplay(final int theGame, final Replay theReplay) {
+        final Path file = myReplayDirectory.resolve("game-" + theGame + ".trpl");
+        try (OutputStream out = Files.newOutputStream(file)) {
+            theReplay.write(out);
+        } catch (final IOException e) {
+            LOGGER.warning("Unable to save replay " + file + ": " + e);
+        }
+    }
+
+    /**
+     * Runs the simulator from the command line and logs the results.
+     * Set the system property simulator.bot to true to play with the bot
+     * instead of random inputs, and simulator.bot.table to a number of
+     * megabytes to give the bots a shared transposition table, whose hit
+     * rate and occupancy are logged at the end.
+     *
+     * @param theArgs optional number of games, then optional number of threads,
+     *        then an optional directory to save a replay of every game to.
+     * @throws IOException if the replay directory cannot be created.
+     */
+    public static void main(final String[] theArgs) throws IOException {
+        final Builder builder = builder();
+        if (theArgs.length > 0) {
+            builder.games(Integer.parseInt(theArgs[0]));
+        }
+        if (theArgs.length > 1) {
+            builder.parallelism(Integer.parseInt(theArgs[1]));
+        }
+        if (theArgs.length > 2) {
+            final Path directory = Path.of(theArgs[2]);
+            Files.createDirectories(directory);
+            builder.replays(directory);
+        }
+        TranspositionTable table = null;
+        if (Boolean.getBoolean(BOT_PROPERTY)) {
+            final MyBoard board = Board.builder().build();
+            final int megabytes = Integer.getInteger(BOT_TABLE_PROPERTY, 0);
+            if (megabytes > 0) {
+                table = TranspositionTable.ofMegabytes(megabytes);
+            }
+            // one search for every game; it runs in the pool of the games
+            final BeamSearch search = BeamSearch.builder(board.getWidth(),
+                                                         board.getHeight())
+                    .table(table).build();
+            builder.policy(theGame -> new BotInputPolicy(search));
+        }
+        final Simulator simulator = builder.build();
+        LOGGER.info("Playing " + simulator.myGames + " games on "
+                    + simulator.myParallelism + " threads");
+        LOGGER.info(simulator.run().toString());
+        if (table != null) {
+            LOGGER.info("Transposition table: " + table);
+        }
+    }
+
+    /**
+     * Plays a range of games, splitting the range so that idle threads can steal work.
+     */
+    private final class GameTask extends RecursiveTask<GameStats> {
+
+        /**
+         * Serialization version.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The first game in the range.
+         */
+        private final int myFirst;
+
+        /**
+         * One past the last game in the range.
+         */
+        private final int myEnd;
+
+        /**
+         * Constructs a task for a range of games.
+         *
+         * @param theFirst the first game.
+         * @param theEnd one past the last game.
+         */
+        GameTask(final int theFirst, final int theEnd) {
+            super();
+            myFirst = theFirst;
+            myEnd = theEnd;
+        }
+
+        @Override
+        protected GameStats compute() {
+            final GameStats stats;
+            if (myEnd - myFirst <= 1) {
+                stats = new GameStats();
+                for (int game = myFirst; game < myEnd; game++) {
+                    playGame(game, stats);
+                }
+            } else {
+                final int middle = (myFirst + myEnd) >>> 1;
+                final GameTask left = new GameTask(myFirst, middle);
+                left.fork();
+                stats = new GameTask(middle, myEnd).compute();
+                stats.add(left.join());
+            }
+            return stats;
+        }
+    }
+
+    /**
+     * Counts the pieces and lines of one game and notices when it ends.
+     */
+    private static final class GameListener implements BoardEventHandler {
+
+        /**
+         * The statistics to add to.
+         */
+        private final GameStats myStats;
+
+        /**
+         * Whether the game is over.
+         */
+        private boolean myGameOver;
+
+        /**
+         * Constructs a listener that adds to the given statistics.
+         *
+         * @param theStats the statistics to add to.
+         */
+        GameListener(final GameStats theStats) {
+            super();
+            myStats = theStats;
+        }
+
+        /**
+         * Returns whether the game is over.
+         *
+         * @return true if the game is over.
+         */
+        boolean isGameOver() {
+            return myGameOver;
+        }
+
+        @Override
+        public void onEvent(final BoardEvent theEvent) {
+            if (PROPERTY_FROZEN_PIECES_CHANGE.equals(theEvent.getTopic())) {
+                myStats.addPiece();
+            }
+            if (PROPERTY_CLEAR_ROW.equals(theEvent.getTopic())) {
+                myStats.addLine();
+            }
+            if (PROPERTY_GAME_OVER_STATE.equals(theEvent.getTopic())) {
+                myGameOver = (boolean) theEvent.getNewValue();
+            }
+        }
+    }
+
+    /**
+     * Configures a Simulator.
+     */
+    public static final class Builder {
+
+        /**
+         * Number of games to play.
+         */
+        private int myGames;
+
+        /**
+         * Limit on the inputs sent to a single game.
+         */
+        private int myMaxMoves;
+
+        /**
+         * Number of inputs between gravity steps.
+         */
+        private int myGravityInterval;
+
+        /**
+         * Number of threads used to play games.
+         */
+        private int myParallelism;
+
+        /**
+         * Seed for the boards.
+         */
+        private long mySeed;
+
+        /**
+         * Creates the input policy for a game from the game number.
+         */
+        private IntFunction<InputPolicy> myPolicies;
+
+        /**
+         * Directory that a replay of every game is saved to, or null.
+         */
+        private Path myReplayDirectory;
+
+        /**
+         * Constructs a Builder with the default values.
+         */
+        private Builder() {
+            super();
+            myGames = DEFAULT_GAMES;
+            myMaxMoves = DEFAULT_MAX_MOVES;
+            myGravityInterval = DEFAULT_GRAVITY_INTERVAL;
+            myParallelism = Runtime.getRuntime().availableProcessors();
+            mySeed = DEFAULT_SEED;
+        }
+
+        /**
+         * Sets the number of games to play.
+         *
+         * @param theGames the number of games.
+         * @return this Builder.
+         * @throws IllegalArgumentException if theGames is negative.
+         */
+        public Builder games(final int theGames) {
+            if (theGames < 0) {
+                throw new IllegalArgumentException("Games must not be negative: " + theGames);
+            }
+            myGames = theGames;
+            return this;
+        }
+
+        /**
+         * Sets the limit on the inputs sent to a single game.
+         *
+         * @param theMaxMoves the input limit.
+         * @return this Builder.
+         * @throws IllegalArgumentException if theMaxMoves is not positive.
+         */
+        public Builder maxMoves(final int theMaxMoves) {
+            if (theMaxMoves < 1) {
+                throw new IllegalArgumentException("Moves must be positive: " + theMaxMoves);
+            }
+            myMaxMoves = theMaxMoves;
+            return this;
+        }
+
+        /**
+         * Sets the number of inputs between gravity steps.
+         *
+         * @param theInterval the number of inputs.
+         * @return this Builder.
+         * @throws IllegalArgumentException if theInterval is not positive.
+         */
+        public Builder gravityInterval(final int theInterval) {
+            if (theInterval < 1) {
+                throw new IllegalArgumentException("Interval must be positive: "
+                                                   + theInterval);
+            }
+            myGravityInterval = theInterval;
+            return this;
+        }
+
+        /**
+         * Sets the number of threads used to play games.
+         *
+         * @param theParallelism the number of threads.
+         * @return this Builder.
+         * @throws IllegalArgumentException if theParallelism is not positive.
+         */
+        public Builder parallelism(final int theParallelism) {
+            if (theParallelism < 1) {
+                throw new IllegalArgumentException("Parallelism must be positive: "
+                                                   + theParallelism);
+            }
+            myParallelism = theParallelism;
+            return this;
+        }
+
+        /**
+         * Sets the seed for the boards. Game n uses seed + n.
+         *
+         * @param theSeed the seed.
+         * @return this Builder.
+         */
+        public Builder seed(final long theSeed) {
+            mySeed = theSeed;
+            return this;
+        }
+
+        /**
+         * Sets the function that creates the input policy for each game
+         * from the game number.
+         *
+         * @param thePolicies the input policy factory.
+         * @return this Builder.
+         * @throws NullPointerException if thePolicies is null.
+         */
+        public Builder policy(final IntFunction<InputPolicy> thePolicies) {
+            myPolicies = Objects.requireNonNull(thePolicies);
+            return this;
+        }
+
+        /**
+         * Saves a replay of every game, named game-n.trpl, to an existing
+         * directory. Recording does not change the games.
+         *
+         * @param theDirectory the directory.
+         * @return this Builder.
+         * @throws NullPointerException if theDirectory is null.
+         */
+        public Builder replays(final Path theDirectory) {
+            myReplayDirectory = Objects.requireNonNull(theDirectory);
+            return this;
+        }
+
+        /**
+         * Creates a Simulator from the values of this Builder. Without a
+         * policy, each game uses a RandomInputPolicy seeded from the game number.
+         * The Builder is left unchanged and can build more simulators.
+         *
+         * @return a new Simulator.
+         */
+        public Simulator build() {
+            return new Simulator(this);
+        }
+    }
+}
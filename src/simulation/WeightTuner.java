@@ -0,0 +1,852 @@
+package simulation;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.logging.Logger;
+import java.util.stream.IntStream;
+import model.Board;
+import model.BoardSnapshot;
+import model.MyBoard;
+import model.ai.BeamSearch;
+import model.ai.Feature;
+import model.ai.LinearEvaluator;
+import model.ai.Placement;
+import view.score.ScoringSystem;
+
+/**
+ * Tunes the weights of a {@link LinearEvaluator} with a genetic algorithm,
+ * without a user interface.
+ * <p>
+ * Every generation, each candidate set of weights plays the same seeded
+ * games on its own {@link Board} with a {@link BeamSearch}, and its fitness
+ * is its mean {@link ScoringSystem} score, so the weights follow the
+ * scoring rules. The games of all candidates are spread across a work
+ * stealing {@link ForkJoinPool}. The best candidates are kept and the rest
+ * of the next generation is bred from candidates chosen by tournament, by
+ * blending two parents and mutating the result. Weights are kept at unit
+ * length, as scaling them does not change which board scores best.
+ * <p>
+ * After every generation the new population is saved to a checkpoint in
+ * the output directory, with its best candidate first, and a line with the
+ * fitness of the generation and the games played per second is added to a
+ * convergence CSV file there. A tuner started on a directory with a
+ * checkpoint resumes from it; the random choices of a generation depend
+ * only on the seed and the generation number, so a resumed run goes on
+ * exactly as an uninterrupted one would.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+public final class WeightTuner {
+
+    /**
+     * Logger object for reporting progress.
+     */
+    public static final Logger LOGGER = Logger.getLogger(WeightTuner.class.getName());
+
+    /**
+     * Name of the checkpoint file in the output directory.
+     */
+    public static final String CHECKPOINT_FILE = "population.properties";
+
+    /**
+     * Name of the convergence file in the output directory.
+     */
+    public static final String CONVERGENCE_FILE = "convergence.csv";
+
+    /**
+     * Default number of candidates in a generation.
+     */
+    private static final int DEFAULT_POPULATION = 32;
+
+    /**
+     * Default number of games each candidate plays per generation.
+     */
+    private static final int DEFAULT_GAMES = 8;
+
+    /**
+     * Default number of generations to tune for.
+     */
+    private static final int DEFAULT_GENERATIONS = 50;
+
+    /**
+     * Default limit on the pieces of a single game.
+     */
+    private static final int DEFAULT_MAX_PIECES = 500;
+
+    /**
+     * Default seed for the games and the random choices.
+     */
+    private static final long DEFAULT_SEED = 305L;
+
+    /**
+     * Default output directory of the command line tuner.
+     */
+    private static final String DEFAULT_DIRECTORY = "tuning";
+
+    /**
+     * One in this many candidates, and at least one, is kept unchanged.
+     */
+    private static final int ELITE_DIVISOR = 8;
+
+    /**
+     * Number of candidates that compete in a tournament.
+     */
+    private static final int TOURNAMENT_SIZE = 3;
+
+    /**
+     * Chance that a weight of a child is mutated.
+     */
+    private static final double MUTATION_RATE = 0.2;
+
+    /**
+     * Standard deviation of a mutation of a unit length weight vector.
+     */
+    private static final double MUTATION_SIGMA = 0.2;
+
+    /**
+     * Number of nanoseconds in a second.
+     */
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    /**
+     * Checkpoint key of the number of the next generation.
+     */
+    private static final String GENERATION_KEY = "generation";
+
+    /**
+     * Checkpoint key of the feature names, in the order of the weights.
+     */
+    private static final String FEATURES_KEY = "features";
+
+    /**
+     * Checkpoint key of the number of candidates.
+     */
+    private static final String CANDIDATES_KEY = "candidates";
+
+    /**
+     * Prefix of the checkpoint keys of the candidates.
+     */
+    private static final String CANDIDATE_PREFIX = "candidate.";
+
+    /**
+     * Separates the values of a list in the checkpoint and in the CSV file.
+     */
+    private static final String SEPARATOR = ",";
+
+    /**
+     * Number of weights of a candidate.
+     */
+    private static final int WEIGHTS = Feature.values().length;
+
+    /**
+     * Number of candidates in a new population.
+     */
+    private final int myPopulation;
+
+    /**
+     * Number of games each candidate plays per generation.
+     */
+    private final int myGames;
+
+    /**
+     * Number of generations to tune for.
+     */
+    private final int myGenerations;
+
+    /**
+     * Limit on the pieces of a single game.
+     */
+    private final int myMaxPieces;
+
+    /**
+     * Number of pieces placed by a search.
+     */
+    private final int myDepth;
+
+    /**
+     * Number of boards kept after every ply of a search.
+     */
+    private final int myBeamWidth;
+
+    /**
+     * Number of threads used to play games.
+     */
+    private final int myParallelism;
+
+    /**
+     * Seed for the games and the random choices.
+     */
+    private final long mySeed;
+
+    /**
+     * Directory of the checkpoint and the convergence file.
+     */
+    private final Path myDirectory;
+
+    /**
+     * Constructs a tuner from the values of a Builder.
+     *
+     * @param theBuilder the Builder to copy.
+     */
+    private WeightTuner(final Builder theBuilder) {
+        super();
+        myPopulation = theBuilder.myPopulation;
+        myGames = theBuilder.myGames;
+        myGenerations = theBuilder.myGenerations;
+        myMaxPieces = theBuilder.myMaxPieces;
+        myDepth = theBuilder.myDepth;
+        myBeamWidth = theBuilder.myBeamWidth;
+        myParallelism = theBuilder.myParallelism;
+        mySeed = theBuilder.mySeed;
+        myDirectory = theBuilder.myDirectory;
+    }
+
+    /**
+     * Returns a Builder for configuring a tuner.
+     *
+     * @param theDirectory the directory of the checkpoint and the convergence file.
+     * @return a new Builder with the default values.
+     */
+    public static Builder builder(final Path theDirectory) {
+        return new Builder(theDirectory);
+    }
+
+    /**
+     * Tunes until the last generation has been played, resuming from the
+     * checkpoint in the output directory if there is one.
+     *
+     * @return the best weights of the last generation played; the first
+     *         candidate of the checkpoint if every generation was already played.
+     * @throws IOException if the checkpoint cannot be read or written.
+     */
+    public LinearEvaluator run() throws IOException {
+        Files.createDirectories(myDirectory);
+        final Path checkpoint = myDirectory.resolve(CHECKPOINT_FILE);
+        int generation = 0;
+        double[][] population;
+        if (Files.exists(checkpoint)) {
+            final Properties properties = new Properties();
+            try (InputStream in = Files.newInputStream(checkpoint)) {
+                properties.load(in);
+            }
+            generation = Integer.parseInt(properties.getProperty(GENERATION_KEY));
+            population = readPopulation(properties);
+            LOGGER.info("Resuming at generation " + generation + " from " + checkpoint);
+        } else {
+            population = firstPopulation();
+        }
+        final ForkJoinPool pool = new ForkJoinPool(myParallelism);
+        try {
+            while (generation < myGenerations) {
+                final long start = System.nanoTime();
+                final double[] fitness = evaluate(pool, population, generation);
+                final double seconds = (System.nanoTime() - start) / NANOS_PER_SECOND;
+                final Integer[] order = rank(fitness);
+                report(generation, population, fitness, order, seconds);
+                population = breed(population, fitness, order, generation);
+                generation++;
+                saveCheckpoint(checkpoint, generation, population);
+            }
+        } finally {
+            pool.shutdown();
+        }
+        return new LinearEvaluator(population[0]);
+    }
+
+    /**
+     * Plays the games of every candidate of a generation.
+     *
+     * @param thePool the pool to play in.
+     * @param thePopulation the weights of the candidates.
+     * @param theGeneration the generation number.
+     * @return the mean score of every candidate.
+     */
+    private double[] evaluate(final ForkJoinPool thePool, final double[][] thePopulation,
+                              final int theGeneration) {
+        final MyBoard board = Board.builder().build();
+        final BeamSearch[] searches = new BeamSearch[thePopulation.length];
+        for (int i = 0; i < searches.length; i++) {
+            searches[i] = BeamSearch.builder(board.getWidth(), board.getHeight())
+                    .evaluator(new LinearEvaluator(thePopulation[i]))
+                    .depth(myDepth).beamWidth(myBeamWidth).pool(thePool).build();
+        }
+        final int[] scores = new int[searches.length * myGames];
+        thePool.invoke(new FitnessTask(searches, theGeneration, scores, 0, scores.length));
+        final double[] result = new double[searches.length];
+        for (int i = 0; i < scores.length; i++) {
+            result[i / myGames] += (double) scores[i] / myGames;
+        }
+        return result;
+    }
+
+    /**
+     * Plays one game with a search until it ends or reaches the piece limit.
+     *
+     * @param theSearch the search that places the pieces.
+     * @param theSeed the seed of the board.
+     * @return the score of the game.
+     */
+    private int playGame(final BeamSearch theSearch, final long theSeed) {
+        final MyBoard board = Board.builder().seed(theSeed).build();
+        // delivered synchronously, as the board has no listener executor
+        final ScoringSystem scoring = new ScoringSystem(board);
+        board.newGame();
+        board.setSnapshotsEnabled(true);
+        BoardSnapshot snapshot = board.getSnapshot();
+        Placement placement = theSearch.search(snapshot);
+        for (int pieces = 0; pieces < myMaxPieces && !snapshot.isGameOver()
+                             && placement != null; pieces++) {
+            placement.apply(board);
+            snapshot = board.getSnapshot();
+            placement = theSearch.search(snapshot);
+        }
+        return scoring.getScore();
+    }
+
+    /**
+     * Returns the seed of a game of a generation. Every candidate of a
+     * generation plays the same games.
+     *
+     * @param theGeneration the generation number.
+     * @param theGame the game number within the generation.
+     * @return the seed.
+     */
+    private long gameSeed(final int theGeneration, final int theGame) {
+        return mySeed + (long) theGeneration * myGames + theGame;
+    }
+
+    /**
+     * Creates the first population: the default heuristic weights and
+     * random weights.
+     *
+     * @return the weights of the candidates.
+     */
+    private double[][] firstPopulation() {
+        final SplittableRandom random = new SplittableRandom(mySeed);
+        final double[][] result = new double[myPopulation][];
+        result[0] = normalize(LinearEvaluator.withHeuristicWeights().getWeights());
+        for (int i = 1; i < myPopulation; i++) {
+            final double[] weights = new double[WEIGHTS];
+            for (int w = 0; w < WEIGHTS; w++) {
+                weights[w] = random.nextDouble(-1, 1);
+            }
+            result[i] = normalize(weights);
+        }
+        return result;
+    }
+
+    /**
+     * Orders the candidates from the fittest to the least fit.
+     *
+     * @param theFitness the fitness of every candidate.
+     * @return the candidate indices, fittest first.
+     */
+    private static Integer[] rank(final double[] theFitness) {
+        final Integer[] result = IntStream.range(0, theFitness.length).boxed()
+                .toArray(Integer[]::new);
+        Arrays.sort(result, Comparator.comparingDouble((Integer i) -> theFitness[i])
+                .reversed());
+        return result;
+    }
+
+    /**
+     * Breeds the next generation. The fittest candidates are kept, fittest
+     * first, and the rest are children of tournament winners.
+     *
+     * @param thePopulation the weights of the candidates.
+     * @param theFitness the fitness of every candidate.
+     * @param theOrder the candidate indices, fittest first.
+     * @param theGeneration the generation number, which seeds the random choices.
+     * @return the weights of the next generation.
+     */
+    private double[][] breed(final double[][] thePopulation, final double[] theFitness,
+                             final Integer[] theOrder, final int theGeneration) {
+        final SplittableRandom random = new SplittableRandom(mySeed + theGeneration + 1);
+        final double[][] result = new double[thePopulation.length][];
+        final int elites = Math.max(1, thePopulation.length / ELITE_DIVISOR);
+        for (int i = 0; i < elites; i++) {
+            result[i] = thePopulation[theOrder[i]];
+        }
+        for (int i = elites; i < result.length; i++) {
+            final double[] first = thePopulation[tournament(theFitness, random)];
+            final double[] second = thePopulation[tournament(theFitness, random)];
+            final double blend = random.nextDouble();
+            final double[] child = new double[WEIGHTS];
+            for (int w = 0; w < WEIGHTS; w++) {
+                child[w] = blend * first[w] + (1 - blend) * second[w];
+                if (random.nextDouble() < MUTATION_RATE) {
+                    child[w] += random.nextGaussian() * MUTATION_SIGMA;
+                }
+            }
+            result[i] = normalize(child);
+        }
+        return result;
+    }
+
+    /**
+     * Picks the fittest of a few random candidates.
+     *
+     * @param theFitness the fitness of every candidate.
+     * @param theRandom the random numbers.
+     * @return the index of the winner.
+     */
+    private static int tournament(final double[] theFitness,
+                                  final SplittableRandom theRandom) {
+        int result = theRandom.nextInt(theFitness.length);
+        for (int i = 1; i < TOURNAMENT_SIZE; i++) {
+            final int other = theRandom.nextInt(theFitness.length);
+            if (theFitness[other] > theFitness[result]) {
+                result = other;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Scales weights to unit length.
+     *
+     * @param theWeights the weights; changed in place.
+     * @return the weights; unchanged if they are all 0.
+     */
+    private static double[] normalize(final double[] theWeights) {
+        double sum = 0;
+        for (final double weight : theWeights) {
+            sum += weight * weight;
+        }
+        if (sum > 0) {
+            final double length = Math.sqrt(sum);
+            for (int w = 0; w < theWeights.length; w++) {
+                theWeights[w] /= length;
+            }
+        }
+        return theWeights;
+    }
+
+    /**
+     * Logs the results of a generation and adds them to the convergence file.
+     *
+     * @param theGeneration the generation number.
+     * @param thePopulation the weights of the candidates.
+     * @param theFitness the fitness of every candidate.
+     * @param theOrder the candidate indices, fittest first.
+     * @param theSeconds the time the games took.
+     * @throws IOException if the convergence file cannot be written.
+     */
+    private void report(final int theGeneration, final double[][] thePopulation,
+                        final double[] theFitness, final Integer[] theOrder,
+                        final double theSeconds) throws IOException {
+        final double best = theFitness[theOrder[0]];
+        final double worst = theFitness[theOrder[theOrder.length - 1]];
+        final double mean = Arrays.stream(theFitness).average().orElse(0);
+        final int games = theFitness.length * myGames;
+        final double gamesPerSecond = games / theSeconds;
+        LOGGER.info(String.format("generation=%d best=%.1f mean=%.1f worst=%.1f "
+                                  + "games=%d time=%.3fs games/sec=%.1f%nbest weights: %s",
+                theGeneration, best, mean, worst, games, theSeconds, gamesPerSecond,
+                new LinearEvaluator(thePopulation[theOrder[0]])));
+
+        final Path file = myDirectory.resolve(CONVERGENCE_FILE);
+        final boolean header = !Files.exists(file);
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardOpenOption.CREATE,
+                                                          StandardOpenOption.APPEND)) {
+            if (header) {
+                out.write(String.join(SEPARATOR, "generation", "best", "mean", "worst",
+                                      "games", "seconds", "games_per_sec"));
+                for (final Feature feature : Feature.values()) {
+                    out.write(SEPARATOR + feature);
+                }
+                out.newLine();
+            }
+            out.write(theGeneration + SEPARATOR + best + SEPARATOR + mean + SEPARATOR + worst
+                      + SEPARATOR + games + SEPARATOR + theSeconds + SEPARATOR
+                      + gamesPerSecond);
+            for (final double weight : thePopulation[theOrder[0]]) {
+                out.write(SEPARATOR + weight);
+            }
+            out.newLine();
+        }
+    }
+
+    /**
+     * Saves a population, replacing the checkpoint in one step so that a
+     * run stopped while saving leaves the previous checkpoint intact.
+     *
+     * @param theFile the checkpoint file.
+     * @param theGeneration the number of the generation about to be played.
+     * @param thePopulation the weights of its candidates.
+     * @throws IOException if the checkpoint cannot be written.
+     */
+    private static void saveCheckpoint(final Path theFile, final int theGeneration,
+                                       final double[][] thePopulation) throws IOException {
+        final Properties properties = new Properties();
+        properties.setProperty(GENERATION_KEY, Integer.toString(theGeneration));
+        final StringBuilder features = new StringBuilder();
+        for (final Feature feature : Feature.values()) {
+            if (features.length() > 0) {
+                features.append(SEPARATOR);
+            }
+            features.append(feature);
+        }
+        properties.setProperty(FEATURES_KEY, features.toString());
+        properties.setProperty(CANDIDATES_KEY, Integer.toString(thePopulation.length));
+        for (int i = 0; i < thePopulation.length; i++) {
+            final StringBuilder weights = new StringBuilder();
+            for (final double weight : thePopulation[i]) {
+                if (weights.length() > 0) {
+                    weights.append(SEPARATOR);
+                }
+                weights.append(weight);
+            }
+            properties.setProperty(CANDIDATE_PREFIX + i, weights.toString());
+        }
+        final Path temporary = theFile.resolveSibling(theFile.getFileName() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(temporary)) {
+            properties.store(out, "WeightTuner checkpoint");
+        }
+        Files.move(temporary, theFile, StandardCopyOption.REPLACE_EXISTING,
+                   StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads the population of a checkpoint.
+     *
+     * @param theProperties the checkpoint.
+     * @return the weights of the candidates.
+     * @throws IOException if the checkpoint was saved with other features.
+     */
+    private static double[][] readPopulation(final Properties theProperties)
+            throws IOException {
+        final String[] features = theProperties.getProperty(FEATURES_KEY).split(SEPARATOR);
+        if (features.length != WEIGHTS) {
+            throw new IOException("Checkpoint has other features: "
+                                  + theProperties.getProperty(FEATURES_KEY));
+        }
+        for (int w = 0; w < WEIGHTS; w++) {
+            if (!Feature.values()[w].name().equals(features[w])) {
+                throw new IOException("Checkpoint has other features: "
+                                      + theProperties.getProperty(FEATURES_KEY));
+            }
+        }
+        final double[][] result =
+                new double[Integer.parseInt(theProperties.getProperty(CANDIDATES_KEY))][];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = Arrays.stream(theProperties.getProperty(CANDIDATE_PREFIX + i)
+                                                   .split(SEPARATOR))
+                    .mapToDouble(Double::parseDouble).toArray();
+        }
+        return result;
+    }
+
+    /**
+     * Runs the tuner from the command line and logs the best weights.
+     *
+     * @param theArgs an optional output directory, then an optional number of
+     *        generations, then an optional number of threads.
+     * @throws IOException if the checkpoint cannot be read or written.
+     */
+    public static void main(final String[] theArgs) throws IOException {
+        String directory = DEFAULT_DIRECTORY;
+        if (theArgs.length > 0) {
+            directory = theArgs[0];
+        }
+        final Builder builder = builder(Path.of(directory));
+        if (theArgs.length > 1) {
+            builder.generations(Integer.parseInt(theArgs[1]));
+        }
+        if (theArgs.length > 2) {
+            builder.parallelism(Integer.parseInt(theArgs[2]));
+        }
+        final WeightTuner tuner = builder.build();
+        LOGGER.info("Tuning " + tuner.myPopulation + " candidates for " + tuner.myGenerations
+                    + " generations on " + tuner.myParallelism + " threads into "
+                    + tuner.myDirectory);
+        LOGGER.info("Best weights: " + tuner.run());
+    }
+
+    /**
+     * Plays a range of the games of a generation, splitting the range so
+     * that idle threads can steal work. Game i is game i % games of
+     * candidate i / games.
+     */
+    private final class FitnessTask extends RecursiveAction {
+
+        /**
+         * Serialization version.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The search of every candidate.
+         */
+        private final transient BeamSearch[] mySearches;
+
+        /**
+         * The generation number.
+         */
+        private final int myGeneration;
+
+        /**
+         * Receives the score of every game.
+         */
+        private final int[] myScores;
+
+        /**
+         * The first game in the range.
+         */
+        private final int myFirst;
+
+        /**
+         * One past the last game in the range.
+         */
+        private final int myEnd;
+
+        /**
+         * Constructs a task for a range of games.
+         *
+         * @param theSearches the search of every candidate.
+         * @param theGeneration the generation number.
+         * @param theScores receives the score of every game.
+         * @param theFirst the first game.
+         * @param theEnd one past the last game.
+         */
+        FitnessTask(final BeamSearch[] theSearches, final int theGeneration,
+                    final int[] theScores, final int theFirst, final int theEnd) {
+            super();
+            mySearches = theSearches;
+            myGeneration = theGeneration;
+            myScores = theScores;
+            myFirst = theFirst;
+            myEnd = theEnd;
+        }
+
+        @Override
+        protected void compute() {
+            if (myEnd - myFirst <= 1) {
+                for (int game = myFirst; game < myEnd; game++) {
+                    myScores[game] = playGame(mySearches[game / myGames],
+                                              gameSeed(myGeneration, game % myGames));
+                }
+            } else {
+                final int middle = (myFirst + myEnd) >>> 1;
+                invokeAll(new FitnessTask(mySearches, myGeneration, myScores, myFirst, middle),
+                          new FitnessTask(mySearches, myGeneration, myScores, middle, myEnd));
+            }
+        }
+    }
+
+    /**
+     * Configures a WeightTuner.
+     */
+    public static final class Builder {
+
+        /**
+         * Number of candidates in a new population.
+         */
+        private int myPopulation;
+
+        /**
+         * Number of games each candidate plays per generation.
+         */
+        private int myGames;
+
+        /**
+         * Number of generations to tune for.
+         */
+        private int myGenerations;
+
+        /**
+         * Limit on the pieces of a single game.
+         */
+        private int myMaxPieces;
+
+        /**
+         * Number of pieces placed by a search.
+         */
+        private int myDepth;
+
+        /**
+         * Number of boards kept after every ply of a search.
+         */
+        private int myBeamWidth;
+
+        /**
+         * Number of threads used to play games.
+         */
+        private int myParallelism;
+
+        /**
+         * Seed for the games and the random choices.
+         */
+        private long mySeed;
+
+        /**
+         * Directory of the checkpoint and the convergence file.
+         */
+        private final Path myDirectory;
+
+        /**
+         * Constructs a Builder with the default values.
+         *
+         * @param theDirectory the directory of the checkpoint and the convergence file.
+         */
+        private Builder(final Path theDirectory) {
+            super();
+            myDirectory = Objects.requireNonNull(theDirectory);
+            myPopulation = DEFAULT_POPULATION;
+            myGames = DEFAULT_GAMES;
+            myGenerations = DEFAULT_GENERATIONS;
+            myMaxPieces = DEFAULT_MAX_PIECES;
+            myDepth = 1;
+            myBeamWidth = BeamSearch.DEFAULT_BEAM_WIDTH;
+            myParallelism = Runtime.getRuntime().availableProcessors();
+            mySeed = DEFAULT_SEED;
+        }
+
+        /**
+         * Sets the number of candidates in a new population. A run that
+         * resumes from a checkpoint keeps the population of the checkpoint.
+         *
+         * @param thePopulation the number of candidates.
+         * @return this Builder.
+         * @throws IllegalArgumentException if thePopulation is less than 2.
+         */
+        public Builder population(final int thePopulation) {
+            if (thePopulation < 2) {
+                throw new IllegalArgumentException("Population must be at least 2: "
+                                                   + thePopulation);
+            }
+            myPopulation = thePopulation;
+            return this;
+        }
+
+        /**
+         * Sets the number of games each candidate plays per generation.
+         *
+         * @param theGames the number of games.
+         * @return this Builder.
+         * @throws IllegalArgumentException if theGames is not positive.
+         */
+        public Builder games(final int theGames) {
+            if (theGames < 1) {
+                throw new IllegalArgumentException("Games must be positive: " + theGames);
+            }
+            myGames = theGames;
+            return this;
+        }
+
+        /**
+         * Sets the number of generations to tune for, counting the
+         * generations of the checkpoint a run resumes from.
+         *
+         * @param theGenerations the number of generations.
+         * @return this Builder.
+         * @throws IllegalArgumentException if theGenerations is negative.
+         */
+        public Builder generations(final int theGenerations) {
+            if (theGenerations < 0) {
+                throw new IllegalArgumentException("Generations must not be negative: "
+                                                   + theGenerations);
+            }
+            myGenerations = theGenerations;
+            return this;
+        }
+
+        /**
+         * Sets the limit on the pieces of a single game.
+         *
+         * @param theMaxPieces the limit.
+         * @return this Builder.
+         * @throws IllegalArgumentException if theMaxPieces is not positive.
+         */
+        public Builder maxPieces(final int theMaxPieces) {
+            if (theMaxPieces < 1) {
+                throw new IllegalArgumentException("Max pieces must be positive: "
+                                                   + theMaxPieces);
+            }
+            myMaxPieces = theMaxPieces;
+            return this;
+        }
+
+        /**
+         * Sets the number of pieces placed by each search; the default of 1
+         * places only the falling piece.
+         *
+         * @param theDepth the depth.
+         * @return this Builder.
+         * @throws IllegalArgumentException if theDepth is not positive.
+         */
+        public Builder depth(final int theDepth) {
+            if (theDepth < 1) {
+                throw new IllegalArgumentException("Depth must be positive: " + theDepth);
+            }
+            myDepth = theDepth;
+            return this;
+        }
+
+        /**
+         * Sets the number of boards kept after every ply of a search.
+         *
+         * @param theBeamWidth the beam width.
+         * @return this Builder.
+         * @throws IllegalArgumentException if theBeamWidth is not positive.
+         */
+        public Builder beamWidth(final int theBeamWidth) {
+            if (theBeamWidth < 1) {
+                throw new IllegalArgumentException("Beam width must be positive: "
+                                                   + theBeamWidth);
+            }
+            myBeamWidth = theBeamWidth;
+            return this;
+        }
+
+        /**
+         * Sets the number of threads used to play games.
+         *
+         * @param theParallelism the number of threads.
+         * @return this Builder.
+         * @throws IllegalArgumentException if theParallelism is not positive.
+         */
+        public Builder parallelism(final int theParallelism) {
+            if (theParallelism < 1) {
+                throw new IllegalArgumentException("Parallelism must be positive: "
+                                                   + theParallelism);
+            }
+            myParallelism = theParallelism;
+            return this;
+        }
+
+        /**
+         * Sets the seed for the games and the random choices.
+         *
+         * @param theSeed the seed.
+         * @return this Builder.
+         */
+        public Builder seed(final long theSeed) {
+            mySeed = theSeed;
+            return this;
+        }
+
+        /**
+         * Creates a WeightTuner from the values of this Builder.
+         *
+         * @return a new WeightTuner.
+         */
+        public WeightTuner build() {
+            return new WeightTuner(this);
+        }
+    }
+}
@@ -0,0 +1,390 @@
+package view;
+
+import java.awt.Canvas;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.Toolkit;
+import java.awt.image.BufferStrategy;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Logger;
+import model.Block;
+import model.BoardSnapshot;
+import model.LatencyHistogram;
+import model.MyBoard;
+import model.PieceShape;
+import view.colors.TetrisColorScheme;
+import view.colors.TetrisColorSchemeDefault;
+
+/**
+ * Draws the Tetris board with active rendering: a thread of its own paints
+ * the latest BoardSnapshot into a BufferStrategy at a fixed frame rate,
+ * independent of how busy the event dispatch thread is.
+ * <p>
+ * The time between frames and the time spent drawing each frame are recorded,
+ * and logged when rendering stops. Select this view by starting the game with
+ * {@code -Dtetris.renderer=active}.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+public final class ActiveBoardCanvas extends Canvas implements ITetrisBoardPanel {
+
+    /**
+     * Serialization version.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Default target frames per second.
+     */
+    public static final int DEFAULT_FPS = 60;
+
+    /**
+     * Number of buffers in the BufferStrategy.
+     */
+    private static final int BUFFERS = 2;
+
+    /**
+     * Baseline of the latency overlay text in pixels.
+     */
+    private static final int OVERLAY_BASELINE = 12;
+
+    /**
+     * Left margin of the latency overlay text in pixels.
+     */
+    private static final int OVERLAY_MARGIN = 4;
+
+    /**
+     * Logger for frame time statistics.
+     */
+    private static final Logger LOGGER = Logger.getLogger(ActiveBoardCanvas.class.getName());
+
+    /**
+     * The board being displayed.
+     */
+    private final transient MyBoard myBoard;
+
+    /**
+     * Side length of the individual blocks in pixels.
+     */
+    private final int myBlockWidthPX;
+
+    /**
+     * Target time between frames in nanoseconds.
+     */
+    private final long myFrameNanos;
+
+    /**
+     * Pre-rendered block images.
+     */
+    private final transient BlockSprites myBlockSprites;
+
+    /**
+     * Time between the starts of consecutive frames. Guarded by itself.
+     */
+    private final transient LatencyHistogram myFrameIntervals;
+
+    /**
+     * Time spent drawing each frame. Guarded by myFrameIntervals.
+     */
+    private final transient LatencyHistogram myRenderTimes;
+
+    /**
+     * Translucent overlay holding the gridlines.
+     */
+    private transient BufferedImage myGridLayer;
+
+    /**
+     * Boolean value to indicate whether to show gridlines.
+     */
+    private volatile boolean myShowGridLines;
+
+    /**
+     * Show/hide ghost piece.
+     */
+    private volatile boolean myShowGhostPiece;
+
+    /**
+     * Measures input latency, or null.
+     */
+    private transient volatile InputLatencyMonitor myLatencyMonitor;
+
+    /**
+     * Whether the render thread should keep running.
+     */
+    private volatile boolean myRunning;
+
+    /**
+     * The render thread, or null when not rendering.
+     */
+    private transient Thread myRenderThread;
+
+    /**
+     * Constructor using the default block size and frame rate.
+     *
+     * @param theBoard The board to display
+     */
+    public ActiveBoardCanvas(final MyBoard theBoard) {
+        this(theBoard, TetrisBoardPanel.DEFAULT_BLOCK_WIDTH, DEFAULT_FPS);
+    }
+
+    /**
+     * Constructor to configure the block size and frame rate. Turns on
+     * snapshot publishing in the board, so it must be called on the thread
+     * that operates the board.
+     *
+     * @param theBoard The board to display
+     * @param theBlockLengthPX Length of a block in pixels
+     * @param theFramesPerSecond Target frames per second
+     */
+    public ActiveBoardCanvas(final MyBoard theBoard, final int theBlockLengthPX,
+                             final int theFramesPerSecond) {
+        super();
+        myBoard = theBoard;
+        myBlockWidthPX = theBlockLengthPX;
+        myFrameNanos = TimeUnit.SECONDS.toNanos(1) / theFramesPerSecond;
+        final TetrisColorScheme colorScheme = new TetrisColorSchemeDefault();
+        myBlockSprites = new BlockSprites(colorScheme, theBlockLengthPX);
+        myFrameIntervals = new LatencyHistogram();
+        myRenderTimes = new LatencyHistogram();
+
+        setPreferredSize(new Dimension(theBlockLengthPX * theBoard.getWidth(),
+                                       theBlockLengthPX * theBoard.getHeight()));
+        setBackground(TetrisColorSchemeDefault.BACKGROUND_COLOR);
+        // painting is done by the render thread, and keys belong to the game panel
+        setIgnoreRepaint(true);
+        setFocusable(false);
+
+        theBoard.setSnapshotsEnabled(true);
+    }
+
+    // *** GETTERS AND SETTERS ***
+
+    @Override
+    public boolean getGridlines() {
+        return myShowGridLines;
+    }
+
+    @Override
+    public void setGridlines(final boolean theValue) {
+        myShowGridLines = theValue;
+    }
+
+    @Override
+    public boolean getGhostPieceState() {
+        return myShowGhostPiece;
+    }
+
+    @Override
+    public void setGhostPieceState(final boolean theValue) {
+        myShowGhostPiece = theValue;
+    }
+
+    @Override
+    public void setLatencyMonitor(final InputLatencyMonitor theMonitor) {
+        myLatencyMonitor = theMonitor;
+    }
+
+    /**
+     * Returns a summary of the frame intervals and render times so far.
+     *
+     * @return The frame time statistics.
+     */
+    public String getFrameStats() {
+        synchronized (myFrameIntervals) {
+            return "frame interval: " + myFrameIntervals + "\nrender time: " + myRenderTimes;
+        }
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        createBufferStrategy(BUFFERS);
+        myRunning = true;
+        myRenderThread = new Thread(this::renderLoop, "Tetris renderer");
+        myRenderThread.setDaemon(true);
+        myRenderThread.start();
+    }
+
+    @Override
+    public void removeNotify() {
+        myRunning = false;
+        try {
+            myRenderThread.join();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        myRenderThread = null;
+        LOGGER.info(getFrameStats());
+        super.removeNotify();
+    }
+
+    /**
+     * Draws frames at the target rate until stopped. A frame that starts late
+     * moves the schedule instead of being followed by a burst of catch-up frames.
+     */
+    private void renderLoop() {
+        long deadline = System.nanoTime();
+        long lastStart = deadline;
+        while (myRunning) {
+            final long start = System.nanoTime();
+            renderFrame();
+            final long end = System.nanoTime();
+            synchronized (myFrameIntervals) {
+                myFrameIntervals.record(start - lastStart);
+                myRenderTimes.record(end - start);
+            }
+            lastStart = start;
+            deadline += myFrameNanos;
+            if (deadline < end) {
+                deadline = end;
+            }
+            long remaining = deadline - System.nanoTime();
+            while (remaining > 0) {
+                LockSupport.parkNanos(remaining);
+                remaining = deadline - System.nanoTime();
+            }
+        }
+    }
+
+    /**
+     * Draws the latest snapshot into the back buffer and shows it.
+     */
+    private void renderFrame() {
+        final BufferStrategy strategy = getBufferStrategy();
+        final BoardSnapshot snapshot = myBoard.getSnapshot();
+        final InputLatencyMonitor monitor = myLatencyMonitor;
+        if (monitor != null && snapshot != null) {
+            monitor.frameReceived(snapshot.getVersion());
+        }
+        do {
+            do {
+                final Graphics2D g2d = (Graphics2D) strategy.getDrawGraphics();
+                try {
+                    paintSnapshot(g2d, snapshot);
+                } finally {
+                    g2d.dispose();
+                }
+            } while (strategy.contentsRestored());
+            strategy.show();
+        } while (strategy.contentsLost());
+        Toolkit.getDefaultToolkit().sync();
+        if (monitor != null && snapshot != null) {
+            monitor.framePainted(snapshot.getVersion());
+        }
+    }
+
+    /**
+     * Paints one frame.
+     *
+     * @param theGraphics A Graphics2D object used as a drawing canvas.
+     * @param theSnapshot The board state to draw, or null for an empty board.
+     */
+    private void paintSnapshot(final Graphics2D theGraphics, final BoardSnapshot theSnapshot) {
+        theGraphics.setColor(TetrisColorSchemeDefault.BACKGROUND_COLOR);
+        theGraphics.fillRect(0, 0, getWidth(), getHeight());
+        if (theSnapshot != null) {
+            paintFrozen(theGraphics, theSnapshot);
+            final PieceShape shape = theSnapshot.getPieceShape();
+            if (shape != null) {
+                paintPiece(theGraphics, theSnapshot, shape,
+                        myBlockSprites.getSprite(theSnapshot.getPiece().getBlock()),
+                        theSnapshot.getPieceY());
+                if (myShowGhostPiece) {
+                    paintPiece(theGraphics, theSnapshot, shape,
+                            myBlockSprites.getGhostSprite(), theSnapshot.getGhostY());
+                }
+            }
+        }
+        if (myShowGridLines) {
+            theGraphics.drawImage(getGridLayer(), 0, 0, null);
+        }
+        final InputLatencyMonitor monitor = myLatencyMonitor;
+        if (monitor != null) {
+            theGraphics.setColor(Color.WHITE);
+            theGraphics.drawString(monitor.getSummary(), OVERLAY_MARGIN, OVERLAY_BASELINE);
+        }
+    }
+
+    /**
+     * Paints the frozen blocks of a snapshot.
+     *
+     * @param theGraphics A Graphics2D object used as a drawing canvas.
+     * @param theSnapshot The board state to draw.
+     */
+    private void paintFrozen(final Graphics2D theGraphics, final BoardSnapshot theSnapshot) {
+        for (int y = 0; y < theSnapshot.getHeight(); y++) {
+            int mask = theSnapshot.getRowMask(y);
+            while (mask != 0) {
+                final int x = Integer.numberOfTrailingZeros(mask);
+                final Block block = theSnapshot.getBlock(x, y);
+                drawCell(theGraphics, theSnapshot, myBlockSprites.getSprite(block), x, y);
+                mask &= mask - 1;
+            }
+        }
+    }
+
+    /**
+     * Paints the falling piece, or its ghost, at a row.
+     *
+     * @param theGraphics A Graphics2D object used as a drawing canvas.
+     * @param theSnapshot The board state to draw.
+     * @param theShape The footprint of the falling piece.
+     * @param theSprite The block image to draw.
+     * @param theY The y coordinate of the piece origin.
+     */
+    private void paintPiece(final Graphics2D theGraphics, final BoardSnapshot theSnapshot,
+                            final PieceShape theShape, final Image theSprite, final int theY) {
+        for (int i = 0; i < theShape.getBlockCount(); i++) {
+            drawCell(theGraphics, theSnapshot, theSprite,
+                    theSnapshot.getPieceX() + theShape.getBlockX(i),
+                    theY + theShape.getBlockY(i));
+        }
+    }
+
+    /**
+     * Draws a block image at a board cell.
+     *
+     * @param theGraphics A Graphics2D object used as a drawing canvas.
+     * @param theSnapshot The board state being drawn.
+     * @param theSprite The block image, or null to draw nothing.
+     * @param theX The column of the cell.
+     * @param theY The row of the cell, 0 at the bottom.
+     */
+    private void drawCell(final Graphics2D theGraphics, final BoardSnapshot theSnapshot,
+                          final Image theSprite, final int theX, final int theY) {
+        if (theSprite != null) {
+            theGraphics.drawImage(theSprite, theX * myBlockWidthPX,
+                    (theSnapshot.getHeight() - theY - 1) * myBlockWidthPX, null);
+        }
+    }
+
+    /**
+     * Returns the gridline overlay, drawing it the first time it is needed.
+     *
+     * @return The gridline overlay image.
+     */
+    private BufferedImage getGridLayer() {
+        if (myGridLayer == null) {
+            final int columns = myBoard.getWidth();
+            final int rows = myBoard.getHeight();
+            final int width = columns * myBlockWidthPX;
+            final int height = rows * myBlockWidthPX;
+            myGridLayer = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+            final Graphics2D g2d = myGridLayer.createGraphics();
+            g2d.setPaint(TetrisColorSchemeDefault.BORDER_COLOR);
+            for (int i = 0; i <= columns; i++) {
+                g2d.drawLine(i * myBlockWidthPX, 0, i * myBlockWidthPX, height);
+            }
+            for (int j = 0; j <= rows; j++) {
+                g2d.drawLine(0, j * myBlockWidthPX, width, j * myBlockWidthPX);
+            }
+            g2d.dispose();
+        }
+        return myGridLayer;
+    }
+}
@@ -0,0 +1,192 @@
+package view;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.RenderingHints;
+import java.awt.Stroke;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.EnumMap;
+import java.util.Map;
+import model.Block;
+import view.colors.TetrisColorScheme;
+import view.colors.TetrisColorSchemeDefault;
+
+/**
+ * Pre-rendered images of a single Tetris block, one per Block type plus one
+ * for the ghost piece outline.
+ * <p>
+ * The images are drawn once from a TetrisColorScheme and redrawn only when the
+ * block size or the color scheme changes, so painting a board is one drawImage
+ * per cell instead of building shapes and strokes for every cell of every frame.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+public class BlockSprites {
+
+    /**
+     * Stroke used for the border of every block.
+     */
+    private static final Stroke BORDER_STROKE =
+            new BasicStroke(TetrisBoardPanel.DEFAULT_STROKE);
+
+    /**
+     * One image per Block type. Block types without a color have no image.
+     */
+    private final Map<Block, BufferedImage> mySprites;
+
+    /**
+     * The outline drawn for the ghost piece.
+     */
+    private BufferedImage myGhostSprite;
+
+    /**
+     * The color scheme the images are drawn from.
+     */
+    private TetrisColorScheme myColorScheme;
+
+    /**
+     * Side length of a block in pixels.
+     */
+    private int myBlockSize;
+
+    /**
+     * Whether the images need to be drawn again before use.
+     */
+    private boolean myStale;
+
+    /**
+     * Constructor for the sprites of one color scheme and block size.
+     * The images are drawn when they are first needed.
+     *
+     * @param theColorScheme The color scheme to draw from
+     * @param theBlockSize Side length of a block in pixels
+     */
+    public BlockSprites(final TetrisColorScheme theColorScheme, final int theBlockSize) {
+        super();
+        mySprites = new EnumMap<>(Block.class);
+        myColorScheme = theColorScheme;
+        myBlockSize = theBlockSize;
+        myStale = true;
+    }
+
+    /**
+     * Changes the color scheme. The images are drawn again if it differs.
+     *
+     * @param theColorScheme The new color scheme
+     */
+    public void setColorScheme(final TetrisColorScheme theColorScheme) {
+        if (theColorScheme != myColorScheme) {
+            myColorScheme = theColorScheme;
+            myStale = true;
+        }
+    }
+
+    /**
+     * Changes the block size. The images are drawn again if it differs.
+     *
+     * @param theBlockSize Side length of a block in pixels
+     */
+    public void setBlockSize(final int theBlockSize) {
+        if (theBlockSize != myBlockSize) {
+            myBlockSize = theBlockSize;
+            myStale = true;
+        }
+    }
+
+    /**
+     * Returns the side length of the images.
+     *
+     * @return Side length of a block in pixels
+     */
+    public int getBlockSize() {
+        return myBlockSize;
+    }
+
+    /**
+     * Returns the image of a Block type.
+     *
+     * @param theBlock The Block type
+     * @return The image, or null if the color scheme has no color for the Block
+     */
+    public BufferedImage getSprite(final Block theBlock) {
+        renderIfStale();
+        return mySprites.get(theBlock);
+    }
+
+    /**
+     * Returns the outline image of a ghost piece block.
+     *
+     * @return The ghost image
+     */
+    public BufferedImage getGhostSprite() {
+        renderIfStale();
+        return myGhostSprite;
+    }
+
+    /**
+     * Draws every image again if the scheme or size changed.
+     */
+    private void renderIfStale() {
+        if (myStale) {
+            mySprites.clear();
+            for (final Block block : Block.values()) {
+                final Color color = myColorScheme.getColor(block);
+                if (color != null) {
+                    mySprites.put(block,
+                            renderBlock(color, TetrisColorSchemeDefault.BORDER_COLOR));
+                }
+            }
+            myGhostSprite = renderBlock(null, TetrisColorSchemeDefault.GHOST_BORDER_COLOR);
+            myStale = false;
+        }
+    }
+
+    /**
+     * Draws one block image.
+     *
+     * @param theFill The fill color, or null for a transparent block
+     * @param theBorder The border color
+     * @return The new image
+     */
+    private BufferedImage renderBlock(final Color theFill, final Color theBorder) {
+        final BufferedImage image = createImage();
+        final Graphics2D g2d = image.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+                             RenderingHints.VALUE_ANTIALIAS_OFF);
+        if (theFill != null) {
+            g2d.setPaint(theFill);
+            g2d.fillRect(0, 0, myBlockSize, myBlockSize);
+        }
+        g2d.setStroke(BORDER_STROKE);
+        g2d.setPaint(theBorder);
+        g2d.drawRect(0, 0, myBlockSize, myBlockSize);
+        g2d.dispose();
+        return image;
+    }
+
+    /**
+     * Creates a translucent image in the screen's format when there is a
+     * screen, so drawing it needs no conversion.
+     *
+     * @return A new empty image of the block size
+     */
+    private BufferedImage createImage() {
+        final BufferedImage image;
+        if (GraphicsEnvironment.isHeadless()) {
+            image = new BufferedImage(myBlockSize, myBlockSize, BufferedImage.TYPE_INT_ARGB);
+        } else {
+            final GraphicsConfiguration config = GraphicsEnvironment
+                    .getLocalGraphicsEnvironment()
+                    .getDefaultScreenDevice()
+                    .getDefaultConfiguration();
+            image = config.createCompatibleImage(myBlockSize, myBlockSize,
+                                                 Transparency.TRANSLUCENT);
+        }
+        return image;
+    }
+}
@@ -0,0 +1,129 @@
+package view;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import javax.swing.SwingUtilities;
+import model.MyBoard;
+import model.event.BoardEvent;
+import model.event.BoardEventHandler;
+import view.score.Scoring;
+
+/**
+ * Builds a GameFrame on the thread that operates the board after every batch
+ * of board events, and hands the latest one to the Swing panels.
+ * <p>
+ * Frames are handed over through a single volatile field. At most one
+ * delivery to the event dispatch thread is waiting at any time, and it
+ * delivers whichever frame is the latest when it runs, so the engine never
+ * waits for the panels and frames the panels are too slow to show are skipped.
+ * <p>
+ * The scoring must be updated on the thread that operates the board before
+ * this publisher sees the same events, so it has to subscribe to the board
+ * first.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+public final class FramePublisher implements BoardEventHandler {
+
+    /**
+     * The board whose snapshots are published.
+     */
+    private final MyBoard myBoard;
+
+    /**
+     * The score that goes with every frame.
+     */
+    private final Scoring myScoring;
+
+    /**
+     * Panels that receive frames on the event dispatch thread.
+     */
+    private final List<Consumer<GameFrame>> myListeners;
+
+    /**
+     * Whether a delivery to the event dispatch thread is waiting.
+     */
+    private final AtomicBoolean myDeliveryPending;
+
+    /**
+     * The latest frame.
+     */
+    private volatile GameFrame myFrame;
+
+    /**
+     * Constructor that turns on snapshots in the board and subscribes to its
+     * events. Must be called on the thread that operates the board.
+     *
+     * @param theBoard The board to publish
+     * @param theScoring The scoring of the same game
+     */
+    public FramePublisher(final MyBoard theBoard, final Scoring theScoring) {
+        super();
+        myBoard = theBoard;
+        myScoring = theScoring;
+        myListeners = new CopyOnWriteArrayList<>();
+        myDeliveryPending = new AtomicBoolean();
+
+        theBoard.setSnapshotsEnabled(true);
+        myFrame = buildFrame();
+        theBoard.getEventBus().subscribe(null, this);
+    }
+
+    /**
+     * Adds a panel that receives every frame it has time for on the event
+     * dispatch thread.
+     *
+     * @param theListener The panel's frame handler
+     */
+    public void addFrameListener(final Consumer<GameFrame> theListener) {
+        myListeners.add(theListener);
+    }
+
+    /**
+     * Returns the latest frame. Safe to call from any thread.
+     *
+     * @return The latest frame
+     */
+    public GameFrame getFrame() {
+        return myFrame;
+    }
+
+    @Override
+    public void onEvent(final BoardEvent theEvent) {
+        // the frame is built once per batch
+    }
+
+    @Override
+    public void onEndOfBatch() {
+        myFrame = buildFrame();
+        if (myDeliveryPending.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(this::deliver);
+        }
+    }
+
+    /**
+     * Builds a frame from the latest snapshot and the current score.
+     *
+     * @return The new frame
+     */
+    private GameFrame buildFrame() {
+        return new GameFrame(myBoard.getSnapshot(), myScoring.getScore(),
+                myScoring.getTotalLinesCleared(), myScoring.getLevel(),
+                myScoring.getNextLevelLines());
+    }
+
+    /**
+     * Hands the latest frame to every panel.
+     */
+    private void deliver() {
+        // clear first, so a frame published from now on schedules another delivery
+        myDeliveryPending.set(false);
+        final GameFrame frame = myFrame;
+        for (final Consumer<GameFrame> listener : myListeners) {
+            listener.accept(frame);
+        }
+    }
+}
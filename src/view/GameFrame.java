@@ -0,0 +1,19 @@
+package view;
+
+import model.BoardSnapshot;
+
+/**
+ * An immutable frame of the game for the Swing panels: the board snapshot
+ * together with the score that goes with it.
+ *
+ * @param board The board as of the end of an operation
+ * @param score The score
+ * @param totalLines The total number of cleared lines
+ * @param level The level
+ * @param nextLevelLines The number of lines needed to reach the next level
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+public record GameFrame(BoardSnapshot board, int score, int totalLines, int level,
+                        int nextLevelLines) { }
@@ -10,6 +10,7 @@ import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.logging.Logger;
+import view.jfr.HighScoreSaveEvent;
 
 /**
  * Manages the high scores for a game, including adding new high scores,
@@ -75,6 +76,9 @@ public class HighScoreManager implements HighScoreManagerInterface {
      * the exception stack trace is printed.
      */
     private void saveHighScores() {
+        final HighScoreSaveEvent event = new HighScoreSaveEvent();
+        event.begin();
+        boolean succeeded = false;
         try {
             final FileOutputStream fos = new FileOutputStream(HIGH_SCORE_FILE);
 
@@ -82,14 +86,17 @@ public class HighScoreManager implements HighScoreManagerInterface {
                 final ObjectOutputStream oos = new ObjectOutputStream(fos);
                 oos.writeObject(myHighScores);
                 oos.close();
+                succeeded = true;
             } catch (final IOException | SecurityException e) {
                 LOGGER.severe("An IO error occured: " + e);
             }
 
             fos.close();
         } catch (final IOException fosException) {
+            succeeded = false;
             LOGGER.warning("Unable to write high scores: " + fosException);
         }
+        event.finish(myHighScores.size(), succeeded);
     }
 
     private void createEmptyFile() {
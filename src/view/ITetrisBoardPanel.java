@@ -31,4 +31,11 @@ public interface ITetrisBoardPanel {
      * @param theValue A boolean value indicating whether to show the ghost piece.
      */
     void setGhostPieceState(boolean theValue);
+
+    /**
+     * Reports the frames this view receives and paints to a latency monitor,
+     * and shows its summary over the board.
+     * @param theMonitor The monitor, or null to stop measuring.
+     */
+    void setLatencyMonitor(InputLatencyMonitor theMonitor);
 }
@@ -0,0 +1,206 @@
+package view;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import model.BoardSnapshot;
+import model.InputController;
+import model.LatencyHistogram;
+import model.MyBoard;
+
+/**
+ * Measures the latency from a key press to the frame that shows it.
+ * <p>
+ * Every press is stamped when the key event arrives and followed through
+ * three stages, each with a histogram of its own:
+ * <ul>
+ * <li>engine: from the key event until the game loop has changed the board,</li>
+ * <li>dispatch: from then until the frame reaches the view, on the event
+ *     dispatch thread or the render thread,</li>
+ * <li>paint: from then until the view has finished painting that frame.</li>
+ * </ul>
+ * A press is matched to its frame by the version of the snapshot it produced.
+ * Presses that change nothing on the board produce no frame and are not
+ * measured. Start the game with {@code -Dtetris.latency=true} to show the
+ * latest figures over the board and log all of them when the game exits.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+public class InputLatencyMonitor implements InputController.InputListener {
+
+    /**
+     * Most presses waiting for their frame; more are not measured.
+     */
+    private static final int MAX_PENDING = 64;
+
+    /**
+     * Nanoseconds in a millisecond.
+     */
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    /**
+     * The board that presses change.
+     */
+    private final MyBoard myBoard;
+
+    /**
+     * Builds the frames the panel shows.
+     */
+    private final FramePublisher myFramePublisher;
+
+    /**
+     * Presses waiting to be painted, oldest first. Guarded by this.
+     */
+    private final Queue<Trace> myPending;
+
+    /**
+     * Key event until the board changed. Guarded by this.
+     */
+    private final LatencyHistogram myEngine;
+
+    /**
+     * Board change until the frame reached the view. Guarded by this.
+     */
+    private final LatencyHistogram myDispatch;
+
+    /**
+     * Frame received until painted. Guarded by this.
+     */
+    private final LatencyHistogram myPaint;
+
+    /**
+     * Key event until painted. Guarded by this.
+     */
+    private final LatencyHistogram myTotal;
+
+    /**
+     * Creates a monitor. Add it to the input controller of the game loop and
+     * to the board panel.
+     *
+     * @param theBoard the board that presses change.
+     * @param thePublisher builds the frames of the board.
+     */
+    public InputLatencyMonitor(final MyBoard theBoard, final FramePublisher thePublisher) {
+        super();
+        myBoard = theBoard;
+        myFramePublisher = thePublisher;
+        myPending = new ArrayDeque<>();
+        myEngine = new LatencyHistogram();
+        myDispatch = new LatencyHistogram();
+        myPaint = new LatencyHistogram();
+        myTotal = new LatencyHistogram();
+    }
+
+    /**
+     * Starts following a press. Called on the game loop thread right after
+     * the press was applied to the board.
+     */
+    @Override
+    public synchronized void inputApplied(final InputController.Action theAction,
+                                          final long thePressNanos,
+                                          final long theAppliedNanos) {
+        final BoardSnapshot snapshot = myBoard.getSnapshot();
+        // a press that changed nothing published no events, so no frame was built
+        if (snapshot != null && myFramePublisher.getFrame().board() == snapshot
+            && myPending.size() < MAX_PENDING) {
+            myPending.add(new Trace(thePressNanos, theAppliedNanos, snapshot.getVersion()));
+        }
+    }
+
+    /**
+     * Records that a view received the frame of a snapshot.
+     *
+     * @param theVersion the version of the snapshot.
+     */
+    public synchronized void frameReceived(final long theVersion) {
+        final long now = System.nanoTime();
+        for (final Trace trace : myPending) {
+            if (trace.myVersion <= theVersion && trace.myReceived == 0) {
+                trace.myReceived = now;
+            }
+        }
+    }
+
+    /**
+     * Records that a view finished painting the frame of a snapshot,
+     * which completes every press shown by it.
+     *
+     * @param theVersion the version of the snapshot.
+     */
+    public synchronized void framePainted(final long theVersion) {
+        final long now = System.nanoTime();
+        Trace trace = myPending.peek();
+        while (trace != null && trace.myVersion <= theVersion) {
+            myPending.remove();
+            long received = trace.myReceived;
+            if (received == 0) {
+                received = now;
+            }
+            myEngine.record(trace.myApplied - trace.myPressed);
+            myDispatch.record(received - trace.myApplied);
+            myPaint.record(now - received);
+            myTotal.record(now - trace.myPressed);
+            trace = myPending.peek();
+        }
+    }
+
+    /**
+     * Returns a one line summary for the overlay.
+     *
+     * @return the median and 99th percentile of the total latency.
+     */
+    public synchronized String getSummary() {
+        return String.format("input p50 %.1f ms  p99 %.1f ms  n=%d",
+                myTotal.getPercentile(50) / NANOS_PER_MILLI,
+                myTotal.getPercentile(99) / NANOS_PER_MILLI, myTotal.getCount());
+    }
+
+    /**
+     * Returns the full statistics of every stage.
+     *
+     * @return one line per stage.
+     */
+    public synchronized String getReport() {
+        return "input latency\nengine: " + myEngine + "\ndispatch: " + myDispatch
+               + "\npaint: " + myPaint + "\ntotal: " + myTotal;
+    }
+
+    /**
+     * The timestamps of one press.
+     */
+    private static final class Trace {
+
+        /**
+         * When the key event arrived.
+         */
+        private final long myPressed;
+
+        /**
+         * When the press was applied to the board.
+         */
+        private final long myApplied;
+
+        /**
+         * The version of the snapshot the press produced.
+         */
+        private final long myVersion;
+
+        /**
+         * When a view received the frame, or 0.
+         */
+        private long myReceived;
+
+        /**
+         * Creates a trace.
+         *
+         * @param thePressed when the key event arrived.
+         * @param theApplied when the press was applied.
+         * @param theVersion the version of the snapshot it produced.
+         */
+        private Trace(final long thePressed, final long theApplied, final long theVersion) {
+            myPressed = thePressed;
+            myApplied = theApplied;
+            myVersion = theVersion;
+        }
+    }
+}
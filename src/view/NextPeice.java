@@ -1,6 +1,4 @@
 package view;
-import static model.MyBoard.PROPERTY_NEXT_PIECE_CHANGE;
-
 
 import java.awt.BasicStroke;
 import java.awt.BorderLayout;
@@ -11,11 +9,7 @@ import java.awt.Graphics2D;
 import java.awt.RenderingHints;
 import java.awt.Shape;
 import java.awt.geom.Rectangle2D;
-import java.beans.PropertyChangeEvent;
-import java.beans.PropertyChangeListener;
 import javax.swing.JPanel;
-import model.Board;
-import model.MyBoard;
 import model.Point;
 import model.TetrisPiece;
 import view.colors.TetrisColorScheme;
@@ -28,7 +22,7 @@ import view.colors.TetrisColorSchemeDefault;
  * @author Khalid Rashid
  * @version autumn 2024
  */
-public class NextPeice extends JPanel implements PropertyChangeListener {
+public class NextPeice extends JPanel {
 
     /** Size of a single block in pixels. */
     private static final int BLOCK_SIZE = 20;
@@ -52,15 +46,16 @@ public class NextPeice extends JPanel implements PropertyChangeListener {
     /**
      * This lay's out the components.
      * Gets the next Tetris piece to be displayed.
+     *
+     * @param thePublisher The source of the frames whose next piece is displayed
      */
-    public NextPeice() {
+    public NextPeice(final FramePublisher thePublisher) {
         super();
         layoutComponents();
         myColorScheme = new TetrisColorSchemeDefault();
         // pass in the next test piece instead of T.
         myNextPiece = TetrisPiece.T;
-        final MyBoard ourBoard = Board.getInstance();
-        ourBoard.addPropertyChangeListener(this);
+        thePublisher.addFrameListener(this::setFrame);
     }
 
     /**
@@ -111,15 +106,14 @@ public class NextPeice extends JPanel implements PropertyChangeListener {
     }
 
     /**
-     * A property change Event that handles replacing the NextTetris Piece.
+     * Replaces the next Tetris piece with the one in the latest frame.
      *
-     * @param theEvent A PropertyChangeEvent object describing the event source
-     *          and the property that has changed.
+     * @param theFrame The latest frame
      */
-    @Override
-    public void propertyChange(final PropertyChangeEvent theEvent) {
-        if (PROPERTY_NEXT_PIECE_CHANGE.equals(theEvent.getPropertyName())) {
-            myNextPiece = (TetrisPiece) theEvent.getNewValue();
+    public void setFrame(final GameFrame theFrame) {
+        final TetrisPiece next = theFrame.board().getNextPiece();
+        if (next != null && next != myNextPiece) {
+            myNextPiece = next;
             repaint();
         }
     }
@@ -1,23 +1,15 @@
 package view;
 
-import static view.score.PropertyChangeEnabledScoring.PROPERTY_SCORE_CHANGE;
-import static view.score.PropertyChangeEnabledScoring.PROPERTY_LEVEL_CHANGE;
-import static view.score.PropertyChangeEnabledScoring.PROPERTY_CLEARED_LINE_CHANGE;
-import static view.score.PropertyChangeEnabledScoring.LineStats;
 import static view.colors.TetrisColorSchemeDefault.SCORE_BG_COLOR;
 import static view.colors.TetrisColorSchemeDefault.SCORE_FG_COLOR;
 import static view.colors.TetrisColorSchemeDefault.INSTRUCTIONS_FG_COLOR;
 
 import java.awt.Color;
 import java.awt.GridLayout;
-import java.beans.PropertyChangeEvent;
-import java.beans.PropertyChangeListener;
 import javax.swing.BorderFactory;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.SwingConstants;
-import view.score.PropertyChangeEnabledScoring;
-import view.score.ScoringSystem;
 
 /**
  * Represents the scoreboard panel for the Tetris game.
@@ -27,7 +19,7 @@ import view.score.ScoringSystem;
  * @author Balkirat Singh, Abdulrahman Hassan, Preston Sia
  * @version 1.2
  */
-public class ScoreBoard extends JPanel implements PropertyChangeListener {
+public class ScoreBoard extends JPanel {
     /**
      * Constant for the rows needed for the live scoreboard
      */
@@ -71,23 +63,20 @@ public class ScoreBoard extends JPanel implements PropertyChangeListener {
 
     /**
      * Constructs the scoreboard panel.
+     *
+     * @param thePublisher The source of the frames whose score is displayed
      */
-    public ScoreBoard() {
+    public ScoreBoard(final FramePublisher thePublisher) {
         super();
 
-        final PropertyChangeEnabledScoring scoringSystem = ScoringSystem.getInstance();
-        scoringSystem.addPropertyChangeListener(this);
-
-        myScoreLabel = new JLabel(SCORE_LABEL_TEXT + scoringSystem.getScore(),
-                SwingConstants.CENTER);
-        myLinesLabel = new JLabel(LINES_LABEL_TEXT + scoringSystem.getTotalLinesCleared(),
-                SwingConstants.CENTER);
-        myLevelLabel = new JLabel(LEVEL_LABEL_TEXT + scoringSystem.getLevel(),
-                SwingConstants.CENTER);
-        myNextLevelLabel = new JLabel(buildNextLevelText(scoringSystem.getNextLevelLines()),
-                SwingConstants.CENTER);
+        myScoreLabel = new JLabel("", SwingConstants.CENTER);
+        myLinesLabel = new JLabel("", SwingConstants.CENTER);
+        myLevelLabel = new JLabel("", SwingConstants.CENTER);
+        myNextLevelLabel = new JLabel("", SwingConstants.CENTER);
+        setFrame(thePublisher.getFrame());
 
         initialize();
+        thePublisher.addFrameListener(this::setFrame);
     }
 
     /**
@@ -173,19 +162,17 @@ public class ScoreBoard extends JPanel implements PropertyChangeListener {
         return s;
     }
 
-    @Override
-    public void propertyChange(final PropertyChangeEvent theEvent) {
-        if (PROPERTY_SCORE_CHANGE.equals(theEvent.getPropertyName())) {
-            myScoreLabel.setText(SCORE_LABEL_TEXT + theEvent.getNewValue());
-        }
-        if (PROPERTY_LEVEL_CHANGE.equals(theEvent.getPropertyName())) {
-            myLevelLabel.setText(LEVEL_LABEL_TEXT + theEvent.getNewValue());
-        }
-        if (PROPERTY_CLEARED_LINE_CHANGE.equals(theEvent.getPropertyName())) {
-            final LineStats stats = (LineStats) theEvent.getNewValue();
-            myLinesLabel.setText(LINES_LABEL_TEXT + stats.totalLines());
-            myNextLevelLabel.setText(buildNextLevelText(stats.nextLevelLines()));
-        }
+    /**
+     * Shows the score of the latest frame. Labels whose text does not change
+     * are not repainted.
+     *
+     * @param theFrame The latest frame
+     */
+    public void setFrame(final GameFrame theFrame) {
+        myScoreLabel.setText(SCORE_LABEL_TEXT + theFrame.score());
+        myLinesLabel.setText(LINES_LABEL_TEXT + theFrame.totalLines());
+        myLevelLabel.setText(LEVEL_LABEL_TEXT + theFrame.level());
+        myNextLevelLabel.setText(buildNextLevelText(theFrame.nextLevelLines()));
     }
 
 }
@@ -1,41 +1,42 @@
 package view;
 
-import static model.MyBoard.PROPERTY_GAME_OVER_STATE;
-import static model.MyBoard.PROPERTY_CURRENT_PIECE_CHANGE;
-import static model.MyBoard.PROPERTY_FROZEN_PIECES_CHANGE;
-
 import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Image;
+import java.awt.Rectangle;
 import java.awt.RenderingHints;
 import java.awt.Shape;
+import java.awt.Transparency;
 import java.awt.geom.Rectangle2D;
-import java.beans.PropertyChangeEvent;
-import java.beans.PropertyChangeListener;
+import java.awt.image.BufferedImage;
 import java.util.ArrayList;
 import java.util.List;
 import javax.swing.JPanel;
-import model.Block;
-import model.Board;
+import model.BoardSnapshot;
 import model.MovableTetrisPiece;
-import model.MyBoard;
 import model.MyMovableTetrisPiece;
+import model.PieceShape;
 import model.Point;
 import model.TetrisPiece;
 import view.colors.TetrisColorScheme;
 import view.colors.TetrisColorSchemeDefault;
+import view.jfr.BoardPaintEvent;
 
 
 /**
  * Panel representing the Tetris Board in the Tetris game.
+ * <p>
+ * The panel only reads the GameFrames handed to it on the event dispatch
+ * thread and never touches the board itself.
  *
  * @author Preston Sia
  * @version F2024_001
  */
-public class TetrisBoardPanel extends JPanel
-        implements PropertyChangeListener, ITetrisBoardPanel {
+public class TetrisBoardPanel extends JPanel implements ITetrisBoardPanel {
     /**
      * Default multiple for the width of the panel.
      * Multiply the block side length by this amount.
@@ -63,6 +64,21 @@ public class TetrisBoardPanel extends JPanel
      */
     public static final Color DEFAULT_BG_COLOR = Color.RED;
 
+    /**
+     * Height in pixels of the latency overlay at the top of the board.
+     */
+    private static final int OVERLAY_HEIGHT = 16;
+
+    /**
+     * Baseline of the latency overlay text in pixels.
+     */
+    private static final int OVERLAY_BASELINE = 12;
+
+    /**
+     * Left margin of the latency overlay text in pixels.
+     */
+    private static final int OVERLAY_MARGIN = 4;
+
 
     /**
      * Side length of the individual blocks in pixels.
@@ -80,85 +96,84 @@ public class TetrisBoardPanel extends JPanel
     private final int myBoardHeight;
 
     /**
-     * Indicates whether the game is over or not.
+     * The board snapshot being displayed.
      */
-    private boolean myGameOver;
+    private transient BoardSnapshot mySnapshot;
 
     /**
-     * Store the current piece for display.
+     * Show/hide ghost piece
      */
-    private MyMovableTetrisPiece myCurrentPiece;
+    private boolean myShowGhostPiece;
 
     /**
-     * Store all the frozen blocks.
+     * Boolean value to indicate whether to show gridlines.
      */
-    private List<Block[]> myFrozenBlocks;
+    private boolean myShowGridLines;
 
     /**
-     * Store the ghost piece.
+     * Store a color scheme to use for the Tetrominos
      */
-    private MyMovableTetrisPiece myGhostPiece;
+    private final TetrisColorScheme myColorScheme;
 
     /**
-     * Show/hide ghost piece
+     * Pre-rendered block images drawn from the color scheme.
      */
-    private boolean myShowGhostPiece;
+    private final transient BlockSprites myBlockSprites;
 
     /**
-     * Boolean value to indicate whether to show gridlines.
+     * Back buffer holding the background and the frozen blocks.
+     * Only the rows a new snapshot does not share with the old one are redrawn.
      */
-    private boolean myShowGridLines;
+    private transient BufferedImage myFrozenLayer;
 
     /**
-     * Store a color scheme to use for the Tetrominos
+     * Whether the whole frozen layer must be drawn again before use.
      */
-    private final TetrisColorScheme myColorScheme;
+    private boolean myFrozenLayerStale;
 
+    /**
+     * Translucent overlay holding the gridlines, drawn once per board size.
+     */
+    private transient BufferedImage myGridLayer;
 
     /**
-     * Constructor to configure the Tetris board
-     * using the defaults specified in the static fields.
+     * Measures input latency, or null.
      */
-    public TetrisBoardPanel() {
-        this(DEFAULT_BLOCK_WIDTH,
-                Board.getInstance().getWidth(), Board.getInstance().getHeight());
-    }
+    private transient InputLatencyMonitor myLatencyMonitor;
+
 
     /**
      * Constructor to configure the Tetris board
-     * with just the block length. Defaults specified
-     * above will be used for block length and width.
+     * using the default block length specified in the static fields.
      *
-     * @param theBlockLengthPX Length of a block in pixels
+     * @param thePublisher The source of the frames to display
      */
-    public TetrisBoardPanel(final int theBlockLengthPX) {
-        this(theBlockLengthPX,
-                Board.getInstance().getWidth(), Board.getInstance().getHeight());
+    public TetrisBoardPanel(final FramePublisher thePublisher) {
+        this(thePublisher, DEFAULT_BLOCK_WIDTH);
     }
 
     /**
      * Constructor to configure dimensions and other attributes
-     * related to the Tetris board. Takes the length and width
-     * of the board, and the side length of a block in pixels.
+     * related to the Tetris board. The length and width
+     * of the board are taken from the latest frame.
      *
+     * @param thePublisher The source of the frames to display
      * @param theBlockLengthPX Length of a block in pixels
-     * @param theBoardWidth Width of the board in blocks
-     * @param theBoardHeight Height of the board in blocks
      */
-    private TetrisBoardPanel(final int theBlockLengthPX,
-                            final int theBoardWidth, final int theBoardHeight) {
+    public TetrisBoardPanel(final FramePublisher thePublisher, final int theBlockLengthPX) {
         super();
 
+        mySnapshot = thePublisher.getFrame().board();
         myBlockWidthPX = theBlockLengthPX;
-        myBoardWidth = theBoardWidth;
-        myBoardHeight = theBoardHeight;
+        myBoardWidth = mySnapshot.getWidth();
+        myBoardHeight = mySnapshot.getHeight();
 
         myColorScheme = new TetrisColorSchemeDefault();
+        myBlockSprites = new BlockSprites(myColorScheme, myBlockWidthPX);
 
         callConstructorHelperMethod();
 
-        final MyBoard ourBoard = Board.getInstance();
-        ourBoard.addPropertyChangeListener(this);
+        thePublisher.addFrameListener(this::setFrame);
     }
 
     /**
@@ -167,8 +182,8 @@ public class TetrisBoardPanel extends JPanel
      */
     private void callConstructorHelperMethod() {
         myShowGridLines = false;
-        myGameOver = true;
         myShowGhostPiece = false;
+        myFrozenLayerStale = true;
 
         layoutComponents();
     }
@@ -198,6 +213,12 @@ public class TetrisBoardPanel extends JPanel
         repaint();
     }
 
+    @Override
+    public void setLatencyMonitor(final InputLatencyMonitor theMonitor) {
+        myLatencyMonitor = theMonitor;
+        repaint();
+    }
+
 
     /**
      * Configure the layout the components of the Tetris board
@@ -210,19 +231,22 @@ public class TetrisBoardPanel extends JPanel
 
     @Override
     public void paintComponent(final Graphics theGraphics) {
+        final BoardPaintEvent event = new BoardPaintEvent();
+        event.begin();
         // *** BOILERPLATE ***
         super.paintComponent(theGraphics);
         final Graphics2D g2d = (Graphics2D) theGraphics;
 
-        // for better graphics display
+        // blocks are axis aligned images, so antialiasing only costs time
         g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
-                            RenderingHints.VALUE_ANTIALIAS_ON);
+                            RenderingHints.VALUE_ANTIALIAS_OFF);
 
         // *** CODE FOR TETROMINOS ***
         // note - code for game splash and game over has been moved to PauseEndPanel
 
-        paintHelperDrawGamePiece(g2d);
+        // the frozen layer is opaque, so it goes first
         paintHelperDrawGameFrozen(g2d);
+        paintHelperDrawGamePiece(g2d);
 
         if (myShowGhostPiece) {
             paintHelperGhostPiece(g2d);
@@ -232,6 +256,18 @@ public class TetrisBoardPanel extends JPanel
         if (myShowGridLines) {
             paintHelperDrawGridlines(g2d);
         }
+
+        if (myLatencyMonitor != null) {
+            myLatencyMonitor.framePainted(mySnapshot.getVersion());
+            g2d.setColor(Color.WHITE);
+            g2d.drawString(myLatencyMonitor.getSummary(), OVERLAY_MARGIN, OVERLAY_BASELINE);
+        }
+
+        Rectangle clip = g2d.getClipBounds();
+        if (clip == null) {
+            clip = new Rectangle(getWidth(), getHeight());
+        }
+        event.finish(mySnapshot.getVersion(), clip.width, clip.height);
     }
 
     /**
@@ -241,17 +277,22 @@ public class TetrisBoardPanel extends JPanel
      * @param theGraphics A Graphics2D object used as a drawing canvas.
      */
     private void paintHelperDrawGridlines(final Graphics2D theGraphics) {
-        theGraphics.setStroke(new BasicStroke(1));
-        theGraphics.setPaint(TetrisColorSchemeDefault.BORDER_COLOR);
-        for (int i = 0; i < myBoardWidth; i++) {
-            for (int j = 0; j < myBoardHeight; j++) {
-                final Shape gridRect = new Rectangle2D.Double(
-                        i * myBlockWidthPX, j * myBlockWidthPX,
-                        myBlockWidthPX, myBlockWidthPX
-                );
-                theGraphics.draw(gridRect);
+        final int width = myBoardWidth * myBlockWidthPX;
+        final int height = myBoardHeight * myBlockWidthPX;
+        if (myGridLayer == null
+            || myGridLayer.getWidth() != width || myGridLayer.getHeight() != height) {
+            myGridLayer = createLayer(Transparency.TRANSLUCENT);
+            final Graphics2D g2d = myGridLayer.createGraphics();
+            g2d.setPaint(TetrisColorSchemeDefault.BORDER_COLOR);
+            for (int i = 0; i <= myBoardWidth; i++) {
+                g2d.drawLine(i * myBlockWidthPX, 0, i * myBlockWidthPX, height);
             }
+            for (int j = 0; j <= myBoardHeight; j++) {
+                g2d.drawLine(0, j * myBlockWidthPX, width, j * myBlockWidthPX);
+            }
+            g2d.dispose();
         }
+        theGraphics.drawImage(myGridLayer, 0, 0, null);
     }
 
     private void paintHelperDrawPiecesDebug(final Graphics2D theGraphics) {
@@ -299,147 +340,250 @@ public class TetrisBoardPanel extends JPanel
     }
 
     private void paintHelperDrawGamePiece(final Graphics2D theGraphics) {
-        if (myCurrentPiece != null) {
-            final Point[] piecePoints = myCurrentPiece.getBoardPoints();
+        final PieceShape shape = mySnapshot.getPieceShape();
+        if (shape != null) {
+            drawPiece(theGraphics, shape,
+                      myBlockSprites.getSprite(mySnapshot.getPiece().getBlock()),
+                      mySnapshot.getPieceY());
+        }
+    }
 
-            for (final Point block : piecePoints) {
-                final int xCoord = block.x() * myBlockWidthPX;
-                final int yCoord = (myBoardHeight - block.y() - 1) * myBlockWidthPX;
+    private void paintHelperDrawGameFrozen(final Graphics2D theGraphics) {
+        if (myFrozenLayer == null) {
+            myFrozenLayer = createLayer(Transparency.OPAQUE);
+            myFrozenLayerStale = true;
+        }
+        if (myFrozenLayerStale) {
+            final Graphics2D g2d = myFrozenLayer.createGraphics();
+            for (int y = 0; y < myBoardHeight; y++) {
+                redrawFrozenRow(g2d, y);
+            }
+            g2d.dispose();
+            myFrozenLayerStale = false;
+        }
+        // the graphics clip limits this to the dirty region
+        theGraphics.drawImage(myFrozenLayer, 0, 0, null);
+    }
 
-                final Shape rect = new Rectangle2D.Double(
-                        xCoord, yCoord, myBlockWidthPX, myBlockWidthPX
-                );
+    /**
+     * Creates an image the size of the board, in the screen's format when the
+     * panel is on a screen.
+     *
+     * @param theTransparency Transparency.OPAQUE or Transparency.TRANSLUCENT
+     * @return A new image the size of the board
+     */
+    private BufferedImage createLayer(final int theTransparency) {
+        final int width = myBoardWidth * myBlockWidthPX;
+        final int height = myBoardHeight * myBlockWidthPX;
+        final GraphicsConfiguration config = getGraphicsConfiguration();
+        final BufferedImage image;
+        if (config != null) {
+            image = config.createCompatibleImage(width, height, theTransparency);
+        } else if (theTransparency == Transparency.OPAQUE) {
+            image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        } else {
+            image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        }
+        return image;
+    }
 
-                theGraphics.setStroke(new BasicStroke(DEFAULT_STROKE));
-                theGraphics.setPaint(myColorScheme.getColor(myCurrentPiece.getTetrisPiece()));
-                theGraphics.fill(rect);
-                theGraphics.setPaint(TetrisColorSchemeDefault.BORDER_COLOR);
-                theGraphics.draw(rect);
-            }
+    /**
+     * Draws the background and frozen blocks of a row of the current
+     * snapshot into the frozen layer.
+     *
+     * @param theGraphics The graphics of the frozen layer.
+     * @param theY The row to draw, 0 at the bottom.
+     */
+    private void redrawFrozenRow(final Graphics2D theGraphics, final int theY) {
+        final Rectangle bounds = rowBounds(theY);
+        theGraphics.setPaint(TetrisColorSchemeDefault.BACKGROUND_COLOR);
+        theGraphics.fillRect(bounds.x, bounds.y, bounds.width, bounds.height);
+        int mask = mySnapshot.getRowMask(theY);
+        while (mask != 0) {
+            final int x = Integer.numberOfTrailingZeros(mask);
+            drawCell(theGraphics, myBlockSprites.getSprite(mySnapshot.getBlock(x, theY)),
+                     x, theY);
+            mask &= mask - 1;
         }
     }
 
-    private void paintHelperDrawGameFrozen(final Graphics2D theGraphics) {
-        if (myFrozenBlocks != null && !myFrozenBlocks.isEmpty()) {
-            for (int i = 0; i < myFrozenBlocks.size(); i++) {
-                for (int j = 0; j < myFrozenBlocks.get(i).length; j++) {
-
-                    if (myFrozenBlocks.get(i)[j] != null) {
-                        final int xCoord = j * myBlockWidthPX;
-                        final int yCoord = (myBoardHeight - i - 1) * myBlockWidthPX;
-
-                        final Shape rect = new Rectangle2D.Double(
-                                xCoord, yCoord, myBlockWidthPX, myBlockWidthPX
-                        );
-
-                        theGraphics.setStroke(new BasicStroke(DEFAULT_STROKE));
-                        theGraphics.setPaint(myColorScheme.getColor(myFrozenBlocks.get(i)[j]));
-                        theGraphics.fill(rect);
-                        theGraphics.setPaint(TetrisColorSchemeDefault.BORDER_COLOR);
-                        theGraphics.draw(rect);
+    /**
+     * Redraws the rows of the frozen layer that the current snapshot does not
+     * share with the previous one, and returns the part of the panel that changed.
+     *
+     * @param thePrevious The snapshot displayed before the current one.
+     * @return The changed region in panel coordinates, or null if nothing changed.
+     */
+    private Rectangle updateFrozenLayer(final BoardSnapshot thePrevious) {
+        Rectangle dirty = null;
+        if (!mySnapshot.sharesFrozenBlocks(thePrevious)) {
+            final boolean draw = myFrozenLayer != null && !myFrozenLayerStale;
+            Graphics2D g2d = null;
+            if (draw) {
+                g2d = myFrozenLayer.createGraphics();
+            }
+            for (int y = 0; y < myBoardHeight; y++) {
+                if (!mySnapshot.sharesRow(thePrevious, y)) {
+                    dirty = union(dirty, rowBounds(y));
+                    if (draw) {
+                        redrawFrozenRow(g2d, y);
                     }
-
                 }
             }
+            if (draw) {
+                g2d.dispose();
+            }
         }
+        return dirty;
     }
 
     private void paintHelperGhostPiece(final Graphics2D theGraphics) {
-        if (myGhostPiece != null) {
-            final Point[] piecePoints = myGhostPiece.getBoardPoints();
-
-            for (final Point block : piecePoints) {
-                final int xCoord = block.x() * myBlockWidthPX;
-                final int yCoord = (myBoardHeight - block.y() - 1) * myBlockWidthPX;
-
-                final Shape rect = new Rectangle2D.Double(
-                        xCoord, yCoord, myBlockWidthPX, myBlockWidthPX
-                );
+        final PieceShape shape = mySnapshot.getPieceShape();
+        if (shape != null) {
+            drawPiece(theGraphics, shape, myBlockSprites.getGhostSprite(),
+                      mySnapshot.getGhostY());
+        }
+    }
 
-                theGraphics.setStroke(new BasicStroke(DEFAULT_STROKE));
-                theGraphics.setPaint(TetrisColorSchemeDefault.GHOST_BORDER_COLOR);
-                theGraphics.draw(rect);
-            }
+    /**
+     * Draws the falling piece of the current snapshot, or its ghost, at a row.
+     *
+     * @param theGraphics A Graphics2D object used as a drawing canvas.
+     * @param theShape The footprint of the piece.
+     * @param theSprite The block image to draw.
+     * @param theY The y coordinate of the piece origin.
+     */
+    private void drawPiece(final Graphics2D theGraphics, final PieceShape theShape,
+                           final Image theSprite, final int theY) {
+        for (int i = 0; i < theShape.getBlockCount(); i++) {
+            drawCell(theGraphics, theSprite, mySnapshot.getPieceX() + theShape.getBlockX(i),
+                     theY + theShape.getBlockY(i));
         }
     }
 
     /**
-     * Get the offset used to horizontally center a Tetris piece.
-     * @return The x-coordinate in blocks
+     * Draws a block image at a board cell.
+     *
+     * @param theGraphics A Graphics2D object used as a drawing canvas.
+     * @param theSprite The block image, or null to draw nothing.
+     * @param theX The column of the cell.
+     * @param theY The row of the cell, 0 at the bottom.
      */
-    private int getHorizontalCenterOffset(final TetrisPiece thePiece) {
-        final double divisor = 2.0;
-        return (myBoardWidth / 2) - (int) Math.ceil(thePiece.getWidth() / divisor);
+    private void drawCell(final Graphics2D theGraphics, final Image theSprite,
+                          final int theX, final int theY) {
+        if (theSprite != null) {
+            theGraphics.drawImage(theSprite, theX * myBlockWidthPX,
+                    (myBoardHeight - theY - 1) * myBlockWidthPX, null);
+        }
     }
 
+    /**
+     * Returns the panel region covered by a board cell.
+     *
+     * @param theX The column of the cell.
+     * @param theY The row of the cell, 0 at the bottom.
+     * @return The bounds of the cell in panel coordinates.
+     */
+    private Rectangle cellBounds(final int theX, final int theY) {
+        return new Rectangle(theX * myBlockWidthPX,
+                (myBoardHeight - theY - 1) * myBlockWidthPX, myBlockWidthPX, myBlockWidthPX);
+    }
 
-    // *** PROPERTY CHANGE LISTENERS ***
-    @Override
-    public void propertyChange(final PropertyChangeEvent theEvent) {
-        if (PROPERTY_GAME_OVER_STATE.equals(theEvent.getPropertyName())) {
-            propGameOverCheck((boolean) theEvent.getNewValue());
-        }
-        if (PROPERTY_CURRENT_PIECE_CHANGE.equals(theEvent.getPropertyName())) {
-            propCurrentPieceChange((MyMovableTetrisPiece) theEvent.getOldValue(),
-                                    (MyMovableTetrisPiece) theEvent.getNewValue());
-        }
+    /**
+     * Returns the panel region covered by a board row.
+     *
+     * @param theY The row, 0 at the bottom.
+     * @return The bounds of the row in panel coordinates.
+     */
+    private Rectangle rowBounds(final int theY) {
+        return new Rectangle(0, (myBoardHeight - theY - 1) * myBlockWidthPX,
+                myBoardWidth * myBlockWidthPX, myBlockWidthPX);
+    }
 
-        if (PROPERTY_FROZEN_PIECES_CHANGE.equals(theEvent.getPropertyName())) {
-            final List<?> newValCast;
-            final List<Block[]> blockList = new ArrayList<>();
-
-            if (theEvent.getNewValue() instanceof List) {
-                newValCast = (List<?>) theEvent.getNewValue();
-                // ensures all values are of type Block[] and ensures that
-                // the list used by the board class itself isn't modified down the road.
-                for (final Object o : newValCast) {
-                    if (o instanceof Block[]) {
-                        blockList.add((Block[]) o);
-                    }
-                }
-                propFrozenPieceChange(blockList);
+    /**
+     * Adds the cells of the falling piece of a snapshot, placed at a row,
+     * to a dirty region.
+     *
+     * @param theDirty The dirty region so far, or null.
+     * @param theSnapshot The snapshot holding the piece.
+     * @param theY The y coordinate of the piece origin.
+     * @return The enlarged dirty region, or theDirty if there is no piece.
+     */
+    private Rectangle addPiece(final Rectangle theDirty, final BoardSnapshot theSnapshot,
+                               final int theY) {
+        Rectangle dirty = theDirty;
+        final PieceShape shape = theSnapshot.getPieceShape();
+        if (shape != null) {
+            for (int i = 0; i < shape.getBlockCount(); i++) {
+                dirty = union(dirty, cellBounds(theSnapshot.getPieceX() + shape.getBlockX(i),
+                                                theY + shape.getBlockY(i)));
             }
-
         }
-
+        return dirty;
     }
 
-    private void propGameOverCheck(final boolean theGameOver) {
-        if (!theGameOver) {
-            myGameOver = false;
-            myFrozenBlocks = null;
-            repaint();
-        } else {
-            myGameOver = true;
-
-            repaint();
+    /**
+     * Returns the union of two regions, either of which may be null.
+     *
+     * @param theFirst The first region, or null.
+     * @param theSecond The second region, never null.
+     * @return The smallest Rectangle containing both regions.
+     */
+    private static Rectangle union(final Rectangle theFirst, final Rectangle theSecond) {
+        Rectangle result = theSecond;
+        if (theFirst != null) {
+            result = theFirst.union(theSecond);
         }
-
+        return result;
     }
 
-    private void propCurrentPieceChange(final MyMovableTetrisPiece theOldPiece,
-                                     final MyMovableTetrisPiece theNewPiece) {
-        if (theNewPiece != null) {
-            myCurrentPiece = theNewPiece;
+    /**
+     * Repaints a region of the panel.
+     *
+     * @param theDirty The region to repaint, or null to repaint nothing.
+     */
+    private void repaintRegion(final Rectangle theDirty) {
+        if (theDirty != null) {
+            repaint(theDirty);
         }
+    }
 
-        final GhostCalc gc = new TetrisGhostCalc(
-                myFrozenBlocks, myCurrentPiece, myBoardWidth, myBoardHeight);
-
-        myGhostPiece = gc.getGhost();
-
-        repaint();
+    /**
+     * Get the offset used to horizontally center a Tetris piece.
+     * @return The x-coordinate in blocks
+     */
+    private int getHorizontalCenterOffset(final TetrisPiece thePiece) {
+        final double divisor = 2.0;
+        return (myBoardWidth / 2) - (int) Math.ceil(thePiece.getWidth() / divisor);
     }
 
-    private void propFrozenPieceChange(final List<Block[]> theBlocks) {
-        if (theBlocks != null) {
-            myFrozenBlocks = theBlocks;
 
-            // remove current piece and ghost piece, will hopefully remove latent pieces
-            myCurrentPiece = null;
-            myGhostPiece = null;
-        }
+    // *** FRAME UPDATES ***
 
-        repaint();
+    /**
+     * Shows a new frame. Only the rows of frozen blocks the new snapshot does
+     * not share with the old one, and the cells the piece and its ghost leave
+     * or enter, are repainted.
+     *
+     * @param theFrame The latest frame
+     */
+    public void setFrame(final GameFrame theFrame) {
+        final BoardSnapshot previous = mySnapshot;
+        if (theFrame.board() != previous) {
+            mySnapshot = theFrame.board();
+            Rectangle dirty = updateFrozenLayer(previous);
+            dirty = addPiece(dirty, previous, previous.getPieceY());
+            dirty = addPiece(dirty, mySnapshot, mySnapshot.getPieceY());
+            if (myShowGhostPiece) {
+                // the ghost is only worked out when a snapshot is asked for it
+                dirty = addPiece(dirty, previous, previous.getGhostY());
+                dirty = addPiece(dirty, mySnapshot, mySnapshot.getGhostY());
+            }
+            if (myLatencyMonitor != null) {
+                myLatencyMonitor.frameReceived(mySnapshot.getVersion());
+                repaint(0, 0, getWidth(), OVERLAY_HEIGHT);
+            }
+            repaintRegion(dirty);
+        }
     }
 }
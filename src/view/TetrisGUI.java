@@ -5,13 +5,25 @@ import static model.MyBoard.PROPERTY_NEXT_PIECE_CHANGE;
 import static view.score.ScoringSystem.PROPERTY_LEVEL_CHANGE;
 
 import java.awt.Color;
+import java.awt.Component;
 import java.awt.Dimension;
 import java.awt.event.ActionListener;
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
+import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
 import java.beans.PropertyChangeEvent;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
 import javax.swing.BoxLayout;
+import javax.swing.JComponent;
+import javax.swing.JFileChooser;
 import javax.swing.JFrame;
 import javax.swing.JLayeredPane;
 import javax.swing.JMenu;
@@ -19,10 +31,20 @@ import javax.swing.JMenuBar;
 import javax.swing.JMenuItem;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
-import javax.swing.Timer;
+import javax.swing.SwingUtilities;
 import javax.swing.border.LineBorder;
+import javax.swing.filechooser.FileNameExtensionFilter;
 import model.Board;
+import model.GameLoop;
+import model.InputController;
+import model.InputController.Action;
 import model.MyBoard;
+import model.ai.AutoPlayer;
+import model.ai.BeamSearch;
+import model.replay.GeneratorKind;
+import model.replay.Replay;
+import model.replay.ReplayPlayer;
+import model.replay.ReplayRecorder;
 import view.score.PropertyChangeEnabledScoring;
 import view.score.ScoringSystem;
 
@@ -45,23 +67,56 @@ public final class TetrisGUI extends JPanel {
     /** Label for the about dialog box */
     private static final String ABOUT_HARDMODE = "About Hard Mode";
 
-    /** Default Time Delay for Tetris Game in milliseconds. */
-    private static final int DEFAULT_TIME_DELAY = 500;
-
-    /** Default Time interval step for increasing/decreasing speed in milliseconds. */
-    private static final int DEFAULT_TIME_STEP = 20;
-
     /** Fixed file path for my Tetris background music */
     private static final String FILE_PATH = "src/view/sound/m1.wav";
 
     /** Label for the about dialog box */
     private static final String HIGH_SCORES = "High Scores:\n";
 
+    /** System property that selects the board renderer. */
+    private static final String RENDERER_PROPERTY = "tetris.renderer";
+
+    /** Value of the renderer property that selects active rendering. */
+    private static final String RENDERER_ACTIVE = "active";
+
+    /** System property that turns on input latency measurement. */
+    private static final String LATENCY_PROPERTY = "tetris.latency";
+
+    /** Logger for the input latency report. */
+    private static final Logger LOGGER = Logger.getLogger(TetrisGUI.class.getName());
+
+    /** System property with the directory that game replays are saved to. */
+    private static final String REPLAY_PROPERTY = "tetris.replays";
+
+    /** File name extension of replay files. */
+    private static final String REPLAY_EXTENSION = "trpl";
+
+    /** System property with the delayed auto shift in milliseconds. */
+    private static final String DAS_PROPERTY = "tetris.das";
+
+    /** System property with the auto repeat rate in milliseconds. */
+    private static final String ARR_PROPERTY = "tetris.arr";
+
+    /** System property with the beam width of the autoplayer. */
+    private static final String BOT_BEAM_PROPERTY = "tetris.bot.beam";
+
+    /** System property with the search depth of the autoplayer. */
+    private static final String BOT_DEPTH_PROPERTY = "tetris.bot.depth";
+
+    /** System property with the time the autoplayer takes per piece in milliseconds. */
+    private static final String BOT_DELAY_PROPERTY = "tetris.bot.delay";
+
+    /** Default time the autoplayer takes per piece in milliseconds. */
+    private static final long DEFAULT_BOT_DELAY = 150;
+
     /** Music player for background music. */
     private final MusicPlayer myMusicPlayer;
 
     /** The Tetris Board Panel. */
-    private final TetrisBoardPanel myBoardPanel;
+    private final transient ITetrisBoardPanel myBoardPanel;
+
+    /** The component that displays the board. */
+    private final Component myBoardView;
 
     /** The Next Piece Panel. */
     private final NextPeice myNextPeicePanel;
@@ -70,7 +125,7 @@ public final class TetrisGUI extends JPanel {
     private final ScoreBoard myScoreBoardPanel;
 
     /** The Scoring System Class. */
-    private PropertyChangeEnabledScoring myScoreSystem;
+    private final PropertyChangeEnabledScoring myScoreSystem;
 
     /** The Pause and Game Over Panel. */
     private final PauseEndPanel myPauseEndPanel;
@@ -81,8 +136,23 @@ public final class TetrisGUI extends JPanel {
     /** The primary model object using the Board interface. */
     private final MyBoard myBoard;
 
-    /** The game timer controlling the game loop. */
-    private final Timer myTimer;
+    /** Hands the latest frame of the game to the panels. */
+    private final transient FramePublisher myFramePublisher;
+
+    /** The game loop that runs gravity and every operation on the board. */
+    private final transient GameLoop myGameLoop;
+
+    /** Records every game to a replay file, or null if not recording. */
+    private final transient ReplayRecorder myReplayRecorder;
+
+    /** Plays a replay on the board, or null when none is playing. */
+    private transient ReplayPlayer myReplayPlayer;
+
+    /** Plays the game when autoplay is on. */
+    private final transient AutoPlayer myAutoPlayer;
+
+    /** Whether autoplay was on during the current game. */
+    private boolean myAutoPlayed;
 
     /** Boolean value indicates if the game is over or not. */
     private boolean myGameOver;
@@ -106,26 +176,220 @@ public final class TetrisGUI extends JPanel {
         super();
         myFrame = new JFrame(theTitle);
         myBoard = Board.getInstance(); // Factory method
-
-        myBoardPanel = new TetrisBoardPanel();
-        myNextPeicePanel = new NextPeice();
-        myScoreBoardPanel = new ScoreBoard();
+        // the score and the frames are updated on the game loop thread with the board
+        myScoreSystem = new ScoringSystem(myBoard);
+        myFramePublisher = new FramePublisher(myBoard, myScoreSystem);
+        // the game loop operates the board, so other listeners are called on the EDT
+        myBoard.setListenerExecutor(SwingUtilities::invokeLater);
+
+        if (RENDERER_ACTIVE.equals(System.getProperty(RENDERER_PROPERTY))) {
+            final ActiveBoardCanvas canvas = new ActiveBoardCanvas(myBoard);
+            myBoardPanel = canvas;
+            myBoardView = canvas;
+        } else {
+            final TetrisBoardPanel panel = new TetrisBoardPanel(myFramePublisher);
+            myBoardPanel = panel;
+            myBoardView = panel;
+        }
+        myNextPeicePanel = new NextPeice(myFramePublisher);
+        myScoreBoardPanel = new ScoreBoard(myFramePublisher);
         myPauseEndPanel = new PauseEndPanel();
         myMusicPlayer = new MusicPlayer();
 
-        // Timer ticks on a certain interval and calls step() on the Board
-        myTimer = new Timer(DEFAULT_TIME_DELAY, e -> myBoard.step());
+        // The game loop steps the Board on its own thread at the speed of the level
+        myGameLoop = new GameLoop(myBoard);
+        configureInput(myGameLoop.getInput());
+        if (Boolean.getBoolean(LATENCY_PROPERTY)) {
+            addLatencyMonitor();
+        }
+        myReplayRecorder = createReplayRecorder();
+        myAutoPlayer = createAutoPlayer();
 
         callConstructorHelperMethods();
+        myGameLoop.start();
     }
 
 
+    /**
+     * Sets the delayed auto shift and auto repeat rate from the system
+     * properties tetris.das and tetris.arr, given in milliseconds.
+     *
+     * @param theInput the input controller of the game loop.
+     */
+    private static void configureInput(final InputController theInput) {
+        final TimeUnit ms = TimeUnit.MILLISECONDS;
+        theInput.setDelayedAutoShift(ms.toNanos(Long.getLong(DAS_PROPERTY,
+                ms.convert(InputController.DEFAULT_DAS_NANOS, TimeUnit.NANOSECONDS))));
+        theInput.setAutoRepeatRate(ms.toNanos(Long.getLong(ARR_PROPERTY,
+                ms.convert(InputController.DEFAULT_ARR_NANOS, TimeUnit.NANOSECONDS))));
+    }
+
+    /**
+     * Creates the autoplayer from the system properties tetris.bot.beam,
+     * tetris.bot.depth and tetris.bot.delay. It only plays while the game
+     * loop is not paused.
+     *
+     * @return the stopped autoplayer.
+     */
+    private AutoPlayer createAutoPlayer() {
+        final int beamWidth = Integer.getInteger(BOT_BEAM_PROPERTY,
+                                                 BeamSearch.DEFAULT_BEAM_WIDTH);
+        final BeamSearch search = BeamSearch.builder(myBoard.getWidth(), myBoard.getHeight())
+                .beamWidth(beamWidth)
+                .depth(Integer.getInteger(BOT_DEPTH_PROPERTY, BeamSearch.DEFAULT_DEPTH))
+                .build();
+        final AutoPlayer player = new AutoPlayer(myBoard, command -> myGameLoop.execute(() -> {
+            if (!myGameLoop.isPaused()) {
+                command.run();
+            }
+        }), search);
+        player.setPieceDelay(TimeUnit.MILLISECONDS.toNanos(
+                Long.getLong(BOT_DELAY_PROPERTY, DEFAULT_BOT_DELAY)));
+        return player;
+    }
+
+    /**
+     * Turns autoplay on or off. A game that autoplay took part in does not
+     * get a high score.
+     */
+    private void toggleAutoPlay() {
+        if (myAutoPlayer.isRunning()) {
+            myAutoPlayer.stop();
+        } else {
+            myAutoPlayed = true;
+            myAutoPlayer.start();
+        }
+    }
+
+    /**
+     * Records every game to the directory named by the system property
+     * tetris.replays, if it is set. Called before the game loop starts.
+     *
+     * @return the started recorder, or null if replays are not recorded.
+     */
+    private ReplayRecorder createReplayRecorder() {
+        final String directory = System.getProperty(REPLAY_PROPERTY);
+        ReplayRecorder recorder = null;
+        if (directory != null) {
+            final Path path = Path.of(directory);
+            // replays are handed over on the game loop thread, so they are written elsewhere
+            recorder = new ReplayRecorder(myBoard, GeneratorKind.UNIFORM, replay ->
+                    ForkJoinPool.commonPool().execute(() -> saveReplay(path, replay)));
+            recorder.start();
+        }
+        return recorder;
+    }
+
+    /**
+     * Writes a replay to a new file in a directory.
+     *
+     * @param theDirectory the directory.
+     * @param theReplay the replay.
+     */
+    private static void saveReplay(final Path theDirectory, final Replay theReplay) {
+        final Path file = theDirectory.resolve("replay-" + System.currentTimeMillis() + "-"
+                + Long.toHexString(theReplay.getSeed()) + "." + REPLAY_EXTENSION);
+        try {
+            Files.createDirectories(theDirectory);
+            try (OutputStream out = Files.newOutputStream(file)) {
+                theReplay.write(out);
+            }
+        } catch (final IOException e) {
+            LOGGER.warning("Unable to save replay " + file + ": " + e);
+        }
+    }
+
+    /**
+     * Lets the user choose a replay file and plays it on the board in real
+     * time. Only allowed while no game is in progress.
+     */
+    private void watchReplay() {
+        if (myGameOver) {
+            final JFileChooser chooser = new JFileChooser(System.getProperty(REPLAY_PROPERTY));
+            chooser.setFileFilter(new FileNameExtensionFilter("Tetris replays",
+                                                              REPLAY_EXTENSION));
+            if (chooser.showOpenDialog(myFrame) == JFileChooser.APPROVE_OPTION) {
+                final Path file = chooser.getSelectedFile().toPath();
+                try (InputStream in = Files.newInputStream(file)) {
+                    playReplay(Replay.read(in));
+                } catch (final IOException | IllegalArgumentException e) {
+                    JOptionPane.showMessageDialog(myFrame, "Unable to play the replay: "
+                            + e.getMessage(), "Watch Replay", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        } else {
+            JOptionPane.showMessageDialog(myFrame, "End the current game first.",
+                    "Watch Replay", JOptionPane.INFORMATION_MESSAGE);
+        }
+    }
+
+    /**
+     * Plays a replay on the board. Gravity stays paused, because the replay
+     * holds every gravity step, and the keys stay off because no game is in
+     * progress.
+     *
+     * @param theReplay the replay.
+     */
+    private void playReplay(final Replay theReplay) {
+        stopReplay();
+        final ReplayPlayer player = new ReplayPlayer(theReplay, myBoard, myGameLoop);
+        if (myReplayRecorder != null) {
+            myReplayRecorder.setEnabled(false);
+        }
+        myGameLoop.setPaused(true);
+        myGameLoop.setLevel(1);
+        myReplayPlayer = player;
+        player.start(() -> SwingUtilities.invokeLater(() -> replayFinished(player)));
+    }
+
+    /**
+     * Cleans up after a replay played to the end.
+     *
+     * @param thePlayer the player that finished.
+     */
+    private void replayFinished(final ReplayPlayer thePlayer) {
+        if (myReplayPlayer == thePlayer) {
+            myReplayPlayer = null;
+            if (myReplayRecorder != null) {
+                myReplayRecorder.setEnabled(true);
+            }
+        }
+    }
+
+    /**
+     * Stops the replay that is playing, if any, and turns recording back on.
+     */
+    private void stopReplay() {
+        if (myReplayPlayer != null) {
+            myReplayPlayer.stop();
+            myReplayPlayer = null;
+        }
+        if (myReplayRecorder != null) {
+            myReplayRecorder.setEnabled(true);
+        }
+    }
+
+    /**
+     * Measures the latency from key press to painted frame, shows it over the
+     * board and logs it when the window closes.
+     */
+    private void addLatencyMonitor() {
+        final InputLatencyMonitor monitor = new InputLatencyMonitor(myBoard, myFramePublisher);
+        myGameLoop.getInput().setInputListener(monitor);
+        myBoardPanel.setLatencyMonitor(monitor);
+        myFrame.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(final WindowEvent theEvent) {
+                LOGGER.info(monitor.getReport());
+            }
+        });
+    }
+
     /**
      * Helper method to call necessary helper methods
      * when constructing a new GUI.
      */
     private void callConstructorHelperMethods() {
-        myScoreSystem = ScoringSystem.getInstance();
         buildMenu();
         layoutComponents();
         addListeners();
@@ -168,18 +432,23 @@ public final class TetrisGUI extends JPanel {
         final JMenuItem pauseGameItem = new JMenuItem("Pause/Resume");
         pauseGameItem.setMnemonic(KeyEvent.VK_P);
 
+        final JMenuItem watchReplayItem = new JMenuItem("Watch Replay...");
+        watchReplayItem.setMnemonic(KeyEvent.VK_W);
+
         final JMenuItem exitItem = new JMenuItem("Exit");
         exitItem.setMnemonic(KeyEvent.VK_X);
 
         newGameItem.addActionListener(e -> startNewGame());
         endGameItem.addActionListener(e -> endGame());
         pauseGameItem.addActionListener(theEvent -> togglePauseResume());
+        watchReplayItem.addActionListener(theEvent -> watchReplay());
         exitItem.addActionListener(theEvent ->
                 myFrame.dispatchEvent(new WindowEvent(myFrame, WindowEvent.WINDOW_CLOSING)));
 
         gameMenu.add(newGameItem);
         gameMenu.add(endGameItem);
         gameMenu.add(pauseGameItem);
+        gameMenu.add(watchReplayItem);
         gameMenu.addSeparator();
         gameMenu.add(exitItem);
 
@@ -206,11 +475,14 @@ public final class TetrisGUI extends JPanel {
                 KeyEvent.VK_I, e -> setHardMode(toggleGridLines, toggleGhostPiece));
         final JMenuItem musicToggleItem = createMenuItems("Music On/Off",
                 KeyEvent.VK_M, e -> toggleMusic());
+        final JMenuItem autoPlayItem = createMenuItems("Autoplay On/Off",
+                KeyEvent.VK_A, e -> toggleAutoPlay());
 
         optionsMenu.add(toggleGridLines);
         optionsMenu.add(toggleGhostPiece);
         optionsMenu.add(setHardMode);
         optionsMenu.add(musicToggleItem);
+        optionsMenu.add(autoPlayItem);
 
 
         return optionsMenu;
@@ -405,17 +677,19 @@ public final class TetrisGUI extends JPanel {
      */
     private JLayeredPane boardLayout() {
         final int borderSize = 3;
-        final Dimension boardSize = myBoardPanel.getPreferredSize();
+        final Dimension boardSize = myBoardView.getPreferredSize();
 
         final JLayeredPane layeredPane = new JLayeredPane();
         layeredPane.setPreferredSize(boardSize);
 
-        myBoardPanel.setBounds(0, 0, boardSize.width, boardSize.height);
-        layeredPane.add(myBoardPanel, JLayeredPane.DEFAULT_LAYER);
+        myBoardView.setBounds(0, 0, boardSize.width, boardSize.height);
+        layeredPane.add(myBoardView, JLayeredPane.DEFAULT_LAYER);
         myPauseEndPanel.setBounds(0, 0, boardSize.width, boardSize.height);
         layeredPane.add(myPauseEndPanel, JLayeredPane.PALETTE_LAYER);
 
-        myBoardPanel.setBorder(new LineBorder(Color.WHITE, borderSize));
+        if (myBoardView instanceof final JComponent component) {
+            component.setBorder(new LineBorder(Color.WHITE, borderSize));
+        }
 
         return layeredPane;
     }
@@ -439,6 +713,7 @@ public final class TetrisGUI extends JPanel {
      */
     private void addPropertyChangeListeners() {
         myBoard.addPropertyChangeListener(PROPERTY_GAME_OVER_STATE, this::gameOverHelper);
+        // called on the game loop thread, which only sets a volatile level
         myScoreSystem.addPropertyChangeListener(PROPERTY_LEVEL_CHANGE,
                 this::increaseSpeedHalper);
         myBoard.addPropertyChangeListener(PROPERTY_NEXT_PIECE_CHANGE,
@@ -450,19 +725,19 @@ public final class TetrisGUI extends JPanel {
      */
     private void gameOverHelper(final PropertyChangeEvent theEvent) {
         final boolean isGameOver = (boolean) theEvent.getNewValue();
-        myTimer.stop();
-        myMusicPlayer.stopMusic();
-        myGameOver = true;
         myPauseEndPanel.setGameOver(isGameOver);
-        promptForHighScore();
+        // a new game also fires this event, after the game loop has started it;
+        // a replay ending is not a game of this player
+        if (isGameOver && myReplayPlayer == null) {
+            myGameLoop.setPaused(true);
+            myMusicPlayer.stopMusic();
+            myGameOver = true;
+            promptForHighScore();
+        }
     }
 
     private void increaseSpeedHalper(final PropertyChangeEvent theEvent) {
-        final int oldVal = (int) theEvent.getOldValue();
-        final int newVal = (int) theEvent.getNewValue();
-        if (newVal > oldVal && myTimer.getDelay() >= 0) {
-            myTimer.setDelay(myTimer.getDelay() - DEFAULT_TIME_STEP);
-        }
+        myGameLoop.setLevel((int) theEvent.getNewValue());
     }
 
     /**
@@ -470,7 +745,7 @@ public final class TetrisGUI extends JPanel {
      * Music should play only if the game is not over, not muted, and not paused.
      */
     private void updateMusicState() {
-        if (!myGameOver && !myIsMuted && myTimer.isRunning()) {
+        if (!myGameOver && !myIsMuted && !myGameLoop.isPaused()) {
             myMusicPlayer.startMusic(FILE_PATH);
         } else {
             myMusicPlayer.stopMusic();
@@ -490,13 +765,15 @@ public final class TetrisGUI extends JPanel {
      */
     private void startNewGame() {
         if (myGameOver) { // Only allow starting a new game if the previous one is over
-            myBoard.newGame();  // Reset the game board
-            myTimer.start();    // Start the game timer
+            stopReplay();
+            myGameLoop.execute(myBoard::newGame);  // Reset the game board
+            myGameLoop.setPaused(false);           // Start the game loop
             myGameOver = false; // Mark the game as active
+            myAutoPlayed = myAutoPlayer.isRunning();
             myHardMode = false;
             myIsMuted = false;  // Unmute music for the new game
             myPauseEndPanel.setPaused(false);
-            myTimer.setDelay(DEFAULT_TIME_DELAY);
+            myGameLoop.setLevel(1);
             updateMusicState(); // Handle music playback
             buildMenu();
         }
@@ -508,10 +785,12 @@ public final class TetrisGUI extends JPanel {
      */
     private void startHardGame() {
         myGameOver = true;
-        myBoard.newGame();
-        myTimer.start();
+        stopReplay();
+        myGameLoop.execute(myBoard::newGame);
+        myGameLoop.setPaused(false);
         myIsMuted = false;
         myGameOver = false;
+        myAutoPlayed = myAutoPlayer.isRunning();
         myHardMode = true;
         myPauseEndPanel.setPaused(false);
         updateMusicState();
@@ -525,7 +804,7 @@ public final class TetrisGUI extends JPanel {
      */
     private void endGame() {
         if (!myGameOver) {
-            myTimer.stop();
+            myGameLoop.setPaused(true);
             myGameOver = true;
             myHardMode = false;
             myPauseEndPanel.setGameOver(true);
@@ -540,12 +819,16 @@ public final class TetrisGUI extends JPanel {
      */
     private void togglePauseResume() {
         if (!myGameOver) {
-            if (myTimer.isRunning()) {
-                myTimer.stop();
+            if (!myGameLoop.isPaused()) {
+                myGameLoop.setPaused(true);
                 myPauseEndPanel.setPaused(true);
             } else {
-                myTimer.start();
+                myGameLoop.setPaused(false);
                 myPauseEndPanel.setPaused(false);
+                if (myAutoPlayer.isRunning()) {
+                    // the path of the falling piece was skipped while paused
+                    myAutoPlayer.replan();
+                }
             }
             updateMusicState(); // Adjust music based on game state
         }
@@ -565,7 +848,8 @@ public final class TetrisGUI extends JPanel {
      * score is saved using the HighScoreManager.
      */
     private void promptForHighScore() {
-        if (myScoreSystem.getScore() > 0) { // Optional: Check if score qualifies
+        final int score = myFramePublisher.getFrame().score();
+        if (score > 0 && !myAutoPlayed) { // Optional: Check if score qualifies
             final String playerName = JOptionPane.showInputDialog(
                     myFrame,
                     "Enter your name:",
@@ -575,7 +859,7 @@ public final class TetrisGUI extends JPanel {
 
             if (playerName != null && !playerName.isEmpty()) {
                 final HighScoreManagerInterface manager = new HighScoreManager();
-                manager.addHighScore(new HighScore(playerName, myScoreSystem.getScore()));
+                manager.addHighScore(new HighScore(playerName, score));
             }
         }
     }
@@ -660,7 +944,7 @@ public final class TetrisGUI extends JPanel {
      * @param theArgs Command line arguments, ignored.
      */
     public static void main(final String[] theArgs) {
-        javax.swing.SwingUtilities.invokeLater(() -> new TetrisGUI("Tetris Game"));
+        SwingUtilities.invokeLater(() -> new TetrisGUI("Tetris Game"));
     }
 
     /**
@@ -668,25 +952,52 @@ public final class TetrisGUI extends JPanel {
      */
     private final class MyKeyAdapter extends KeyAdapter {
 
+        /** Whether a rotate key is held, so key repeat is not counted in hard mode. */
+        private boolean myRotateHeld;
+
         @Override
         public void keyPressed(final KeyEvent theEvent) {
-
+            // stamped here; the game loop applies it with DAS and auto repeat
+            final long now = System.nanoTime();
             if (!myGameOver) {
-                if (myTimer.isRunning()) {
-                    switch (theEvent.getKeyCode()) {
-                        case KeyEvent.VK_LEFT, KeyEvent.VK_A -> myBoard.left();
-                        case KeyEvent.VK_RIGHT, KeyEvent.VK_D -> myBoard.right();
-                        case KeyEvent.VK_DOWN, KeyEvent.VK_S -> myBoard.down();
-                        case KeyEvent.VK_SPACE -> myBoard.drop();
-                        case KeyEvent.VK_UP, KeyEvent.VK_W -> rotateCW();
-                        default -> {
-                        } // No action for other keys
+                final Action action = toAction(theEvent.getKeyCode());
+                if (!myGameLoop.isPaused() && action != null) {
+                    if (action == Action.ROTATE_CW) {
+                        rotateCW(now);
+                    } else {
+                        myGameLoop.getInput().press(action, now);
                     }
                 }
                 otherEvents(theEvent);
             }
         }
 
+        @Override
+        public void keyReleased(final KeyEvent theEvent) {
+            final Action action = toAction(theEvent.getKeyCode());
+            // releases always go through, so no key stays held
+            if (action != null) {
+                if (action == Action.ROTATE_CW) {
+                    myRotateHeld = false;
+                }
+                myGameLoop.getInput().release(action, System.nanoTime());
+            }
+        }
+
+        private Action toAction(final int theKeyCode) {
+            Action action = null;
+            switch (theKeyCode) {
+                case KeyEvent.VK_LEFT, KeyEvent.VK_A -> action = Action.LEFT;
+                case KeyEvent.VK_RIGHT, KeyEvent.VK_D -> action = Action.RIGHT;
+                case KeyEvent.VK_DOWN, KeyEvent.VK_S -> action = Action.SOFT_DROP;
+                case KeyEvent.VK_SPACE -> action = Action.HARD_DROP;
+                case KeyEvent.VK_UP, KeyEvent.VK_W -> action = Action.ROTATE_CW;
+                default -> {
+                } // No action for other keys
+            }
+            return action;
+        }
+
         private void otherEvents(final KeyEvent theEvent) {
             if (!myGameOver) {
                 switch (theEvent.getKeyCode()) {
@@ -698,16 +1009,17 @@ public final class TetrisGUI extends JPanel {
             }
         }
 
-        private void rotateCW() {
+        private void rotateCW(final long theNanos) {
             if (myHardMode) {
                 final int four = 4;
-                if (myRotateCounter < four) {
-                    myBoard.rotateCW();
+                if (!myRotateHeld && myRotateCounter < four) {
+                    myGameLoop.getInput().press(Action.ROTATE_CW, theNanos);
                     myRotateCounter++;
                 }
             } else {
-                myBoard.rotateCW();
+                myGameLoop.getInput().press(Action.ROTATE_CW, theNanos);
             }
+            myRotateHeld = true;
         }
     }
 }
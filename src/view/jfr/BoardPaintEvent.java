@@ -0,0 +1,61 @@
+package view.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for painting the board panel once.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+@Name("tetris.BoardPaint")
+@Label("Board Paint")
+@Category({"Tetris", "Rendering"})
+@Description("The board panel was painted")
+@StackTrace(false)
+public final class BoardPaintEvent extends Event {
+
+    /**
+     * The version of the snapshot painted.
+     */
+    @Name("version")
+    @Label("Snapshot Version")
+    private long myVersion;
+
+    /**
+     * The width of the painted region in pixels.
+     */
+    @Name("clipWidth")
+    @Label("Clip Width")
+    private int myClipWidth;
+
+    /**
+     * The height of the painted region in pixels.
+     */
+    @Name("clipHeight")
+    @Label("Clip Height")
+    private int myClipHeight;
+
+    /**
+     * Ends the event and records it if it is enabled.
+     *
+     * @param theVersion the version of the snapshot painted.
+     * @param theClipWidth the width of the painted region in pixels.
+     * @param theClipHeight the height of the painted region in pixels.
+     */
+    public void finish(final long theVersion, final int theClipWidth,
+                       final int theClipHeight) {
+        end();
+        if (shouldCommit()) {
+            myVersion = theVersion;
+            myClipWidth = theClipWidth;
+            myClipHeight = theClipHeight;
+            commit();
+        }
+    }
+}
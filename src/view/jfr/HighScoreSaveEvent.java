@@ -0,0 +1,51 @@
+package view.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for writing the high score file.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+@Name("tetris.HighScoreSave")
+@Label("High Score Save")
+@Category({"Tetris", "Persistence"})
+@Description("The high score file was written")
+@StackTrace(false)
+public final class HighScoreSaveEvent extends Event {
+
+    /**
+     * The number of high scores written.
+     */
+    @Name("entries")
+    @Label("Entries")
+    private int myEntries;
+
+    /**
+     * Whether the file was written without an error.
+     */
+    @Name("succeeded")
+    @Label("Succeeded")
+    private boolean mySucceeded;
+
+    /**
+     * Ends the event and records it if it is enabled.
+     *
+     * @param theEntries the number of high scores written.
+     * @param theSucceeded whether the file was written without an error.
+     */
+    public void finish(final int theEntries, final boolean theSucceeded) {
+        end();
+        if (shouldCommit()) {
+            myEntries = theEntries;
+            mySucceeded = theSucceeded;
+            commit();
+        }
+    }
+}
@@ -35,13 +35,6 @@ public class ScoringSystem implements PropertyChangeListener, PropertyChangeEnab
     public static final int[] SCORE_LINE_MULTIPLIER = {40, 100, 300, 1200};
 
 
-    // ***SINGLETON***
-    /**
-     * A singleton using the static factory method
-     */
-    private static final PropertyChangeEnabledScoring INSTANCE = new ScoringSystem();
-
-
     // ***INSTANCE***
     /**
      * Store the current score.
@@ -77,8 +70,10 @@ public class ScoringSystem implements PropertyChangeListener, PropertyChangeEnab
      * Constructs a new ScoringSystem with initial values.
      * The score is set to 0, the total lines cleared is set to 0,
      * and the level is set to 1.
+     *
+     * @param theBoard The board whose events are scored
      */
-    public ScoringSystem() {
+    public ScoringSystem(final MyBoard theBoard) {
         super();
         myScore = 0;
         myTotalLinesCleared = 0;
@@ -88,10 +83,8 @@ public class ScoringSystem implements PropertyChangeListener, PropertyChangeEnab
         // ***OBSERVER DESIGN PATTERN***
         myPcs = new PropertyChangeSupport(this);
 
-        // ***Singleton Design Pattern***
         // Add instance to property change list for the Board class
-        final MyBoard ourBoard = Board.getInstance();
-        ourBoard.addPropertyChangeListener(this);
+        theBoard.addPropertyChangeListener(this);
     }
 
     /**
@@ -244,10 +237,23 @@ public class ScoringSystem implements PropertyChangeListener, PropertyChangeEnab
 
 
     /**
-     * Returns the specific instance of the ScoringSystem class.
+     * Returns the specific instance of the ScoringSystem class
+     * that scores the singleton Board.
      * @return Returns the specific instance of the ScoringSystem class
      */
     public static PropertyChangeEnabledScoring getInstance() {
-        return INSTANCE;
+        return InstanceHolder.INSTANCE;
+    }
+
+    /**
+     * Holds the singleton so that it is only created, and only listens
+     * to the singleton Board, when it is first requested.
+     */
+    private static final class InstanceHolder {
+        /**
+         * A singleton using the static factory method
+         */
+        private static final PropertyChangeEnabledScoring INSTANCE =
+                new ScoringSystem(Board.getInstance());
     }
 }
@@ -0,0 +1,190 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the row masks, blocks, complete rows and column heights of a
+ * BitBoard, on the standard board and on the widest one.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+class BitBoardTest {
+
+    /**
+     * The width of the standard board.
+     */
+    private static final int WIDTH = 10;
+
+    /**
+     * The height of the standard board.
+     */
+    private static final int HEIGHT = 20;
+
+    /**
+     * The mask of a full row of the standard board.
+     */
+    private static final int FULL_ROW = 0x3FF;
+
+    /**
+     * The number of random boards compared with Block rows.
+     */
+    private static final int RANDOM_BOARDS = 2_000;
+
+    /**
+     * The blocks placed on random boards, EMPTY included.
+     */
+    private static final Block[] BLOCKS = Block.values();
+
+    @Test
+    void setBlockUpdatesRowMaskAndBlock() {
+        final BitBoard board = new BitBoard(WIDTH, HEIGHT);
+        assertEquals(FULL_ROW, board.getFullMask());
+        board.setBlock(0, 0, Block.I);
+        board.setBlock(WIDTH - 1, 0, Block.Z);
+        board.setBlock(3, HEIGHT - 1, Block.T);
+        assertEquals(1 | 1 << WIDTH - 1, board.getRowMask(0));
+        assertEquals(1 << 3, board.getRowMask(HEIGHT - 1));
+        assertEquals(Block.I, board.getBlock(0, 0));
+        assertEquals(Block.Z, board.getBlock(WIDTH - 1, 0));
+        assertEquals(Block.T, board.getBlock(3, HEIGHT - 1));
+        assertNull(board.getBlock(1, 0));
+        assertTrue(board.isOccupied(3, HEIGHT - 1));
+        assertFalse(board.isOccupied(-1, 0));
+        assertFalse(board.isOccupied(0, HEIGHT));
+        assertEquals(0, board.getRowMask(-1));
+        assertEquals(0, board.getRowMask(HEIGHT));
+
+        board.setBlock(0, 0, null);
+        board.setBlock(WIDTH - 1, 0, Block.EMPTY);
+        assertEquals(0, board.getRowMask(0));
+        assertNull(board.getBlock(0, 0));
+        assertNull(board.getBlock(WIDTH - 1, 0));
+    }
+
+    @Test
+    void setBlockOutsideTheBoardThrows() {
+        final BitBoard board = new BitBoard(WIDTH, HEIGHT);
+        assertThrows(IndexOutOfBoundsException.class, () -> board.setBlock(WIDTH, 0, Block.I));
+        assertThrows(IndexOutOfBoundsException.class, () -> board.setBlock(0, -1, Block.I));
+    }
+
+    @Test
+    void widthMustFitARowMask() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new BitBoard(BitBoard.MAX_WIDTH + 1, HEIGHT));
+        assertThrows(IllegalArgumentException.class, () -> new BitBoard(0, HEIGHT));
+    }
+
+    @Test
+    void completeRowsAreClearedAndTheRestDropped() {
+        final BitBoard board = new BitBoard(WIDTH, HEIGHT);
+        fillRow(board, 0, Block.I);
+        board.setBlock(2, 1, Block.S);
+        fillRow(board, 2, Block.O);
+        board.setBlock(4, 3, Block.J);
+        assertTrue(board.isRowComplete(0));
+        assertFalse(board.isRowComplete(1));
+        assertEquals(0b101, board.getCompleteRows());
+
+        assertEquals(2, board.clearCompleteRows());
+        assertEquals(1 << 2, board.getRowMask(0));
+        assertEquals(Block.S, board.getBlock(2, 0));
+        assertEquals(1 << 4, board.getRowMask(1));
+        assertEquals(Block.J, board.getBlock(4, 1));
+        for (int y = 2; y < HEIGHT; y++) {
+            assertEquals(0, board.getRowMask(y));
+            assertArrayEquals(new Block[WIDTH], board.toBlockRow(y));
+        }
+        assertEquals(0, board.getCompleteRows());
+        assertEquals(0, board.clearCompleteRows());
+    }
+
+    @Test
+    void widestBoardUsesEveryBit() {
+        final BitBoard board = new BitBoard(BitBoard.MAX_WIDTH, HEIGHT);
+        assertEquals(-1, board.getFullMask());
+        for (int x = 0; x < BitBoard.MAX_WIDTH - 1; x++) {
+            board.setBlock(x, 0, Block.L);
+        }
+        assertFalse(board.isRowComplete(0));
+        board.setBlock(BitBoard.MAX_WIDTH - 1, 0, Block.Z);
+        assertTrue(board.isRowComplete(0));
+        assertEquals(Block.Z, board.getBlock(BitBoard.MAX_WIDTH - 1, 0));
+        board.setBlock(BitBoard.MAX_WIDTH - 1, 1, Block.T);
+        assertEquals(Integer.MIN_VALUE, board.getRowMask(1));
+        assertEquals(1, board.clearCompleteRows());
+        assertEquals(Integer.MIN_VALUE, board.getRowMask(0));
+        assertEquals(1, board.getColumnHeights()[BitBoard.MAX_WIDTH - 1]);
+    }
+
+    @Test
+    void copiesAreIndependent() {
+        final BitBoard board = new BitBoard(WIDTH, HEIGHT);
+        board.setBlock(1, 1, Block.O);
+        final BitBoard copy = new BitBoard(board);
+        board.setBlock(2, 2, Block.I);
+        assertNull(copy.getBlock(2, 2));
+        assertEquals(Block.O, copy.getBlock(1, 1));
+
+        copy.copyFrom(board);
+        assertEquals(Block.I, copy.getBlock(2, 2));
+        board.clear();
+        assertEquals(0, board.getRowMask(1));
+        assertEquals(Block.O, copy.getBlock(1, 1));
+        assertThrows(IllegalArgumentException.class,
+            () -> copy.copyFrom(new BitBoard(WIDTH, HEIGHT + 1)));
+    }
+
+    @Test
+    void blockRowsAndHeightsMatchTheCells() {
+        final Random random = new Random(1);
+        for (int i = 0; i < RANDOM_BOARDS; i++) {
+            final int width = 1 + random.nextInt(BitBoard.MAX_WIDTH);
+            final BitBoard board = new BitBoard(width, HEIGHT);
+            final Block[][] cells = new Block[HEIGHT][width];
+            final int top = random.nextInt(HEIGHT + 1);
+            for (int y = 0; y < top; y++) {
+                for (int x = 0; x < width; x++) {
+                    final Block block = BLOCKS[random.nextInt(BLOCKS.length)];
+                    board.setBlock(x, y, block);
+                    if (block != Block.EMPTY) {
+                        cells[y][x] = block;
+                    }
+                }
+            }
+            final List<Block[]> rows = board.toBlockRows();
+            final int[] heights = board.getColumnHeights();
+            for (int y = 0; y < HEIGHT; y++) {
+                assertArrayEquals(cells[y], rows.get(y));
+            }
+            for (int x = 0; x < width; x++) {
+                int height = 0;
+                for (int y = 0; y < HEIGHT; y++) {
+                    if (cells[y][x] != null) {
+                        height = y + 1;
+                    }
+                }
+                assertEquals(height, heights[x], "column " + x);
+            }
+        }
+    }
+
+    /**
+     * Fills a row of a board.
+     *
+     * @param theBoard The board
+     * @param theY The row
+     * @param theBlock The block to fill it with
+     */
+    private static void fillRow(final BitBoard theBoard, final int theY,
+                                final Block theBlock) {
+        for (int x = 0; x < theBoard.getWidth(); x++) {
+            theBoard.setBlock(x, theY, theBlock);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that the ghost of every snapshot of a randomly played board, worked
+ * out from the column heights the board keeps as pieces lock and rows clear,
+ * is where stepping the piece down one row at a time stops.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+class BoardSnapshotTest {
+
+    /**
+     * The seed of the game and of the operations.
+     */
+    private static final long SEED = 9;
+
+    /**
+     * The number of operations sent to the board.
+     */
+    private static final int OPERATIONS = 50_000;
+
+    /**
+     * The number of different operations sent to the board.
+     */
+    private static final int KINDS = 7;
+
+    @Test
+    void ghostIsWhereThePieceStopsFalling() {
+        final Board board = Board.builder().seed(SEED).build();
+        board.setSnapshotsEnabled(true);
+        board.addPropertyChangeListener(MyBoard.PROPERTY_GAME_OVER_STATE, theEvent -> {
+            if ((boolean) theEvent.getNewValue()) {
+                board.newGame();
+            }
+        });
+        board.newGame();
+        final Random random = new Random(SEED);
+        final int[] clears = new int[1];
+        board.addPropertyChangeListener(MyBoard.PROPERTY_CLEAR_ROW,
+            theEvent -> clears[0]++);
+        for (int i = 0; i < OPERATIONS; i++) {
+            switch (random.nextInt(KINDS)) {
+                case 0 -> board.left();
+                case 1 -> board.right();
+                case 2 -> board.rotateCW();
+                case 3 -> board.rotateCCW();
+                case 4 -> board.drop();
+                default -> board.down();
+            }
+            final BoardSnapshot snapshot = board.getSnapshot();
+            if (snapshot.getPieceShape() != null) {
+                assertEquals(stepDown(snapshot), snapshot.getGhostY(), "operation " + i);
+            }
+        }
+        assertTrue(clears[0] > 0, "no rows were cleared");
+    }
+
+    /**
+     * Steps the falling piece of a snapshot down until it would overlap a
+     * frozen block or leave the board.
+     *
+     * @param theSnapshot the snapshot.
+     * @return the y coordinate the piece stops at.
+     */
+    private static int stepDown(final BoardSnapshot theSnapshot) {
+        final PieceShape shape = theSnapshot.getPieceShape();
+        int y = theSnapshot.getPieceY();
+        while (y - 1 + shape.getMinY() >= 0 && !collides(theSnapshot, shape, y - 1)) {
+            y--;
+        }
+        return y;
+    }
+
+    /**
+     * Tests whether the falling piece would overlap a frozen block at a row.
+     *
+     * @param theSnapshot the snapshot.
+     * @param theShape the footprint of the piece.
+     * @param theY the y coordinate to test.
+     * @return true if the piece overlaps a frozen block.
+     */
+    private static boolean collides(final BoardSnapshot theSnapshot,
+                                    final PieceShape theShape, final int theY) {
+        boolean result = false;
+        for (int row = theShape.getMinY(); row <= theShape.getMaxY(); row++) {
+            final int mask = theShape.getRowMask(row, theSnapshot.getPieceX());
+            result |= (theSnapshot.getRowMask(theY + row) & mask) != 0;
+        }
+        return result;
+    }
+}
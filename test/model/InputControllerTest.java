@@ -0,0 +1,135 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the delayed auto shift and soft drop repeats of an InputController,
+ * with every timestamp made up by the test.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+class InputControllerTest {
+
+    /**
+     * The seed of the board.
+     */
+    private static final long SEED = 16;
+
+    /**
+     * The time of the first press.
+     */
+    private static final long START = 1_000_000_000L;
+
+    /**
+     * The length of a pause or stall, far longer than any repeat.
+     */
+    private static final long STALL_NANOS = 10_000_000_000L;
+
+    /**
+     * The number of pieces a direction is held across.
+     */
+    private static final int PIECES = 5;
+
+    /**
+     * The board.
+     */
+    private MyBoard myBoard;
+
+    /**
+     * The controller under test.
+     */
+    private InputController myInput;
+
+    @BeforeEach
+    void setUp() {
+        myBoard = Board.builder().seed(SEED).build();
+        myBoard.setSnapshotsEnabled(true);
+        myBoard.newGame();
+        myInput = new InputController(() -> { });
+    }
+
+    @Test
+    void heldDirectionMovesEveryNewPiece() {
+        final long arr = myInput.getAutoRepeatRate();
+        long now = START;
+        myInput.press(InputController.Action.RIGHT, now);
+        for (int piece = 0; piece < PIECES; piece++) {
+            final int spawnX = myBoard.getSnapshot().getPieceX();
+            now = holdUntilBlocked(now, arr);
+            assertTrue(myBoard.getSnapshot().getPieceX() > spawnX,
+                       "piece " + piece + " did not move from " + spawnX);
+            // the piece locks while the direction is still held
+            myBoard.drop();
+        }
+    }
+
+    @Test
+    void heldDirectionWithoutRepeatRateMovesEveryNewPiece() {
+        myInput.setAutoRepeatRate(0);
+        long now = START;
+        myInput.press(InputController.Action.LEFT, now);
+        for (int piece = 0; piece < PIECES; piece++) {
+            final int spawnX = myBoard.getSnapshot().getPieceX();
+            now = holdUntilBlocked(now, InputController.DEFAULT_ARR_NANOS);
+            assertTrue(myBoard.getSnapshot().getPieceX() < spawnX,
+                       "piece " + piece + " did not move from " + spawnX);
+            // the piece locks while the direction is still held
+            myBoard.drop();
+        }
+    }
+
+    @Test
+    void softDropHeldThroughAPauseMakesNothingUp() {
+        final long rate = myInput.getSoftDropRate();
+        myInput.press(InputController.Action.SOFT_DROP, START);
+        myInput.update(myBoard, START);
+        final long pauseEnd = START + STALL_NANOS;
+        for (long now = START; now < pauseEnd; now += STALL_NANOS / PIECES) {
+            myInput.discardPresses(now);
+            assertTrue(myInput.nanosUntilRepeat(now) > 0, "the loop would spin while paused");
+        }
+        myInput.discardPresses(pauseEnd);
+
+        final long moves = myBoard.getPieceMoveCount();
+        myInput.update(myBoard, pauseEnd + rate);
+        assertEquals(1, myBoard.getPieceMoveCount() - moves);
+        assertTrue(myInput.nanosUntilRepeat(pauseEnd + rate) > 0);
+    }
+
+    @Test
+    void stalledLoopOnlyMakesUpRecentRepeats() {
+        final long rate = myInput.getSoftDropRate();
+        myInput.press(InputController.Action.SOFT_DROP, START);
+        myInput.update(myBoard, START);
+        final long moves = myBoard.getPieceMoveCount();
+        final long now = START + STALL_NANOS;
+        myInput.update(myBoard, now);
+        assertTrue(myBoard.getPieceMoveCount() - moves
+                   <= InputController.MAX_CATCH_UP_NANOS / rate + 1);
+        assertTrue(myInput.nanosUntilRepeat(now) > 0, "the loop would spin after a stall");
+        assertFalse(myBoard.getSnapshot().isGameOver());
+    }
+
+    /**
+     * Updates the controller every repeat until the held direction stops
+     * moving the piece.
+     *
+     * @param theNow the time of the first update.
+     * @param theStep the time between updates, more than 0.
+     * @return the time of the last update.
+     */
+    private long holdUntilBlocked(final long theNow, final long theStep) {
+        long now = theNow;
+        myInput.update(myBoard, now);
+        boolean moved = true;
+        while (moved) {
+            now += myInput.getDelayedAutoShift() + theStep;
+            moved = myInput.update(myBoard, now);
+        }
+        return now;
+    }
+}
@@ -0,0 +1,118 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.EnumSet;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that seeded piece generators and their splits are reproducible, that
+ * every bag of a BagPieceGenerator holds each piece once, and that a
+ * UniformPieceGenerator deals every piece.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+class PieceGeneratorTest {
+
+    /**
+     * The seed of the generators.
+     */
+    private static final long SEED = 7;
+
+    /**
+     * A different seed.
+     */
+    private static final long OTHER_SEED = 8;
+
+    /**
+     * The number of pieces in a bag.
+     */
+    private static final int BAG = TetrisPiece.values().length;
+
+    /**
+     * The number of bags checked.
+     */
+    private static final int BAGS = 1_000;
+
+    /**
+     * The number of pieces compared.
+     */
+    private static final int PIECES = BAG * BAGS;
+
+    @Test
+    void seededBagGeneratorsAreReproducible() {
+        assertSameSequence(new BagPieceGenerator(SEED), new BagPieceGenerator(SEED));
+        assertSameSequence(new BagPieceGenerator(SEED).split(),
+                           new BagPieceGenerator(SEED).split());
+        assertDifferentSequence(new BagPieceGenerator(SEED),
+                                new BagPieceGenerator(OTHER_SEED));
+    }
+
+    @Test
+    void seededUniformGeneratorsAreReproducible() {
+        assertSameSequence(new UniformPieceGenerator(SEED), new UniformPieceGenerator(SEED));
+        assertSameSequence(new UniformPieceGenerator(SEED).split(),
+                           new UniformPieceGenerator(SEED).split());
+        assertDifferentSequence(new UniformPieceGenerator(SEED),
+                                new UniformPieceGenerator(OTHER_SEED));
+    }
+
+    @Test
+    void splitsDealTheirOwnPieces() {
+        final PieceGenerator generator = new BagPieceGenerator(SEED);
+        assertDifferentSequence(generator.split(), generator.split());
+        assertDifferentSequence(new UniformPieceGenerator(SEED),
+                                new UniformPieceGenerator(SEED).split());
+    }
+
+    @Test
+    void everyBagIsAPermutationOfThePieces() {
+        final PieceGenerator generator = new BagPieceGenerator(SEED);
+        for (int bag = 0; bag < BAGS; bag++) {
+            final Set<TetrisPiece> pieces = EnumSet.noneOf(TetrisPiece.class);
+            for (int i = 0; i < BAG; i++) {
+                assertTrue(pieces.add(generator.next()), "bag " + bag + " repeats a piece");
+            }
+        }
+    }
+
+    @Test
+    void uniformGeneratorDealsEveryPiece() {
+        final PieceGenerator generator = new UniformPieceGenerator(SEED);
+        final Set<TetrisPiece> pieces = EnumSet.noneOf(TetrisPiece.class);
+        for (int i = 0; i < PIECES; i++) {
+            pieces.add(generator.next());
+        }
+        assertEquals(EnumSet.allOf(TetrisPiece.class), pieces);
+    }
+
+    /**
+     * Checks that two generators deal the same pieces.
+     *
+     * @param theExpected The first generator
+     * @param theActual The second generator
+     */
+    private static void assertSameSequence(final PieceGenerator theExpected,
+                                           final PieceGenerator theActual) {
+        for (int i = 0; i < PIECES; i++) {
+            assertEquals(theExpected.next(), theActual.next(), "piece " + i);
+        }
+    }
+
+    /**
+     * Checks that two generators do not deal the same pieces.
+     *
+     * @param theFirst The first generator
+     * @param theSecond The second generator
+     */
+    private static void assertDifferentSequence(final PieceGenerator theFirst,
+                                                final PieceGenerator theSecond) {
+        boolean different = false;
+        for (int i = 0; i < PIECES && !different; i++) {
+            different = theFirst.next() != theSecond.next();
+        }
+        assertTrue(different);
+    }
+}
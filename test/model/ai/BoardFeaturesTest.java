@@ -0,0 +1,217 @@
+package model.ai;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests BoardFeatures against a naive reference that looks at one cell at
+ * a time.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+class BoardFeaturesTest {
+
+    /**
+     * The number of random boards compared with the reference.
+     */
+    private static final int RANDOM_BOARDS = 20_000;
+
+    /**
+     * The widest board.
+     */
+    private static final int MAX_WIDTH = Integer.SIZE;
+
+    /**
+     * The tallest random board.
+     */
+    private static final int MAX_HEIGHT = 24;
+
+    @Test
+    void fullMaskSetsTheLowWidthBits() {
+        assertEquals(1, BoardFeatures.fullMask(1));
+        assertEquals(0x3FF, BoardFeatures.fullMask(10));
+        assertEquals(0x7FFFFFFF, BoardFeatures.fullMask(MAX_WIDTH - 1));
+        assertEquals(-1, BoardFeatures.fullMask(MAX_WIDTH));
+    }
+
+    @Test
+    void wellsCountTheWallsAsBlocksAtWidth32() {
+        // every column filled except the two next to the walls
+        final int[] rows = {0x7FFFFFFE, 0x7FFFFFFE, 0x7FFFFFFE};
+        assertEquals(6, BoardFeatures.wells(rows, MAX_WIDTH));
+        assertEquals(reference(rows, MAX_WIDTH).myWells, BoardFeatures.wells(rows, MAX_WIDTH));
+        // a single gap in the middle of a full width row
+        final int[] gap = {~(1 << 16)};
+        assertEquals(1, BoardFeatures.wells(gap, MAX_WIDTH));
+        assertEquals(0, BoardFeatures.wells(new int[] {-1}, MAX_WIDTH));
+    }
+
+    @Test
+    void rowTransitionsCountTheWallsAsBlocks() {
+        assertEquals(0, BoardFeatures.rowTransitions(new int[] {-1}, MAX_WIDTH));
+        assertEquals(0, BoardFeatures.rowTransitions(new int[] {0x3FF}, 10));
+        assertEquals(2, BoardFeatures.rowTransitions(new int[] {0x3FF & ~0x10}, 10));
+        // an empty row below the top of the stack meets both walls
+        assertEquals(2, BoardFeatures.rowTransitions(new int[] {0, -1}, MAX_WIDTH));
+        assertEquals(4, BoardFeatures.rowTransitions(new int[] {0, 1}, 10));
+        assertEquals(0, BoardFeatures.rowTransitions(new int[3], 10));
+    }
+
+    @Test
+    void columnHeightsFindTheHighestBlock() {
+        final int[] rows = {0b1011, 0b0010, 0, 0b1000};
+        final int[] heights = new int[4];
+        assertEquals(4, BoardFeatures.columnHeights(rows, 4, heights));
+        assertArrayEquals(new int[] {1, 2, 0, 4}, heights);
+    }
+
+    @Test
+    void featuresMatchTheReferenceOnRandomBoards() {
+        final SplittableRandom random = new SplittableRandom(1);
+        for (int board = 0; board < RANDOM_BOARDS; board++) {
+            final int width = 1 + random.nextInt(MAX_WIDTH);
+            final int[] rows = new int[1 + random.nextInt(MAX_HEIGHT)];
+            final int top = random.nextInt(rows.length + 1);
+            for (int y = 0; y < top; y++) {
+                // some rows are full, the others about half full
+                int row = -1;
+                if (random.nextInt(4) != 0) {
+                    row = random.nextInt();
+                }
+                rows[y] = row & BoardFeatures.fullMask(width);
+            }
+            final Reference expected = reference(rows, width);
+            final int[] heights = new int[width];
+            assertEquals(expected.myMaxHeight,
+                         BoardFeatures.columnHeights(rows, width, heights));
+            assertArrayEquals(expected.myHeights, heights);
+            assertEquals(expected.myMaxHeight, BoardFeatures.maxHeight(rows));
+            assertEquals(expected.myAggregate, BoardFeatures.aggregateHeight(rows));
+            assertEquals(expected.myHoles, BoardFeatures.holes(rows));
+            assertEquals(expected.myBumpiness, BoardFeatures.bumpiness(rows, width));
+            assertEquals(expected.myWells, BoardFeatures.wells(rows, width));
+            assertEquals(expected.myRowTransitions, BoardFeatures.rowTransitions(rows, width));
+            assertEquals(expected.myColumnTransitions,
+                         BoardFeatures.columnTransitions(rows, width));
+            assertEquals(expected.myCompleted, BoardFeatures.completedLines(rows, width));
+        }
+    }
+
+    /**
+     * Measures every feature one cell at a time.
+     *
+     * @param theRows the row masks.
+     * @param theWidth the width of the board.
+     * @return the features.
+     */
+    private static Reference reference(final int[] theRows, final int theWidth) {
+        final Reference result = new Reference(theWidth);
+        for (int x = 0; x < theWidth; x++) {
+            for (int y = 0; y < theRows.length; y++) {
+                if (filled(theRows, theWidth, x, y)) {
+                    result.myHeights[x] = y + 1;
+                }
+            }
+            result.myAggregate += result.myHeights[x];
+            result.myMaxHeight = Math.max(result.myMaxHeight, result.myHeights[x]);
+            for (int y = 0; y < result.myHeights[x]; y++) {
+                if (!filled(theRows, theWidth, x, y)) {
+                    result.myHoles++;
+                }
+            }
+            if (x > 0) {
+                result.myBumpiness += Math.abs(result.myHeights[x] - result.myHeights[x - 1]);
+            }
+        }
+        for (int y = 0; y < result.myMaxHeight; y++) {
+            boolean full = true;
+            for (int x = -1; x < theWidth; x++) {
+                if (filled(theRows, theWidth, x, y) != filled(theRows, theWidth, x + 1, y)) {
+                    result.myRowTransitions++;
+                }
+                full &= filled(theRows, theWidth, x + 1, y) || x + 1 == theWidth;
+            }
+            if (full) {
+                result.myCompleted++;
+            }
+        }
+        for (int x = 0; x < theWidth; x++) {
+            for (int y = -1; y < result.myMaxHeight; y++) {
+                if (filled(theRows, theWidth, x, y) != filled(theRows, theWidth, x, y + 1)) {
+                    result.myColumnTransitions++;
+                }
+            }
+            for (int y = result.myHeights[x]; y < result.myMaxHeight; y++) {
+                if (filled(theRows, theWidth, x - 1, y)
+                    && filled(theRows, theWidth, x + 1, y)) {
+                    result.myWells++;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Tests a cell, counting the walls and the floor as filled and
+     * everything above the rows as empty.
+     *
+     * @param theRows the row masks.
+     * @param theWidth the width of the board.
+     * @param theX the column.
+     * @param theY the row.
+     * @return true if the cell is filled.
+     */
+    private static boolean filled(final int[] theRows, final int theWidth,
+                                  final int theX, final int theY) {
+        boolean result = theX < 0 || theX >= theWidth || theY < 0;
+        if (!result && theY < theRows.length) {
+            result = (theRows[theY] >>> theX & 1) != 0;
+        }
+        return result;
+    }
+
+    /**
+     * The features of a board as the reference measures them.
+     */
+    private static final class Reference {
+
+        /** The height of every column. */
+        private final int[] myHeights;
+
+        /** The height of the stack. */
+        private int myMaxHeight;
+
+        /** The sum of the column heights. */
+        private int myAggregate;
+
+        /** The holes. */
+        private int myHoles;
+
+        /** The bumpiness. */
+        private int myBumpiness;
+
+        /** The well cells. */
+        private int myWells;
+
+        /** The row transitions. */
+        private int myRowTransitions;
+
+        /** The column transitions. */
+        private int myColumnTransitions;
+
+        /** The complete rows. */
+        private int myCompleted;
+
+        /**
+         * Creates empty features.
+         *
+         * @param theWidth the width of the board.
+         */
+        private Reference(final int theWidth) {
+            myHeights = new int[theWidth];
+        }
+    }
+}
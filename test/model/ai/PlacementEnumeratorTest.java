@@ -0,0 +1,111 @@
+package model.ai;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import model.Board;
+import model.BoardSnapshot;
+import model.MyBoard;
+import model.TetrisPiece;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests PlacementEnumerator: the number of placements on an empty board, and
+ * that the path of every placement really locks the piece where lock() says.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+class PlacementEnumeratorTest {
+
+    /**
+     * Width of the board.
+     */
+    private static final int WIDTH = 10;
+
+    /**
+     * Height of the board.
+     */
+    private static final int HEIGHT = 20;
+
+    /**
+     * Pieces placed one after another to build up a ragged stack.
+     */
+    private static final int STEPS = 16;
+
+    /**
+     * The pieces the board deals, in order.
+     */
+    private static final List<TetrisPiece> PIECES =
+            List.of(TetrisPiece.T, TetrisPiece.S, TetrisPiece.L, TetrisPiece.I,
+                    TetrisPiece.Z, TetrisPiece.J, TetrisPiece.O);
+
+    /**
+     * The enumerator under test.
+     */
+    private PlacementEnumerator myEnumerator;
+
+    @BeforeEach
+    void setUp() {
+        myEnumerator = new PlacementEnumerator(WIDTH, HEIGHT);
+    }
+
+    @Test
+    void emptyBoardCounts() {
+        final int[] rows = new int[HEIGHT];
+        assertEquals(17, myEnumerator.search(rows, TetrisPiece.I));
+        assertEquals(34, myEnumerator.search(rows, TetrisPiece.J));
+        assertEquals(34, myEnumerator.search(rows, TetrisPiece.L));
+        assertEquals(34, myEnumerator.search(rows, TetrisPiece.T));
+        assertEquals(9, myEnumerator.search(rows, TetrisPiece.O));
+        assertEquals(17, myEnumerator.search(rows, TetrisPiece.S));
+        assertEquals(17, myEnumerator.search(rows, TetrisPiece.Z));
+    }
+
+    @Test
+    void everyPathLocksThePieceWhereLockSays() {
+        final SplittableRandom random = new SplittableRandom(305);
+        final List<Placement> history = new ArrayList<>();
+        for (int step = 0; step < STEPS; step++) {
+            final BoardSnapshot snapshot = replay(history).getSnapshot();
+            final List<Placement> placements = myEnumerator.enumerate(snapshot);
+            assertFalse(placements.isEmpty());
+            final List<Placement> survivors = new ArrayList<>();
+            for (int i = 0; i < placements.size(); i++) {
+                final int[] expected = BoardFeatures.rowMasks(snapshot);
+                myEnumerator.lock(i, expected);
+                final MyBoard board = replay(history);
+                placements.get(i).apply(board);
+                final BoardSnapshot after = board.getSnapshot();
+                assertEquals(myEnumerator.endsGame(i), after.isGameOver(),
+                             placements.get(i).toString());
+                if (!after.isGameOver()) {
+                    assertArrayEquals(expected, BoardFeatures.rowMasks(after),
+                                      placements.get(i).toString());
+                    survivors.add(placements.get(i));
+                }
+            }
+            history.add(survivors.get(random.nextInt(survivors.size())));
+        }
+    }
+
+    /**
+     * Starts a new game and sends it the paths of earlier placements.
+     *
+     * @param theHistory the placements to replay.
+     * @return the board, with snapshots on.
+     */
+    private static MyBoard replay(final List<Placement> theHistory) {
+        final MyBoard board = Board.builder().width(WIDTH).height(HEIGHT).build();
+        board.setPieceSequence(PIECES);
+        board.setSnapshotsEnabled(true);
+        board.newGame();
+        for (final Placement placement : theHistory) {
+            placement.apply(board);
+        }
+        return board;
+    }
+}
@@ -0,0 +1,207 @@
+package model.ai;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the packing of entries, the replacement rules and the capacity of
+ * a TranspositionTable, and that threads racing on the same slots never
+ * read a torn entry.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+class TranspositionTableTest {
+
+    /**
+     * The smallest capacity, one bucket.
+     */
+    private static final int ONE_BUCKET = TranspositionTable.BUCKET_SIZE;
+
+    /**
+     * A key used by the tests of a single key.
+     */
+    private static final long KEY = 0x1234_5678_9ABC_DEF0L;
+
+    /**
+     * Spreads the keys of the racing threads over the whole table.
+     */
+    private static final long KEY_SPREAD = 0x9E3779B97F4A7C15L;
+
+    /**
+     * The number of threads racing on the table.
+     */
+    private static final int THREADS = 4;
+
+    /**
+     * The number of operations of every racing thread.
+     */
+    private static final int OPERATIONS = 500_000;
+
+    /**
+     * The number of distinct keys the racing threads use.
+     */
+    private static final int KEYS = 5_000;
+
+    /**
+     * The capacity of the table the threads race on.
+     */
+    private static final int RACE_CAPACITY = 1 << 10;
+
+    /**
+     * The deepest depth the racing threads store.
+     */
+    private static final int RACE_DEPTHS = 4;
+
+    /**
+     * Bits of a key above the payload the racing threads store for it.
+     */
+    private static final int PAYLOAD_SHIFT = 40;
+
+    @Test
+    void entriesPackScorePayloadAndDepth() {
+        final TranspositionTable table = new TranspositionTable(ONE_BUCKET);
+        final long entry = table.store(KEY, -2.5, TranspositionTable.MAX_PAYLOAD,
+                                       TranspositionTable.MAX_DEPTH);
+        assertEquals(-2.5, TranspositionTable.getScore(entry));
+        assertEquals(TranspositionTable.MAX_PAYLOAD, TranspositionTable.getPayload(entry));
+        assertEquals(TranspositionTable.MAX_DEPTH, TranspositionTable.getDepth(entry));
+        assertEquals(entry, table.probe(KEY, 0));
+
+        final long evaluated = table.store(KEY + 1, 0.1, 0, 0);
+        assertNotEquals(TranspositionTable.MISS, evaluated);
+        assertEquals((float) 0.1, TranspositionTable.getScore(evaluated));
+        assertEquals(0, TranspositionTable.getPayload(evaluated));
+        assertEquals(0, TranspositionTable.getDepth(evaluated));
+        assertEquals(evaluated, table.probe(KEY + 1, 0));
+    }
+
+    @Test
+    void payloadAndDepthMustBeInRange() {
+        final TranspositionTable table = new TranspositionTable(ONE_BUCKET);
+        assertThrows(IllegalArgumentException.class, () -> table.store(KEY, 0, -1, 0));
+        assertThrows(IllegalArgumentException.class,
+            () -> table.store(KEY, 0, TranspositionTable.MAX_PAYLOAD + 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> table.store(KEY, 0, 0, -1));
+        assertThrows(IllegalArgumentException.class,
+            () -> table.store(KEY, 0, 0, TranspositionTable.MAX_DEPTH + 1));
+        assertEquals(0, table.getStores());
+    }
+
+    @Test
+    void probeMissesShallowerAndUnknownKeys() {
+        final TranspositionTable table = new TranspositionTable(ONE_BUCKET);
+        final long entry = table.store(KEY, 1, 2, 3);
+        assertEquals(entry, table.probe(KEY, 3));
+        assertEquals(TranspositionTable.MISS, table.probe(KEY, 4));
+        // the same bucket holds KEY, but its key does not match
+        assertEquals(TranspositionTable.MISS, table.probe(KEY + ONE_BUCKET, 0));
+        assertEquals(TranspositionTable.MISS, table.probe(~KEY, 0));
+        assertEquals(4, table.getProbes());
+        assertEquals(1, table.getHits());
+    }
+
+    @Test
+    void sameKeyIsReplacedByEqualOrDeeperResults() {
+        final TranspositionTable table = new TranspositionTable(ONE_BUCKET);
+        table.store(KEY, 1, 1, 3);
+        table.store(KEY, 2, 2, 2);
+        assertEquals(1, TranspositionTable.getPayload(table.probe(KEY, 0)),
+                     "a shallower result must not replace a deeper one");
+        table.store(KEY, 3, 3, 3);
+        assertEquals(3, TranspositionTable.getPayload(table.probe(KEY, 0)));
+        table.store(KEY, 4, 4, 5);
+        assertEquals(4, TranspositionTable.getPayload(table.probe(KEY, 0)));
+        assertEquals(3, table.getStores());
+        // the key never takes a second slot
+        table.store(KEY + 1, 0, 0, 0);
+        table.store(KEY + 2, 0, 0, 0);
+        table.store(KEY + 3, 0, 0, 0);
+        assertEquals(1.0, table.getOccupancy());
+        assertEquals(4, TranspositionTable.getPayload(table.probe(KEY, 0)));
+    }
+
+    @Test
+    void fullBucketReplacesTheShallowestEntry() {
+        final TranspositionTable table = new TranspositionTable(ONE_BUCKET);
+        final int[] depths = {3, 1, 2, 4};
+        for (int i = 0; i < depths.length; i++) {
+            table.store(KEY + i, i, i, depths[i]);
+        }
+        table.store(KEY + depths.length, 0, 0, 0);
+        for (int i = 0; i < depths.length; i++) {
+            final long entry = table.probe(KEY + i, 0);
+            if (depths[i] == 1) {
+                assertEquals(TranspositionTable.MISS, entry);
+            } else {
+                assertEquals(i, TranspositionTable.getPayload(entry));
+            }
+        }
+        assertNotEquals(TranspositionTable.MISS, table.probe(KEY + depths.length, 0));
+    }
+
+    @Test
+    void capacityIsRoundedUpToAPowerOfTwo() {
+        assertEquals(ONE_BUCKET, new TranspositionTable(1).getCapacity());
+        assertEquals(ONE_BUCKET, new TranspositionTable(ONE_BUCKET).getCapacity());
+        assertEquals(8, new TranspositionTable(ONE_BUCKET + 1).getCapacity());
+        assertEquals(1024, new TranspositionTable(1000).getCapacity());
+        assertEquals(1024, new TranspositionTable(1024).getCapacity());
+        assertEquals((1 << 20) / TranspositionTable.SLOT_BYTES,
+                     TranspositionTable.ofMegabytes(1).getCapacity());
+        assertThrows(IllegalArgumentException.class, () -> new TranspositionTable(0));
+        assertThrows(IllegalArgumentException.class,
+            () -> new TranspositionTable(TranspositionTable.MAX_CAPACITY + 1));
+        assertThrows(IllegalArgumentException.class, () -> TranspositionTable.ofMegabytes(0));
+    }
+
+    @Test
+    void clearEmptiesTheTableAndCounters() {
+        final TranspositionTable table = new TranspositionTable(ONE_BUCKET);
+        table.store(KEY, 1, 1, 1);
+        table.probe(KEY, 0);
+        table.clear();
+        assertEquals(TranspositionTable.MISS, table.probe(KEY, 0));
+        assertEquals(0.0, table.getOccupancy());
+        assertEquals(1, table.getProbes());
+        assertEquals(0, table.getHits());
+        assertEquals(0, table.getStores());
+    }
+
+    @Test
+    void racingThreadsNeverReadTornEntries() throws InterruptedException {
+        final TranspositionTable table = new TranspositionTable(RACE_CAPACITY);
+        final AtomicInteger torn = new AtomicInteger();
+        final Thread[] threads = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            final SplittableRandom random = new SplittableRandom(t);
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < OPERATIONS; i++) {
+                    // every key always stores the same payload and score
+                    final long key = (random.nextLong(KEYS) + 1) * KEY_SPREAD;
+                    final int payload = (int) (key >>> PAYLOAD_SHIFT)
+                                        & TranspositionTable.MAX_PAYLOAD;
+                    if (random.nextBoolean()) {
+                        table.store(key, payload, payload, random.nextInt(RACE_DEPTHS));
+                    } else {
+                        final long entry = table.probe(key, 0);
+                        if (entry != TranspositionTable.MISS
+                            && (TranspositionTable.getPayload(entry) != payload
+                                || TranspositionTable.getScore(entry) != (float) payload)) {
+                            torn.incrementAndGet();
+                        }
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(0, torn.get());
+        assertTrue(table.getHits() > 0);
+    }
+}
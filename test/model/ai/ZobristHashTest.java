@@ -0,0 +1,137 @@
+package model.ai;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+import model.Rotation;
+import model.TetrisPiece;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that Zobrist hashes are the exclusive or of their keys, that the
+ * keys are distinct and that they are the same for every instance.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+class ZobristHashTest {
+
+    /**
+     * The width of the board.
+     */
+    private static final int WIDTH = 10;
+
+    /**
+     * The height of the board.
+     */
+    private static final int HEIGHT = 20;
+
+    /**
+     * The number of random boards.
+     */
+    private static final int RANDOM_BOARDS = 1_000;
+
+    /**
+     * The mask of a full row.
+     */
+    private static final int FULL_ROW = (1 << WIDTH) - 1;
+
+    /**
+     * The most lines cleared that are hashed.
+     */
+    private static final int MAX_LINES = 100;
+
+    /**
+     * The hash of the tests.
+     */
+    private final ZobristHash myHash = new ZobristHash(WIDTH, HEIGHT);
+
+    @Test
+    void emptyBoardHashesToZero() {
+        assertEquals(0, myHash.hash(new int[HEIGHT]));
+        assertEquals(0, myHash.hash(new int[0]));
+    }
+
+    @Test
+    void everyCellHasADistinctKey() {
+        final Set<Long> keys = new HashSet<>();
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                final int[] rows = new int[HEIGHT];
+                rows[y] = 1 << x;
+                final long key = myHash.hash(rows);
+                assertNotEquals(0, key);
+                assertTrue(keys.add(key), "cell " + x + "," + y);
+            }
+        }
+    }
+
+    @Test
+    void hashIsTheExclusiveOrOfDisjointParts() {
+        final SplittableRandom random = new SplittableRandom(1);
+        for (int i = 0; i < RANDOM_BOARDS; i++) {
+            final int[] rows = new int[HEIGHT];
+            final int[] low = new int[HEIGHT];
+            final int[] high = new int[HEIGHT];
+            for (int y = 0; y < HEIGHT; y++) {
+                rows[y] = random.nextInt() & FULL_ROW;
+                final int split = random.nextInt() & FULL_ROW;
+                low[y] = rows[y] & split;
+                high[y] = rows[y] & ~split;
+            }
+            assertEquals(myHash.hash(rows), myHash.hash(low) ^ myHash.hash(high));
+        }
+    }
+
+    @Test
+    void rowsAboveTheBoardAreIgnored() {
+        final int[] rows = new int[HEIGHT + 2];
+        rows[0] = 1;
+        final long expected = myHash.hash(rows);
+        rows[HEIGHT] = FULL_ROW;
+        rows[HEIGHT + 1] = FULL_ROW;
+        assertEquals(expected, myHash.hash(rows));
+    }
+
+    @Test
+    void keysAreTheSameForEveryInstance() {
+        final ZobristHash other = new ZobristHash(WIDTH, HEIGHT);
+        final int[] rows = {0x155, 0x2AA, 0x3FF};
+        assertEquals(myHash.hash(rows), other.hash(rows));
+        assertEquals(myHash.withLines(0, 1), other.withLines(0, 1));
+        assertEquals(myHash.withPosition(0, TetrisPiece.T, Rotation.HALF, 3, 7),
+                     other.withPosition(0, TetrisPiece.T, Rotation.HALF, 3, 7));
+        assertEquals(myHash.withPreview(0, 2, TetrisPiece.S),
+                     other.withPreview(0, 2, TetrisPiece.S));
+    }
+
+    @Test
+    void mixedInKeysAreDistinctAndUndoThemselves() {
+        final long board = myHash.hash(new int[] {FULL_ROW >> 1});
+        final Set<Long> hashes = new HashSet<>();
+        for (int lines = 0; lines < MAX_LINES; lines++) {
+            final long hash = myHash.withLines(board, lines);
+            assertTrue(hashes.add(hash), "lines " + lines);
+            assertEquals(board, myHash.withLines(hash, lines));
+        }
+        for (final TetrisPiece piece : TetrisPiece.values()) {
+            for (final Rotation rotation : Rotation.values()) {
+                for (int x = -2; x < WIDTH; x++) {
+                    for (int y = -2; y < HEIGHT; y++) {
+                        final long hash = myHash.withPosition(board, piece, rotation, x, y);
+                        assertTrue(hashes.add(hash),
+                                   piece + " " + rotation + " " + x + "," + y);
+                        assertEquals(board, myHash.withPosition(hash, piece, rotation, x, y));
+                    }
+                }
+            }
+            for (int index = 0; index < WIDTH; index++) {
+                final long hash = myHash.withPreview(board, index, piece);
+                assertTrue(hashes.add(hash), piece + " at " + index);
+                assertEquals(board, myHash.withPreview(hash, index, piece));
+            }
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package model.event;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that an EventBus delivers events in order, in one batch per flush
+ * and only for the topics subscribed to, and that its producer never waits
+ * for asynchronous subscribers.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+class EventBusTest {
+
+    /**
+     * A small ring, so the tests wrap around it.
+     */
+    private static final int CAPACITY = 4;
+
+    /**
+     * A topic.
+     */
+    private static final String TOPIC = "a";
+
+    /**
+     * Another topic.
+     */
+    private static final String OTHER_TOPIC = "b";
+
+    /**
+     * The number of events published by the longer tests.
+     */
+    private static final int EVENTS = 10_000;
+
+    /**
+     * The producer of the longer tests flushes after this many events.
+     */
+    private static final int EVENTS_PER_FLUSH = 3;
+
+    /**
+     * The ring of the test with a blocked subscriber.
+     */
+    private static final int BLOCKED_CAPACITY = 64;
+
+    /**
+     * The longest wait for another thread, in seconds.
+     */
+    private static final long TIMEOUT_SECONDS = 10;
+
+    /**
+     * The bus.
+     */
+    private EventBus myBus;
+
+    /**
+     * The delivery thread of asynchronous subscribers.
+     */
+    private ExecutorService myExecutor;
+
+    @BeforeEach
+    void setUp() {
+        myBus = new EventBus(CAPACITY);
+        myExecutor = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        myExecutor.shutdownNow();
+    }
+
+    @Test
+    void capacityMustBeAPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new EventBus(0));
+        assertThrows(IllegalArgumentException.class, () -> new EventBus(CAPACITY - 1));
+        assertThrows(IllegalArgumentException.class, () -> new EventBus(-CAPACITY));
+        assertDoesNotThrow(() -> new EventBus(1));
+    }
+
+    @Test
+    void eventsArriveInOrderInOneBatchPerFlush() {
+        final Recorder recorder = new Recorder();
+        myBus.subscribe(null, recorder);
+        myBus.flush();
+        assertEquals(0, recorder.myBatches);
+
+        for (int i = 0; i < CAPACITY; i++) {
+            myBus.publish(TOPIC, i - 1, i);
+        }
+        assertTrue(recorder.myValues.isEmpty(), "events wait for the flush");
+        myBus.flush();
+        assertEquals(List.of(0, 1, 2, 3), recorder.myValues);
+        assertEquals(1, recorder.myBatches);
+        myBus.flush();
+        assertEquals(1, recorder.myBatches);
+    }
+
+    @Test
+    void sequenceNumbersRunOnAcrossTheRing() {
+        final Recorder recorder = new Recorder();
+        myBus.subscribe(null, recorder);
+        for (int i = 0; i < EVENTS; i++) {
+            myBus.publish(TOPIC, null, i);
+            if (i % EVENTS_PER_FLUSH == 0) {
+                myBus.flush();
+            }
+        }
+        myBus.flush();
+        assertEquals(EVENTS, recorder.myValues.size());
+        for (int i = 0; i < EVENTS; i++) {
+            assertEquals(i, recorder.mySequences.get(i).longValue());
+            assertEquals(i, recorder.myValues.get(i));
+        }
+    }
+
+    @Test
+    void subscriptionsOnlyReceiveTheirTopic() {
+        final Recorder topic = new Recorder();
+        final Recorder other = new Recorder();
+        final Recorder all = new Recorder();
+        myBus.subscribe(TOPIC, topic);
+        myBus.subscribe(OTHER_TOPIC, other);
+        myBus.subscribe(null, all);
+        assertTrue(myBus.hasSubscribers(TOPIC));
+
+        myBus.publish(TOPIC, null, 1);
+        myBus.publish(OTHER_TOPIC, null, 2);
+        myBus.publish(TOPIC, null, 3);
+        myBus.flush();
+        assertEquals(List.of(1, 3), topic.myValues);
+        assertEquals(List.of(2), other.myValues);
+        assertEquals(List.of(1, 2, 3), all.myValues);
+
+        // a batch of nothing but other topics is not a batch
+        myBus.publish(OTHER_TOPIC, null, 4);
+        myBus.flush();
+        assertEquals(1, topic.myBatches);
+        assertEquals(2, other.myBatches);
+    }
+
+    @Test
+    void cancelledSubscriptionsReceiveNothing() {
+        final Recorder recorder = new Recorder();
+        final Subscription subscription = myBus.subscribe(TOPIC, recorder);
+        myBus.publish(TOPIC, null, 1);
+        subscription.cancel();
+        myBus.flush();
+        assertTrue(recorder.myValues.isEmpty());
+        assertTrue(myBus.getSubscriptions().isEmpty());
+        assertFalse(myBus.hasSubscribers(TOPIC));
+        // nobody holds the ring back any more
+        for (int i = 0; i < EVENTS; i++) {
+            myBus.publish(TOPIC, null, i);
+        }
+    }
+
+    @Test
+    void asynchronousEventsArriveOnTheExecutor() throws InterruptedException {
+        final Recorder recorder = new Recorder();
+        final CountDownLatch done = new CountDownLatch(1);
+        final Thread producer = Thread.currentThread();
+        myBus.subscribe(TOPIC, new BoardEventHandler() {
+            @Override
+            public void onEvent(final BoardEvent theEvent) {
+                assertNotSame(producer, Thread.currentThread());
+                recorder.onEvent(theEvent);
+            }
+
+            @Override
+            public void onEndOfBatch() {
+                recorder.onEndOfBatch();
+                done.countDown();
+            }
+        }, myExecutor);
+        myBus.publish(OTHER_TOPIC, null, 1);
+        myBus.publish(TOPIC, null, 2);
+        myBus.flush();
+        assertTrue(done.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals(List.of(2), recorder.myValues);
+        assertEquals(List.of(1L), recorder.mySequences);
+    }
+
+    @Test
+    void producerNeverWaitsForABlockedSubscriber() throws InterruptedException {
+        final EventBus bus = new EventBus(BLOCKED_CAPACITY);
+        final CountDownLatch gate = new CountDownLatch(1);
+        myExecutor.execute(() -> {
+            try {
+                gate.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        final Recorder asynchronous = new Recorder();
+        final Recorder synchronous = new Recorder();
+        bus.subscribe(TOPIC, asynchronous, myExecutor);
+        bus.subscribe(null, synchronous);
+
+        final Thread producer = new Thread(() -> {
+            for (int i = 0; i < EVENTS; i++) {
+                bus.publish(TOPIC, null, i);
+                if (i % EVENTS_PER_FLUSH == 0) {
+                    bus.flush();
+                }
+            }
+            bus.flush();
+        });
+        producer.start();
+        producer.join(TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS));
+        assertFalse(producer.isAlive(), "the producer waited for the blocked subscriber");
+        assertEquals(EVENTS, synchronous.myValues.size());
+        assertTrue(asynchronous.myValues.isEmpty());
+
+        gate.countDown();
+        myExecutor.shutdown();
+        assertTrue(myExecutor.awaitTermination(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals(EVENTS, asynchronous.myValues.size());
+        for (int i = 0; i < EVENTS; i++) {
+            assertEquals(i, asynchronous.mySequences.get(i).longValue());
+            assertEquals(i, asynchronous.myValues.get(i));
+        }
+    }
+
+    /**
+     * Records the events and batches it is delivered.
+     */
+    private static final class Recorder implements BoardEventHandler {
+
+        /**
+         * The sequence numbers of the events.
+         */
+        private final List<Long> mySequences = new ArrayList<>();
+
+        /**
+         * The new values of the events.
+         */
+        private final List<Object> myValues = new ArrayList<>();
+
+        /**
+         * The number of batches.
+         */
+        private int myBatches;
+
+        @Override
+        public void onEvent(final BoardEvent theEvent) {
+            mySequences.add(theEvent.getSequence());
+            myValues.add(theEvent.getNewValue());
+        }
+
+        @Override
+        public void onEndOfBatch() {
+            myBatches++;
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package model.replay;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import model.Board;
+import model.MyBoard;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests writing, reading and verifying replays, and that damaged files are
+ * rejected with an IOException.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+class ReplayTest {
+
+    /**
+     * The seed of the recorded game.
+     */
+    private static final long SEED = 305;
+
+    /**
+     * The most operations sent to the recorded game.
+     */
+    private static final int OPERATIONS = 400;
+
+    /**
+     * The current format version.
+     */
+    private static final int VERSION = 2;
+
+    /**
+     * The board that was recorded.
+     */
+    private MyBoard myBoard;
+
+    /**
+     * The recorded game.
+     */
+    private Replay myReplay;
+
+    @BeforeEach
+    void setUp() {
+        myBoard = Board.builder().build();
+        myBoard.setSnapshotsEnabled(true);
+        final List<Replay> replays = new ArrayList<>();
+        final ReplayRecorder recorder =
+                new ReplayRecorder(myBoard, GeneratorKind.BAG, () -> SEED, replays::add);
+        recorder.start();
+        myBoard.newGame();
+        final Random random = new Random(SEED);
+        for (int i = 0; i < OPERATIONS && !myBoard.getSnapshot().isGameOver(); i++) {
+            switch (random.nextInt(6)) {
+                case 0 -> myBoard.left();
+                case 1 -> myBoard.right();
+                case 2 -> myBoard.rotateCW();
+                case 3 -> myBoard.rotateCCW();
+                case 4 -> myBoard.down();
+                default -> myBoard.drop();
+            }
+        }
+        recorder.stop();
+        assertEquals(1, replays.size());
+        myReplay = replays.getFirst();
+    }
+
+    @Test
+    void writeReadAndVerify() throws IOException {
+        final Replay read = Replay.read(new ByteArrayInputStream(bytes(myReplay)));
+        assertEquals(myBoard.getWidth(), read.getWidth());
+        assertEquals(myBoard.getHeight(), read.getHeight());
+        assertEquals(GeneratorKind.BAG, read.getGeneratorKind());
+        assertEquals(SEED, read.getSeed());
+        assertEquals(myReplay.getOperationCount(), read.getOperationCount());
+        assertEquals(myReplay.getDurationMillis(), read.getDurationMillis());
+        assertTrue(read.getOperationCount() > 0);
+        assertTrue(read.verify());
+        assertEquals(Replay.stateHash(myBoard),
+                     Replay.stateHash(read.reconstruct(read.getOperationCount())));
+    }
+
+    @Test
+    void recordingLeavesSnapshotsOff() {
+        final MyBoard board = Board.builder().build();
+        final List<Replay> replays = new ArrayList<>();
+        final ReplayRecorder recorder =
+                new ReplayRecorder(board, GeneratorKind.BAG, () -> SEED, replays::add);
+        recorder.start();
+        board.newGame();
+        board.drop();
+        board.drop();
+        recorder.stop();
+        assertNull(board.getSnapshot());
+        assertTrue(replays.getFirst().verify());
+    }
+
+    @Test
+    void verifyDetectsAnotherFinalState() throws IOException {
+        final byte[] bytes = bytes(myReplay);
+        bytes[bytes.length - 1] ^= 1;
+        assertFalse(Replay.read(new ByteArrayInputStream(bytes)).verify());
+    }
+
+    @Test
+    void everyTruncatedFileIsRejected() throws IOException {
+        final byte[] bytes = bytes(myReplay);
+        for (int length = 0; length < bytes.length; length++) {
+            final byte[] cut = new byte[length];
+            System.arraycopy(bytes, 0, cut, 0, length);
+            assertThrows(IOException.class, () -> Replay.read(new ByteArrayInputStream(cut)),
+                         "length " + length);
+        }
+    }
+
+    @Test
+    void damagedHeadersAreRejected() {
+        assertCorrupt(file(0x54525058, VERSION, 10, 20, 0, 0, 0));
+        assertCorrupt(file(VERSION - 1, 10, 20, 0, 0, 0));
+        assertCorrupt(file(VERSION, 0, 20, 0, 0, 0));
+        assertCorrupt(file(VERSION, Integer.SIZE + 1, 20, 0, 0, 0));
+        assertCorrupt(file(VERSION, 10, 0, 0, 0, 0));
+        assertCorrupt(file(VERSION, 10, Replay.MAX_HEIGHT + 1, 0, 0, 0));
+        assertCorrupt(file(VERSION, 10, 20, GeneratorKind.values().length, 0, 0));
+        assertCorrupt(file(VERSION, 10, 20, 0, -1, 0));
+        // lengths that would allocate a huge or negative array
+        assertCorrupt(file(VERSION, 10, 20, 0, 0, 0xFFFFFFFFL));
+        assertCorrupt(file(VERSION, 10, 20, 0, 0, Integer.MAX_VALUE));
+        assertCorrupt(file(VERSION, 10, 20, 0, 0, -1));
+        // more operations than bytes to hold them
+        assertCorrupt(file(VERSION, 10, 20, 0, 1, 0));
+    }
+
+    @Test
+    void emptyGameIsReadBack() throws IOException {
+        final byte[] empty = file(VERSION, 10, 20, 0, 0, 0);
+        final Replay read = Replay.read(new ByteArrayInputStream(empty));
+        assertEquals(0, read.getOperationCount());
+        assertEquals(0, read.getDurationMillis());
+    }
+
+    /**
+     * Checks that a file is rejected with an IOException.
+     *
+     * @param theBytes the file.
+     */
+    private static void assertCorrupt(final byte[] theBytes) {
+        assertThrows(IOException.class, () -> Replay.read(new ByteArrayInputStream(theBytes)));
+    }
+
+    /**
+     * Builds a replay file with the right magic number, no operation bytes
+     * and a final hash of 0.
+     *
+     * @param theVersion the format version.
+     * @param theWidth the width.
+     * @param theHeight the height.
+     * @param theKind the generator kind.
+     * @param theCount the operation count.
+     * @param theLength the length of the operations.
+     * @return the file.
+     */
+    private static byte[] file(final int theVersion, final int theWidth,
+                                 final int theHeight, final int theKind,
+                                 final long theCount, final long theLength) {
+        return file(0x5452504C, theVersion, theWidth, theHeight, theKind, theCount,
+                      theLength);
+    }
+
+    /**
+     * Builds a replay file with no operation bytes and a final hash of 0.
+     *
+     * @param theMagic the magic number.
+     * @param theVersion the format version.
+     * @param theWidth the width.
+     * @param theHeight the height.
+     * @param theKind the generator kind.
+     * @param theCount the operation count.
+     * @param theLength the length of the operations.
+     * @return the file.
+     */
+    private static byte[] file(final int theMagic, final int theVersion,
+                                 final int theWidth, final int theHeight,
+                                 final int theKind, final long theCount,
+                                 final long theLength) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.writeBytes(ByteBuffer.allocate(Integer.BYTES).putInt(theMagic).array());
+        VarInts.write(out, theVersion);
+        VarInts.write(out, theWidth);
+        VarInts.write(out, theHeight);
+        VarInts.write(out, theKind);
+        out.writeBytes(ByteBuffer.allocate(Long.BYTES).putLong(SEED).array());
+        VarInts.write(out, theCount);
+        VarInts.write(out, theLength);
+        out.writeBytes(new byte[Long.BYTES]);
+        return out.toByteArray();
+    }
+
+    /**
+     * Writes a replay to bytes.
+     *
+     * @param theReplay the replay.
+     * @return the file.
+     * @throws IOException never.
+     */
+    private static byte[] bytes(final Replay theReplay) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        theReplay.write(out);
+        return out.toByteArray();
+    }
+}
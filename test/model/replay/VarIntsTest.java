@@ -0,0 +1,78 @@
+package model.replay;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the varint encoding of replay files.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+class VarIntsTest {
+
+    /**
+     * The most bytes a long takes.
+     */
+    private static final int MAX_BYTES = 10;
+
+    @Test
+    void valuesRoundTrip() {
+        final long[] values = {0, 1, 127, 128, 300, Integer.MAX_VALUE, Long.MAX_VALUE,
+                               -1, Long.MIN_VALUE, Integer.MIN_VALUE};
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (final long value : values) {
+            VarInts.write(out, value);
+        }
+        final byte[] bytes = out.toByteArray();
+        final int[] position = {0};
+        for (final long value : values) {
+            assertEquals(value, VarInts.read(bytes, position));
+        }
+        assertEquals(bytes.length, position[0]);
+    }
+
+    @Test
+    void smallValuesTakeFewBytes() {
+        assertEquals(1, encode(0).length);
+        assertEquals(1, encode(127).length);
+        assertEquals(2, encode(128).length);
+        assertArrayEquals(new byte[] {(byte) 0x80, 0x01}, encode(128));
+        assertEquals(9, encode(Long.MAX_VALUE).length);
+        // negative values are treated as unsigned and take the most bytes
+        assertEquals(MAX_BYTES, encode(-1).length);
+    }
+
+    @Test
+    void cutOffValueIsRejected() {
+        final byte[] bytes = encode(Long.MAX_VALUE);
+        final byte[] cut = new byte[bytes.length - 1];
+        System.arraycopy(bytes, 0, cut, 0, cut.length);
+        assertThrows(IllegalArgumentException.class, () -> VarInts.read(cut, new int[1]));
+        assertThrows(IllegalArgumentException.class,
+                     () -> VarInts.read(new byte[0], new int[1]));
+    }
+
+    @Test
+    void tooLongValueIsRejected() {
+        final byte[] bytes = new byte[MAX_BYTES + 1];
+        for (int i = 0; i < MAX_BYTES; i++) {
+            bytes[i] = (byte) 0x80;
+        }
+        assertThrows(IllegalArgumentException.class, () -> VarInts.read(bytes, new int[1]));
+    }
+
+    /**
+     * Encodes one value.
+     *
+     * @param theValue the value.
+     * @return its bytes.
+     */
+    private static byte[] encode(final long theValue) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        VarInts.write(out, theValue);
+        return out.toByteArray();
+    }
+}
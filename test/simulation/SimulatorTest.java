@@ -0,0 +1,67 @@
+package simulation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that a Simulator.Builder can build several simulators, each playing
+ * the games of the seed it was set to when it was built.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+class SimulatorTest {
+
+    /**
+     * The seed of the first simulator.
+     */
+    private static final long SEED = 5;
+
+    /**
+     * The seed of the second simulator.
+     */
+    private static final long OTHER_SEED = 6;
+
+    /**
+     * The number of games each simulator plays.
+     */
+    private static final int GAMES = 4;
+
+    /**
+     * The input limit of each game.
+     */
+    private static final int MAX_MOVES = 2_000;
+
+    @Test
+    void reusedBuilderPlaysItsNewSeed() {
+        final Simulator.Builder builder = newBuilder().seed(SEED);
+        final GameStats first = builder.build().run();
+        final GameStats reused = builder.seed(OTHER_SEED).build().run();
+        final GameStats fresh = newBuilder().seed(OTHER_SEED).build().run();
+        assertSameGames(fresh, reused);
+        assertSameGames(first, newBuilder().seed(SEED).build().run());
+    }
+
+    /**
+     * Returns a Builder for a few short games on one thread.
+     *
+     * @return a new Builder.
+     */
+    private static Simulator.Builder newBuilder() {
+        return Simulator.builder().games(GAMES).maxMoves(MAX_MOVES).parallelism(1);
+    }
+
+    /**
+     * Checks that two runs played the same games.
+     *
+     * @param theExpected The first run
+     * @param theActual The second run
+     */
+    private static void assertSameGames(final GameStats theExpected,
+                                        final GameStats theActual) {
+        assertEquals(theExpected.getPieces(), theActual.getPieces());
+        assertEquals(theExpected.getLines(), theActual.getLines());
+        assertEquals(theExpected.getMoves(), theActual.getMoves());
+    }
+}
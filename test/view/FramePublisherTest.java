@@ -0,0 +1,215 @@
+package view;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.swing.SwingUtilities;
+import model.Block;
+import model.Board;
+import model.BoardSnapshot;
+import model.MyBoard;
+import org.junit.jupiter.api.Test;
+import view.score.ScoringSystem;
+
+/**
+ * Tests that frames published after every batch of board events are
+ * coalesced into one delivery, and that a panel shown only some of the
+ * frames paints the same picture as a panel that starts from the latest one.
+ *
+ * @author Preston Sia
+ * @version F2024_001
+ */
+class FramePublisherTest {
+
+    /**
+     * The number of frames handed to the panel.
+     */
+    private static final int FRAMES = 10_000;
+
+    /**
+     * The seed of the game and of the operations.
+     */
+    private static final long SEED = 11;
+
+    /**
+     * One in this many operations is followed by a frame for the panel.
+     */
+    private static final int DELIVERY_CHANCE = 4;
+
+    /**
+     * The number of different operations sent to the board.
+     */
+    private static final int OPERATIONS = 6;
+
+    /**
+     * The width of the rendered board in pixels.
+     */
+    private static final int WIDTH_PX = TetrisBoardPanel.DEFAULT_BOARD_WIDTH
+                                        * TetrisBoardPanel.DEFAULT_BLOCK_WIDTH;
+
+    /**
+     * The height of the rendered board in pixels.
+     */
+    private static final int HEIGHT_PX = TetrisBoardPanel.DEFAULT_BOARD_HEIGHT
+                                         * TetrisBoardPanel.DEFAULT_BLOCK_WIDTH;
+
+    @Test
+    void coalescedFramesPaintLikeTheLatestFrame()
+            throws InterruptedException, InvocationTargetException {
+        final AtomicInteger deliveries = new AtomicInteger();
+        final AtomicReference<GameFrame> delivered = new AtomicReference<>();
+        final AtomicReference<FramePublisher> publisher = new AtomicReference<>();
+
+        // the event dispatch thread operates the board, so no delivery runs
+        // until the whole game has been played
+        SwingUtilities.invokeAndWait(() -> {
+            publisher.set(play());
+            publisher.get().addFrameListener(theFrame -> {
+                deliveries.incrementAndGet();
+                delivered.set(theFrame);
+            });
+        });
+        SwingUtilities.invokeAndWait(() -> { });
+
+        assertEquals(1, deliveries.get(), "frames must be coalesced into one delivery");
+        assertSame(publisher.get().getFrame(), delivered.get());
+    }
+
+    /**
+     * Plays a random game, handing a random selection of the published frames
+     * to a panel and checking every one of them.
+     *
+     * @return The publisher of the game
+     */
+    private static FramePublisher play() {
+        final Board board = Board.builder().seed(SEED).build();
+        final ScoringSystem scoring = new ScoringSystem(board);
+        final FramePublisher publisher = new FramePublisher(board, scoring);
+        final List<Rectangle> dirty = new ArrayList<>();
+        final TetrisBoardPanel panel = new TetrisBoardPanel(publisher) {
+            @Override
+            public void repaint(final Rectangle theRegion) {
+                dirty.add(theRegion);
+            }
+        };
+        panel.setSize(WIDTH_PX, HEIGHT_PX);
+        panel.setGhostPieceState(true);
+        board.addPropertyChangeListener(MyBoard.PROPERTY_GAME_OVER_STATE, theEvent -> {
+            if ((boolean) theEvent.getNewValue()) {
+                board.newGame();
+            }
+        });
+        board.newGame();
+
+        final Random random = new Random(SEED);
+        int[] before = render(panel);
+        int frames = 0;
+        while (frames < FRAMES) {
+            operate(board, random.nextInt(OPERATIONS));
+            if (random.nextInt(DELIVERY_CHANCE) == 0) {
+                final GameFrame frame = publisher.getFrame();
+                assertEquals(scoring.getScore(), frame.score());
+                assertFrozenBlocks(board, frame.board());
+
+                dirty.clear();
+                panel.setFrame(frame);
+                final int[] after = render(panel);
+                assertArrayEquals(renderFresh(frame), after, "frame " + frames);
+                assertRepainted(before, after, dirty);
+                before = after;
+                frames++;
+            }
+        }
+        return publisher;
+    }
+
+    /**
+     * Sends an operation to the board.
+     *
+     * @param theBoard The board
+     * @param theOperation The operation, from 0 to OPERATIONS - 1
+     */
+    private static void operate(final MyBoard theBoard, final int theOperation) {
+        switch (theOperation) {
+            case 0 -> theBoard.left();
+            case 1 -> theBoard.right();
+            case 2 -> theBoard.rotateCW();
+            case 3 -> theBoard.drop();
+            default -> theBoard.step();
+        }
+    }
+
+    /**
+     * Checks that a snapshot holds the frozen blocks of the board.
+     *
+     * @param theBoard The board
+     * @param theSnapshot The latest snapshot of the board
+     */
+    private static void assertFrozenBlocks(final MyBoard theBoard,
+                                           final BoardSnapshot theSnapshot) {
+        final List<Block[]> rows = theBoard.getFrozenBlocks();
+        for (int y = 0; y < rows.size(); y++) {
+            for (int x = 0; x < rows.get(y).length; x++) {
+                final Block block = rows.get(y)[x];
+                assertEquals(block, theSnapshot.getBlock(x, y));
+                assertEquals(block != null, (theSnapshot.getRowMask(y) >>> x & 1) != 0);
+            }
+        }
+    }
+
+    /**
+     * Checks that every pixel that changed lies in a repainted region.
+     *
+     * @param theBefore The pixels before the frame
+     * @param theAfter The pixels after the frame
+     * @param theDirty The regions the panel repainted
+     */
+    private static void assertRepainted(final int[] theBefore, final int[] theAfter,
+                                        final List<Rectangle> theDirty) {
+        for (int i = 0; i < theAfter.length; i++) {
+            if (theBefore[i] != theAfter[i]) {
+                final int x = i % WIDTH_PX;
+                final int y = i / WIDTH_PX;
+                assertTrue(theDirty.stream().anyMatch(theRegion -> theRegion.contains(x, y)),
+                           "pixel " + x + "," + y + " changed but was not repainted");
+            }
+        }
+    }
+
+    /**
+     * Paints a frame on a new panel that has never painted anything else.
+     * The panel listens to a publisher of its own, so it can be thrown away.
+     *
+     * @param theFrame The frame
+     * @return The painted pixels, row by row
+     */
+    private static int[] renderFresh(final GameFrame theFrame) {
+        final Board unused = Board.builder().build();
+        final TetrisBoardPanel panel =
+                new TetrisBoardPanel(new FramePublisher(unused, new ScoringSystem(unused)));
+        panel.setSize(WIDTH_PX, HEIGHT_PX);
+        panel.setGhostPieceState(true);
+        panel.setFrame(theFrame);
+        return render(panel);
+    }
+
+    /**
+     * Paints a panel into an image.
+     *
+     * @param thePanel The panel
+     * @return The painted pixels, row by row
+     */
+    private static int[] render(final TetrisBoardPanel thePanel) {
+        final BufferedImage image =
+                new BufferedImage(WIDTH_PX, HEIGHT_PX, BufferedImage.TYPE_INT_RGB);
+        thePanel.paint(image.createGraphics());
+        return image.getRGB(0, 0, WIDTH_PX, HEIGHT_PX, null, 0, WIDTH_PX);
+    }
+}